@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the round trip of a put on a replicated region to one other member over loopback, which
+ * is dominated by waiting for its single ack, with and without spinning for the ack before
+ * blocking.
+ */
+@Fork(3)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AckLatencyBenchmark {
+
+  private static final String SPIN_PROPERTY = "gemfire.ReplyProcessor21.SPIN_WAIT_MICROS";
+
+  @State(Scope.Benchmark)
+  public static class ClusterState {
+
+    @Param({"0", "20"})
+    private int spinMicros;
+
+    private Process peer;
+    private Cache cache;
+    private Region<Integer, Integer> region;
+
+    @Setup
+    public void setup() throws Exception {
+      System.setProperty(SPIN_PROPERTY, String.valueOf(spinMicros));
+      int locatorPort;
+      try (ServerSocket socket = new ServerSocket(0)) {
+        locatorPort = socket.getLocalPort();
+      }
+      String locators = "localhost[" + locatorPort + "]";
+      cache = new CacheFactory().set("mcast-port", "0").set("locators", locators)
+          .set("start-locator", locators).create();
+      peer = startPeer(locators);
+      region = cache.<Integer, Integer>createRegionFactory(RegionShortcut.REPLICATE)
+          .create("region");
+    }
+
+    private Process startPeer(String locators) throws IOException {
+      String java = System.getProperty("java.home") + File.separator + "bin" + File.separator
+          + "java";
+      Process peer = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+          Peer.class.getName(), locators).redirectErrorStream(true).start();
+      BufferedReader out = new BufferedReader(new InputStreamReader(peer.getInputStream()));
+      String line;
+      while ((line = out.readLine()) != null) {
+        if (line.equals(Peer.READY)) {
+          return peer;
+        }
+      }
+      throw new IOException("Peer exited before it created its region");
+    }
+
+    @TearDown
+    public void tearDown() {
+      cache.close();
+      peer.destroy();
+    }
+  }
+
+  @Benchmark
+  public Object put(ClusterState state) {
+    return state.region.put(1, 1);
+  }
+
+  /**
+   * Runs the other member in its own JVM, as a JVM can only have one cache.
+   */
+  public static class Peer {
+
+    static final String READY = "Peer created its region";
+
+    public static void main(String[] args) throws InterruptedException {
+      Cache cache = new CacheFactory().set("mcast-port", "0").set("locators", args[0]).create();
+      cache.createRegionFactory(RegionShortcut.REPLICATE).create("region");
+      System.out.println(READY);
+      System.out.flush();
+      Thread.sleep(Long.MAX_VALUE);
+    }
+  }
+}
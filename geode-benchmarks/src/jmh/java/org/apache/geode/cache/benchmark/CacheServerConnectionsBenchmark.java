@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.client.ClientCache;
+import org.apache.geode.cache.client.ClientCacheFactory;
+import org.apache.geode.cache.client.ClientRegionShortcut;
+import org.apache.geode.cache.client.PoolManager;
+import org.apache.geode.cache.client.internal.PoolImpl;
+import org.apache.geode.cache.server.CacheServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of client gets while the cache server also holds many idle client
+ * connections, with the server's default selector and with a thread per connection. The sample
+ * time mode reports the latency percentiles.
+ * <p>
+ * The larger connection counts need the open file limit of both JVMs raised accordingly.
+ */
+@Fork(1)
+@Threads(16)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CacheServerConnectionsBenchmark {
+
+  private static final int KEYS = 10000;
+
+  @State(Scope.Benchmark)
+  public static class ClientState {
+
+    @Param({"0", "1000", "10000", "50000"})
+    private int idleConnections;
+
+    @Param({"false", "true"})
+    private boolean threadPerConnection;
+
+    private Process server;
+    private ClientCache cache;
+    private Region<Integer, String> region;
+
+    @Setup
+    public void setup() throws Exception {
+      int port = startServer();
+      cache = new ClientCacheFactory().addPoolServer("localhost", port).create();
+      region = cache.<Integer, String>createClientRegionFactory(ClientRegionShortcut.PROXY)
+          .create("region");
+      for (int key = 0; key < KEYS; key++) {
+        region.put(key, "value");
+      }
+      if (idleConnections > 0) {
+        PoolImpl idlePool = (PoolImpl) PoolManager.createFactory().addServer("localhost", port)
+            .setMinConnections(idleConnections).setMaxConnections(idleConnections)
+            .setIdleTimeout(-1).create("idle");
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(10);
+        while (idlePool.getConnectionCount() < idleConnections) {
+          if (System.currentTimeMillis() > deadline) {
+            throw new IllegalStateException("Only " + idlePool.getConnectionCount() + " of "
+                + idleConnections + " idle connections were created");
+          }
+          Thread.sleep(100);
+        }
+      }
+    }
+
+    private int startServer() throws IOException {
+      String java = System.getProperty("java.home") + File.separator + "bin" + File.separator
+          + "java";
+      server = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+          "-Dgemfire.BridgeServer.THREAD_PER_CONNECTION=" + threadPerConnection,
+          Server.class.getName()).redirectErrorStream(true).start();
+      BufferedReader out = new BufferedReader(new InputStreamReader(server.getInputStream()));
+      String line;
+      while ((line = out.readLine()) != null) {
+        if (line.startsWith(Server.READY)) {
+          return Integer.parseInt(line.substring(Server.READY.length()));
+        }
+      }
+      throw new IOException("Server exited before it started listening");
+    }
+
+    @TearDown
+    public void tearDown() {
+      cache.close();
+      server.destroy();
+    }
+  }
+
+  @Benchmark
+  @Warmup(iterations = 5)
+  @Measurement(iterations = 10)
+  public Object get(ClientState state) {
+    return state.region.get(ThreadLocalRandom.current().nextInt(KEYS));
+  }
+
+  /**
+   * Runs the server in its own JVM, as a JVM can only have one cache.
+   */
+  public static class Server {
+
+    static final String READY = "Server listening on ";
+
+    public static void main(String[] args) throws IOException {
+      Cache cache = new CacheFactory().set("mcast-port", "0").set("locators", "").create();
+      cache.createRegionFactory(RegionShortcut.REPLICATE).create("region");
+      CacheServer server = cache.addCacheServer();
+      server.setPort(0);
+      server.setMaxConnections(60000);
+      server.start();
+      System.out.println(READY + server.getPort());
+      System.out.flush();
+    }
+  }
+}
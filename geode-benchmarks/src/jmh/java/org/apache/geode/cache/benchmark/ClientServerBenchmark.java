@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.client.ClientCache;
+import org.apache.geode.cache.client.ClientCacheFactory;
+import org.apache.geode.cache.client.ClientRegionShortcut;
+import org.apache.geode.cache.client.internal.MultiplexedConnectionManager;
+import org.apache.geode.cache.client.internal.PoolImpl;
+import org.apache.geode.cache.server.CacheServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares client gets and puts over pooled connections, one per in-flight op, with the same ops
+ * sharing a multiplexed connection. The number of sockets the client has open is printed at the
+ * end of each iteration.
+ */
+@Fork(3)
+@Threads(64)
+public class ClientServerBenchmark {
+
+  private static final int KEYS = 10000;
+
+  @State(Scope.Benchmark)
+  public static class ClientState {
+
+    @Param({"false", "true"})
+    private boolean multiplexed;
+
+    private Process server;
+    private ClientCache cache;
+    private Region<Integer, String> region;
+    private PoolImpl pool;
+
+    @Setup
+    public void setup() throws Exception {
+      int port = startServer();
+      System.setProperty(MultiplexedConnectionManager.MULTIPLEXED_CONNECTIONS_PROPERTY,
+          String.valueOf(multiplexed));
+      cache = new ClientCacheFactory().addPoolServer("localhost", port).setPoolMaxConnections(-1)
+          .create();
+      region = cache.<Integer, String>createClientRegionFactory(ClientRegionShortcut.PROXY)
+          .create("region");
+      pool = (PoolImpl) cache.getDefaultPool();
+      for (int key = 0; key < KEYS; key++) {
+        region.put(key, "value");
+      }
+    }
+
+    private int startServer() throws IOException {
+      String java = System.getProperty("java.home") + File.separator + "bin" + File.separator
+          + "java";
+      server = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+          Server.class.getName()).redirectErrorStream(true).start();
+      BufferedReader out = new BufferedReader(new InputStreamReader(server.getInputStream()));
+      String line;
+      while ((line = out.readLine()) != null) {
+        if (line.startsWith(Server.READY)) {
+          return Integer.parseInt(line.substring(Server.READY.length()));
+        }
+      }
+      throw new IOException("Server exited before it started listening");
+    }
+
+    @TearDown(Level.Iteration)
+    public void printSockets() {
+      System.out.println("pooled connections: " + pool.getConnectionCount()
+          + ", multiplexed connections: " + pool.getMultiplexedConnectionCount());
+    }
+
+    @TearDown
+    public void tearDown() {
+      cache.close();
+      server.destroy();
+    }
+  }
+
+  @Benchmark
+  @Warmup(iterations = 10)
+  @Measurement(iterations = 10)
+  public Object get(ClientState state) {
+    return state.region.get(ThreadLocalRandom.current().nextInt(KEYS));
+  }
+
+  @Benchmark
+  @Warmup(iterations = 10)
+  @Measurement(iterations = 10)
+  public Object put(ClientState state) {
+    return state.region.put(ThreadLocalRandom.current().nextInt(KEYS), "value");
+  }
+
+  /**
+   * Runs the server in its own JVM, as a JVM can only have one cache.
+   */
+  public static class Server {
+
+    static final String READY = "Server listening on ";
+
+    public static void main(String[] args) throws IOException {
+      Cache cache = new CacheFactory().set("mcast-port", "0").set("locators", "").create();
+      cache.createRegionFactory(RegionShortcut.REPLICATE).create("region");
+      CacheServer server = cache.addCacheServer();
+      server.setPort(0);
+      server.setMaxConnections(1000);
+      server.start();
+      System.out.println(READY + server.getPort());
+      System.out.flush();
+    }
+  }
+}
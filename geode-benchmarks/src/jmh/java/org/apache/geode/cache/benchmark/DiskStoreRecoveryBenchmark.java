@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.internal.cache.DiskStoreImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes to recover a synthetic persistent region from disk, once with the
+ * default buffered sequential recovery and once with memory mapped reads and prefetch threads. The
+ * size of the disk store is controlled by the number of entries and the size of each value.
+ */
+@Fork(3)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DiskStoreRecoveryBenchmark {
+
+  private static final String DISK_STORE_NAME = "recoveryStore";
+
+  private static final String REGION_NAME = "region";
+
+  @State(Scope.Benchmark)
+  public static class DiskStoreState {
+    @Param({"1000000"})
+    private int entries;
+
+    @Param({"100", "1000"})
+    private int valueSize;
+
+    /**
+     * Recover values synchronously as well as keys, which reads the crf files instead of the krf
+     * files during recovery
+     */
+    @Param({"false", "true"})
+    private boolean recoverValues;
+
+    private File directory;
+
+    @Setup(Level.Trial)
+    public void createDiskStore() throws IOException {
+      directory = Files.createTempDirectory("DiskStoreRecoveryBenchmark").toFile();
+      System.setProperty(DiskStoreImpl.RECOVER_VALUE_PROPERTY_NAME, String.valueOf(recoverValues));
+      System.setProperty(DiskStoreImpl.RECOVER_VALUES_SYNC_PROPERTY_NAME,
+          String.valueOf(recoverValues));
+      Cache cache = createCache();
+      Region<Integer, byte[]> region = createRegion(cache);
+      byte[] value = new byte[valueSize];
+      for (int i = 0; i < entries; i++) {
+        region.put(i, value);
+      }
+      cache.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteDiskStore() throws IOException {
+      FileUtils.deleteDirectory(directory);
+    }
+
+    private Cache createCache() {
+      Cache cache = new CacheFactory().set("mcast-port", "0").set("locators", "").create();
+      cache.createDiskStoreFactory().setDiskDirs(new File[] {directory}).create(DISK_STORE_NAME);
+      return cache;
+    }
+
+    private Region<Integer, byte[]> createRegion(Cache cache) {
+      return cache.<Integer, byte[]>createRegionFactory(RegionShortcut.REPLICATE_PERSISTENT)
+          .setDiskStoreName(DISK_STORE_NAME).create(REGION_NAME);
+    }
+
+    public int recover() {
+      Cache cache = createCache();
+      try {
+        return createRegion(cache).size();
+      } finally {
+        cache.close();
+      }
+    }
+  }
+
+  @Benchmark
+  public int recoverSequential(DiskStoreState state) {
+    return state.recover();
+  }
+
+  @Benchmark
+  @Fork(value = 3,
+      jvmArgsAppend = {"-Dgemfire.disk.mmapRecovery=true", "-Dgemfire.disk.recoveryThreads=4"})
+  public int recoverMappedWithPrefetch(DiskStoreState state) {
+    return state.recover();
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.geode.cache.AttributesFactory;
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.EvictionAction;
+import org.apache.geode.cache.EvictionAttributes;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.Scope;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.InternalRegionArguments;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures put throughput on an entry LRU region that evicts on every insert, comparing the single
+ * locked clock with the striped clock as the number of writing threads grows.
+ */
+@Fork(3)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+public class LRUEvictionBenchmark {
+
+  private static final int MAXIMUM_ENTRIES = 10000;
+
+  private static final int KEY_RANGE = MAXIMUM_ENTRIES * 10;
+
+  @State(org.openjdk.jmh.annotations.Scope.Benchmark)
+  public static class CacheState {
+    @Param({"1", "8", "32"})
+    private int stripes;
+
+    private Region<Integer, String> region;
+
+    @Setup
+    public void setup() {
+      Cache cache = new CacheFactory().set("mcast-port", "0").set("locators", "").create();
+
+      AttributesFactory<Integer, String> af = new AttributesFactory<>();
+      af.setScope(Scope.LOCAL);
+      af.setEvictionAttributes(EvictionAttributes.createLRUEntryAttributes(MAXIMUM_ENTRIES,
+          EvictionAction.LOCAL_DESTROY));
+      try {
+        region = ((InternalCache) cache).createVMRegion("region", af.create(),
+            new InternalRegionArguments().setLRUClockStripes(stripes));
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+
+      for (int i = 0; i < MAXIMUM_ENTRIES; i++) {
+        region.put(i, "value");
+      }
+    }
+
+    public Object put() {
+      return region.put(ThreadLocalRandom.current().nextInt(KEY_RANGE), "value");
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Object put1Thread(CacheState state) {
+    return state.put();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Object put4Threads(CacheState state) {
+    return state.put();
+  }
+
+  @Benchmark
+  @Threads(16)
+  public Object put16Threads(CacheState state) {
+    return state.put();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public Object put32Threads(CacheState state) {
+    return state.put();
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.geode.internal.Version;
+import org.apache.geode.internal.cache.tier.MessageType;
+import org.apache.geode.internal.cache.tier.sockets.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sends the response a server connection writes for a get, a value and its flags, through a
+ * reused message as the server does. Run with {@code -prof gc} to see the bytes allocated per
+ * response, which should not depend on the flags sent.
+ */
+@Fork(3)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+public class MessageSendBenchmark {
+
+  @State(Scope.Thread)
+  public static class MessageState {
+
+    private final byte[] value = new byte[100];
+
+    private Message message;
+
+    @Setup
+    public void setup() {
+      message = new Message(2, Version.CURRENT);
+      message.setComms(new Socket(), null, new DiscardingOutputStream(),
+          ByteBuffer.allocate(32 * 1024), null);
+    }
+  }
+
+  @Benchmark
+  public void sendGetResponse(MessageState state) throws IOException {
+    Message message = state.message;
+    message.setMessageType(MessageType.RESPONSE);
+    message.setTransactionId(1);
+    message.setNumberOfParts(2);
+    message.addRawPart(state.value, true);
+    message.addIntPart(ThreadLocalRandom.current().nextInt());
+    message.send(true);
+  }
+
+  private static class DiscardingOutputStream extends OutputStream {
+
+    @Override
+    public void write(int b) {}
+
+    @Override
+    public void write(byte[] b, int off, int len) {}
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures put throughput on an off-heap region with values of mixed sizes, so that every put
+ * allocates off-heap memory and frees the previous value. Each benchmark runs once with the shared
+ * free lists only and once with per-thread caches of freed chunks.
+ */
+@Fork(3)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+public class OffHeapAllocationBenchmark {
+
+  private static final int KEY_RANGE = 100000;
+
+  private static final String THREAD_CACHE = "-Dgemfire.OFF_HEAP_THREAD_CACHE_SIZE=64";
+
+  @State(org.openjdk.jmh.annotations.Scope.Benchmark)
+  public static class CacheState {
+    /**
+     * The largest value size; values are between 1 byte and this many bytes
+     */
+    @Param({"256", "4096"})
+    private int maxValueSize;
+
+    private Cache cache;
+
+    private Region<Integer, byte[]> region;
+
+    private byte[][] values;
+
+    @Setup
+    public void setup() {
+      cache = new CacheFactory().set("mcast-port", "0").set("locators", "")
+          .set("off-heap-memory-size", "512m").create();
+      region = cache.<Integer, byte[]>createRegionFactory(RegionShortcut.LOCAL).setOffHeap(true)
+          .create("region");
+      values = new byte[maxValueSize][];
+      for (int i = 0; i < maxValueSize; i++) {
+        values[i] = new byte[i + 1];
+      }
+    }
+
+    @TearDown
+    public void tearDown() {
+      cache.close();
+    }
+
+    public Object put() {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      return region.put(random.nextInt(KEY_RANGE), values[random.nextInt(values.length)]);
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Object put1Thread(CacheState state) {
+    return state.put();
+  }
+
+  @Benchmark
+  @Threads(16)
+  public Object put16Threads(CacheState state) {
+    return state.put();
+  }
+
+  @Benchmark
+  @Threads(1)
+  @Fork(value = 3, jvmArgsAppend = THREAD_CACHE)
+  public Object put1ThreadWithThreadCache(CacheState state) {
+    return state.put();
+  }
+
+  @Benchmark
+  @Threads(16)
+  @Fork(value = 3, jvmArgsAppend = THREAD_CACHE)
+  public Object put16ThreadsWithThreadCache(CacheState state) {
+    return state.put();
+  }
+}
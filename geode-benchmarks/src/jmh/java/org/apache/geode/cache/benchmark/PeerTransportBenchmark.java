@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures put throughput on a replicated region with conserve-sockets false as the number of
+ * members grows, comparing connections owned by each sending thread with connections shared by the
+ * threads in stripes. The number of threads and of P2P reader threads in this member is printed at
+ * the end of each iteration.
+ */
+@Fork(3)
+@Threads(64)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+public class PeerTransportBenchmark {
+
+  private static final String STRIPES_PROPERTY = "p2p.orderedConnectionStripes";
+
+  private static final int KEYS = 10000;
+
+  @State(Scope.Benchmark)
+  public static class ClusterState {
+
+    @Param({"2", "4", "8"})
+    private int members;
+
+    /** 0 for thread-owned connections */
+    @Param({"0", "4"})
+    private int stripes;
+
+    private final List<Process> peers = new ArrayList<>();
+    private Cache cache;
+    private Region<Integer, String> region;
+
+    @Setup
+    public void setup() throws Exception {
+      System.setProperty(STRIPES_PROPERTY, String.valueOf(stripes));
+      int locatorPort;
+      try (ServerSocket socket = new ServerSocket(0)) {
+        locatorPort = socket.getLocalPort();
+      }
+      String locators = "localhost[" + locatorPort + "]";
+      cache = new CacheFactory().set("mcast-port", "0").set("locators", locators)
+          .set("start-locator", locators).set("conserve-sockets", "false").create();
+      for (int i = 1; i < members; i++) {
+        peers.add(startPeer(locators));
+      }
+      region = cache.<Integer, String>createRegionFactory(RegionShortcut.REPLICATE)
+          .create("region");
+    }
+
+    private Process startPeer(String locators) throws IOException {
+      String java = System.getProperty("java.home") + File.separator + "bin" + File.separator
+          + "java";
+      Process peer = new ProcessBuilder(java, "-D" + STRIPES_PROPERTY + "=" + stripes, "-cp",
+          System.getProperty("java.class.path"), Peer.class.getName(), locators)
+              .redirectErrorStream(true).start();
+      BufferedReader out = new BufferedReader(new InputStreamReader(peer.getInputStream()));
+      String line;
+      while ((line = out.readLine()) != null) {
+        if (line.equals(Peer.READY)) {
+          return peer;
+        }
+      }
+      throw new IOException("Peer exited before it created its region");
+    }
+
+    @TearDown(Level.Iteration)
+    public void printThreads() {
+      int readers = 0;
+      ThreadInfo[] threads = ManagementFactory.getThreadMXBean()
+          .getThreadInfo(ManagementFactory.getThreadMXBean().getAllThreadIds());
+      for (ThreadInfo thread : threads) {
+        if (thread != null && thread.getThreadName().startsWith("P2P message reader")) {
+          readers++;
+        }
+      }
+      System.out.println("members: " + members + ", stripes: " + stripes + ", threads: "
+          + threads.length + ", P2P reader threads: " + readers);
+    }
+
+    @TearDown
+    public void tearDown() {
+      cache.close();
+      for (Process peer : peers) {
+        peer.destroy();
+      }
+    }
+  }
+
+  @Benchmark
+  public Object put(ClusterState state) {
+    return state.region.put(ThreadLocalRandom.current().nextInt(KEYS), "value");
+  }
+
+  /**
+   * Runs another member in its own JVM, as a JVM can only have one cache.
+   */
+  public static class Peer {
+
+    static final String READY = "Peer created its region";
+
+    public static void main(String[] args) throws InterruptedException {
+      Cache cache = new CacheFactory().set("mcast-port", "0").set("locators", args[0])
+          .set("conserve-sockets", "false").create();
+      cache.createRegionFactory(RegionShortcut.REPLICATE).create("region");
+      System.out.println(READY);
+      System.out.flush();
+      Thread.sleep(Long.MAX_VALUE);
+    }
+  }
+}
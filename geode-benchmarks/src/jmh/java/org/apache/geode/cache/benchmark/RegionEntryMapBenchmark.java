@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.geode.internal.cache.AbstractRegionEntry;
+import org.apache.geode.internal.cache.OpenAddressingRegionEntryMap;
+import org.apache.geode.internal.cache.VMThinRegionEntryHeapIntKey;
+import org.apache.geode.internal.size.ObjectGraphSizer;
+import org.apache.geode.internal.util.concurrent.ConcurrentMapWithReusableEntries;
+import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares get and put latency of the two region entry maps with int keys. The setup prints the
+ * heap used by each map per entry, not counting the entries themselves.
+ */
+@Fork(3)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RegionEntryMapBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class MapState {
+    @Param({"chained", "openAddressing"})
+    private String mapType;
+
+    @Param({"1000000"})
+    private int entries;
+
+    private ConcurrentMapWithReusableEntries<Object, Object> map;
+
+    @Setup
+    public void setup() throws Exception {
+      if ("openAddressing".equals(mapType)) {
+        map = new OpenAddressingRegionEntryMap(16, 0.75f, 16);
+      } else {
+        map = new CustomEntryConcurrentHashMap<>(16, 0.75f, 16, false,
+            new AbstractRegionEntry.HashRegionEntryCreator());
+      }
+      for (int i = 0; i < entries; i++) {
+        map.put(i, newEntry(i));
+      }
+
+      long withEntries = ObjectGraphSizer.size(map);
+      long entriesOnly = 0;
+      for (Object re : map.values()) {
+        entriesOnly += ObjectGraphSizer.size(re);
+      }
+      System.out.println(mapType + " map overhead per entry: "
+          + ((withEntries - entriesOnly) / (double) entries) + " bytes");
+    }
+
+    private int randomKey() {
+      return ThreadLocalRandom.current().nextInt(entries);
+    }
+  }
+
+  private static VMThinRegionEntryHeapIntKey newEntry(int key) {
+    return new VMThinRegionEntryHeapIntKey(null, key, "value");
+  }
+
+  @Benchmark
+  public Object get(MapState state) {
+    return state.map.get(state.randomKey());
+  }
+
+  @Benchmark
+  public Object put(MapState state) {
+    int key = state.randomKey();
+    return state.map.put(key, newEntry(key));
+  }
+}
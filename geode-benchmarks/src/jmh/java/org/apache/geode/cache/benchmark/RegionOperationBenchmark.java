@@ -20,6 +20,7 @@ import java.util.stream.IntStream;
 
 import org.apache.geode.cache.Cache;
 import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.PrimitiveKeyRegion;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionShortcut;
 import org.apache.geode.cache.query.FunctionDomainException;
@@ -32,6 +33,7 @@ import org.apache.geode.cache.query.internal.index.AbstractIndex;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -52,6 +54,39 @@ public class RegionOperationBenchmark {
     }
   }
 
+  /**
+   * A local region of long keys, with or without the open addressing entry map that lets the
+   * {@link PrimitiveKeyRegion} operations find an entry without boxing its key.
+   */
+  @State(Scope.Benchmark)
+  public static class LongKeyState {
+    private static final int KEYS = 1000;
+
+    @Param({"false", "true"})
+    private boolean openAddressing;
+
+    private PrimitiveKeyRegion<Long, String> region;
+
+    private long next;
+
+    @Setup
+    public void setup() {
+      System.setProperty("gemfire.region.openAddressingEntryMap", String.valueOf(openAddressing));
+      Cache cache = new CacheFactory().set("mcast-port", "0").set("locators", "").create();
+
+      region = (PrimitiveKeyRegion<Long, String>) cache
+          .<Long, String>createRegionFactory(RegionShortcut.LOCAL).create("longKeys");
+      for (long key = 0; key < KEYS; key++) {
+        region.put(key, "value");
+      }
+    }
+
+    private long nextKey() {
+      // plain increment, the benchmark threads only need a spread of keys
+      return next++ % KEYS;
+    }
+  }
+
   @Benchmark
   @Warmup(iterations = 20)
   @Measurement(iterations = 20)
@@ -59,4 +94,32 @@ public class RegionOperationBenchmark {
       QueryInvocationTargetException, FunctionDomainException {
     return state.region.put("key", "value");
   }
+
+  @Benchmark
+  @Warmup(iterations = 20)
+  @Measurement(iterations = 20)
+  public Object getBoxedLong(LongKeyState state) {
+    return state.region.get(state.nextKey());
+  }
+
+  @Benchmark
+  @Warmup(iterations = 20)
+  @Measurement(iterations = 20)
+  public Object getLong(LongKeyState state) {
+    return state.region.getLong(state.nextKey());
+  }
+
+  @Benchmark
+  @Warmup(iterations = 20)
+  @Measurement(iterations = 20)
+  public Object putBoxedLong(LongKeyState state) {
+    return state.region.put(state.nextKey(), "value");
+  }
+
+  @Benchmark
+  @Warmup(iterations = 20)
+  @Measurement(iterations = 20)
+  public Object putLong(LongKeyState state) {
+    return state.region.putLong(state.nextKey(), "value");
+  }
 }
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache;
+
+/**
+ * Extends {@link Region} with operations for regions whose keys are {@link Integer}s or
+ * {@link Long}s. Regions created by a {@link Cache} or a
+ * {@link org.apache.geode.cache.client.ClientCache} implement this interface.
+ * <p>
+ * Each operation behaves exactly like the corresponding {@link Region} operation called with the
+ * boxed key. When the region can satisfy the operation from its local entries without notifying
+ * anyone, as is the case for a get that finds a value in memory or for an update of a local region
+ * that has no listeners, writer, indexes, persistence, eviction, statistics or clients, the
+ * operation is done without boxing the key and without creating an event.
+ *
+ * @param <K> the class of the keys of the region
+ * @param <V> the class of the values of the region
+ *
+ * @since Geode 1.3
+ */
+public interface PrimitiveKeyRegion<K, V> extends Region<K, V> {
+
+  /**
+   * Returns the value associated with the Integer key.
+   *
+   * @see Region#get(Object)
+   */
+  public V getInt(int key) throws CacheLoaderException, TimeoutException;
+
+  /**
+   * Returns the value associated with the Long key.
+   *
+   * @see Region#get(Object)
+   */
+  public V getLong(long key) throws CacheLoaderException, TimeoutException;
+
+  /**
+   * Places a new value into the entry for the Integer key.
+   *
+   * @return the previous value, as described by {@link Region#put(Object, Object)}
+   * @see Region#put(Object, Object)
+   */
+  public V putInt(int key, V value) throws TimeoutException, CacheWriterException;
+
+  /**
+   * Places a new value into the entry for the Long key.
+   *
+   * @return the previous value, as described by {@link Region#put(Object, Object)}
+   * @see Region#put(Object, Object)
+   */
+  public V putLong(long key, V value) throws TimeoutException, CacheWriterException;
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.client.internal.AsyncRegionImpl;
+
+/**
+ * Operations on a client {@link Region} that return without waiting for the server. Each operation
+ * returns a {@link CompletableFuture} that is completed with the result of the operation, or
+ * completed exceptionally with the exception the corresponding {@link Region} operation would
+ * have thrown.
+ * <p>
+ * The region must be a {@link ClientRegionShortcut#PROXY PROXY} region: the operations are sent to
+ * the server and do not read or update a local cache. Operations invoked in a transaction are done
+ * before the method returns.
+ * <p>
+ * When the pool uses multiplexed connections gets and puts do not occupy a thread while they wait
+ * for the server. Other operations are executed by a thread of the pool. So are gets on a region
+ * with a {@link org.apache.geode.cache.CacheLoader} and puts on a region with a
+ * {@link org.apache.geode.cache.CacheWriter} or {@link org.apache.geode.cache.CacheListener}s,
+ * which are done by the corresponding {@link Region} operation so that the callbacks are invoked
+ * as they would be by that operation.
+ *
+ * @param <K> the class of the keys of the region
+ * @param <V> the class of the values of the region
+ *
+ * @since Geode 1.3
+ */
+public interface AsyncRegion<K, V> {
+
+  /**
+   * Returns the asynchronous operations of the given client region.
+   *
+   * @throws IllegalArgumentException if the region is not a proxy region of a client cache
+   */
+  public static <K, V> AsyncRegion<K, V> of(Region<K, V> region) {
+    return new AsyncRegionImpl<>(region);
+  }
+
+  /**
+   * Returns the region these operations are done on.
+   */
+  public Region<K, V> getRegion();
+
+  /**
+   * Gets the value of the given key from the server.
+   *
+   * @see Region#get(Object)
+   */
+  public CompletableFuture<V> getAsync(K key);
+
+  /**
+   * Puts the given value for the given key on the server.
+   *
+   * @return a future completed with the previous value, as described by
+   *         {@link Region#put(Object, Object)}
+   * @see Region#put(Object, Object)
+   */
+  public CompletableFuture<V> putAsync(K key, V value);
+
+  /**
+   * Gets the values of the given keys from the servers.
+   *
+   * @see Region#getAll(Collection)
+   */
+  public CompletableFuture<Map<K, V>> getAllAsync(Collection<? extends K> keys);
+
+  /**
+   * Executes the function with the given id on the servers that host the region.
+   *
+   * @param filter the keys the function is executed on, or null for all keys
+   * @param args the arguments of the function, or null
+   * @return a future completed with the result of the default result collector of the execution
+   * @see org.apache.geode.cache.execute.FunctionService#onRegion(Region)
+   */
+  public CompletableFuture<Object> executeAsync(String functionId, Set<? extends K> filter,
+      Object args);
+}
@@ -20,6 +20,7 @@ import org.apache.geode.cache.CacheListener;
 import org.apache.geode.cache.CustomExpiry;
 import org.apache.geode.cache.EvictionAttributes;
 import org.apache.geode.cache.ExpirationAttributes;
+import org.apache.geode.cache.InterestResultPolicy;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionDestroyedException;
 import org.apache.geode.cache.RegionExistsException;
@@ -277,6 +278,25 @@ public interface ClientRegionFactory<K, V> {
    */
   public ClientRegionFactory<K, V> setCompressor(Compressor compressor);
 
+  /**
+   * Sets whether the region is a near cache of the server region. A near cache registers interest
+   * in each key it reads from the server before reading it, asking the servers to send
+   * invalidations rather than values when the key changes. The servers track only the keys the
+   * region has read, and interest in keys the region evicts or expires is unregistered, so the
+   * subscription traffic and server state are proportional to what the client caches.
+   * <p>
+   * The size and lifetime of the cached entries are bounded with
+   * {@link #setEvictionAttributes(EvictionAttributes)} and
+   * {@link #setEntryTimeToLive(ExpirationAttributes)}. A near cache must have local state, its pool
+   * must have subscriptions enabled, and its eviction and expiration actions must be local.
+   *
+   * @param nearCache whether the region is a near cache
+   * @return a reference to this ClientRegionFactory object
+   * @see Region#registerInterest(Object, InterestResultPolicy, boolean, boolean)
+   * @since Geode 1.3
+   */
+  public ClientRegionFactory<K, V> setNearCache(boolean nearCache);
+
   /**
    * Creates a region in the {@link ClientCache} using the configuration contained in this
    * ClientRegionFactory. Validation of the provided attributes may cause exceptions to be thrown if
@@ -17,6 +17,9 @@ package org.apache.geode.cache.client.internal;
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.apache.logging.log4j.Logger;
 
@@ -30,8 +33,10 @@ import org.apache.geode.internal.cache.TXManagerImpl;
 import org.apache.geode.internal.cache.tier.MessageType;
 import org.apache.geode.internal.cache.tier.sockets.ChunkedMessage;
 import org.apache.geode.internal.cache.tier.sockets.Message;
+import org.apache.geode.internal.cache.tier.sockets.MessageCompression;
 import org.apache.geode.internal.cache.tier.sockets.Part;
 import org.apache.geode.internal.cache.tier.sockets.ServerConnection;
+import org.apache.geode.internal.cache.tier.sockets.ServerQueueStatus;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.logging.log4j.LogMarker;
 
@@ -88,6 +93,10 @@ public abstract class AbstractOp implements Op {
     }
     getMessage().setComms(cnx.getSocket(), cnx.getInputStream(), cnx.getOutputStream(),
         cnx.getCommBuffer(), cnx.getStats());
+    ServerQueueStatus status = cnx.getQueueStatus();
+    if (status != null && status.isCompressingMessages()) {
+      getMessage().setCompressor(MessageCompression.getCompressor());
+    }
     try {
       sendMessage(cnx);
     } finally {
@@ -402,6 +411,105 @@ public abstract class AbstractOp implements Op {
     }
   }
 
+  /**
+   * Subclasses should override this method to return true if the operation reads or writes a single
+   * entry, so that the time it takes depends on how fast the server responds rather than on how
+   * much work it is asked to do.
+   */
+  protected boolean isSingleKey() {
+    return false;
+  }
+
+  /**
+   * Subclasses should override this method to return true if the operation is sent in a single
+   * message and gets a single, unchunked reply, so that it can share a
+   * {@link MultiplexedConnectionImpl} with other operations.
+   */
+  protected boolean isMultiplexable() {
+    return false;
+  }
+
+  /**
+   * Like {@link #attempt(Connection)} but the connection is not held exclusively: the reply is
+   * matched to the request by the request id the connection puts in the message header.
+   */
+  Object attemptMultiplexed(MultiplexedConnectionImpl cnx) throws Exception {
+    this.failed = true;
+    this.timedOut = false;
+    long start = startAttempt(cnx.getStats());
+    try {
+      CompletableFuture<Message> reply;
+      try {
+        if (logger.isTraceEnabled(LogMarker.DISTRIBUTION_BRIDGE_SERVER)) {
+          if (logger.isDebugEnabled()) {
+            logger.debug("Sending multiplexed op={} using {}", getShortClassName(), cnx);
+          }
+        }
+        reply = cnx.send(getMessage());
+        this.failed = false;
+      } finally {
+        endSendAttempt(cnx.getStats(), start);
+      }
+      this.failed = true;
+      try {
+        Object result = processResponse(cnx.receive(reply), cnx);
+        this.failed = false;
+        return result;
+      } catch (SocketTimeoutException ste) {
+        this.failed = false;
+        this.timedOut = true;
+        throw ste;
+      }
+    } finally {
+      endAttempt(cnx.getStats(), start);
+    }
+  }
+
+  /**
+   * Like {@link #attemptMultiplexed(MultiplexedConnectionImpl)} but does not wait for the reply.
+   * The reply is processed by the given executor when it arrives.
+   */
+  CompletableFuture<Object> attemptMultiplexedAsync(MultiplexedConnectionImpl cnx,
+      Executor executor, ScheduledExecutorService timer) {
+    this.failed = true;
+    this.timedOut = false;
+    long start = startAttempt(cnx.getStats());
+    CompletableFuture<Message> reply;
+    try {
+      reply = cnx.send(getMessage());
+      this.failed = false;
+    } catch (Exception e) {
+      endSendAttempt(cnx.getStats(), start);
+      endAttempt(cnx.getStats(), start);
+      CompletableFuture<Object> result = new CompletableFuture<>();
+      result.completeExceptionally(e);
+      return result;
+    }
+    endSendAttempt(cnx.getStats(), start);
+    this.failed = true;
+    CompletableFuture<Object> result = new CompletableFuture<>();
+    cnx.expireAfterReadTimeout(reply, timer).whenCompleteAsync((msg, failure) -> {
+      try {
+        if (failure != null) {
+          if (failure instanceof SocketTimeoutException) {
+            this.failed = false;
+            this.timedOut = true;
+          }
+          result.completeExceptionally(failure);
+        } else {
+          Object value = processResponse(msg, cnx);
+          this.failed = false;
+          result.complete(value);
+        }
+      } catch (Exception e) {
+        result.completeExceptionally(e);
+      } finally {
+        endAttempt(cnx.getStats(), start);
+      }
+    }, executor);
+    return result;
+  }
+
   protected boolean hasFailed() {
     return this.failed;
   }
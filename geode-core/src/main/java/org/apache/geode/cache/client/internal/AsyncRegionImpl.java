@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.apache.geode.cache.DataPolicy;
+import org.apache.geode.cache.Operation;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionAttributes;
+import org.apache.geode.cache.client.AsyncRegion;
+import org.apache.geode.cache.execute.Execution;
+import org.apache.geode.cache.execute.FunctionService;
+import org.apache.geode.internal.cache.CachePerfStats;
+import org.apache.geode.internal.cache.EntryEventImpl;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.TXManagerImpl;
+import org.apache.geode.internal.cache.Token;
+
+/**
+ * Implements {@link AsyncRegion} with the asynchronous ops of the region's pool. Gets and puts
+ * are sent by {@link ServerRegionProxy} and recorded in the region's statistics. A get on a region
+ * with a CacheLoader, a put on a region with a CacheWriter or CacheListeners, getAll and function
+ * execution, whose replies are chunked, run the synchronous region operation on a thread of the
+ * pool.
+ *
+ * @since Geode 1.3
+ */
+public class AsyncRegionImpl<K, V> implements AsyncRegion<K, V> {
+
+  private final Region<K, V> region;
+  private final LocalRegion localRegion;
+
+  public AsyncRegionImpl(Region<K, V> region) {
+    if (!(region instanceof LocalRegion) || ((LocalRegion) region).getServerProxy() == null) {
+      throw new IllegalArgumentException(
+          "The region " + region.getFullPath() + " is not a client region");
+    }
+    if (region.getAttributes().getDataPolicy() != DataPolicy.EMPTY) {
+      throw new IllegalArgumentException(
+          "The region " + region.getFullPath() + " is not a proxy region");
+    }
+    this.region = region;
+    this.localRegion = (LocalRegion) region;
+  }
+
+  @Override
+  public Region<K, V> getRegion() {
+    return this.region;
+  }
+
+  @Override
+  public CompletableFuture<V> getAsync(K key) {
+    this.localRegion.validateKey(key);
+    this.localRegion.checkReadiness();
+    if (isSynchronous()) {
+      return completeNow(() -> this.region.get(key));
+    }
+    if (this.region.getAttributes().getCacheLoader() != null) {
+      return getPool().runAsync(() -> this.region.get(key));
+    }
+    CachePerfStats stats = this.localRegion.getCachePerfStats();
+    long start = stats.startGet();
+    return this.localRegion.getServerProxy().getAsync(key, null).thenApply(this::toValue)
+        .whenComplete((value, failure) -> {
+          if (failure == null) {
+            stats.endGet(start, value == null);
+          }
+        });
+  }
+
+  @Override
+  public CompletableFuture<V> putAsync(K key, V value) {
+    this.localRegion.validateKey(key);
+    if (value == null) {
+      throw new NullPointerException("value must not be null");
+    }
+    Class valueConstraint = this.region.getAttributes().getValueConstraint();
+    if (valueConstraint != null && !valueConstraint.isInstance(value)) {
+      throw new ClassCastException("value " + value.getClass().getName()
+          + " does not satisfy valueConstraint " + valueConstraint.getName());
+    }
+    this.localRegion.checkReadiness();
+    if (isSynchronous()) {
+      return completeNow(() -> this.region.put(key, value));
+    }
+    if (hasPutCallbacks()) {
+      return getPool().runAsync(() -> this.region.put(key, value));
+    }
+    CachePerfStats stats = this.localRegion.getCachePerfStats();
+    long start = CachePerfStats.getStatTime();
+    EntryEventImpl event = EntryEventImpl.create(this.localRegion, Operation.UPDATE, key, value,
+        null, false, this.localRegion.getCache().getMyId());
+    event.setNewEventId(this.localRegion.getCache().getDistributedSystem());
+    CompletableFuture<Object> result;
+    try {
+      result = this.localRegion.getServerProxy().putAsync(key, value, event, Operation.UPDATE,
+          true, null);
+    } catch (RuntimeException e) {
+      event.release();
+      throw e;
+    }
+    return result.whenComplete((oldValue, failure) -> {
+      event.release();
+      if (failure == null) {
+        stats.endPut(start, false);
+      }
+    }).thenApply(this::toValue);
+  }
+
+  @Override
+  public CompletableFuture<Map<K, V>> getAllAsync(Collection<? extends K> keys) {
+    this.localRegion.checkReadiness();
+    if (isSynchronous()) {
+      return completeNow(() -> this.region.getAll(keys));
+    }
+    return getPool().runAsync(() -> this.region.getAll(keys));
+  }
+
+  @Override
+  public CompletableFuture<Object> executeAsync(String functionId, Set<? extends K> filter,
+      Object args) {
+    this.localRegion.checkReadiness();
+    Supplier<Object> task = () -> {
+      Execution execution = FunctionService.onRegion(this.region);
+      if (filter != null) {
+        execution = execution.withFilter(filter);
+      }
+      if (args != null) {
+        execution = execution.setArguments(args);
+      }
+      return execution.execute(functionId).getResult();
+    };
+    if (isSynchronous()) {
+      return completeNow(task);
+    }
+    return getPool().runAsync(task);
+  }
+
+  private PoolImpl getPool() {
+    return (PoolImpl) this.localRegion.getServerProxy().getPool();
+  }
+
+  /**
+   * Returns true if a put has to call the region's CacheWriter or CacheListeners, which only the
+   * region's own put does.
+   */
+  private boolean hasPutCallbacks() {
+    RegionAttributes<K, V> attributes = this.region.getAttributes();
+    return attributes.getCacheWriter() != null || attributes.getCacheListeners().length > 0;
+  }
+
+  /**
+   * Returns true if the calling thread has state, such as a transaction or the credentials of a
+   * multiuser cache, that another thread would not see.
+   */
+  private boolean isSynchronous() {
+    return TXManagerImpl.getCurrentTXUniqueId() != TXManagerImpl.NOTX
+        || UserAttributes.userAttributes.get() != null;
+  }
+
+  private static <T> CompletableFuture<T> completeNow(Supplier<T> operation) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    try {
+      result.complete(operation.get());
+    } catch (RuntimeException e) {
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private V toValue(Object value) {
+    if (Token.isInvalidOrRemoved(value)) {
+      return null;
+    }
+    return (V) value;
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.apache.geode.InternalGemFireException;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.distributed.internal.ServerLocation;
+import org.apache.geode.internal.cache.PoolStats;
+import org.apache.geode.internal.cache.PutAllPartialResultException;
+import org.apache.geode.internal.cache.PutAllPartialResultException.PutAllPartialResult;
+import org.apache.geode.internal.cache.tier.sockets.VersionedObjectList;
+
+/**
+ * Sends the keys of a single hop getAll or putAll that belong to one server in chunks of at most
+ * {@link #CHUNK_SIZE} keys instead of in one message, so that neither the client nor the server
+ * has to hold the message for all of the keys. The result of each chunk is added to the result of
+ * the request as it arrives. While a chunk is in flight, the message of the next chunk is
+ * serialized by another thread.
+ * <p>
+ * The chunks are sent one at a time and in order. The server gives the entries of a putAll event
+ * ids that follow the event id of its message, so each chunk's event id is offset by the position
+ * of its first key, and a server would discard entries whose event ids arrive out of order as
+ * duplicates.
+ *
+ * @since Geode 1.3
+ */
+class ChunkedBulkOpCallable extends SingleHopOperationCallable {
+
+  /**
+   * The maximum number of keys sent to a server in one getAll or putAll message.
+   */
+  static final int CHUNK_SIZE =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "BULK_OP_CHUNK_SIZE", 1000);
+
+  /**
+   * Creates the operation that sends one chunk of the keys.
+   */
+  interface ChunkFactory {
+
+    /**
+     * Returns the operation that sends the given keys, the first of which is at the given offset in
+     * the keys of the server.
+     */
+    AbstractOp create(List keys, int offset);
+  }
+
+  private final List keys;
+
+  private final ChunkFactory chunkFactory;
+
+  ChunkedBulkOpCallable(ServerLocation server, PoolImpl pool, List keys, ChunkFactory chunkFactory,
+      UserAttributes securityAttributes) {
+    super(server, pool, chunkFactory.create(chunk(keys, 0), 0), securityAttributes);
+    this.keys = keys;
+    this.chunkFactory = chunkFactory;
+  }
+
+  private static List chunk(List keys, int offset) {
+    return keys.subList(offset, Math.min(offset + CHUNK_SIZE, keys.size()));
+  }
+
+  /**
+   * Returns the keys sent to the server, in the order of the results.
+   */
+  List getKeys() {
+    return this.keys;
+  }
+
+  @Override
+  public Object call() throws Exception {
+    PoolStats stats = getPool().getStats();
+    long start = stats.startTime();
+    AbstractOp op = getOperation();
+    op.initMessagePart();
+    VersionedObjectList result = null;
+    for (int offset = 0; offset < this.keys.size(); offset += CHUNK_SIZE) {
+      int nextOffset = offset + CHUNK_SIZE;
+      Future<AbstractOp> next = nextOffset < this.keys.size() ? prepare(nextOffset) : null;
+      VersionedObjectList chunkResult;
+      try {
+        chunkResult = (VersionedObjectList) execute(op);
+      } catch (PutAllPartialResultException e) {
+        throw partialResult(result, offset, e);
+      } finally {
+        stats.incBulkOpChunks();
+      }
+      if (result == null) {
+        result = chunkResult;
+      } else if (chunkResult != null) {
+        result.addAll(chunkResult);
+      }
+      if (next != null) {
+        op = getPrepared(next);
+      }
+    }
+    stats.endBulkOpServerStream(start);
+    return result;
+  }
+
+  /**
+   * Creates and serializes the operation of the chunk at the given offset in another thread.
+   */
+  private Future<AbstractOp> prepare(int offset) {
+    return SingleHopClientExecutor.execService.submit(() -> {
+      AbstractOp op = this.chunkFactory.create(chunk(this.keys, offset), offset);
+      op.initMessagePart();
+      return op;
+    });
+  }
+
+  private static AbstractOp getPrepared(Future<AbstractOp> next) throws InterruptedException {
+    try {
+      return next.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new InternalGemFireException(e.getCause());
+    }
+  }
+
+  /**
+   * Returns the partial result of a putAll whose chunk at the given offset failed, which includes
+   * the keys of the chunks that preceded it.
+   */
+  private PutAllPartialResultException partialResult(VersionedObjectList succeeded, int offset,
+      PutAllPartialResultException failure) {
+    if (offset == 0) {
+      return failure;
+    }
+    PutAllPartialResult result = new PutAllPartialResult(this.keys.size());
+    if (succeeded != null && succeeded.hasVersions()) {
+      result.addKeysAndVersions(succeeded);
+    } else {
+      result.addKeys(this.keys.subList(0, offset));
+    }
+    result.consolidate(failure.getResult());
+    return new PutAllPartialResultException(result);
+  }
+}
@@ -16,9 +16,13 @@ package org.apache.geode.cache.client.internal;
 
 import static org.apache.commons.lang.StringUtils.isEmpty;
 
+import java.io.IOException;
+
+import org.apache.geode.InternalGemFireError;
 import org.apache.geode.cache.AttributesFactory;
 import org.apache.geode.cache.CacheListener;
 import org.apache.geode.cache.CustomExpiry;
+import org.apache.geode.cache.DataPolicy;
 import org.apache.geode.cache.EvictionAttributes;
 import org.apache.geode.cache.ExpirationAttributes;
 import org.apache.geode.cache.InterestPolicy;
@@ -30,9 +34,12 @@ import org.apache.geode.cache.SubscriptionAttributes;
 import org.apache.geode.cache.client.ClientRegionFactory;
 import org.apache.geode.cache.client.ClientRegionShortcut;
 import org.apache.geode.cache.client.Pool;
+import org.apache.geode.cache.client.PoolManager;
 import org.apache.geode.compression.Compressor;
+import org.apache.geode.internal.cache.InternalRegionArguments;
 import org.apache.geode.internal.cache.LocalRegion;
 import org.apache.geode.internal.cache.UserSpecifiedRegionAttributes;
+import org.apache.geode.internal.i18n.LocalizedStrings;
 
 /**
  * The distributed system will always default to a loner on a client.
@@ -43,6 +50,7 @@ import org.apache.geode.internal.cache.UserSpecifiedRegionAttributes;
 public class ClientRegionFactoryImpl<K, V> implements ClientRegionFactory<K, V> {
   private final AttributesFactory<K, V> attrsFactory;
   private final InternalClientCache cache;
+  private boolean nearCache;
 
   /**
    * Constructs a ClientRegionFactory by creating a DistributedSystem and a Cache. If no
@@ -204,9 +212,27 @@ public class ClientRegionFactoryImpl<K, V> implements ClientRegionFactory<K, V>
     return this;
   }
 
+  @Override
+  public ClientRegionFactory<K, V> setNearCache(boolean nearCache) {
+    this.nearCache = nearCache;
+    return this;
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   public Region<K, V> create(String name) throws RegionExistsException {
+    if (this.nearCache) {
+      RegionAttributes<K, V> ra = createRegionAttributes();
+      validateNearCache(ra);
+      try {
+        return getCache().createVMRegion(name, ra,
+            new InternalRegionArguments().setNearCache(true));
+      } catch (IOException | ClassNotFoundException e) {
+        // only if loading snapshot, not here
+        throw new InternalGemFireError(
+            LocalizedStrings.GemFireCache_UNEXPECTED_EXCEPTION.toLocalizedString(), e);
+      }
+    }
     return getCache().basicCreateRegion(name, createRegionAttributes());
   }
 
@@ -214,9 +240,49 @@ public class ClientRegionFactoryImpl<K, V> implements ClientRegionFactory<K, V>
   @Override
   public Region<K, V> createSubregion(Region<?, ?> parent, String name)
       throws RegionExistsException {
+    if (this.nearCache) {
+      RegionAttributes<K, V> ra = createRegionAttributes();
+      validateNearCache(ra);
+      try {
+        return ((LocalRegion) parent).createSubregion(name, ra,
+            new InternalRegionArguments().setNearCache(true));
+      } catch (IOException | ClassNotFoundException e) {
+        // only if loading snapshot, not here
+        throw new InternalGemFireError(
+            LocalizedStrings.GemFireCache_UNEXPECTED_EXCEPTION.toLocalizedString(), e);
+      }
+    }
     return ((LocalRegion) parent).createSubregion(name, createRegionAttributes());
   }
 
+  /**
+   * Throws IllegalStateException if the given attributes are not those of a near cache: the
+   * region must cache values, get invalidations from its pool's subscriptions, and never evict or
+   * expire entries on the servers.
+   */
+  private void validateNearCache(RegionAttributes<K, V> ra) {
+    if (ra.getDataPolicy() == DataPolicy.EMPTY) {
+      throw new IllegalStateException("A near cache must have local state.");
+    }
+    Pool pool = PoolManager.find(ra.getPoolName());
+    if (pool == null || !pool.getSubscriptionEnabled()) {
+      throw new IllegalStateException(
+          "A near cache requires a pool whose subscriptions are enabled.");
+    }
+    EvictionAttributes eviction = ra.getEvictionAttributes();
+    if (eviction != null && !eviction.getAlgorithm().isNone()
+        && !eviction.getAction().isLocalDestroy() && !eviction.getAction().isOverflowToDisk()) {
+      throw new IllegalStateException(
+          "The eviction action of a near cache must be local destroy or overflow to disk.");
+    }
+    for (ExpirationAttributes expiration : new ExpirationAttributes[] {ra.getEntryTimeToLive(),
+        ra.getEntryIdleTimeout()}) {
+      if (expiration.getTimeout() > 0 && !expiration.getAction().isLocal()) {
+        throw new IllegalStateException("The expiration action of a near cache must be local.");
+      }
+    }
+  }
+
   @SuppressWarnings("deprecation")
   private RegionAttributes<K, V> createRegionAttributes() {
     RegionAttributes<K, V> ra = this.attrsFactory.create();
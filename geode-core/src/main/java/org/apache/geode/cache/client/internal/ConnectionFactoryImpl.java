@@ -126,7 +126,24 @@ public class ConnectionFactoryImpl implements ConnectionFactory {
 
   public Connection createClientToServerConnection(ServerLocation location, boolean forQueue)
       throws GemFireSecurityException {
-    ConnectionImpl connection = new ConnectionImpl(this.ds, this.cancelCriterion);
+    return connect(new ConnectionImpl(this.ds, this.cancelCriterion), location,
+        getCommMode(forQueue), true);
+  }
+
+  /**
+   * Create a connection to the given server that carries many outstanding requests at once. A
+   * failure does not count against the server, as it may just not support multiplexing.
+   *
+   * @return the connection, or null if a connection could not be established.
+   */
+  public Connection createMultiplexedConnection(ServerLocation location)
+      throws GemFireSecurityException {
+    return connect(new MultiplexedConnectionImpl(this.ds, this.cancelCriterion), location,
+        CommunicationMode.ClientToServerMultiplexed, false);
+  }
+
+  private Connection connect(ConnectionImpl connection, ServerLocation location,
+      CommunicationMode communicationMode, boolean trackFailures) {
     FailureTracker failureTracker = blackList.getFailureTracker(location);
 
     boolean initialized = false;
@@ -134,9 +151,11 @@ public class ConnectionFactoryImpl implements ConnectionFactory {
     try {
       HandShake connHandShake = new HandShake(handshake);
       connection.connect(endpointManager, location, connHandShake, socketBufferSize,
-          handShakeTimeout, readTimeout, getCommMode(forQueue), this.gatewaySender,
+          handShakeTimeout, readTimeout, communicationMode, this.gatewaySender,
           this.socketCreator);
-      failureTracker.reset();
+      if (trackFailures) {
+        failureTracker.reset();
+      }
       connection.setHandShake(connHandShake);
       authenticateIfRequired(connection);
       initialized = true;
@@ -173,7 +192,9 @@ public class ConnectionFactoryImpl implements ConnectionFactory {
     } finally {
       if (!initialized) {
         connection.destroy();
-        failureTracker.addFailure();
+        if (trackFailures) {
+          failureTracker.addFailure();
+        }
         connection = null;
       }
     }
@@ -374,6 +374,10 @@ public class ConnectionStats implements MessageStats {
   private final static int messageBytesBeingReceivedId;
   private final static int receivedBytesId;
   private final static int sentBytesId;
+  private final static int compressedBytesReceivedId;
+  private final static int uncompressedBytesReceivedId;
+  private final static int compressedBytesSentId;
+  private final static int uncompressedBytesSentId;
 
   private final static int executeFunctionInProgressId;
   private final static int executeFunctionSendInProgressId;
@@ -819,6 +823,18 @@ public class ConnectionStats implements MessageStats {
               f.createLongCounter("sentBytes",
                   "Total number of bytes sent to server over a client-to-server connection.",
                   "bytes"),
+              f.createLongCounter("compressedBytesReceived",
+                  "Total number of bytes of the compressed message parts received from server over a client-to-server connection.",
+                  "bytes"),
+              f.createLongCounter("uncompressedBytesReceived",
+                  "Total number of bytes the compressed message parts received from server over a client-to-server connection were decompressed to.",
+                  "bytes"),
+              f.createLongCounter("compressedBytesSent",
+                  "Total number of bytes of the compressed message parts sent to server over a client-to-server connection.",
+                  "bytes"),
+              f.createLongCounter("uncompressedBytesSent",
+                  "Total number of bytes the message parts sent compressed to server over a client-to-server connection had before they were compressed.",
+                  "bytes"),
               f.createIntGauge("messagesBeingReceived",
                   "Current number of message being received off the network or being processed after reception over a client-to-server connection.",
                   "messages"),
@@ -1620,6 +1636,10 @@ public class ConnectionStats implements MessageStats {
 
       receivedBytesId = type.nameToId("receivedBytes");
       sentBytesId = type.nameToId("sentBytes");
+      compressedBytesReceivedId = type.nameToId("compressedBytesReceived");
+      uncompressedBytesReceivedId = type.nameToId("uncompressedBytesReceived");
+      compressedBytesSentId = type.nameToId("compressedBytesSent");
+      uncompressedBytesSentId = type.nameToId("uncompressedBytesSent");
       messagesBeingReceivedId = type.nameToId("messagesBeingReceived");
       messageBytesBeingReceivedId = type.nameToId("messageBytesBeingReceived");
 
@@ -3267,6 +3287,16 @@ public class ConnectionStats implements MessageStats {
     // }
   }
 
+  public void incCompressedBytesSent(long uncompressedBytes, long compressedBytes) {
+    this.stats.incLong(uncompressedBytesSentId, uncompressedBytes);
+    this.stats.incLong(compressedBytesSentId, compressedBytes);
+  }
+
+  public void incCompressedBytesReceived(long compressedBytes, long uncompressedBytes) {
+    this.stats.incLong(compressedBytesReceivedId, compressedBytes);
+    this.stats.incLong(uncompressedBytesReceivedId, uncompressedBytes);
+  }
+
   public void incMessagesBeingReceived(int bytes) {
     stats.incInt(messagesBeingReceivedId, 1);
     if (bytes > 0) {
@@ -71,6 +71,19 @@ public class ContainsKeyOp {
       return msgType == MessageType.CONTAINS_KEY_DATA_ERROR;
     }
 
+    /**
+     * containsValue searches the whole region.
+     */
+    @Override
+    protected boolean isSingleKey() {
+      return this.mode != MODE.VALUE;
+    }
+
+    @Override
+    protected boolean isMultiplexable() {
+      return true;
+    }
+
     @Override
     protected long startAttempt(ConnectionStats stats) {
       return stats.startContainsKey();
@@ -244,6 +244,16 @@ public class DestroyOp {
       return msgType == MessageType.DESTROY_DATA_ERROR;
     }
 
+    @Override
+    protected boolean isSingleKey() {
+      return true;
+    }
+
+    @Override
+    protected boolean isMultiplexable() {
+      return true;
+    }
+
     @Override
     protected long startAttempt(ConnectionStats stats) {
       return stats.startDestroy();
@@ -29,7 +29,16 @@ import org.apache.geode.distributed.internal.ServerLocation;
  */
 public class Endpoint {
 
+  /**
+   * The weight, as a power of two, of the past response times in the average response time. Each
+   * new response time moves the average by 1/8th of its difference from it, like the smoothed round
+   * trip time of TCP.
+   */
+  private static final int RESPONSE_TIME_SMOOTHING_SHIFT = 3;
+
   private AtomicLong lastExecute = new AtomicLong();
+  /** The exponentially weighted moving average of the response times in nanoseconds */
+  private final AtomicLong responseTime = new AtomicLong();
   private AtomicInteger references = new AtomicInteger();
   private final ServerLocation location;
   private final ConnectionStats stats;
@@ -54,6 +63,27 @@ public class Endpoint {
     return lastExecute.get();
   }
 
+  /**
+   * Adds the time the server took to respond to an operation to its average response time.
+   */
+  public void recordResponseTime(long nanos) {
+    long average;
+    long updated;
+    do {
+      average = this.responseTime.get();
+      updated = average == 0 ? Math.max(1, nanos)
+          : average + ((nanos - average) >> RESPONSE_TIME_SMOOTHING_SHIFT);
+    } while (!this.responseTime.compareAndSet(average, updated));
+  }
+
+  /**
+   * Returns the average time in nanoseconds the server took to respond to recent operations, or 0
+   * if no operation has been executed on it yet.
+   */
+  public long getResponseTime() {
+    return this.responseTime.get();
+  }
+
   public boolean timeToPing(long pingIntervalNanos) {
     long now = System.nanoTime();
     return getLastExecute() <= (now - pingIntervalNanos);
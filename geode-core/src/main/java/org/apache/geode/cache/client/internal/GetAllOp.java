@@ -125,11 +125,11 @@ public class GetAllOp {
     }
     for (ServerLocation server : servers) {
       Set filterSet = serverToFilterMap.get(server);
-      AbstractOp getAllOp = new GetAllOpImpl(region, new ArrayList(filterSet), callback);
-
       SingleHopOperationCallable task =
-          new SingleHopOperationCallable(new ServerLocation(server.getHostName(), server.getPort()),
-              pool, getAllOp, UserAttributes.userAttributes.get());
+          new ChunkedBulkOpCallable(new ServerLocation(server.getHostName(), server.getPort()),
+              pool, new ArrayList(filterSet),
+              (keys, offset) -> new GetAllOpImpl(region, keys, callback),
+              UserAttributes.userAttributes.get());
       tasks.add(task);
     }
     return tasks;
@@ -14,6 +14,8 @@
  */
 package org.apache.geode.cache.client.internal;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.logging.log4j.Logger;
 
 import org.apache.geode.cache.CacheClosedException;
@@ -91,6 +93,25 @@ public class GetOp {
     return pool.execute(op);
   }
 
+  /**
+   * Does a region get on a server without waiting for the reply.
+   *
+   * @see #execute(ExecutablePool, LocalRegion, Object, Object, boolean, EntryEventImpl)
+   * @return a future completed with the entry value found by the get if any
+   */
+  public static CompletableFuture<Object> executeAsync(PoolImpl pool, LocalRegion region,
+      Object key, Object callbackArg, boolean prSingleHopEnabled, EntryEventImpl clientEvent) {
+    GetOpImpl op = new GetOpImpl(region, key, callbackArg, prSingleHopEnabled, clientEvent);
+    if (prSingleHopEnabled) {
+      ClientMetadataService cms = region.getCache().getClientMetadataService();
+      ServerLocation server =
+          cms.getBucketServerLocation(region, Operation.GET, key, null, callbackArg);
+      if (server != null) {
+        return pool.executeSingleHopAsync(cms, server, op);
+      }
+    }
+    return pool.executeAsync(op);
+  }
 
   private GetOp() {
     // no instances allowed
@@ -216,6 +237,16 @@ public class GetOp {
       return msgType == MessageType.REQUESTDATAERROR;
     }
 
+    @Override
+    protected boolean isSingleKey() {
+      return true;
+    }
+
+    @Override
+    protected boolean isMultiplexable() {
+      return true;
+    }
+
     @Override
     protected long startAttempt(ConnectionStats stats) {
       return stats.startGet();
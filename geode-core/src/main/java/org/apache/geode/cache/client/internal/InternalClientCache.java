@@ -14,6 +14,8 @@
  */
 package org.apache.geode.cache.client.internal;
 
+import java.io.IOException;
+
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionAttributes;
 import org.apache.geode.cache.RegionExistsException;
@@ -21,6 +23,7 @@ import org.apache.geode.cache.TimeoutException;
 import org.apache.geode.cache.client.ClientCache;
 import org.apache.geode.cache.client.Pool;
 import org.apache.geode.cache.client.PoolFactory;
+import org.apache.geode.internal.cache.InternalRegionArguments;
 
 public interface InternalClientCache extends ClientCache {
 
@@ -33,5 +36,9 @@ public interface InternalClientCache extends ClientCache {
   <K, V> Region<K, V> basicCreateRegion(String name, RegionAttributes<K, V> attrs)
       throws RegionExistsException, TimeoutException;
 
+  <K, V> Region<K, V> createVMRegion(String name, RegionAttributes<K, V> attrs,
+      InternalRegionArguments internalRegionArgs)
+      throws RegionExistsException, TimeoutException, IOException, ClassNotFoundException;
+
   Pool getDefaultPool();
 }
@@ -104,6 +104,16 @@ public class InvalidateOp {
       return msgType == MessageType.INVALIDATE_ERROR;
     }
 
+    @Override
+    protected boolean isSingleKey() {
+      return true;
+    }
+
+    @Override
+    protected boolean isMultiplexable() {
+      return true;
+    }
+
     @Override
     protected long startAttempt(ConnectionStats stats) {
       return stats.startInvalidate();
@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import java.io.IOException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.CancelCriterion;
+import org.apache.geode.cache.wan.GatewaySender;
+import org.apache.geode.distributed.internal.InternalDistributedSystem;
+import org.apache.geode.distributed.internal.ServerLocation;
+import org.apache.geode.internal.Version;
+import org.apache.geode.internal.cache.TXManagerImpl;
+import org.apache.geode.internal.cache.tier.CommunicationMode;
+import org.apache.geode.internal.cache.tier.sockets.HandShake;
+import org.apache.geode.internal.cache.tier.sockets.Message;
+import org.apache.geode.internal.cache.tier.sockets.ServerConnection;
+import org.apache.geode.internal.cache.tier.sockets.ServerQueueStatus;
+import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.LoggingThreadGroup;
+import org.apache.geode.internal.net.SocketCreator;
+
+/**
+ * A client to server connection that carries many outstanding requests at once. Unlike
+ * {@link ConnectionImpl}, executing an op does not lock the connection: the request is written
+ * with the transaction id of its message set to a request id, and a reader thread hands each
+ * reply to the op waiting for the reply with the same id.
+ * <p>
+ * Only ops that are not part of a transaction and that get a single, unchunked reply can be
+ * executed on this connection; see {@link AbstractOp#isMultiplexable()}.
+ *
+ * @since Geode 1.3
+ */
+public class MultiplexedConnectionImpl extends ConnectionImpl {
+
+  private static final Logger logger = LogService.getLogger();
+
+  private static final ThreadGroup readerGroup =
+      LoggingThreadGroup.createThreadGroup("Multiplexed Connection Readers", logger);
+
+  private final Map<Integer, CompletableFuture<Message>> pendingReplies =
+      new ConcurrentHashMap<>();
+  private final AtomicInteger lastRequestId = new AtomicInteger();
+
+  private int readTimeout;
+  private ByteBuffer readBuffer;
+
+  public MultiplexedConnectionImpl(InternalDistributedSystem ds, CancelCriterion cancelCriterion) {
+    super(ds, cancelCriterion);
+  }
+
+  @Override
+  public ServerQueueStatus connect(EndpointManager endpointManager, ServerLocation location,
+      HandShake handShake, int socketBufferSize, int handShakeTimeout, int readTimeout,
+      CommunicationMode communicationMode, GatewaySender sender, SocketCreator sc)
+      throws IOException {
+    ServerQueueStatus status = super.connect(endpointManager, location, handShake,
+        socketBufferSize, handShakeTimeout, readTimeout, communicationMode, sender, sc);
+    startReader(location, socketBufferSize, readTimeout);
+    return status;
+  }
+
+  /**
+   * Starts the thread that reads the replies from the connected socket.
+   */
+  void startReader(ServerLocation location, int socketBufferSize, int readTimeout)
+      throws IOException {
+    // the reader waits for replies indefinitely; each op waits for its own reply at most
+    // readTimeout
+    this.readTimeout = readTimeout;
+    getSocket().setSoTimeout(0);
+    this.readBuffer = ServerConnection.allocateCommBuffer(socketBufferSize, getSocket());
+    Thread reader = new Thread(readerGroup, this::readReplies,
+        "Multiplexed Connection Reader for " + location);
+    reader.setDaemon(true);
+    reader.start();
+  }
+
+  /**
+   * Closes the socket without sending a close message, whose lack of a reply could not be told
+   * apart from a lost reply. The server cleans up the connection when it reads end of stream.
+   */
+  @Override
+  public void close(boolean keepAlive) throws Exception {
+    destroy();
+  }
+
+  @Override
+  public Object execute(Op op) throws Exception {
+    Object result = ((AbstractOp) op).attemptMultiplexed(this);
+    getEndpoint().updateLastExecute();
+    return result;
+  }
+
+  /**
+   * Writes the given request and returns the reply that will be completed when it arrives.
+   * Message#send holds the monitor of the comm buffer while it writes, so requests sent by
+   * different threads do not interleave.
+   */
+  CompletableFuture<Message> send(Message request) throws IOException {
+    int requestId = nextRequestId();
+    CompletableFuture<Message> reply = new CompletableFuture<>();
+    this.pendingReplies.put(requestId, reply);
+    boolean sent = false;
+    request.setTransactionId(requestId);
+    request.setComms(getSocket(), getInputStream(), getOutputStream(), getCommBuffer(),
+        getStats());
+    try {
+      request.send(false);
+      sent = true;
+    } finally {
+      request.unsetComms();
+      // a retry on a pooled connection must not be mistaken for a transactional op
+      request.setTransactionId(TXManagerImpl.NOTX);
+      if (!sent) {
+        this.pendingReplies.remove(requestId);
+      }
+    }
+    if (isDestroyed()) {
+      // the reader may have failed the pending replies before this one was added
+      reply.completeExceptionally(new SocketException("socket was closed"));
+    }
+    return reply;
+  }
+
+  /**
+   * Waits at most the read timeout for the given reply.
+   */
+  Message receive(CompletableFuture<Message> reply) throws Exception {
+    try {
+      if (this.readTimeout > 0) {
+        return reply.get(this.readTimeout, TimeUnit.MILLISECONDS);
+      }
+      return reply.get();
+    } catch (TimeoutException e) {
+      abandon(reply);
+      throw new SocketTimeoutException("Timed out waiting for a reply on " + this);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Fails the given reply with a {@link SocketTimeoutException} if it has not arrived within the
+   * read timeout, without blocking the calling thread.
+   */
+  CompletableFuture<Message> expireAfterReadTimeout(CompletableFuture<Message> reply,
+      ScheduledExecutorService timer) {
+    if (this.readTimeout > 0 && timer != null && !reply.isDone()) {
+      try {
+        ScheduledFuture<?> timeout = timer.schedule(() -> {
+          if (reply.completeExceptionally(
+              new SocketTimeoutException("Timed out waiting for a reply on " + this))) {
+            abandon(reply);
+          }
+        }, this.readTimeout, TimeUnit.MILLISECONDS);
+        reply.whenComplete((msg, failure) -> timeout.cancel(false));
+      } catch (RejectedExecutionException e) {
+        // the pool is shutting down and will destroy this connection
+      }
+    }
+    return reply;
+  }
+
+  /**
+   * Stops waiting for the given reply; the reader discards it if it arrives later.
+   */
+  private void abandon(CompletableFuture<Message> reply) {
+    reply.cancel(false);
+    this.pendingReplies.values().remove(reply);
+  }
+
+  private int nextRequestId() {
+    int id;
+    do {
+      id = this.lastRequestId.incrementAndGet() & Integer.MAX_VALUE;
+    } while (id == 0);
+    return id;
+  }
+
+  private void readReplies() {
+    Exception failure = null;
+    try {
+      while (!isDestroyed()) {
+        Message reply = new Message(1, Version.CURRENT);
+        reply.setComms(getSocket(), getInputStream(), getOutputStream(), this.readBuffer,
+            getStats());
+        try {
+          reply.recv();
+        } finally {
+          reply.unsetComms();
+        }
+        CompletableFuture<Message> pending = this.pendingReplies.remove(reply.getTransactionId());
+        if (pending != null) {
+          pending.complete(reply);
+        } else if (logger.isDebugEnabled()) {
+          logger.debug("{}: discarding reply to request {} that is no longer waiting", this,
+              reply.getTransactionId());
+        }
+      }
+    } catch (Exception e) {
+      failure = e;
+      if (!isDestroyed() && logger.isDebugEnabled()) {
+        logger.debug("{}: reading replies failed", this, e);
+      }
+    } finally {
+      destroy();
+      failPendingReplies(failure);
+      ByteBuffer bb = this.readBuffer;
+      this.readBuffer = null;
+      ServerConnection.releaseCommBuffer(bb);
+    }
+  }
+
+  private void failPendingReplies(Exception cause) {
+    IOException failure = cause instanceof IOException ? (IOException) cause
+        : new SocketException("socket was closed");
+    for (Integer requestId : this.pendingReplies.keySet()) {
+      CompletableFuture<Message> pending = this.pendingReplies.remove(requestId);
+      if (pending != null) {
+        pending.completeExceptionally(failure);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of requests that are waiting for a reply.
+   */
+  public int getPendingRequestCount() {
+    return this.pendingReplies.size();
+  }
+
+  @Override
+  public String toString() {
+    return "MultiplexedConnection[" + getEndpoint() + "]@" + this.hashCode();
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.distributed.internal.ServerLocation;
+import org.apache.geode.internal.cache.TXManagerImpl;
+import org.apache.geode.internal.logging.LogService;
+
+/**
+ * Keeps at most one {@link MultiplexedConnectionImpl} per server, shared by every thread of a pool
+ * that executes an op that can be multiplexed. Connections are created on first use. A server that
+ * refuses a multiplexed connection, for example because it is too old or requires credentials, is
+ * not asked again for {@link #RETRY_INTERVAL} milliseconds; in the meantime ops for it use the
+ * pooled connections.
+ *
+ * @since Geode 1.3
+ */
+public class MultiplexedConnectionManager {
+
+  private static final Logger logger = LogService.getLogger();
+
+  /**
+   * Set to true to have pools share one connection per server among ops that can be multiplexed.
+   */
+  public static final String MULTIPLEXED_CONNECTIONS_PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "PoolImpl.MULTIPLEXED_CONNECTIONS";
+
+  static final long RETRY_INTERVAL = Long.getLong(
+      DistributionConfig.GEMFIRE_PREFIX + "PoolImpl.MULTIPLEXED_RETRY_INTERVAL", 60000);
+
+  private final ConnectionFactoryImpl connectionFactory;
+  private final ConnectionSource source;
+
+  private final Map<ServerLocation, Connection> connections = new ConcurrentHashMap<>();
+  private final Map<ServerLocation, Long> refusedServers = new ConcurrentHashMap<>();
+  private final AtomicInteger nextConnection = new AtomicInteger();
+
+  private volatile boolean closed;
+
+  public MultiplexedConnectionManager(ConnectionFactoryImpl connectionFactory,
+      ConnectionSource source) {
+    this.connectionFactory = connectionFactory;
+    this.source = source;
+  }
+
+  public static boolean isEnabled() {
+    return Boolean.getBoolean(MULTIPLEXED_CONNECTIONS_PROPERTY);
+  }
+
+  /**
+   * Returns true if the given op may be executed on a multiplexed connection by the calling
+   * thread.
+   */
+  public boolean canMultiplex(Op op) {
+    return !this.closed && op instanceof AbstractOp && ((AbstractOp) op).isMultiplexable()
+        && TXManagerImpl.getCurrentTXUniqueId() == TXManagerImpl.NOTX
+        && UserAttributes.userAttributes.get() == null;
+  }
+
+  /**
+   * Returns a connection to the given server, or to any server if <code>server</code> is null.
+   *
+   * @return the connection or null if there is none and one can not be created
+   */
+  public Connection getConnection(ServerLocation server) {
+    if (server != null) {
+      Connection connection = this.connections.get(server);
+      if (connection != null && !connection.isDestroyed()) {
+        return connection;
+      }
+      return connect(server);
+    }
+    List<Connection> live = new ArrayList<>(this.connections.values());
+    if (!live.isEmpty()) {
+      int start = (this.nextConnection.getAndIncrement() & Integer.MAX_VALUE) % live.size();
+      for (int i = 0; i < live.size(); i++) {
+        Connection connection = live.get((start + i) % live.size());
+        if (!connection.isDestroyed()) {
+          return connection;
+        }
+      }
+    }
+    ServerLocation found = this.source.findServer(excludedServers());
+    return found == null ? null : connect(found);
+  }
+
+  private Set<ServerLocation> excludedServers() {
+    if (this.refusedServers.isEmpty()) {
+      return Collections.emptySet();
+    }
+    long now = System.currentTimeMillis();
+    this.refusedServers.values().removeIf(retryAt -> retryAt <= now);
+    return this.refusedServers.keySet();
+  }
+
+  private Connection connect(ServerLocation server) {
+    Long retryAt = this.refusedServers.get(server);
+    if (retryAt != null) {
+      if (retryAt > System.currentTimeMillis()) {
+        return null;
+      }
+      this.refusedServers.remove(server, retryAt);
+    }
+    synchronized (this) {
+      Connection connection = this.connections.get(server);
+      if (connection != null && !connection.isDestroyed()) {
+        return connection;
+      }
+      if (this.closed) {
+        return null;
+      }
+      try {
+        connection = this.connectionFactory.createMultiplexedConnection(server);
+      } catch (Exception e) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Could not create a multiplexed connection to {}", server, e);
+        }
+        connection = null;
+      }
+      if (connection == null) {
+        this.refusedServers.put(server, System.currentTimeMillis() + RETRY_INTERVAL);
+        this.connections.remove(server);
+      } else {
+        this.connections.put(server, connection);
+      }
+      return connection;
+    }
+  }
+
+  /**
+   * Destroys the given connection so that the next op for its server creates a new one.
+   */
+  public void destroy(Connection connection) {
+    connection.destroy();
+    this.connections.remove(connection.getServer(), connection);
+  }
+
+  /**
+   * Returns the number of sockets currently open by this manager.
+   */
+  public int getConnectionCount() {
+    int count = 0;
+    for (Connection connection : this.connections.values()) {
+      if (!connection.isDestroyed()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  public synchronized void close() {
+    this.closed = true;
+    for (Iterator<Connection> it = this.connections.values().iterator(); it.hasNext();) {
+      Connection connection = it.next();
+      it.remove();
+      try {
+        connection.close(false);
+      } catch (Exception e) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Error closing multiplexed connection {}", connection, e);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.geode.cache.InterestResultPolicy;
+import org.apache.geode.cache.Operation;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.cache.LocalRegion;
+
+/**
+ * Keeps the interest of a near cache client region in step with the keys it caches. Before the
+ * region gets a key from the server it registers interest in the key, with updates sent as
+ * invalidates, so the servers send it a small invalidation instead of the new value when the key
+ * changes. The servers only track the keys the client has read. Keys the region evicts or expires
+ * are unregistered in batches.
+ * <p>
+ * Interest is registered before the value is read so that no update made after the read is
+ * missed. Registrations run concurrently with each other but never with the unregistration of a
+ * batch, so that an unregistration never overtakes the registration of a key that is read again.
+ * A batch also skips keys that are being read from the server; if such a key was evicted while it
+ * was read, it is registered again once the read value has been cached.
+ *
+ * @since Geode 1.3
+ */
+public class NearCacheTracker {
+
+  /**
+   * The number of evicted or expired keys whose interest is unregistered together.
+   */
+  static final int UNREGISTER_BATCH_SIZE =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "NearCache.UNREGISTER_BATCH_SIZE", 100);
+
+  private final LocalRegion region;
+
+  /** The keys the region caches whose interest is registered */
+  private final Set<Object> registeredKeys = ConcurrentHashMap.newKeySet();
+
+  /** The keys the region no longer caches whose interest is still registered */
+  private final Set<Object> pendingUnregistration = ConcurrentHashMap.newKeySet();
+
+  /** The number of reads from the server in progress for each key being read */
+  private final ConcurrentMap<Object, Integer> serverGets = new ConcurrentHashMap<>();
+
+  /**
+   * Held for reading while interest is registered and for writing while a batch is unregistered
+   */
+  private final ReadWriteLock interestLock = new ReentrantReadWriteLock();
+
+  public NearCacheTracker(LocalRegion region) {
+    this.region = region;
+  }
+
+  /**
+   * Registers interest in the given key, unless it is already registered. Called before the key is
+   * read from the server; the caller must call {@link #afterServerGet} once the read value has
+   * been cached, or the read failed.
+   */
+  public void beforeServerGet(Object key) {
+    this.interestLock.readLock().lock();
+    try {
+      this.serverGets.merge(key, 1, Integer::sum);
+      if (!this.registeredKeys.contains(key)) {
+        if (!this.pendingUnregistration.remove(key)) {
+          this.region.registerInterest(key, InterestResultPolicy.NONE, false, false);
+        }
+        this.registeredKeys.add(key);
+      }
+    } finally {
+      this.interestLock.readLock().unlock();
+    }
+    if (this.pendingUnregistration.size() >= UNREGISTER_BATCH_SIZE) {
+      unregisterPendingKeys();
+    }
+  }
+
+  /**
+   * Called once a value read from the server after {@link #beforeServerGet} has been cached. If
+   * the key was evicted or expired while it was read, its interest is still registered, as batches
+   * skip keys being read, and it is kept registered for the value that is now cached.
+   */
+  public void afterServerGet(Object key) {
+    this.serverGets.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+    if (this.pendingUnregistration.remove(key)) {
+      this.registeredKeys.add(key);
+    }
+  }
+
+  /**
+   * Unregisters the interest of the keys the region no longer caches. A key that was read again
+   * after it was evicted may still be in pendingUnregistration, so keys that are registered again
+   * are skipped, as are keys being read from the server.
+   */
+  private void unregisterPendingKeys() {
+    this.interestLock.writeLock().lock();
+    try {
+      List<Object> keys = new ArrayList<>();
+      for (Iterator<Object> iterator = this.pendingUnregistration.iterator(); iterator.hasNext();) {
+        Object key = iterator.next();
+        if (this.serverGets.containsKey(key)) {
+          continue;
+        }
+        iterator.remove();
+        if (!this.registeredKeys.contains(key)) {
+          keys.add(key);
+        }
+      }
+      if (!keys.isEmpty()) {
+        this.region.unregisterInterest(keys);
+      }
+    } finally {
+      this.interestLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Notes that the region no longer caches the given key if it was locally destroyed by eviction
+   * or expiration. Its interest is unregistered with the next batch. This does not wait for
+   * registrations in progress, as it is called while the entry is locked.
+   */
+  public void afterLocalDestroy(Object key, Operation operation) {
+    if (!operation.isEviction() && !operation.isExpiration()) {
+      return;
+    }
+    if (this.registeredKeys.remove(key)) {
+      this.pendingUnregistration.add(key);
+    }
+  }
+
+  /**
+   * Returns the number of keys whose interest is registered.
+   */
+  public int getRegisteredKeyCount() {
+    return this.registeredKeys.size() + this.pendingUnregistration.size();
+  }
+}
@@ -51,6 +51,11 @@ import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.nio.BufferUnderflowException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Called from the client and execute client to server requests against servers. Handles retrying to
@@ -96,6 +101,13 @@ public class OpExecutorImpl implements ExecutablePool {
     };
   };
 
+  /**
+   * Returned by {@link #executeMultiplexed} when the op has to be executed on a pooled connection.
+   */
+  private static final Object NOT_MULTIPLEXED = new Object();
+
+  private MultiplexedConnectionManager multiplexedConnectionManager;
+
   public OpExecutorImpl(ConnectionManager manager, QueueManager queueManager,
       EndpointManager endpointManager, RegisterInterestTracker riTracker, int retryAttempts,
       long serverTimeout, boolean threadLocalConnections, CancelCriterion cancelCriterion,
@@ -111,6 +123,14 @@ public class OpExecutorImpl implements ExecutablePool {
     this.pool = pool;
   }
 
+  /**
+   * Has ops that can be multiplexed use the connections of the given manager before falling back to
+   * the pooled connections.
+   */
+  void setMultiplexedConnectionManager(MultiplexedConnectionManager manager) {
+    this.multiplexedConnectionManager = manager;
+  }
+
   public Object execute(Op op) {
     return execute(op, retryAttempts);
   }
@@ -127,6 +147,10 @@ public class OpExecutorImpl implements ExecutablePool {
       }
       return executeWithServerAffinity(loc, op);
     }
+    Object multiplexedResult = executeMultiplexed(null, op);
+    if (multiplexedResult != NOT_MULTIPLEXED) {
+      return multiplexedResult;
+    }
     boolean success = false;
 
     Set attemptedServers = new HashSet();
@@ -346,6 +370,12 @@ public class OpExecutorImpl implements ExecutablePool {
     ServerLocation server = p_server;
     boolean returnCnx = true;
     boolean pingOp = (op instanceof PingOp.PingOpImpl);
+    if (!this.serverAffinity.get()) {
+      Object multiplexedResult = executeMultiplexed(server, op);
+      if (multiplexedResult != NOT_MULTIPLEXED) {
+        return multiplexedResult;
+      }
+    }
     Connection conn = null;
     if (pingOp) {
       // currently for pings we prefer to queue clientToServer cnx so that we will
@@ -403,6 +433,125 @@ public class OpExecutorImpl implements ExecutablePool {
     }
   }
 
+  /**
+   * Executes the op without blocking the calling thread, on the given server or on any server if
+   * <code>server</code> is null. An op that can be multiplexed is sent on the calling thread and its
+   * reply is processed by <code>executor</code> when it arrives, so no thread waits for it. Other
+   * ops, and ops whose multiplexed attempt fails, are executed on pooled connections by
+   * <code>executor</code>. Ops that depend on the thread local state of the caller, such as
+   * transactional ops, are executed on the calling thread.
+   *
+   * @param timer used to time out replies to multiplexed ops; may be null
+   * @return a future completed with the result of the op
+   */
+  public CompletableFuture<Object> executeAsync(ServerLocation server, Op op,
+      boolean onlyUseExistingCnx, Executor executor, ScheduledExecutorService timer) {
+    CompletableFuture<Object> result = new CompletableFuture<>();
+    if (this.serverAffinity.get() || TXManagerImpl.getCurrentTXUniqueId() != TXManagerImpl.NOTX
+        || UserAttributes.userAttributes.get() != null) {
+      try {
+        result.complete(executePooled(server, op, onlyUseExistingCnx));
+      } catch (RuntimeException e) {
+        result.completeExceptionally(e);
+      }
+      return result;
+    }
+    MultiplexedConnectionManager manager = this.multiplexedConnectionManager;
+    Connection conn = null;
+    if (manager != null && manager.canMultiplex(op)) {
+      conn = manager.getConnection(server);
+    }
+    if (conn == null) {
+      executePooledAsync(server, op, onlyUseExistingCnx, executor, result);
+      return result;
+    }
+    final Connection multiplexed = conn;
+    ((AbstractOp) op).attemptMultiplexedAsync((MultiplexedConnectionImpl) multiplexed, executor,
+        timer).whenComplete((value, failure) -> {
+          if (failure == null) {
+            result.complete(value);
+            return;
+          }
+          Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+              ? failure.getCause() : failure;
+          try {
+            if (cause instanceof MessageTooLargeException) {
+              throw new GemFireIOException("unable to transmit message to server", cause);
+            }
+            if (!(cause instanceof SocketTimeoutException)) {
+              // throws server errors; connectivity errors destroy the connection
+              handleException(cause, multiplexed, 0, false);
+              manager.destroy(multiplexed);
+            }
+          } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+          }
+          ((AbstractOp) op).getMessage().setIsRetry();
+          executePooledAsync(server, op, onlyUseExistingCnx, executor, result);
+        });
+    return result;
+  }
+
+  private void executePooledAsync(ServerLocation server, Op op, boolean onlyUseExistingCnx,
+      Executor executor, CompletableFuture<Object> result) {
+    try {
+      executor.execute(() -> {
+        try {
+          result.complete(executePooled(server, op, onlyUseExistingCnx));
+        } catch (Throwable t) {
+          result.completeExceptionally(t);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      RuntimeException cancelled = this.cancelCriterion.generateCancelledException(e);
+      result.completeExceptionally(cancelled != null ? cancelled : e);
+    }
+  }
+
+  private Object executePooled(ServerLocation server, Op op, boolean onlyUseExistingCnx) {
+    if (server == null) {
+      return execute(op);
+    }
+    return executeOn(server, op, true, onlyUseExistingCnx);
+  }
+
+  /**
+   * Executes the op on a multiplexed connection to the given server, or to any server if
+   * <code>server</code> is null, if the op can be multiplexed and such a connection is available.
+   * If the multiplexed connection fails the op is marked as a retry so that it can be executed on a
+   * pooled connection.
+   *
+   * @return the result of the op or {@link #NOT_MULTIPLEXED}
+   */
+  private Object executeMultiplexed(ServerLocation server, Op op) {
+    MultiplexedConnectionManager manager = this.multiplexedConnectionManager;
+    if (manager == null || !manager.canMultiplex(op)) {
+      return NOT_MULTIPLEXED;
+    }
+    Connection conn = manager.getConnection(server);
+    if (conn == null) {
+      return NOT_MULTIPLEXED;
+    }
+    try {
+      return conn.execute(op);
+    } catch (MessageTooLargeException e) {
+      throw new GemFireIOException("unable to transmit message to server", e);
+    } catch (SocketTimeoutException e) {
+      // the connection is still carrying the requests of other threads
+      if (logger.isDebugEnabled()) {
+        logger.debug("OpExecutor.executeMultiplexed on Connection to {} read timed out",
+            conn.getServer());
+      }
+    } catch (Exception e) {
+      // throws server errors; connectivity errors destroy the connection
+      handleException(e, conn, 0, false);
+      manager.destroy(conn);
+    }
+    ((AbstractOp) op).getMessage().setIsRetry();
+    return NOT_MULTIPLEXED;
+  }
+
   private boolean useThreadLocalConnection(Op op, boolean pingOp) {
     return threadLocalConnections && !pingOp && op.useThreadLocalConnection();
   }
@@ -896,6 +1045,7 @@ public class OpExecutorImpl implements ExecutablePool {
   }
 
   private Object executeWithPossibleReAuthentication(Connection conn, Op op) throws Exception {
+    long start = System.nanoTime();
     try {
       return conn.execute(op);
 
@@ -924,6 +1074,24 @@ public class OpExecutorImpl implements ExecutablePool {
       } else {
         throw sce;
       }
+    } finally {
+      recordResponseTime(conn, op, start);
+    }
+  }
+
+  /**
+   * Adds the time taken by the op to the average response time of the server, which the connection
+   * manager uses to prefer connections to the servers that respond fastest. Only single key ops are
+   * counted, as the time bulk ops, queries and functions take depends on the work they ask for
+   * rather than on the server.
+   */
+  private static void recordResponseTime(Connection conn, Op op, long start) {
+    if (!(op instanceof AbstractOp) || !((AbstractOp) op).isSingleKey()) {
+      return;
+    }
+    Endpoint endpoint = conn.getEndpoint();
+    if (endpoint != null) {
+      endpoint.recordResponseTime(System.nanoTime() - start);
     }
   }
 
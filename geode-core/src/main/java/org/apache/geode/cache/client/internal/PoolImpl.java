@@ -25,11 +25,18 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.apache.logging.log4j.Logger;
 
@@ -43,8 +50,10 @@ import org.apache.geode.cache.CacheFactory;
 import org.apache.geode.cache.NoSubscriptionServersAvailableException;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionService;
+import org.apache.geode.cache.client.AllConnectionsInUseException;
 import org.apache.geode.cache.client.Pool;
 import org.apache.geode.cache.client.ServerConnectivityException;
+import org.apache.geode.cache.client.ServerOperationException;
 import org.apache.geode.cache.client.SubscriptionNotEnabledException;
 import org.apache.geode.cache.client.internal.pooling.ConnectionManager;
 import org.apache.geode.cache.client.internal.pooling.ConnectionManagerImpl;
@@ -92,6 +101,13 @@ public class PoolImpl implements InternalPool {
   private static final int BACKGROUND_TASK_POOL_KEEP_ALIVE = Integer.getInteger(
       DistributionConfig.GEMFIRE_PREFIX + "PoolImpl.BACKGROUND_TASK_POOL_KEEP_ALIVE", 1000);
 
+  /**
+   * The number of threads that process the results of asynchronous ops, and that execute the
+   * asynchronous ops that can not be multiplexed.
+   */
+  private static final int ASYNC_TASK_POOL_SIZE =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "PoolImpl.ASYNC_TASK_POOL_SIZE", 16);
+
   /**
    * For durable client tests only. Connection Sources read this flag and return an empty list of
    * servers.
@@ -133,6 +149,7 @@ public class PoolImpl implements InternalPool {
   protected volatile boolean destroyed;
   private final PoolStats stats;
   private ScheduledExecutorService backgroundProcessor;
+  private ThreadPoolExecutor asyncProcessor;
   private final OpExecutorImpl executor;
   private final RegisterInterestTracker riTracker = new RegisterInterestTracker();
   private final InternalDistributedSystem dsys;
@@ -145,6 +162,8 @@ public class PoolImpl implements InternalPool {
 
   private final GatewaySender gatewaySender;
 
+  private final MultiplexedConnectionManager multiplexedConnectionManager;
+
   private boolean keepAlive = false;
   private static Object simpleLock = new Object();
 
@@ -262,6 +281,13 @@ public class PoolImpl implements InternalPool {
     // an exception, by passing in the poolOrCache stopper
     executor = new OpExecutorImpl(manager, queueManager, endpointManager, riTracker, retryAttempts,
         freeConnectionTimeout, threadLocalConnections, new PoolOrCacheStopper(), this);
+    if (MultiplexedConnectionManager.isEnabled() && !this.usedByGateway
+        && this.gatewaySender == null && !this.multiuserSecureModeEnabled) {
+      multiplexedConnectionManager = new MultiplexedConnectionManager(connectionFactory, source);
+      executor.setMultiplexedConnectionManager(multiplexedConnectionManager);
+    } else {
+      multiplexedConnectionManager = null;
+    }
     if (this.multiuserSecureModeEnabled) {
       this.proxyCacheList = new ArrayList<ProxyCache>();
     } else {
@@ -329,6 +355,20 @@ public class PoolImpl implements InternalPool {
     ((ScheduledThreadPoolExecutorWithKeepAlive) backgroundProcessor)
         .setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
 
+    final String asyncName = "poolAsync-" + getName() + "-";
+    asyncProcessor = new ThreadPoolExecutor(ASYNC_TASK_POOL_SIZE, ASYNC_TASK_POOL_SIZE,
+        BACKGROUND_TASK_POOL_KEEP_ALIVE, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+        new ThreadFactory() {
+          AtomicInteger threadNum = new AtomicInteger();
+
+          public Thread newThread(final Runnable r) {
+            Thread result = new Thread(r, asyncName + threadNum.incrementAndGet());
+            result.setDaemon(true);
+            return result;
+          }
+        });
+    asyncProcessor.allowCoreThreadTimeOut(true);
+
     source.start(this);
     connectionFactory.start(backgroundProcessor);
     endpointManager.addListener(new InstantiatorRecoveryListener(backgroundProcessor, this));
@@ -590,6 +630,11 @@ public class PoolImpl implements InternalPool {
             .create(LocalizedStrings.PoolImpl_INTERRUPTED_WHILE_STOPPING_BACKGROUNDPROCESSOR), e);
       }
 
+      if (asyncProcessor != null) {
+        // queued ops still run and fail once this pool is destroyed
+        asyncProcessor.shutdown();
+      }
+
       try {
         if (this.source != null) {
           this.source.stop();
@@ -610,6 +655,15 @@ public class PoolImpl implements InternalPool {
             e);
       }
 
+      try {
+        if (this.multiplexedConnectionManager != null) {
+          multiplexedConnectionManager.close();
+        }
+      } catch (RuntimeException e) {
+        logger.error(LocalizedMessage.create(
+            LocalizedStrings.PoolImpl_ERROR_ENCOUNTERED_WHILE_STOPPING_CONNECTION_MANAGER), e);
+      }
+
       try {
         if (this.manager != null) {
           manager.close(keepAlive);
@@ -774,6 +828,91 @@ public class PoolImpl implements InternalPool {
     return executor.execute(op);
   }
 
+  /**
+   * Execute the given op on the servers that this pool connects to without waiting for it to
+   * complete.
+   *
+   * @param op the operation to execute
+   * @return a future completed with the result of execution if any; null if not
+   * @see OpExecutorImpl#executeAsync
+   */
+  public CompletableFuture<Object> executeAsync(Op op) {
+    authenticateIfRequired(op);
+    return trackAsync(
+        executor.executeAsync(null, op, false, this.asyncProcessor, this.backgroundProcessor));
+  }
+
+  /**
+   * Execute the given op on the given server without waiting for it to complete.
+   *
+   * @param server the server to do the execution on
+   * @param op the operation to execute
+   * @return a future completed with the result of execution if any; null if not
+   */
+  public CompletableFuture<Object> executeOnAsync(ServerLocation server, Op op,
+      boolean onlyUseExistingCnx) {
+    authenticateIfRequired(server, op);
+    return trackAsync(executor.executeAsync(server, op, onlyUseExistingCnx, this.asyncProcessor,
+        this.backgroundProcessor));
+  }
+
+  /**
+   * Runs the given task, which executes ops that can not be executed asynchronously such as those
+   * that get chunked replies, on a thread of this pool.
+   */
+  public <T> CompletableFuture<T> runAsync(Supplier<T> task) {
+    CompletableFuture<T> result;
+    try {
+      result = CompletableFuture.supplyAsync(task, this.asyncProcessor);
+    } catch (RejectedExecutionException e) {
+      result = new CompletableFuture<>();
+      RuntimeException cancelled = this.cancelCriterion.generateCancelledException(e);
+      result.completeExceptionally(cancelled != null ? cancelled : e);
+    }
+    return trackAsync(result);
+  }
+
+  /**
+   * Executes the op on the server that hosts its bucket without waiting for it to complete. Like
+   * the synchronous single hop ops, if that server can not be reached it is removed from the
+   * metadata and the op is executed on any server.
+   */
+  CompletableFuture<Object> executeSingleHopAsync(ClientMetadataService cms,
+      ServerLocation server, AbstractOp op) {
+    boolean onlyUseExistingCnx =
+        getMaxConnections() != -1 && getConnectionCount() >= getMaxConnections();
+    op.setAllowDuplicateMetadataRefresh(!onlyUseExistingCnx);
+    return executeOnAsync(new ServerLocation(server.getHostName(), server.getPort()), op,
+        onlyUseExistingCnx).handle((result, failure) -> {
+          if (failure == null) {
+            return CompletableFuture.completedFuture(result);
+          }
+          Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+              ? failure.getCause() : failure;
+          if (cause instanceof ServerOperationException) {
+            CompletableFuture<Object> failed = new CompletableFuture<>();
+            failed.completeExceptionally(cause);
+            return failed;
+          }
+          if (!(cause instanceof AllConnectionsInUseException)) {
+            if (cause instanceof ServerConnectivityException
+                || cause.getCause() instanceof ServerConnectivityException) {
+              cms.removeBucketServerLocation(server);
+            }
+          }
+          return executeAsync(op);
+        }).thenCompose(Function.identity());
+  }
+
+  private <T> CompletableFuture<T> trackAsync(CompletableFuture<T> future) {
+    final PoolStats poolStats = this.stats;
+    if (poolStats != null) {
+      poolStats.startAsyncOp();
+      future.whenComplete((result, failure) -> poolStats.endAsyncOp(failure != null));
+    }
+    return future;
+  }
+
   /**
    * Execute the given op on the servers that this pool connects to. This method is responsible for
    * retrying the op if an attempt fails. It will only execute it once and on one server.
@@ -1113,6 +1252,14 @@ public class PoolImpl implements InternalPool {
     return manager.getConnectionCount();
   }
 
+  /**
+   * Test hook to find out current number of multiplexed connections this pool has.
+   */
+  public int getMultiplexedConnectionCount() {
+    return multiplexedConnectionManager == null ? 0
+        : multiplexedConnectionManager.getConnectionCount();
+  }
+
   /**
    * Atomic counter used to keep track of services using this pool.
    * 
@@ -232,17 +232,20 @@ public class PutAllOp {
     }
     for (ServerLocation server : servers) {
       Set filterSet = serverToFilterMap.get(server);
-      Map newKeysValuesMap = new LinkedHashMap();
-      // iterator 1: for single hop, both iterator filterSet and newKeysValuesMap
-      for (Object key : filterSet) {
-        newKeysValuesMap.put(key, map.get(key));
-      }
-      AbstractOp putAllOp =
-          new PutAllOpImpl(region, newKeysValuesMap, eventId, true, skipCallbacks, callbackArg);
+      // the keys of each chunk are sent with the event id of their offset in filterSet, which is
+      // the event id a retry of the whole sub map gives them
+      ChunkedBulkOpCallable.ChunkFactory chunkFactory = (keys, offset) -> {
+        Map newKeysValuesMap = new LinkedHashMap();
+        for (Object key : keys) {
+          newKeysValuesMap.put(key, map.get(key));
+        }
+        return new PutAllOpImpl(region, newKeysValuesMap, new EventID(eventId, offset), true,
+            skipCallbacks, callbackArg);
+      };
 
       SingleHopOperationCallable task =
-          new SingleHopOperationCallable(new ServerLocation(server.getHostName(), server.getPort()),
-              pool, putAllOp, UserAttributes.userAttributes.get());
+          new ChunkedBulkOpCallable(new ServerLocation(server.getHostName(), server.getPort()),
+              pool, new ArrayList(filterSet), chunkFactory, UserAttributes.userAttributes.get());
       tasks.add(task);
     }
     return tasks;
@@ -35,6 +35,7 @@ import org.apache.geode.internal.logging.LogService;
 
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.logging.log4j.Logger;
 
@@ -91,6 +92,29 @@ public class PutOp {
     return pool.execute(op);
   }
 
+  /**
+   * Does a region put on a server without waiting for the reply.
+   *
+   * @see #execute(ExecutablePool, LocalRegion, Object, Object, byte[], EntryEventImpl, Operation,
+   *      boolean, Object, Object, boolean)
+   * @return a future completed with the old value if <code>requireOldValue</code> is true
+   */
+  public static CompletableFuture<Object> executeAsync(PoolImpl pool, LocalRegion region,
+      Object key, Object value, EntryEventImpl event, Operation operation,
+      boolean requireOldValue, Object callbackArg, boolean prSingleHopEnabled) {
+    PutOpImpl op = new PutOpImpl(region, key, value, null, event, operation, requireOldValue,
+        null, callbackArg, false, prSingleHopEnabled);
+    if (prSingleHopEnabled) {
+      ClientMetadataService cms = region.getCache().getClientMetadataService();
+      ServerLocation server =
+          cms.getBucketServerLocation(region, Operation.UPDATE, key, value, callbackArg);
+      if (server != null) {
+        return pool.executeSingleHopAsync(cms, server, op);
+      }
+    }
+    return pool.executeAsync(op);
+  }
+
   public static Object execute(ExecutablePool pool, String regionName, Object key, Object value,
       byte[] deltaBytes, EntryEventImpl event, Operation operation, boolean requireOldValue,
       Object expectedOldValue, Object callbackArg, boolean prSingleHopEnabled,
@@ -423,6 +447,20 @@ public class PutOp {
       return msgType == MessageType.PUT_DATA_ERROR;
     }
 
+    @Override
+    protected boolean isSingleKey() {
+      return true;
+    }
+
+    /**
+     * A put that sends a delta is not multiplexed, as a failed delta is resent on the same
+     * connection before the reply is returned.
+     */
+    @Override
+    protected boolean isMultiplexable() {
+      return !this.deltaSent;
+    }
+
     @Override
     protected long startAttempt(ConnectionStats stats) {
       return stats.startPut();
@@ -20,6 +20,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.logging.log4j.Logger;
 
@@ -115,6 +116,28 @@ public class ServerRegionProxy extends ServerProxy implements ServerRegionDataAc
   }
 
 
+  /**
+   * Does a get on the server without waiting for the reply. Must not be called in a transaction.
+   *
+   * @return a future completed with the value found by the get if any
+   */
+  public CompletableFuture<Object> getAsync(Object key, Object callbackArg) {
+    PoolImpl poolImpl = (PoolImpl) this.pool;
+    return GetOp.executeAsync(poolImpl, this.region, key, callbackArg,
+        poolImpl.getPRSingleHopEnabled(), null);
+  }
+
+  /**
+   * Does a put on the server without waiting for the reply. Must not be called in a transaction.
+   *
+   * @return a future completed with the old value if <code>requireOldValue</code> is true
+   */
+  public CompletableFuture<Object> putAsync(Object key, Object value, EntryEventImpl event,
+      Operation op, boolean requireOldValue, Object callbackArg) {
+    PoolImpl poolImpl = (PoolImpl) this.pool;
+    return PutOp.executeAsync(poolImpl, this.region, key, value, event, op, requireOldValue,
+        callbackArg, poolImpl.getPRSingleHopEnabled());
+  }
 
   public int size() {
     return SizeOp.execute(this.pool, this.regionName);
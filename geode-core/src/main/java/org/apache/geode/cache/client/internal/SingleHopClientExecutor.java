@@ -36,7 +36,6 @@ import org.apache.geode.InternalGemFireException;
 import org.apache.geode.cache.CacheClosedException;
 import org.apache.geode.cache.client.ServerConnectivityException;
 import org.apache.geode.cache.client.ServerOperationException;
-import org.apache.geode.cache.client.internal.GetAllOp.GetAllOpImpl;
 import org.apache.geode.cache.execute.Function;
 import org.apache.geode.cache.execute.FunctionException;
 import org.apache.geode.cache.execute.FunctionInvocationTargetException;
@@ -330,7 +329,7 @@ public class SingleHopClientExecutor {
         while (futureItr.hasNext() && !execService.isShutdown() && !execService.isTerminated()) {
           Future fut = (Future) futureItr.next();
           SingleHopOperationCallable task = (SingleHopOperationCallable) taskItr.next();
-          List keys = ((GetAllOpImpl) task.getOperation()).getKeyList();
+          List keys = ((ChunkedBulkOpCallable) task).getKeys();
           ServerLocation server = task.getServer();
           try {
 
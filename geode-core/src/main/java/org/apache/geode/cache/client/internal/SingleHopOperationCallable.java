@@ -45,6 +45,14 @@ public class SingleHopOperationCallable implements Callable {
 
   public Object call() throws Exception {
     op.initMessagePart();
+    return execute(this.op);
+  }
+
+  /**
+   * Executes the given operation, whose message parts have been initialized, on this callable's
+   * server.
+   */
+  protected Object execute(AbstractOp op) throws Exception {
     Object result = null;
     boolean onlyUseExistingCnx =
         ((pool.getMaxConnections() != -1 && pool.getConnectionCount() >= pool.getMaxConnections())
@@ -62,7 +70,7 @@ public class SingleHopOperationCallable implements Callable {
         ExecuteRegionFunctionSingleHopOpImpl newop = (ExecuteRegionFunctionSingleHopOpImpl) op;
         result = this.pool.execute(new ExecuteRegionFunctionOpImpl(newop));
       } else {
-        result = this.pool.execute(this.op);
+        result = this.pool.execute(op);
       }
     } finally {
       UserAttributes.userAttributes.set(null);
@@ -74,6 +82,10 @@ public class SingleHopOperationCallable implements Callable {
     return this.server;
   }
 
+  protected PoolImpl getPool() {
+    return this.pool;
+  }
+
   public AbstractOp getOperation() {
     return this.op;
   }
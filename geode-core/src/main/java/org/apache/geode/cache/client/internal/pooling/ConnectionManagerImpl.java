@@ -37,12 +37,19 @@ import org.apache.logging.log4j.Logger;
 import java.net.SocketException;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Manages client to server connections for the connection pool. This class contains all of the
  * pooling logic to checkout/checkin connections.
+ * <p>
+ * Borrowing and returning an idle connection does not take a lock: idle connections are kept in
+ * a concurrent deque, and a thread owns a connection once it has removed it from the deque. The
+ * connection count is reserved with a compare and set. The lock is only taken by threads that
+ * have to wait for a connection to be returned, and by the threads that wake them up.
  * 
  * @since GemFire 5.7
  *
@@ -53,12 +60,18 @@ public class ConnectionManagerImpl implements ConnectionManager {
   static long AQUIRE_TIMEOUT = Long
       .getLong(DistributionConfig.GEMFIRE_PREFIX + "ConnectionManager.AQUIRE_TIMEOUT", 10 * 1000)
       .longValue();
+  /**
+   * Whether connections are borrowed from the faster of two servers, see
+   * {@link #pollAvailableConnection()}.
+   */
+  static final boolean LATENCY_AWARE_BORROW = !Boolean.getBoolean(
+      DistributionConfig.GEMFIRE_PREFIX + "ConnectionManager.DISABLE_LATENCY_AWARE_BORROW");
   private final String poolName;
   private final PoolStats poolStats;
   protected final long prefillRetry; // ms // make this an int
   // private final long pingInterval; // ms // make this an int
-  private final LinkedList/* <PooledConnection> */ availableConnections =
-      new LinkedList/* <PooledConnection> */();
+  private final ConcurrentLinkedDeque<PooledConnection> availableConnections =
+      new ConcurrentLinkedDeque<PooledConnection>();
   protected final ConnectionMap allConnectionsMap = new ConnectionMap();
   private final EndpointManager endpointManager;
   private final int maxConnections;
@@ -70,15 +83,18 @@ public class ConnectionManagerImpl implements ConnectionManager {
   private final InternalLogWriter securityLogWriter;
   protected final CancelCriterion cancelCriterion;
 
-  protected volatile int connectionCount;
+  protected final AtomicInteger connectionCount = new AtomicInteger();
   protected ScheduledExecutorService backgroundProcessor;
   protected ScheduledThreadPoolExecutor loadConditioningProcessor;
 
+  /** Only held by threads waiting for a free connection and by the threads that wake them */
   protected ReentrantLock lock = new ReentrantLock();
   protected Condition freeConnection = lock.newCondition();
+  /** The number of threads waiting on freeConnection, so that returns need not take the lock */
+  private final AtomicInteger connectionWaiters = new AtomicInteger();
   private ConnectionFactory connectionFactory;
   protected boolean haveIdleExpireConnectionsTask;
-  protected boolean havePrefillTask;
+  protected final AtomicBoolean havePrefillTask = new AtomicBoolean();
   private boolean keepAlive = false;
   protected volatile boolean shuttingDown;
   private EndpointManager.EndpointListenerAdapter endpointListener;
@@ -150,54 +166,29 @@ public class ConnectionManagerImpl implements ConnectionManager {
   public Connection borrowConnection(long acquireTimeout)
       throws AllConnectionsInUseException, NoAvailableServersException {
 
+    final long borrowStart = getPoolStats().startTime();
     long startTime = System.currentTimeMillis();
     long remainingTime = acquireTimeout;
 
-    // wait for a connection to become free
-    lock.lock();
-    try {
-      while (connectionCount >= maxConnections && availableConnections.isEmpty()
-          && remainingTime > 0 && !shuttingDown) {
-        final long start = getPoolStats().beginConnectionWait();
-        boolean interrupted = false;
-        try {
-          freeConnection.await(remainingTime, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-          interrupted = true;
-          cancelCriterion.checkCancelInProgress(e);
-          throw new AllConnectionsInUseException();
-        } finally {
-          if (interrupted) {
-            Thread.currentThread().interrupt();
-          }
-          getPoolStats().endConnectionWait(start);
-        }
-        remainingTime = acquireTimeout - (System.currentTimeMillis() - startTime);
-      }
+    while (true) {
       if (shuttingDown) {
         throw new PoolCancelledException();
       }
-
-      while (!availableConnections.isEmpty()) {
-        PooledConnection connection = (PooledConnection) availableConnections.removeFirst();
-        try {
-          connection.activate();
-          return connection;
-        } catch (ConnectionDestroyedException ex) {
-          // whoever destroyed it already decremented connectionCount
-        }
+      PooledConnection connection = pollAvailableConnection();
+      if (connection != null) {
+        getPoolStats().endConnectionBorrow(borrowStart);
+        return connection;
       }
-      if (connectionCount >= maxConnections) {
+      // We need to create a connection. Reserve space for it.
+      if (reserveConnection(maxConnections)) {
+        break;
+      }
+      if (remainingTime <= 0) {
         throw new AllConnectionsInUseException();
-      } else {
-        // We need to create a connection. Reserve space for it.
-        connectionCount++;
-        // logger.info("DEBUG: borrowConnection conCount(+1)->" + connectionCount);
-        // getPoolStats().incConCount(1);
       }
-
-    } finally {
-      lock.unlock();
+      // wait for a connection to become free
+      awaitFreeConnection(remainingTime);
+      remainingTime = acquireTimeout - (System.currentTimeMillis() - startTime);
     }
 
     PooledConnection connection = null;
@@ -215,17 +206,7 @@ public class ConnectionManagerImpl implements ConnectionManager {
     } finally {
       // if we failed, release the space we reserved for our connection
       if (connection == null) {
-        lock.lock();
-        try {
-          // getPoolStats().incConCount(-1);
-          --connectionCount;
-          // logger.info("DEBUG: borrowConnection conCount(-1)->" + connectionCount);
-          if (connectionCount < minConnections) {
-            startBackgroundPrefill();
-          }
-        } finally {
-          lock.unlock();
-        }
+        releaseConnection();
       }
     }
 
@@ -234,9 +215,131 @@ public class ConnectionManagerImpl implements ConnectionManager {
       throw new NoAvailableServersException();
     }
 
+    getPoolStats().endConnectionBorrow(borrowStart);
     return connection;
   }
 
+  /**
+   * Removes connections from the available connections until one of them can be activated. Unless
+   * {@link #LATENCY_AWARE_BORROW} is false, the first two available connections are compared and
+   * the one to the server with the lower average response time is used, so that a server that is
+   * slow to respond, for example because it is in a long garbage collection, gets fewer operations
+   * until it recovers. The other connection is put back first in line.
+   * 
+   * @return the activated connection, or null if no connection is available
+   */
+  private PooledConnection pollAvailableConnection() {
+    PooledConnection connection;
+    while ((connection = availableConnections.pollFirst()) != null) {
+      if (LATENCY_AWARE_BORROW) {
+        connection = pollFasterConnection(connection);
+      }
+      try {
+        connection.activate();
+        return connection;
+      } catch (ConnectionDestroyedException ex) {
+        // whoever destroyed it already decremented connectionCount
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns whichever of the given connection and the next available connection is to the server
+   * with the lower average response time, and puts the other one back first in line.
+   */
+  private PooledConnection pollFasterConnection(PooledConnection connection) {
+    PooledConnection other = availableConnections.pollFirst();
+    if (other == null) {
+      return connection;
+    }
+    if (getResponseTime(other) < getResponseTime(connection)) {
+      PooledConnection faster = other;
+      other = connection;
+      connection = faster;
+    }
+    availableConnections.addFirst(other);
+    signalFreeConnection();
+    return connection;
+  }
+
+  private static long getResponseTime(PooledConnection connection) {
+    Endpoint endpoint = connection.getEndpoint();
+    return endpoint == null ? 0 : endpoint.getResponseTime();
+  }
+
+  /**
+   * Adds one to the connection count if it is less than the given limit.
+   * 
+   * @return true if the count was incremented
+   */
+  private boolean reserveConnection(int limit) {
+    int count;
+    do {
+      count = connectionCount.get();
+      if (count >= limit) {
+        return false;
+      }
+    } while (!connectionCount.compareAndSet(count, count + 1));
+    return true;
+  }
+
+  /**
+   * Gives back the space reserved for a connection that could not be created.
+   */
+  private void releaseConnection() {
+    if (connectionCount.decrementAndGet() < minConnections) {
+      startBackgroundPrefill();
+    }
+    signalFreeConnection();
+  }
+
+  /**
+   * Waits at most the given time for a connection to be returned or destroyed.
+   */
+  private void awaitFreeConnection(long remainingTime) {
+    // announce ourselves before checking, so that a thread making a connection available either
+    // sees us waiting or has already made the connection visible to our check
+    connectionWaiters.incrementAndGet();
+    lock.lock();
+    try {
+      if (connectionCount.get() >= maxConnections && availableConnections.isEmpty()
+          && !shuttingDown) {
+        final long start = getPoolStats().beginConnectionWait();
+        boolean interrupted = false;
+        try {
+          freeConnection.await(remainingTime, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+          interrupted = true;
+          cancelCriterion.checkCancelInProgress(e);
+          throw new AllConnectionsInUseException();
+        } finally {
+          if (interrupted) {
+            Thread.currentThread().interrupt();
+          }
+          getPoolStats().endConnectionWait(start);
+        }
+      }
+    } finally {
+      lock.unlock();
+      connectionWaiters.decrementAndGet();
+    }
+  }
+
+  /**
+   * Wakes up the threads waiting for a connection. Does not take the lock if no thread is waiting.
+   */
+  private void signalFreeConnection() {
+    if (connectionWaiters.get() > 0) {
+      lock.lock();
+      try {
+        freeConnection.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
   // public Connection borrowConnection(ServerLocation server, long acquireTimeout)
   // throws AllConnectionsInUseException, NoAvailableServersException {
   // return borrowConnection(server, acquireTimeout, false);
@@ -255,47 +358,48 @@ public class ConnectionManagerImpl implements ConnectionManager {
    */
   public Connection borrowConnection(ServerLocation server, long acquireTimeout,
       boolean onlyUseExistingCnx) throws AllConnectionsInUseException, NoAvailableServersException {
-    lock.lock();
-    try {
-      if (shuttingDown) {
-        throw new PoolCancelledException();
+    final long borrowStart = getPoolStats().startTime();
+    if (shuttingDown) {
+      throw new PoolCancelledException();
+    }
+    for (PooledConnection nextConnection : availableConnections) {
+      // Fix for 41516. Before we let this method exceed the max connections
+      // by creating a new connection, we need to make sure that they're
+      // aren't bogus connections sitting in the available connection list
+      // otherwise, the length of that list might exceed max connections,
+      // but with some bad connections. That can cause members to
+      // get a bad connection but have no permits to create a new connection.
+      if (nextConnection.shouldDestroy()) {
+        availableConnections.removeFirstOccurrence(nextConnection);
+        continue;
       }
-      for (Iterator itr = availableConnections.iterator(); itr.hasNext();) {
-        PooledConnection nextConnection = (PooledConnection) itr.next();
+      // only the thread that removes the connection may activate it
+      if (nextConnection.getServer().equals(server)
+          && availableConnections.removeFirstOccurrence(nextConnection)) {
         try {
           nextConnection.activate();
-          if (nextConnection.getServer().equals(server)) {
-            itr.remove();
-            return nextConnection;
-          }
-          nextConnection.passivate(false);
         } catch (ConnectionDestroyedException ex) {
           // someone else already destroyed this connection so ignore it
-          // but remove it from availableConnections
+          continue;
         }
-        // Fix for 41516. Before we let this method exceed the max connections
-        // by creating a new connection, we need to make sure that they're
-        // aren't bogus connections sitting in the available connection list
-        // otherwise, the length of that list might exceed max connections,
-        // but with some bad connections. That can cause members to
-        // get a bad connection but have no permits to create a new connection.
-        if (nextConnection.shouldDestroy()) {
-          itr.remove();
+        // the connection may have been switched to another server before we activated it
+        if (nextConnection.getServer().equals(server)) {
+          getPoolStats().endConnectionBorrow(borrowStart);
+          return nextConnection;
         }
+        nextConnection.passivate(false);
+        availableConnections.addFirst(nextConnection);
+        signalFreeConnection();
       }
+    }
 
-      if (onlyUseExistingCnx) {
-        throw new AllConnectionsInUseException();
-      }
-
-      // We need to create a connection. Reserve space for it.
-      connectionCount++;
-      // logger.info("DEBUG: borrowConnection conCount(+1)->" + connectionCount);
-      // getPoolStats().incConCount(1);
-    } finally {
-      lock.unlock();
+    if (onlyUseExistingCnx) {
+      throw new AllConnectionsInUseException();
     }
 
+    // We need to create a connection. Reserve space for it.
+    connectionCount.incrementAndGet();
+
     PooledConnection connection = null;
     try {
       Connection plainConnection = connectionFactory.createClientToServerConnection(server, false);
@@ -305,23 +409,14 @@ public class ConnectionManagerImpl implements ConnectionManager {
     } finally {
       // if we failed, release the space we reserved for our connection
       if (connection == null) {
-        lock.lock();
-        try {
-          // getPoolStats().incConCount(-1);
-          --connectionCount;
-          // logger.info("DEBUG: borrowConnection conCount(-1)->" + connectionCount);
-          if (connectionCount < minConnections) {
-            startBackgroundPrefill();
-          }
-        } finally {
-          lock.unlock();
-        }
+        releaseConnection();
       }
     }
     if (connection == null) {
       throw new ServerConnectivityException(
           "Could not create a new connection to server " + server);
     }
+    getPoolStats().endConnectionBorrow(borrowStart);
     return connection;
   }
 
@@ -333,44 +428,32 @@ public class ConnectionManagerImpl implements ConnectionManager {
     PooledConnection oldPC = (PooledConnection) oldConnection;
 
     boolean needToUndoEstimate = false;
-    lock.lock();
-    try {
-      if (shuttingDown) {
-        throw new PoolCancelledException();
-      }
-      for (Iterator itr = availableConnections.iterator(); itr.hasNext();) {
-        PooledConnection nextConnection = (PooledConnection) itr.next();
-        if (!excludedServers.contains(nextConnection.getServer())) {
-          itr.remove();
-          try {
-            nextConnection.activate();
-            newConnection = nextConnection;
-            // logger.info("DEBUG: exchangeConnection removeCon(" + oldPC +")");
-            if (allConnectionsMap.removeConnection(oldPC)) {
-              // getPoolStats().incConCount(-1);
-              --connectionCount;
-              // logger.info("DEBUG: exchangeConnection conCount(-1)->" + connectionCount + "
-              // oldPC=" + oldPC);
-              if (connectionCount < minConnections) {
-                startBackgroundPrefill();
-              }
-            }
-            break;
-          } catch (ConnectionDestroyedException ex) {
-            // someone else already destroyed this connection so ignore it
-            // but remove it from availableConnections
+    if (shuttingDown) {
+      throw new PoolCancelledException();
+    }
+    for (PooledConnection nextConnection : availableConnections) {
+      if (!excludedServers.contains(nextConnection.getServer())
+          && availableConnections.removeFirstOccurrence(nextConnection)) {
+        try {
+          nextConnection.activate();
+          newConnection = nextConnection;
+          // logger.info("DEBUG: exchangeConnection removeCon(" + oldPC +")");
+          if (allConnectionsMap.removeConnection(oldPC)) {
+            releaseConnection();
           }
+          break;
+        } catch (ConnectionDestroyedException ex) {
+          // someone else already destroyed this connection so ignore it
+          // but remove it from availableConnections
         }
       }
-      if (newConnection == null) {
-        if (!allConnectionsMap.removeConnection(oldPC)) {
-          // We need to create a connection. Reserve space for it.
-          needToUndoEstimate = true;
-          connectionCount++;
-        }
+    }
+    if (newConnection == null) {
+      if (!allConnectionsMap.removeConnection(oldPC)) {
+        // We need to create a connection. Reserve space for it.
+        needToUndoEstimate = true;
+        connectionCount.incrementAndGet();
       }
-    } finally {
-      lock.unlock();
     }
 
     if (newConnection == null) {
@@ -385,17 +468,7 @@ public class ConnectionManagerImpl implements ConnectionManager {
         throw new NoAvailableServersException(srce);
       } finally {
         if (needToUndoEstimate && newConnection == null) {
-          lock.lock();
-          try {
-            // getPoolStats().incConCount(-1);
-            --connectionCount;
-            // logger.info("DEBUG: exchangeConnection conCount(-1)->" + connectionCount);
-            if (connectionCount < minConnections) {
-              startBackgroundPrefill();
-            }
-          } finally {
-            lock.unlock();
-          }
+          releaseConnection();
         }
       }
     }
@@ -432,24 +505,16 @@ public class ConnectionManagerImpl implements ConnectionManager {
   }
 
   private void destroyConnection(PooledConnection connection) {
-    lock.lock();
-    try {
-      if (allConnectionsMap.removeConnection(connection)) {
-        if (logger.isDebugEnabled()) {
-          logger.debug("Invalidating connection {} connection count is now {}", connection,
-              connectionCount);
-        }
-
-        // getPoolStats().incConCount(-1);
-        // logger.info("DEBUG: destroyConnection conCount(-1)->" + connectionCount);
-        if (connectionCount < minConnections) {
-          startBackgroundPrefill();
-        }
-        freeConnection.signalAll();
+    boolean removed = allConnectionsMap.removeConnection(connection);
+    int count = connectionCount.decrementAndGet(); // fix for bug #50333
+    if (removed) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Invalidating connection {} connection count is now {}", connection, count);
       }
-      --connectionCount; // fix for bug #50333
-    } finally {
-      lock.unlock();
+      if (count < minConnections) {
+        startBackgroundPrefill();
+      }
+      signalFreeConnection();
     }
 
     connection.internalDestroy();
@@ -469,55 +534,36 @@ public class ConnectionManagerImpl implements ConnectionManager {
       return;
     }
 
-    lock.lock();
-    try {
-      if (shuttingDown) {
-        return;
-      }
-      if (logger.isDebugEnabled()) {
-        logger.debug("Invalidating {} connections to server {}", badConnections.size(), endpoint);
-      }
-
-      // mark connections for destruction now, so if anyone tries
-      // to return a connection they'll get an exception
-      for (Iterator itr = badConnections.iterator(); itr.hasNext();) {
-        PooledConnection conn = (PooledConnection) itr.next();
-        if (!conn.setShouldDestroy()) {
-          // this might not be true; they make have just had an exception
-          // itr.remove(); // someone else is destroying it
-        }
-      }
+    if (shuttingDown) {
+      return;
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug("Invalidating {} connections to server {}", badConnections.size(), endpoint);
+    }
 
-      for (Iterator itr = availableConnections.iterator(); itr.hasNext();) {
-        PooledConnection conn = (PooledConnection) itr.next();
-        if (badConnections.contains(conn)) {
-          itr.remove();
-        }
+    // mark connections for destruction now, so if anyone tries
+    // to return a connection they'll get an exception
+    for (Iterator itr = badConnections.iterator(); itr.hasNext();) {
+      PooledConnection conn = (PooledConnection) itr.next();
+      if (!conn.setShouldDestroy()) {
+        // this might not be true; they make have just had an exception
+        // itr.remove(); // someone else is destroying it
       }
+    }
 
-      // getPoolStats().incConCount(-badConnections.size());
-      connectionCount -= badConnections.size();
-      // logger.info("DEBUG: invalidateServer conCount(" + (-badConnections.size()) + ")->" +
-      // connectionCount);
+    availableConnections.removeAll(badConnections);
 
-      if (connectionCount < minConnections) {
-        startBackgroundPrefill();
-      }
-
-      // TODO (ashetkar) This for loop may well be outside the lock. But this
-      // change was tested thoroughly for #42185 and also it may not impact perf
-      // because this method gets called only when a server goes down.
-      for (Iterator itr = badConnections.iterator(); itr.hasNext();) {
-        PooledConnection conn = (PooledConnection) itr.next();
-        conn.internalDestroy();
-      }
+    // getPoolStats().incConCount(-badConnections.size());
+    if (connectionCount.addAndGet(-badConnections.size()) < minConnections) {
+      startBackgroundPrefill();
+    }
 
-      if (connectionCount < maxConnections) {
-        freeConnection.signalAll();
-      }
-    } finally {
-      lock.unlock();
+    for (Iterator itr = badConnections.iterator(); itr.hasNext();) {
+      PooledConnection conn = (PooledConnection) itr.next();
+      conn.internalDestroy();
     }
+
+    signalFreeConnection();
   }
 
   /*
@@ -538,37 +584,32 @@ public class ConnectionManagerImpl implements ConnectionManager {
 
     boolean shouldClose = false;
 
-    lock.lock();
-    try {
-      if (pooledConn.isDestroyed()) {
-        return;
-      }
+    if (pooledConn.isDestroyed()) {
+      return;
+    }
 
-      if (pooledConn.shouldDestroy()) {
-        destroyConnection(pooledConn);
-      } else {
-        // thread local connections are already passive at this point
-        if (pooledConn.isActive()) {
-          pooledConn.passivate(accessed);
-        }
+    if (pooledConn.shouldDestroy()) {
+      destroyConnection(pooledConn);
+    } else {
+      // thread local connections are already passive at this point
+      if (pooledConn.isActive()) {
+        pooledConn.passivate(accessed);
+      }
 
-        // borrowConnection(ServerLocation, long) allows us to break the
-        // connection limit in order to get a connection to a server. So we need
-        // to get our pool back to size if we're above the limit
-        if (connectionCount > maxConnections) {
-          if (allConnectionsMap.removeConnection(pooledConn)) {
-            shouldClose = true;
-            // getPoolStats().incConCount(-1);
-            --connectionCount;
-            // logger.info("DEBUG: returnConnection conCount(-1)->" + connectionCount);
-          }
-        } else {
-          availableConnections.addFirst(pooledConn);
-          freeConnection.signalAll();
+      // borrowConnection(ServerLocation, long) allows us to break the
+      // connection limit in order to get a connection to a server. So we need
+      // to get our pool back to size if we're above the limit
+      if (connectionCount.get() > maxConnections) {
+        if (allConnectionsMap.removeConnection(pooledConn)) {
+          shouldClose = true;
+          // getPoolStats().incConCount(-1);
+          connectionCount.decrementAndGet();
+          // logger.info("DEBUG: returnConnection conCount(-1)->" + connectionCount);
         }
+      } else {
+        availableConnections.addFirst(pooledConn);
+        signalFreeConnection();
       }
-    } finally {
-      lock.unlock();
     }
 
     if (shouldClose) {
@@ -603,12 +644,7 @@ public class ConnectionManagerImpl implements ConnectionManager {
 
     endpointManager.addListener(endpointListener);
 
-    lock.lock();
-    try {
-      startBackgroundPrefill();
-    } finally {
-      lock.unlock();
-    }
+    startBackgroundPrefill();
   }
 
   /*
@@ -629,6 +665,7 @@ public class ConnectionManagerImpl implements ConnectionManager {
         return;
       }
       shuttingDown = true;
+      freeConnection.signalAll();
     } finally {
       lock.unlock();
     }
@@ -684,10 +721,8 @@ public class ConnectionManagerImpl implements ConnectionManager {
     }
   }
 
-  /** Always called with lock held */
   protected void startBackgroundPrefill() {
-    if (!havePrefillTask) {
-      havePrefillTask = true;
+    if (havePrefillTask.compareAndSet(false, true)) {
       try {
         backgroundProcessor.execute(new PrefillConnectionsTask());
       } catch (RejectedExecutionException e) {
@@ -699,7 +734,7 @@ public class ConnectionManagerImpl implements ConnectionManager {
 
   protected boolean prefill() {
     try {
-      while (connectionCount < minConnections) {
+      while (connectionCount.get() < minConnections) {
         if (cancelCriterion.isCancelInProgress()) {
           return true;
         }
@@ -721,7 +756,7 @@ public class ConnectionManagerImpl implements ConnectionManager {
   }
 
   public int getConnectionCount() {
-    return this.connectionCount;
+    return this.connectionCount.get();
   }
 
   protected PoolStats getPoolStats() {
@@ -739,23 +774,10 @@ public class ConnectionManagerImpl implements ConnectionManager {
   }
 
   private boolean prefillConnection() {
-    boolean createConnection = false;
-    lock.lock();
-    try {
-      if (shuttingDown) {
-        return false;
-      }
-      if (connectionCount < minConnections) {
-        // getPoolStats().incConCount(1);
-        connectionCount++;
-        // logger.info("DEBUG: prefillConnection conCount(+1)->" + connectionCount);
-        createConnection = true;
-      }
-    } finally {
-      lock.unlock();
+    if (shuttingDown) {
+      return false;
     }
-
-    if (createConnection) {
+    if (reserveConnection(minConnections)) {
       PooledConnection connection = null;
       try {
         Connection plainConnection =
@@ -772,26 +794,19 @@ public class ConnectionManagerImpl implements ConnectionManager {
                 .toLocalizedString(ex.getMessage()));
         return false;
       } finally {
-        lock.lock();
-        try {
-          if (connection == null) {
-            // getPoolStats().incConCount(-1);
-            connectionCount--;
-            // logger.info("DEBUG: prefillConnection conCount(-1)->" + connectionCount);
-            if (logger.isDebugEnabled()) {
-              logger.debug("Unable to prefill pool to minimum, connection count is now {}",
-                  connectionCount);
-            }
-          } else {
-            availableConnections.addFirst(connection);
-            freeConnection.signalAll();
-            if (logger.isDebugEnabled()) {
-              logger.debug("Prefilled connection {} connection count is now {}", connection,
-                  connectionCount);
-            }
+        if (connection == null) {
+          int count = connectionCount.decrementAndGet();
+          signalFreeConnection();
+          if (logger.isDebugEnabled()) {
+            logger.debug("Unable to prefill pool to minimum, connection count is now {}", count);
+          }
+        } else {
+          availableConnections.addFirst(connection);
+          signalFreeConnection();
+          if (logger.isDebugEnabled()) {
+            logger.debug("Prefilled connection {} connection count is now {}", connection,
+                connectionCount);
           }
-        } finally {
-          lock.unlock();
         }
       }
     }
@@ -852,20 +867,20 @@ public class ConnectionManagerImpl implements ConnectionManager {
       }
 
       prefill();
-      lock.lock();
-      try {
-        if (connectionCount < minConnections && !cancelCriterion.isCancelInProgress()) {
-          try {
-            backgroundProcessor.schedule(new PrefillConnectionsTask(), prefillRetry,
-                TimeUnit.MILLISECONDS);
-          } catch (RejectedExecutionException e) {
-            // ignore, the timer has been cancelled, which means we're shutting down.
-          }
-        } else {
-          havePrefillTask = false;
+      if (connectionCount.get() < minConnections && !cancelCriterion.isCancelInProgress()) {
+        try {
+          backgroundProcessor.schedule(new PrefillConnectionsTask(), prefillRetry,
+              TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+          // ignore, the timer has been cancelled, which means we're shutting down.
+        }
+      } else {
+        havePrefillTask.set(false);
+        // a connection may have been lost after we checked the count but before we cleared
+        // the flag, in which case nobody else will have started a task
+        if (connectionCount.get() < minConnections && !cancelCriterion.isCancelInProgress()) {
+          startBackgroundPrefill();
         }
-      } finally {
-        lock.unlock();
       }
     }
   }
@@ -1391,19 +1406,11 @@ public class ConnectionManagerImpl implements ConnectionManager {
         // logger.info("DEBUG: checkIdleExpiration incPoolConnections(" + (-expireCount) + ")->" +
         // getPoolStats().getPoolConnections());
         // do this outside the above sync
-        lock.lock();
-        try {
-          // getPoolStats().incConCount(-expireCount);
-          connectionCount -= expireCount;
-          // logger.info("DEBUG: checkIdleExpiration conCount(" + (-expireCount) + ")->" +
-          // connectionCount);
-          freeConnection.signalAll();
-          if (connectionCount < minConnections) {
-            startBackgroundPrefill();
-          }
-        } finally {
-          lock.unlock();
+        availableConnections.removeAll(toClose);
+        if (connectionCount.addAndGet(-expireCount) < minConnections) {
+          startBackgroundPrefill();
         }
+        signalFreeConnection();
       }
       // now destroy all of the connections, outside the sync
       // if (toClose != null) (cannot be null)
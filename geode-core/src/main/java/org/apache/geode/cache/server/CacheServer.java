@@ -52,9 +52,11 @@ public interface CacheServer {
    * The default limit to the maximum number of cache server threads that can be created to service
    * client requests. Once this number of threads exist then connections must share the same thread
    * to service their request. A selector is used to detect client connection requests and dispatch
-   * them to the thread pool. The default of <code>0</code> causes a thread to be bound to every
-   * connection and to be dedicated to detecting client requests on that connection. A selector is
-   * not used in this default mode. Current value: 0
+   * them to the thread pool. The default of <code>0</code> uses a selector and a pool sized for the
+   * number of processors, unless the cache server uses SSL or is a gateway receiver. Those cache
+   * servers, or any cache server if the <code>gemfire.BridgeServer.THREAD_PER_CONNECTION</code>
+   * system property is true, bind a thread to every connection that is dedicated to detecting
+   * client requests on that connection. Current value: 0
    * 
    * @since GemFire 5.7
    */
@@ -313,8 +315,8 @@ public interface CacheServer {
 
   /**
    * Returns the maxium number of threads allowed in this cache server to service client requests.
-   * The default of <code>0</code> causes the cache server to dedicate a thread for every client
-   * connection.
+   * The default of <code>0</code> lets the cache server choose, as described by
+   * {@link #DEFAULT_MAX_THREADS}.
    * 
    * @since GemFire 5.1
    */
@@ -322,8 +324,8 @@ public interface CacheServer {
 
   /**
    * Sets the maxium number of threads allowed in this cache server to service client requests. The
-   * default of <code>0</code> causes the cache server to dedicate a thread for every client
-   * connection.
+   * default of <code>0</code> lets the cache server choose, as described by
+   * {@link #DEFAULT_MAX_THREADS}.
    * 
    * @see #DEFAULT_MAX_THREADS
    * @since GemFire 5.1
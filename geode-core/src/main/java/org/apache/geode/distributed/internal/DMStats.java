@@ -141,6 +141,17 @@ public interface DMStats {
 
   public void incBatchFlushTime(long start);
 
+  /**
+   * Increments the number of socket writes made by connections that coalesce messages and the
+   * number of message frames they sent.
+   */
+  public void incCoalescedWrites(int frames);
+
+  /**
+   * Increments the total number of nanoseconds that message frames waited to be coalesced.
+   */
+  public void incCoalescingDelay(long start);
+
   /**
    * Increments the total number of nanoseconds spent scheduling messages to be processed.
    */
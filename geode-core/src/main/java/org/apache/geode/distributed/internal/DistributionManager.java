@@ -160,6 +160,22 @@ public class DistributionManager implements DM {
   // Integer.getInteger("DistributionManager.MAX_THREADS",
   // max(Runtime.getRuntime().availableProcessors()*2, 2)).intValue();
 
+  /**
+   * Whether the standard, high priority, waiting, partitioned region and function execution pools
+   * run each message on its own virtual thread, on JVMs that have them. Each of these pools may
+   * then run up to MAX_VIRTUAL_THREAD_CONCURRENCY messages at once, or its pool size if that is
+   * larger; further messages wait in the pool's queue as they do without virtual threads.
+   * <p>
+   * Only honored on Java 24 or later. On Java 21 to 23 a virtual thread blocked in a synchronized
+   * block or Object.wait pins its carrier thread, and message handlers block that way often enough
+   * to take every carrier and hang the member, so the pools keep their platform threads there.
+   */
+  public static final boolean USE_VIRTUAL_THREADS =
+      Boolean.getBoolean("DistributionManager.USE_VIRTUAL_THREADS");
+
+  public static final int MAX_VIRTUAL_THREAD_CONCURRENCY =
+      Integer.getInteger("DistributionManager.MAX_VIRTUAL_THREAD_CONCURRENCY", 10000).intValue();
+
   public static final int INCOMING_QUEUE_LIMIT =
       Integer.getInteger("DistributionManager.INCOMING_QUEUE_LIMIT", 80000).intValue();
   public static final int INCOMING_QUEUE_THROTTLE =
@@ -446,6 +462,9 @@ public class DistributionManager implements DM {
   private ThreadPoolExecutor functionExecutionThread;
   private ThreadPoolExecutor functionExecutionPool;
 
+  /** Whether the message processing pools run each message on its own virtual thread */
+  private final boolean useVirtualThreads;
+
   /** Message processing executor for serial, ordered, messages. */
   private ThreadPoolExecutor serialThread;
 
@@ -817,6 +836,14 @@ public class DistributionManager implements DM {
         LoggingThreadGroup.createThreadGroup("DistributionManager Threads", logger);
     this.threadGroup = group;
 
+    this.useVirtualThreads = USE_VIRTUAL_THREADS && VirtualThreads.isSupported();
+    if (USE_VIRTUAL_THREADS && !this.useVirtualThreads) {
+      logger.warn(
+          "DistributionManager.USE_VIRTUAL_THREADS is set but this JVM does not have virtual"
+              + " threads that can block in monitors without pinning their carrier (Java 24 or"
+              + " later), so messages are processed by pooled threads");
+    }
+
     boolean finishedConstructor = false;
     try {
 
@@ -927,16 +954,19 @@ public class DistributionManager implements DM {
                 }
               }
             };
-            Thread thread = new Thread(group, r,
+            return newProcessorThread(group, r,
                 LocalizedStrings.DistributionManager_POOLED_MESSAGE_PROCESSOR.toLocalizedString()
                     + (next++));
-            thread.setDaemon(true);
-            return thread;
           }
         };
-        ThreadPoolExecutor pool = new PooledExecutorWithDMStats(poolQueue, MAX_THREADS,
-            this.stats.getNormalPoolHelper(), tf);
-        this.threadPool = pool;
+        if (this.useVirtualThreads) {
+          this.threadPool = createVirtualThreadPool(poolQueue, MAX_THREADS,
+              this.stats.getNormalPoolHelper(), tf, "PooledMessageProcessor");
+        } else {
+          ThreadPoolExecutor pool = new PooledExecutorWithDMStats(poolQueue, MAX_THREADS,
+              this.stats.getNormalPoolHelper(), tf);
+          this.threadPool = pool;
+        }
       }
 
 
@@ -966,15 +996,18 @@ public class DistributionManager implements DM {
                 }
               }
             };
-            Thread thread = new Thread(group, r,
+            return newProcessorThread(group, r,
                 LocalizedStrings.DistributionManager_POOLED_HIGH_PRIORITY_MESSAGE_PROCESSOR
                     .toLocalizedString() + (next++));
-            thread.setDaemon(true);
-            return thread;
           }
         };
-        this.highPriorityPool = new PooledExecutorWithDMStats(poolQueue, MAX_THREADS,
-            this.stats.getHighPriorityPoolHelper(), tf);
+        if (this.useVirtualThreads) {
+          this.highPriorityPool = createVirtualThreadPool(poolQueue, MAX_THREADS,
+              this.stats.getHighPriorityPoolHelper(), tf, "HighPriorityMessageProcessor");
+        } else {
+          this.highPriorityPool = new PooledExecutorWithDMStats(poolQueue, MAX_THREADS,
+              this.stats.getHighPriorityPoolHelper(), tf);
+        }
       }
 
 
@@ -997,11 +1030,9 @@ public class DistributionManager implements DM {
                 }
               }
             };
-            Thread thread = new Thread(group, r,
+            return newProcessorThread(group, r,
                 LocalizedStrings.DistributionManager_POOLED_WAITING_MESSAGE_PROCESSOR
                     .toLocalizedString() + (next++));
-            thread.setDaemon(true);
-            return thread;
           }
         };
         BlockingQueue poolQueue;
@@ -1011,8 +1042,13 @@ public class DistributionManager implements DM {
         } else {
           poolQueue = new OverflowQueueWithDMStats(this.stats.getWaitingQueueHelper());
         }
-        this.waitingPool = new PooledExecutorWithDMStats(poolQueue, MAX_WAITING_THREADS,
-            this.stats.getWaitingPoolHelper(), tf);
+        if (this.useVirtualThreads) {
+          this.waitingPool = createVirtualThreadPool(poolQueue, MAX_WAITING_THREADS,
+              this.stats.getWaitingPoolHelper(), tf, "WaitingMessageProcessor");
+        } else {
+          this.waitingPool = new PooledExecutorWithDMStats(poolQueue, MAX_WAITING_THREADS,
+              this.stats.getWaitingPoolHelper(), tf);
+        }
       }
 
       {
@@ -1073,12 +1109,14 @@ public class DistributionManager implements DM {
                 }
               }
             };
-            Thread thread = new Thread(group, r, "PartitionedRegion Message Processor" + (next++));
-            thread.setDaemon(true);
-            return thread;
+            return newProcessorThread(group, r, "PartitionedRegion Message Processor" + (next++));
           }
         };
-        if (MAX_PR_THREADS > 1) {
+        if (MAX_PR_THREADS > 1 && this.useVirtualThreads) {
+          this.partitionedRegionPool = createVirtualThreadPool(poolQueue, MAX_PR_THREADS,
+              this.stats.getPartitionedRegionPoolHelper(), tf,
+              "PartitionedRegionMessageProcessor");
+        } else if (MAX_PR_THREADS > 1) {
           this.partitionedRegionPool = new PooledExecutorWithDMStats(poolQueue, MAX_PR_THREADS,
               this.stats.getPartitionedRegionPoolHelper(), tf);
         } else {
@@ -1116,13 +1154,14 @@ public class DistributionManager implements DM {
                 }
               }
             };
-            Thread thread = new Thread(group, r, "Function Execution Processor" + (next++));
-            thread.setDaemon(true);
-            return thread;
+            return newProcessorThread(group, r, "Function Execution Processor" + (next++));
           }
         };
 
-        if (MAX_FE_THREADS > 1) {
+        if (MAX_FE_THREADS > 1 && this.useVirtualThreads) {
+          this.functionExecutionPool = createVirtualThreadPool(poolQueue, MAX_FE_THREADS,
+              this.stats.getFunctionExecutionPoolHelper(), tf, "FunctionExecutionProcessor");
+        } else if (MAX_FE_THREADS > 1) {
           this.functionExecutionPool =
               new FunctionExecutionPooledExecutor(poolQueue, MAX_FE_THREADS,
                   this.stats.getFunctionExecutionPoolHelper(), tf, true /* for fn exec */);
@@ -3816,6 +3855,30 @@ public class DistributionManager implements DM {
     } // while
   }
 
+  /**
+   * Returns a new daemon thread for one of the message processing pools, a virtual thread if they
+   * use virtual threads.
+   */
+  private Thread newProcessorThread(ThreadGroup group, Runnable r, String name) {
+    if (this.useVirtualThreads) {
+      return VirtualThreads.newThread(group, r, name);
+    }
+    Thread thread = new Thread(group, r, name);
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  /**
+   * Returns a pool that runs each message on its own virtual thread, running at most
+   * MAX_VIRTUAL_THREAD_CONCURRENCY or poolSize messages at once, whichever is larger. Messages
+   * beyond that wait in poolQueue, so its limit and throttling still apply.
+   */
+  private ThreadPoolExecutor createVirtualThreadPool(BlockingQueue poolQueue, int poolSize,
+      PoolStatHelper helper, ThreadFactory tf, String name) {
+    return new VirtualThreadExecutorWithDMStats(poolQueue,
+        Math.max(poolSize, MAX_VIRTUAL_THREAD_CONCURRENCY), helper, tf, this.system, name);
+  }
+
   /**
    * getThreadPool gets this distribution manager's message-processing thread pool
    */
@@ -146,6 +146,9 @@ public class DistributionStats implements DMStats {
   private final static int batchCopyTimeId;
   private final static int batchWaitTimeId;
   private final static int batchFlushTimeId;
+  private final static int coalescedWritesId;
+  private final static int coalescedFramesId;
+  private final static int coalescingDelayId;
 
   private final static int threadOwnedReceiversId;
   private final static int threadOwnedReceiversId2;
@@ -596,6 +599,14 @@ public class DistributionStats implements DMStats {
         f.createLongCounter("batchFlushTime",
             "Total amount of time, in nanoseconds, spent flushing batched messages to the network",
             "nanoseconds"),
+        f.createIntCounter("coalescedWrites",
+            "Total number of socket writes made by connections that coalesce messages.", "writes"),
+        f.createIntCounter("coalescedFrames",
+            "Total number of message frames sent by connections that coalesce messages. Divide by coalescedWrites for the number of frames sent per socket write.",
+            "frames"),
+        f.createLongCounter("coalescingDelay",
+            "Total amount of time, in nanoseconds, that the oldest message frame of each coalesced socket write waited for the write to start.",
+            "nanoseconds"),
 
         f.createIntGauge("asyncSocketWritesInProgress",
             "Current number of non-blocking socket write calls in progress.", "writes"),
@@ -841,6 +852,9 @@ public class DistributionStats implements DMStats {
     batchCopyTimeId = type.nameToId("batchCopyTime");
     batchWaitTimeId = type.nameToId("batchWaitTime");
     batchFlushTimeId = type.nameToId("batchFlushTime");
+    coalescedWritesId = type.nameToId("coalescedWrites");
+    coalescedFramesId = type.nameToId("coalescedFrames");
+    coalescingDelayId = type.nameToId("coalescingDelay");
 
     asyncSocketWritesInProgressId = type.nameToId("asyncSocketWritesInProgress");
     asyncSocketWritesId = type.nameToId("asyncSocketWrites");
@@ -2068,6 +2082,17 @@ public class DistributionStats implements DMStats {
     }
   }
 
+  public void incCoalescedWrites(int frames) {
+    stats.incInt(coalescedWritesId, 1);
+    stats.incInt(coalescedFramesId, frames);
+  }
+
+  public void incCoalescingDelay(long start) {
+    if (enableClockStats) {
+      stats.incLong(coalescingDelayId, getStatTime() - start);
+    }
+  }
+
   public void incUcastRetransmits() {
     stats.incInt(ucastRetransmitsId, 1);
   }
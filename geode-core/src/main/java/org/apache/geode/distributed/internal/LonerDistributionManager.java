@@ -583,6 +583,12 @@ public class LonerDistributionManager implements DM {
     @Override
     public void incBatchFlushTime(long start) {}
 
+    @Override
+    public void incCoalescedWrites(int frames) {}
+
+    @Override
+    public void incCoalescingDelay(long start) {}
+
     @Override
     public void incUcastWriteBytes(int bytesWritten) {}
 
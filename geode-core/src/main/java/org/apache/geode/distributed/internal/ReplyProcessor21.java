@@ -39,6 +39,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class processes responses to {@link DistributionMessage}s. It handles a the generic case of
@@ -82,6 +83,16 @@ public class ReplyProcessor21 implements MembershipListener {
   public final static boolean THROW_EXCEPTION_ON_TIMEOUT =
       Boolean.getBoolean("ack-threshold-exception");
 
+  /**
+   * How long, in microseconds, a thread waiting for the reply of a single member checks for it
+   * before blocking. Acks over a fast network often arrive sooner than a blocked thread can be
+   * woken up. Spinning is off by default on a single processor, where it would delay the thread
+   * that delivers the reply.
+   */
+  public final static long SPIN_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(Long.getLong(
+      DistributionConfig.GEMFIRE_PREFIX + "ReplyProcessor21.SPIN_WAIT_MICROS",
+      Runtime.getRuntime().availableProcessors() > 1 ? 20 : 0));
+
   /**
    * the ratio by which ack-severe-alert-threshold is lowered when waiting for a BucketRegion
    * operation
@@ -679,7 +690,7 @@ public class ReplyProcessor21 implements MembershipListener {
       throw new InterruptedException();
     }
 
-    if (stillWaiting()) {
+    if (stillWaiting() && !(this.members.length == 1 && spinForReplies(latch))) {
       long timeout = getAckWaitThreshold() * 1000L;
       long timeSoFar = System.currentTimeMillis() - this.initTime;
       long severeAlertTimeout = getAckSevereAlertThresholdMS();
@@ -750,6 +761,22 @@ public class ReplyProcessor21 implements MembershipListener {
     return true;
   }
 
+  /**
+   * Checks whether the latch has been released until SPIN_WAIT_NANOS have passed, checking at least
+   * once.
+   *
+   * @return true if the latch was released
+   */
+  private static boolean spinForReplies(StoppableCountDownLatch latch) {
+    final long start = System.nanoTime();
+    do {
+      if (latch.getCount() == 0) {
+        return true;
+      }
+    } while (System.nanoTime() - start < SPIN_WAIT_NANOS);
+    return false;
+  }
+
   /**
    * Wait a given number of milliseconds for the expected acks to be received. If <code>msecs</code>
    * milliseconds pass before all acknowlegdements are received, <code>false</code> is returned.
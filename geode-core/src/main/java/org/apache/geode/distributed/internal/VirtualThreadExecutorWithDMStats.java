@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.geode.StatisticDescriptor;
+import org.apache.geode.Statistics;
+import org.apache.geode.StatisticsFactory;
+import org.apache.geode.StatisticsType;
+import org.apache.geode.StatisticsTypeFactory;
+import org.apache.geode.internal.statistics.StatisticsTypeFactoryImpl;
+
+/**
+ * A pool whose threads, meant to be virtual threads, are cheap enough that it can run thousands of
+ * jobs at once. A job that blocks, for example waiting for replies or for a distributed lock, then
+ * only holds its own cheap thread rather than one of a few pooled threads. Jobs that arrive while
+ * the pool already runs as many jobs as it may wait in the queue it was given, so a bounded or
+ * throttling queue still pushes back on the threads that hand it messages.
+ *
+ * @since Geode 1.3
+ */
+public class VirtualThreadExecutorWithDMStats extends PooledExecutorWithDMStats {
+
+  private static final StatisticsType type;
+
+  private static final int runningJobsId;
+
+  static {
+    StatisticsTypeFactory f = StatisticsTypeFactoryImpl.singleton();
+    type = f.createType("VirtualThreadExecutorStats",
+        "Statistics on a pool of the distribution manager that runs each message on its own"
+            + " virtual thread",
+        new StatisticDescriptor[] {f.createIntGauge("runningJobs",
+            "The number of threads of the pool currently running a message.", "threads"),});
+    runningJobsId = type.nameToId("runningJobs");
+  }
+
+  private final Statistics virtualThreadStats;
+
+  /**
+   * Creates a pool that runs at most maxConcurrency jobs at once, queuing the others in q, and
+   * records its statistics under the given name.
+   */
+  public VirtualThreadExecutorWithDMStats(BlockingQueue<Runnable> q, int maxConcurrency,
+      PoolStatHelper stats, ThreadFactory tf, StatisticsFactory statisticsFactory, String name) {
+    super(q, maxConcurrency, stats, tf);
+    this.virtualThreadStats = statisticsFactory.createAtomicStatistics(type, name);
+  }
+
+  @Override
+  protected void beforeExecute(Thread t, Runnable r) {
+    super.beforeExecute(t, r);
+    this.virtualThreadStats.incInt(runningJobsId, 1);
+  }
+
+  @Override
+  protected void afterExecute(Runnable r, Throwable ex) {
+    try {
+      super.afterExecute(r, ex);
+    } finally {
+      this.virtualThreadStats.incInt(runningJobsId, -1);
+    }
+  }
+
+  @Override
+  protected void terminated() {
+    super.terminated();
+    if (!this.virtualThreadStats.isClosed()) {
+      this.virtualThreadStats.close();
+    }
+  }
+}
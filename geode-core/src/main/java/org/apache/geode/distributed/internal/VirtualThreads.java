@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.apache.geode.InternalGemFireException;
+
+/**
+ * Creates virtual threads on JVMs that have them. Geode is built for Java 8, so the builder of
+ * virtual threads is found reflectively.
+ * <p>
+ * Before Java 24 (JEP 491) a virtual thread that blocks inside a synchronized block or in
+ * Object.wait pins its carrier thread. Message handlers do that all the time, for dlock grants,
+ * region and entry synchronization and socket writes under a connection's outLock, so a handful of
+ * them could take every carrier and hang the member. Virtual threads are therefore only used on
+ * Java 24 or later.
+ *
+ * @since Geode 1.3
+ */
+class VirtualThreads {
+
+  private static final Method OF_VIRTUAL;
+  private static final Method NAME;
+  private static final Method UNSTARTED;
+
+  static {
+    Method ofVirtual = null;
+    Method name = null;
+    Method unstarted = null;
+    try {
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      Class<?> builder = Class.forName("java.lang.Thread$Builder");
+      name = builder.getMethod("name", String.class);
+      unstarted = builder.getMethod("unstarted", Runnable.class);
+    } catch (ClassNotFoundException | NoSuchMethodException e) {
+      ofVirtual = null;
+    }
+    OF_VIRTUAL = ofVirtual;
+    NAME = name;
+    UNSTARTED = unstarted;
+  }
+
+  /** The first Java version whose virtual threads do not pin their carrier in monitors */
+  static final int NO_MONITOR_PINNING_VERSION = 24;
+
+  private static final boolean MONITORS_DO_NOT_PIN =
+      monitorsDoNotPin(System.getProperty("java.specification.version"));
+
+  /**
+   * Returns true if this JVM can create virtual threads that do not pin their carrier thread when
+   * they block in a monitor.
+   */
+  static boolean isSupported() {
+    return OF_VIRTUAL != null && MONITORS_DO_NOT_PIN;
+  }
+
+  /**
+   * Returns true if a JVM with the given java.specification.version unmounts virtual threads that
+   * block in a monitor. Versions before Java 9 have the form "1.8".
+   */
+  static boolean monitorsDoNotPin(String specificationVersion) {
+    if (specificationVersion == null) {
+      return false;
+    }
+    try {
+      return Integer.parseInt(specificationVersion) >= NO_MONITOR_PINNING_VERSION;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns a new, unstarted virtual thread that runs the given runnable. Uncaught exceptions are
+   * handled by the given thread group, as virtual threads can not belong to it.
+   */
+  static Thread newThread(ThreadGroup group, Runnable runnable, String name) {
+    try {
+      Object builder = OF_VIRTUAL.invoke(null);
+      NAME.invoke(builder, name);
+      Thread thread = (Thread) UNSTARTED.invoke(builder, runnable);
+      thread.setUncaughtExceptionHandler(group);
+      return thread;
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      throw new InternalGemFireException("Unable to create virtual thread " + name, e);
+    }
+  }
+
+  private VirtualThreads() {
+    // no instances allowed
+  }
+}
@@ -35,6 +35,7 @@ import org.apache.geode.internal.cache.lru.LRUStatistics;
 import org.apache.geode.internal.cache.lru.MemLRUCapacityController;
 import org.apache.geode.internal.cache.lru.NewLIFOClockHand;
 import org.apache.geode.internal.cache.lru.NewLRUClockHand;
+import org.apache.geode.internal.cache.lru.StripedLRUClockHand;
 import org.apache.geode.internal.cache.persistence.DiskRegionView;
 import org.apache.geode.internal.cache.versions.RegionVersionVector;
 import org.apache.geode.internal.cache.versions.VersionSource;
@@ -101,7 +102,15 @@ public abstract class AbstractLRURegionMap extends AbstractRegionMap {
     if (ea == EvictionAlgorithm.LIFO_ENTRY || ea == EvictionAlgorithm.LIFO_MEMORY) {
       _setLruList(new NewLIFOClockHand(owner, _getCCHelper(), internalRegionArgs));
     } else {
-      _setLruList(new NewLRUClockHand(owner, _getCCHelper(), internalRegionArgs));
+      int stripes = internalRegionArgs.getLRUClockStripes();
+      if (stripes <= 0) {
+        stripes = StripedLRUClockHand.DEFAULT_STRIPES;
+      }
+      if (stripes > 1) {
+        _setLruList(new StripedLRUClockHand(owner, _getCCHelper(), internalRegionArgs, stripes));
+      } else {
+        _setLruList(new NewLRUClockHand(owner, _getCCHelper(), internalRegionArgs));
+      }
     }
   }
 
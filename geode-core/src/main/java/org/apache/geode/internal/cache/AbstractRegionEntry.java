@@ -1225,6 +1225,22 @@ public abstract class AbstractRegionEntry implements RegionEntry, HashEntry<Obje
     return k.equals(getKey());
   }
 
+  /**
+   * Returns true if the key of this entry is the Integer k. Overridden by entries that store an int
+   * key so that the lookup does not need to box k.
+   */
+  public boolean isIntKeyEqual(int k) {
+    return isKeyEqual(Integer.valueOf(k));
+  }
+
+  /**
+   * Returns true if the key of this entry is the Long k. Overridden by entries that store a long
+   * key so that the lookup does not need to box k.
+   */
+  public boolean isLongKeyEqual(long k) {
+    return isKeyEqual(Long.valueOf(k));
+  }
+
   private static final long LAST_MODIFIED_MASK = 0x00FFFFFFFFFFFFFFL;
 
   protected void _setLastModified(long lastModifiedTime) {
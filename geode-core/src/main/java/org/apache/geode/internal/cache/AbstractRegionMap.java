@@ -76,6 +76,7 @@ import org.apache.geode.internal.offheap.annotations.Released;
 import org.apache.geode.internal.offheap.annotations.Retained;
 import org.apache.geode.internal.offheap.annotations.Unretained;
 import org.apache.geode.internal.sequencelog.EntryLogger;
+import org.apache.geode.internal.util.concurrent.ConcurrentMapWithReusableEntries;
 import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap;
 
 /**
@@ -87,7 +88,7 @@ public abstract class AbstractRegionMap implements RegionMap {
   private static final Logger logger = LogService.getLogger();
 
   /** The underlying map for this region. */
-  protected CustomEntryConcurrentHashMap<Object, Object> map;
+  protected ConcurrentMapWithReusableEntries<Object, Object> map;
 
   /**
    * This test hook is used to force the conditions for defect 48182. This hook is used by
@@ -110,8 +111,13 @@ public abstract class AbstractRegionMap implements RegionMap {
       InternalRegionArguments internalRegionArgs, boolean isLRU) {
     _setAttributes(attr);
     setOwner(owner);
-    _setMap(createConcurrentMap(attr.initialCapacity, attr.loadFactor, attr.concurrencyLevel, false,
-        new AbstractRegionEntry.HashRegionEntryCreator()));
+    if (attr.openAddressing) {
+      _setMap(new OpenAddressingRegionEntryMap(attr.initialCapacity, attr.loadFactor,
+          attr.concurrencyLevel));
+    } else {
+      _setMap(createConcurrentMap(attr.initialCapacity, attr.loadFactor, attr.concurrencyLevel,
+          false, new AbstractRegionEntry.HashRegionEntryCreator()));
+    }
 
     boolean isDisk;
     boolean withVersioning;
@@ -186,11 +192,11 @@ public abstract class AbstractRegionMap implements RegionMap {
     this.owner = r;
   }
 
-  protected CustomEntryConcurrentHashMap<Object, Object> _getMap() {
+  protected ConcurrentMapWithReusableEntries<Object, Object> _getMap() {
     return this.map;
   }
 
-  protected void _setMap(CustomEntryConcurrentHashMap<Object, Object> m) {
+  protected void _setMap(ConcurrentMapWithReusableEntries<Object, Object> m) {
     this.map = m;
   }
 
@@ -239,6 +245,30 @@ public abstract class AbstractRegionMap implements RegionMap {
     return re;
   }
 
+  /**
+   * Returns the entry for the Integer key. The key is only boxed if the entry map cannot look it
+   * up in its primitive form.
+   */
+  RegionEntry getEntryForIntKey(int key) {
+    ConcurrentMapWithReusableEntries<Object, Object> m = _getMap();
+    if (m instanceof OpenAddressingRegionEntryMap) {
+      return (RegionEntry) ((OpenAddressingRegionEntryMap) m).getIntKey(key);
+    }
+    return getEntry(Integer.valueOf(key));
+  }
+
+  /**
+   * Returns the entry for the Long key. The key is only boxed if the entry map cannot look it up in
+   * its primitive form.
+   */
+  RegionEntry getEntryForLongKey(long key) {
+    ConcurrentMapWithReusableEntries<Object, Object> m = _getMap();
+    if (m instanceof OpenAddressingRegionEntryMap) {
+      return (RegionEntry) ((OpenAddressingRegionEntryMap) m).getLongKey(key);
+    }
+    return getEntry(Long.valueOf(key));
+  }
+
   protected RegionEntry getEntry(EntryEventImpl event) {
     return getEntry(event.getKey());
   }
@@ -550,7 +580,7 @@ public abstract class AbstractRegionMap implements RegionMap {
     // so that they will be in the correct order.
     OrderedTombstoneMap<RegionEntry> tombstones = new OrderedTombstoneMap<RegionEntry>();
     if (rm != null) {
-      CustomEntryConcurrentHashMap<Object, Object> other = ((AbstractRegionMap) rm)._getMap();
+      ConcurrentMapWithReusableEntries<Object, Object> other = ((AbstractRegionMap) rm)._getMap();
       Iterator<Map.Entry<Object, Object>> it = other.entrySetWithReusableEntries().iterator();
       while (it.hasNext()) {
         Map.Entry<Object, Object> me = it.next();
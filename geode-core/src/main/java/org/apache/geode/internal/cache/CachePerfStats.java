@@ -128,7 +128,12 @@ public class CachePerfStats {
   protected static final int tombstoneGCCountId;
   protected static final int tombstoneOverhead1Id;
   protected static final int tombstoneOverhead2Id;
+  protected static final int tombstoneGCBacklogId;
+  protected static final int tombstonesReclaimedId;
+  protected static final int tombstoneGCTimeId;
   protected static final int clearTimeoutsId;
+  protected static final int expiryTasksRunId;
+  protected static final int expirationLagTimeId;
 
   protected static final int deltaUpdatesId;
   protected static final int deltaUpdatesTimeId;
@@ -292,6 +297,16 @@ public class CachePerfStats {
         "Amount of memory consumed by destroyed entries in replicated or partitioned regions";
     final String tombstoneOverhead2Desc =
         "Amount of memory consumed by destroyed entries in non-replicated regions";
+    final String tombstoneGCBacklogDesc =
+        "Current number of expired destroyed entries in replicated or partitioned regions that are waiting to be garbage-collected";
+    final String tombstonesReclaimedDesc =
+        "Total number of expired destroyed entries removed by batch garbage-collections";
+    final String tombstoneGCTimeDesc =
+        "Total time spent removing batches of expired destroyed entries from replicated or partitioned regions";
+    final String expiryTasksRunDesc =
+        "Total number of region and entry expiration tasks that have been run once they were due.";
+    final String expirationLagTimeDesc =
+        "Total time, in milliseconds, by which expiration tasks started running after they were due.";
     final String clearTimeoutsDesc =
         "Number of timeouts waiting for events concurrent to a clear() operation to be received and applied before performing the clear()";
     final String deltaUpdatesDesc =
@@ -461,7 +476,13 @@ public class CachePerfStats {
             f.createIntCounter("tombstoneGCs", tombstoneGCCountDesc, "operations"),
             f.createLongGauge("replicatedTombstonesSize", tombstoneOverhead1Desc, "bytes"),
             f.createLongGauge("nonReplicatedTombstonesSize", tombstoneOverhead2Desc, "bytes"),
+            f.createLongGauge("tombstoneGCBacklog", tombstoneGCBacklogDesc, "entries"),
+            f.createLongCounter("tombstonesReclaimed", tombstonesReclaimedDesc, "entries"),
+            f.createLongCounter("tombstoneGCTime", tombstoneGCTimeDesc, "nanoseconds", false),
             f.createIntCounter("clearTimeouts", clearTimeoutsDesc, "timeouts"),
+            f.createLongCounter("expiryTasksRun", expiryTasksRunDesc, "operations"),
+            f.createLongCounter("expirationLagTime", expirationLagTimeDesc, "milliseconds",
+                false),
             f.createIntGauge("evictorJobsStarted", "Number of evictor jobs started", "jobs"),
             f.createIntGauge("evictorJobsCompleted", "Number of evictor jobs completed", "jobs"),
             f.createIntGauge("evictorQueueSize",
@@ -602,7 +623,12 @@ public class CachePerfStats {
     tombstoneGCCountId = type.nameToId("tombstoneGCs");
     tombstoneOverhead1Id = type.nameToId("replicatedTombstonesSize");
     tombstoneOverhead2Id = type.nameToId("nonReplicatedTombstonesSize");
+    tombstoneGCBacklogId = type.nameToId("tombstoneGCBacklog");
+    tombstonesReclaimedId = type.nameToId("tombstonesReclaimed");
+    tombstoneGCTimeId = type.nameToId("tombstoneGCTime");
     clearTimeoutsId = type.nameToId("clearTimeouts");
+    expiryTasksRunId = type.nameToId("expiryTasksRun");
+    expirationLagTimeId = type.nameToId("expirationLagTime");
 
     deltaUpdatesId = type.nameToId("deltaUpdates");
     deltaUpdatesTimeId = type.nameToId("deltaUpdatesTime");
@@ -1450,6 +1476,22 @@ public class CachePerfStats {
     this.stats.incInt(tombstoneGCCountId, 1);
   }
 
+  public long getExpiryTasksRun() {
+    return this.stats.getLong(expiryTasksRunId);
+  }
+
+  public long getExpirationLagTime() {
+    return this.stats.getLong(expirationLagTimeId);
+  }
+
+  /**
+   * @param lagMillis how long after it was due an expiration task started running
+   */
+  public void incExpirationLag(long lagMillis) {
+    this.stats.incLong(expiryTasksRunId, 1);
+    this.stats.incLong(expirationLagTimeId, lagMillis);
+  }
+
   public void setReplicatedTombstonesSize(long size) {
     this.stats.setLong(tombstoneOverhead1Id, size);
   }
@@ -1466,6 +1508,31 @@ public class CachePerfStats {
     return this.stats.getLong(tombstoneOverhead2Id);
   }
 
+  public void setTombstoneGCBacklog(long count) {
+    this.stats.setLong(tombstoneGCBacklogId, count);
+  }
+
+  public long getTombstoneGCBacklog() {
+    return this.stats.getLong(tombstoneGCBacklogId);
+  }
+
+  public long getTombstonesReclaimed() {
+    return this.stats.getLong(tombstonesReclaimedId);
+  }
+
+  public long getTombstoneGCTime() {
+    return this.stats.getLong(tombstoneGCTimeId);
+  }
+
+  /**
+   * @param count the number of expired tombstones removed by a batch garbage-collection
+   * @param elapsedNanos how long the removal took
+   */
+  public void endTombstoneGC(long count, long elapsedNanos) {
+    this.stats.incLong(tombstonesReclaimedId, count);
+    this.stats.incLong(tombstoneGCTimeId, elapsedNanos);
+  }
+
   public int getClearTimeouts() {
     return this.stats.getInt(clearTimeoutsId);
   }
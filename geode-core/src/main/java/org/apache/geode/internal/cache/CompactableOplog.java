@@ -30,6 +30,11 @@ public interface CompactableOplog {
 
   public int compact(OplogCompactor compactor);
 
+  /**
+   * Returns the number of entries whose current value is stored in this oplog.
+   */
+  public long getLiveEntryCount();
+
   public BytesAndBits getBytesAndBits(DiskRegionView dr, DiskId id, boolean faultIn,
       boolean bitOnly);
 
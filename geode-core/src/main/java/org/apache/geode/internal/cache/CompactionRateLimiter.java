@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.geode.distributed.internal.DistributionConfig;
+
+/**
+ * Paces the bytes a compactor copies forward so that compaction stays within a disk write budget.
+ * Foreground writes, measured from {@link DiskStoreStats}, are charged against the same budget so
+ * that compaction backs off while the disk store is busy. Compaction is never given less than a
+ * tenth of the budget so that it keeps making progress under sustained load.
+ * <p>
+ * Not thread safe; each compactor has its own limiter.
+ */
+class CompactionRateLimiter {
+
+  /**
+   * The disk write budget, in megabytes per second, shared by compaction and foreground writes.
+   * Zero or less disables rate limiting.
+   */
+  static final long MAX_MB_PER_SECOND =
+      Long.getLong(DistributionConfig.GEMFIRE_PREFIX + "disk.compactionMaxMBPerSecond", 0);
+
+  /**
+   * The number of live entries a compactor copies forward between two pacing decisions.
+   */
+  static final int CHUNK_ENTRIES =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "disk.compactionChunkEntries", 1000);
+
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private static final int MIN_SHARE_DIVISOR = 10;
+
+  private final DiskStoreStats stats;
+
+  private final long budgetBytesPerSecond;
+
+  /** How often the foreground write rate is sampled */
+  private final long sampleIntervalNanos;
+
+  private long rateBytesPerSecond;
+
+  /** The time at which the bytes charged so far have been paid for */
+  private long nextFreeTime;
+
+  private long sampleStartTime;
+
+  private long sampleStartBytes;
+
+  private long ownBytesInSample;
+
+  CompactionRateLimiter(DiskStoreStats stats, long budgetBytesPerSecond) {
+    this(stats, budgetBytesPerSecond, NANOS_PER_SECOND);
+  }
+
+  CompactionRateLimiter(DiskStoreStats stats, long budgetBytesPerSecond,
+      long sampleIntervalNanos) {
+    this.stats = stats;
+    this.budgetBytesPerSecond = budgetBytesPerSecond;
+    this.sampleIntervalNanos = sampleIntervalNanos;
+    this.rateBytesPerSecond = budgetBytesPerSecond;
+    long now = System.nanoTime();
+    this.nextFreeTime = now;
+    this.sampleStartTime = now;
+    this.sampleStartBytes = getDiskStoreWrittenBytes();
+  }
+
+  static CompactionRateLimiter create(DiskStoreStats stats) {
+    if (MAX_MB_PER_SECOND <= 0) {
+      return null;
+    }
+    return new CompactionRateLimiter(stats, MAX_MB_PER_SECOND * 1024 * 1024);
+  }
+
+  private long getDiskStoreWrittenBytes() {
+    return this.stats.getBytesWritten() + this.stats.getFlushedBytes();
+  }
+
+  long getRateBytesPerSecond() {
+    return this.rateBytesPerSecond;
+  }
+
+  /**
+   * Charges the given number of copied bytes and returns how many nanoseconds the compactor has to
+   * pause before it may copy more.
+   */
+  long charge(long bytes) {
+    long now = System.nanoTime();
+    this.ownBytesInSample += bytes;
+    long sampleTime = now - this.sampleStartTime;
+    if (sampleTime >= this.sampleIntervalNanos) {
+      long written = getDiskStoreWrittenBytes();
+      long foregroundBytes = Math.max(0, written - this.sampleStartBytes - this.ownBytesInSample);
+      long foregroundRate = (long) (foregroundBytes * (double) NANOS_PER_SECOND / sampleTime);
+      this.rateBytesPerSecond = Math.max(this.budgetBytesPerSecond / MIN_SHARE_DIVISOR,
+          this.budgetBytesPerSecond - foregroundRate);
+      this.sampleStartTime = now;
+      this.sampleStartBytes = written;
+      this.ownBytesInSample = 0;
+    }
+    if (this.nextFreeTime < now) {
+      // unused budget from an idle period is not saved up
+      this.nextFreeTime = now;
+    }
+    this.nextFreeTime += bytes * NANOS_PER_SECOND / Math.max(1, this.rateBytesPerSecond);
+    return this.nextFreeTime - now;
+  }
+}
@@ -432,6 +432,9 @@ public class DiskStoreImpl implements DiskStore {
     }
     if (!isValidating() && !isOfflineCompacting()) {
       startAsyncFlusher();
+      if (OplogGroupCommitter.ENABLED) {
+        startGroupCommitter();
+      }
     }
 
     File[] dirs = getDiskDirs();
@@ -738,6 +741,9 @@ public class DiskStoreImpl implements DiskStore {
           releaseReadLock(dr);
         }
       }
+      if (!async) {
+        awaitGroupCommit();
+      }
     } finally {
       if (async) {
         this.stats.endFlush(start);
@@ -779,6 +785,9 @@ public class DiskStoreImpl implements DiskStore {
         releaseReadLock(dr);
       }
     }
+    if (!async) {
+      awaitGroupCommit();
+    }
   }
 
   /**
@@ -1082,6 +1091,9 @@ public class DiskStoreImpl implements DiskStore {
         releaseReadLock(dr);
       }
     }
+    if (!async) {
+      awaitGroupCommit();
+    }
   }
 
   private FlushPauser fp = null;
@@ -1464,6 +1476,34 @@ public class DiskStoreImpl implements DiskStore {
     this.flusherThread.start();
   }
 
+  /**
+   * Forces synchronous oplog writes in batches; null unless group commit is enabled.
+   */
+  private OplogGroupCommitter groupCommitter;
+
+  private void startGroupCommitter() {
+    this.groupCommitter = new OplogGroupCommitter(getName(), this.stats,
+        OplogGroupCommitter.WINDOW_MICROS, OplogGroupCommitter.MAX_BYTES);
+    this.groupCommitter.start(
+        LoggingThreadGroup.createThreadGroup(
+            LocalizedStrings.DiskRegion_DISK_WRITERS.toLocalizedString(), logger),
+        "Oplog Group Committer for " + getName());
+  }
+
+  OplogGroupCommitter getGroupCommitter() {
+    return this.groupCommitter;
+  }
+
+  /**
+   * Waits until the synchronous writes done by this thread are durable. Must not be called while
+   * holding an oplog lock.
+   */
+  private void awaitGroupCommit() {
+    if (this.groupCommitter != null) {
+      this.groupCommitter.awaitPendingCommit();
+    }
+  }
+
   private void stopAsyncFlusher() {
     this.stoppingFlusher = true;
     do {
@@ -2055,6 +2095,7 @@ public class DiskStoreImpl implements DiskStore {
   }
 
   void scheduleCompaction() {
+    updateOplogGarbagePercent();
     if (isCompactionEnabled() && !isOfflineCompacting()) {
       this.oplogCompactor.scheduleIfNeeded(getOplogToBeCompacted());
     }
@@ -2292,6 +2333,16 @@ public class DiskStoreImpl implements DiskStore {
 
         getDiskInitFile().close();
       }
+      if (this.groupCommitter != null) {
+        try {
+          // the oplogs have been closed so this only stops the committer thread
+          this.groupCommitter.stop();
+        } catch (RuntimeException e) {
+          if (rte != null) {
+            rte = e;
+          }
+        }
+      }
       try {
         statsClose();
       } catch (RuntimeException e) {
@@ -2730,9 +2781,16 @@ public class DiskStoreImpl implements DiskStore {
 
     private final boolean compactionCompletionRequired;
 
+    /**
+     * Paces the compaction when a disk write budget is configured; null otherwise. Only used by the
+     * thread running the compaction.
+     */
+    private final CompactionRateLimiter rateLimiter;
+
     OplogCompactor() {
       this.compactionCompletionRequired =
           Boolean.getBoolean(COMPLETE_COMPACTION_BEFORE_TERMINATION_PROPERTY_NAME);
+      this.rateLimiter = CompactionRateLimiter.create(getStats());
     }
 
     /** Creates a new thread and starts the thread* */
@@ -2798,6 +2856,11 @@ public class DiskStoreImpl implements DiskStore {
     private boolean compact() {
       CompactableOplog[] oplogs = this.scheduledOplogs;
       int totalCount = 0;
+      long entriesScheduled = 0;
+      for (CompactableOplog oplog : oplogs) {
+        entriesScheduled += oplog.getLiveEntryCount();
+      }
+      getStats().startCompactionProgress(entriesScheduled);
       long compactionStart = getStats().startCompaction();
       long start = System.nanoTime();
       try {
@@ -2810,6 +2873,7 @@ public class DiskStoreImpl implements DiskStore {
         // TODO:Asif : DiskRegion: How do we tackle
       } finally {
         getStats().endCompaction(compactionStart);
+        updateOplogGarbagePercent();
       }
       long endTime = System.nanoTime();
       logger.info(LocalizedMessage.create(LocalizedStrings.DiskRegion_COMPACTION_SUMMARY,
@@ -2929,6 +2993,63 @@ public class DiskStoreImpl implements DiskStore {
     boolean keepCompactorRunning() {
       return this.compactorEnabled || this.compactionCompletionRequired;
     }
+
+    /**
+     * Called by a compacting oplog after it processed the given number of entries and copied the
+     * given number of value bytes forward. If a disk write budget is configured this returns how
+     * many nanoseconds the compaction has to pause, with {@link #pause}, until the copied bytes fit
+     * into the budget. Compaction work is done in such chunks so that it does not saturate the disk
+     * while foreground writes are busy.
+     */
+    long endChunk(int entries, long bytes) {
+      getStats().incCompactionEntriesProcessed(entries);
+      getStats().incCompactionCopiedBytes(bytes);
+      if (this.rateLimiter == null) {
+        return 0;
+      }
+      return this.rateLimiter.charge(bytes);
+    }
+
+    /**
+     * Pauses the compaction for the given number of nanoseconds, or until the compactor is stopped
+     * or the disk store closes. The caller must not hold the compactor locks of the oplog it is
+     * compacting, or region close, clear and oplog destroy would wait for the pause.
+     */
+    void pause(long pause) {
+      if (pause <= 0) {
+        return;
+      }
+      final long start = System.nanoTime();
+      try {
+        long remaining = pause;
+        // wake up regularly so that a stopped compactor does not keep the disk store waiting
+        while (remaining > 0 && this.compactorEnabled && !isClosing()) {
+          TimeUnit.NANOSECONDS.sleep(Math.min(remaining, MAX_COMPACTION_PAUSE_NANOS));
+          remaining = pause - (System.nanoTime() - start);
+        }
+      } catch (InterruptedException ignore) {
+        Thread.currentThread().interrupt();
+      }
+      getStats().incCompactionThrottleTime(System.nanoTime() - start);
+    }
+  }
+
+  private static final long MAX_COMPACTION_PAUSE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  /**
+   * Recomputes the share of records in the persistent oplogs that are garbage.
+   */
+  void updateOplogGarbagePercent() {
+    long total = 0;
+    long live = 0;
+    for (Oplog oplog : this.persistentOplogs.getAllOplogs()) {
+      if (oplog != null) {
+        total += oplog.getEntryRecordCount();
+        live += oplog.getLiveEntryCount();
+      }
+    }
+    long garbage = Math.max(0, total - live);
+    getStats().setOplogGarbagePercent(total <= 0 ? 0 : (int) (garbage * 100 / total));
   }
 
   /**
@@ -78,6 +78,24 @@ public class DiskStoreStats {
   private static final int backupsInProgress;
   private static final int backupsCompleted;
 
+  private static final int groupCommitsId;
+  private static final int groupCommitRecordsId;
+  private static final int groupCommitBytesId;
+  private static final int groupCommitSyncTimeId;
+  private static final int groupCommitWaitTimeId;
+
+  private static final int recoveryDrfTimeId;
+  private static final int recoveryCrfTimeId;
+  private static final int recoveryRegionInitTimeId;
+  private static final int recoveryPrefetchTimeId;
+  private static final int recoveryPrefetchedBytesId;
+
+  private static final int compactionCopiedBytesId;
+  private static final int compactionThrottleTimeId;
+  private static final int compactionEntriesScheduledId;
+  private static final int compactionEntriesProcessedId;
+  private static final int oplogGarbagePercentId;
+
   static {
     String statName = "DiskStoreStatistics";
     String statDescription = "Statistics about a Region's use of the disk";
@@ -186,7 +204,48 @@ public class DiskStoreStats {
                 "The current number of regions that have been recovered but have not yet been created.",
                 "regions"),
             f.createIntGauge("backupsInProgress", backupsInProgressDesc, "backups"),
-            f.createIntCounter("backupsCompleted", backupsCompletedDesc, "backups"),});
+            f.createIntCounter("backupsCompleted", backupsCompletedDesc, "backups"),
+            f.createLongCounter("groupCommits",
+                "The total number of channel forces done by the group commit thread", "commits"),
+            f.createLongCounter("groupCommitRecords",
+                "The total number of synchronous writes made durable by group commits. Divide by groupCommits to get the average batch size.",
+                "ops"),
+            f.createLongCounter("groupCommitBytes",
+                "The total number of bytes made durable by group commits", "bytes"),
+            f.createLongCounter("groupCommitSyncTime",
+                "The total amount of time spent forcing oplog channels for group commits",
+                "nanoseconds"),
+            f.createLongCounter("groupCommitWaitTime",
+                "The total amount of time writers spent waiting for their group commit to be durable",
+                "nanoseconds"),
+            f.createLongCounter("recoveryDrfTime",
+                "The total amount of time recovery spent reading drf files to find destroyed entries",
+                "nanoseconds"),
+            f.createLongCounter("recoveryCrfTime",
+                "The total amount of time recovery spent reading krf and crf files to find live entries",
+                "nanoseconds"),
+            f.createLongCounter("recoveryRegionInitTime",
+                "The total amount of time recovery spent initializing oplogs and regions after reading the oplog files",
+                "nanoseconds"),
+            f.createLongCounter("recoveryPrefetchTime",
+                "The total amount of time recovery prefetch threads spent loading oplog files",
+                "nanoseconds"),
+            f.createLongCounter("recoveryPrefetchedBytes",
+                "The total number of oplog bytes loaded by recovery prefetch threads", "bytes"),
+            f.createLongCounter("compactionCopiedBytes",
+                "The total number of value bytes copied forward by oplog compactions", "bytes"),
+            f.createLongCounter("compactionThrottleTime",
+                "The total amount of time oplog compactions paused to stay within their disk write budget",
+                "nanoseconds"),
+            f.createLongGauge("compactionEntriesScheduled",
+                "The number of live entries in the oplogs of the current or last oplog compaction",
+                "entries"),
+            f.createLongGauge("compactionEntriesProcessed",
+                "The number of entries the current or last oplog compaction has processed so far",
+                "entries"),
+            f.createIntGauge("oplogGarbagePercent",
+                "The percentage of records in this disk store's oplogs that are no longer live, as of the last oplog roll or compaction",
+                "percent"),});
 
     // Initialize id fields
     writesId = type.nameToId("writes");
@@ -234,6 +293,21 @@ public class DiskStoreStats {
     uncreatedRecoveredRegionsId = type.nameToId("uncreatedRecoveredRegions");
     backupsInProgress = type.nameToId("backupsInProgress");
     backupsCompleted = type.nameToId("backupsCompleted");
+    groupCommitsId = type.nameToId("groupCommits");
+    groupCommitRecordsId = type.nameToId("groupCommitRecords");
+    groupCommitBytesId = type.nameToId("groupCommitBytes");
+    groupCommitSyncTimeId = type.nameToId("groupCommitSyncTime");
+    groupCommitWaitTimeId = type.nameToId("groupCommitWaitTime");
+    recoveryDrfTimeId = type.nameToId("recoveryDrfTime");
+    recoveryCrfTimeId = type.nameToId("recoveryCrfTime");
+    recoveryRegionInitTimeId = type.nameToId("recoveryRegionInitTime");
+    recoveryPrefetchTimeId = type.nameToId("recoveryPrefetchTime");
+    recoveryPrefetchedBytesId = type.nameToId("recoveryPrefetchedBytes");
+    compactionCopiedBytesId = type.nameToId("compactionCopiedBytes");
+    compactionThrottleTimeId = type.nameToId("compactionThrottleTime");
+    compactionEntriesScheduledId = type.nameToId("compactionEntriesScheduled");
+    compactionEntriesProcessedId = type.nameToId("compactionEntriesProcessed");
+    oplogGarbagePercentId = type.nameToId("oplogGarbagePercent");
   }
 
   ////////////////////// Instance Fields //////////////////////
@@ -543,6 +617,89 @@ public class DiskStoreStats {
     this.stats.incInt(backupsCompleted, 1);
   }
 
+  /**
+   * Invoked after the group commit thread forced a batch of synchronous writes to disk.
+   *
+   * @param start The time at which the force started
+   * @param records The number of synchronous writes in the batch
+   * @param bytes The number of bytes written since the previous group commit
+   */
+  public void endGroupCommit(long start, long records, long bytes) {
+    this.stats.incLong(groupCommitsId, 1);
+    this.stats.incLong(groupCommitRecordsId, records);
+    this.stats.incLong(groupCommitBytesId, bytes);
+    this.stats.incLong(groupCommitSyncTimeId, getStatTime() - start);
+  }
+
+  public void endGroupCommitWait(long start) {
+    this.stats.incLong(groupCommitWaitTimeId, getStatTime() - start);
+  }
+
+  public long getFlushedBytes() {
+    return this.stats.getLong(bytesFlushedId);
+  }
+
+  /**
+   * Invoked when a compaction starts with the number of live entries in the oplogs it will compact
+   */
+  public void startCompactionProgress(long entriesScheduled) {
+    this.stats.setLong(compactionEntriesScheduledId, entriesScheduled);
+    this.stats.setLong(compactionEntriesProcessedId, 0);
+  }
+
+  public void incCompactionEntriesProcessed(long delta) {
+    this.stats.incLong(compactionEntriesProcessedId, delta);
+  }
+
+  public void incCompactionCopiedBytes(long bytes) {
+    this.stats.incLong(compactionCopiedBytesId, bytes);
+  }
+
+  public void incCompactionThrottleTime(long nanos) {
+    this.stats.incLong(compactionThrottleTimeId, nanos);
+  }
+
+  public long getCompactionCopiedBytes() {
+    return this.stats.getLong(compactionCopiedBytesId);
+  }
+
+  public long getCompactionThrottleTime() {
+    return this.stats.getLong(compactionThrottleTimeId);
+  }
+
+  public void setOplogGarbagePercent(int percent) {
+    this.stats.setInt(oplogGarbagePercentId, percent);
+  }
+
+  public void endRecoveryDrfPhase(long start) {
+    this.stats.incLong(recoveryDrfTimeId, getStatTime() - start);
+  }
+
+  public void endRecoveryCrfPhase(long start) {
+    this.stats.incLong(recoveryCrfTimeId, getStatTime() - start);
+  }
+
+  public void endRecoveryRegionInitPhase(long start) {
+    this.stats.incLong(recoveryRegionInitTimeId, getStatTime() - start);
+  }
+
+  public void endRecoveryPrefetch(long start, long bytes) {
+    this.stats.incLong(recoveryPrefetchTimeId, getStatTime() - start);
+    this.stats.incLong(recoveryPrefetchedBytesId, bytes);
+  }
+
+  public long getRecoveryPrefetchedBytes() {
+    return this.stats.getLong(recoveryPrefetchedBytesId);
+  }
+
+  public long getGroupCommits() {
+    return this.stats.getLong(groupCommitsId);
+  }
+
+  public long getGroupCommitRecords() {
+    return this.stats.getLong(groupCommitRecordsId);
+  }
+
   public Statistics getStats() {
     return stats;
   }
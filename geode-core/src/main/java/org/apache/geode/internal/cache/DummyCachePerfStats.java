@@ -388,6 +388,15 @@ public class DummyCachePerfStats extends CachePerfStats {
   @Override
   public void txRollback(long opTime, long txLifeTime, int txChanges) {}
 
+  @Override
+  public void incExpirationLag(long lagMillis) {}
+
+  @Override
+  public void setTombstoneGCBacklog(long count) {}
+
+  @Override
+  public void endTombstoneGC(long count, long elapsedNanos) {}
+
   // //// Special Instance Methods /////
 
   @Override
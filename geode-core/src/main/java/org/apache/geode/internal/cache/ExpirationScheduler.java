@@ -27,24 +27,62 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ExpirationScheduler uses a single instance of java.util.Timer (and therefore a single thread) per
- * VM to schedule and execute region and entry expiration tasks.
+ * VM to schedule and execute region and entry expiration tasks. If the
+ * {@link #TIMING_WHEEL_PROPERTY} system property is set, an {@link ExpirationTimingWheel} is used
+ * instead; it schedules in constant time and runs due tasks on a pool of worker threads.
  */
 
 public class ExpirationScheduler {
   private static final Logger logger = LogService.getLogger();
 
+  public static final String TIMING_WHEEL_PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "expiration.timingWheel";
+
   private final SystemTimer timer;
+  private final ExpirationTimingWheel wheel;
   private final AtomicInteger pendingCancels = new AtomicInteger();
   private static final int MAX_PENDING_CANCELS = Integer
       .getInteger(DistributionConfig.GEMFIRE_PREFIX + "MAX_PENDING_CANCELS", 10000).intValue();
 
   public ExpirationScheduler(InternalDistributedSystem ds) {
-    this.timer = new SystemTimer(ds, true);
+    if (Boolean.getBoolean(TIMING_WHEEL_PROPERTY)) {
+      this.timer = null;
+      this.wheel = new ExpirationTimingWheel();
+    } else {
+      this.timer = new SystemTimer(ds, true);
+      this.wheel = null;
+    }
   }
 
   public void forcePurge() {
     pendingCancels.getAndSet(0);
-    this.timer.timerPurge();
+    purge();
+  }
+
+  private void purge() {
+    if (this.wheel != null) {
+      this.wheel.purge();
+    } else {
+      this.timer.timerPurge();
+    }
+  }
+
+  /**
+   * Returns true if the given scheduled entry task does not need to be replaced after its entry
+   * was modified. That is the case when it is waiting on the timing wheel and is due no later than
+   * the entry now expires: when it runs it finds that the entry has not expired and reschedules
+   * itself. This saves cancelling and scheduling a task for every modification.
+   */
+  boolean canKeepScheduledTask(EntryExpiryTask task) {
+    if (this.wheel == null || !task.isScheduledOnWheel()) {
+      return false;
+    }
+    try {
+      long expirationTime = task.getExpirationTime();
+      return expirationTime != 0 && task.wheelDeadlineMillis <= expirationTime;
+    } catch (EntryNotFoundException e) {
+      return false;
+    }
   }
 
   /**
@@ -55,7 +93,7 @@ public class ExpirationScheduler {
     if (pc > MAX_PENDING_CANCELS) {
       pc = pendingCancels.getAndSet(0);
       if (pc > MAX_PENDING_CANCELS) {
-        this.timer.timerPurge();
+        purge();
         // int purgedCancels = CFactory.timerPurge(this.timer);
         // we could try to do some fancy stuff here but the value
         // of the atomic is just a hint so don't bother adjusting it
@@ -78,8 +116,14 @@ public class ExpirationScheduler {
             LocalizedStrings.ExpirationScheduler_SCHEDULING__0__TO_FIRE_IN__1__MS,
             new Object[] {task, Long.valueOf(task.getExpiryMillis())}));
       }
-      // To fix bug 52267 do not create a Date here; instead calculate the relative duration.
-      timer.schedule(task, task.getExpiryMillis());
+      if (this.wheel != null) {
+        if (!this.wheel.schedule(task, task.getExpiryMillis())) {
+          return null;
+        }
+      } else {
+        // To fix bug 52267 do not create a Date here; instead calculate the relative duration.
+        timer.schedule(task, task.getExpiryMillis());
+      }
     } catch (EntryNotFoundException e) {
       // ignore - there are unsynchronized paths that allow an entry to
       // be destroyed out from under us.
@@ -98,6 +142,10 @@ public class ExpirationScheduler {
 
   /** @see java.util.Timer#cancel() */
   public void cancel() {
-    timer.cancel();
+    if (this.wheel != null) {
+      this.wheel.stop();
+    } else {
+      timer.cancel();
+    }
   }
 }
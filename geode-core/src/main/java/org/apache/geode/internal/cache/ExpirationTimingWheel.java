@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.SystemFailure;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.LoggingThreadGroup;
+import org.apache.geode.internal.tcp.ConnectionTable;
+
+/**
+ * A hierarchical timing wheel that schedules {@link ExpiryTask}s in constant time. Each level of
+ * the wheel has {@link #SLOTS} slots; a slot of level zero covers one tick and a slot of each
+ * higher level covers all the slots of the level below it. When time reaches a slot of a higher
+ * level its tasks are moved down to the lower levels, so a task is only touched a few times before
+ * it fires no matter how far in the future it is scheduled.
+ * <p>
+ * Tasks are linked into the slots through {@link ExpiryTask#wheelNext} so scheduling does not
+ * allocate. Scheduling threads only push tasks onto a lock free stack; the slots are owned by the
+ * single wheel thread, which drains that stack on every tick. Cancelled tasks are left in their
+ * slot and dropped when the slot is reached. Tasks that are due are handed to a pool of worker
+ * threads in batches.
+ */
+class ExpirationTimingWheel implements Runnable {
+  private static final Logger logger = LogService.getLogger();
+
+  /** The resolution of the wheel in milliseconds */
+  static final long TICK_MILLIS =
+      Long.getLong(DistributionConfig.GEMFIRE_PREFIX + "expiration.tickMillis", 10);
+
+  /** The number of worker threads that run expiration tasks that are due */
+  static final int THREADS = Integer.getInteger(
+      DistributionConfig.GEMFIRE_PREFIX + "expiration.threads",
+      Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+  /** The maximum number of due tasks handed to a worker thread at once */
+  static final int BATCH_SIZE = 100;
+
+  /** The number of slots in each level; must be a power of two */
+  static final int SLOTS = 256;
+
+  private static final int SLOT_BITS = Integer.numberOfTrailingZeros(SLOTS);
+
+  private static final int LEVELS = 4;
+
+  private final long tickNanos;
+
+  private final long startNanos;
+
+  /** The heads of the task lists of every slot, indexed by level then slot */
+  private final ExpiryTask[][] slots = new ExpiryTask[LEVELS][SLOTS];
+
+  /** Tasks scheduled since the last tick, linked through {@link ExpiryTask#wheelNext} */
+  private final AtomicReference<ExpiryTask> pending = new AtomicReference<ExpiryTask>();
+
+  /** The next tick that the wheel thread will process; only accessed by the wheel thread */
+  private long nextTick;
+
+  private volatile boolean purgeRequested;
+
+  private volatile boolean stopped;
+
+  private final Thread thread;
+
+  private final ExecutorService workers;
+
+  ExpirationTimingWheel() {
+    this(TICK_MILLIS, THREADS);
+  }
+
+  ExpirationTimingWheel(long tickMillis, int threads) {
+    this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMillis));
+    this.startNanos = System.nanoTime();
+    this.nextTick = 1;
+    final ThreadGroup group =
+        LoggingThreadGroup.createThreadGroup("Expiration Timing Wheel Threads", logger);
+    this.thread = new Thread(group, this, "Expiration Timing Wheel");
+    this.thread.setDaemon(true);
+    ThreadFactory tf = new ThreadFactory() {
+      private final AtomicInteger nextId = new AtomicInteger();
+
+      public Thread newThread(final Runnable command) {
+        Runnable r = new Runnable() {
+          public void run() {
+            ConnectionTable.threadWantsSharedResources();
+            try {
+              command.run();
+            } finally {
+              ConnectionTable.releaseThreadsSockets();
+            }
+          }
+        };
+        Thread t = new Thread(group, r, "Expiration Worker " + nextId.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+      }
+    };
+    this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<Runnable>(), tf);
+    this.thread.start();
+  }
+
+  /**
+   * Schedules the given task to run once the given number of milliseconds have passed. Returns
+   * false if the task was cancelled or has already been scheduled.
+   */
+  boolean schedule(ExpiryTask task, long delayMillis) {
+    if (this.stopped || !task.markScheduledOnWheel()) {
+      return false;
+    }
+    long delayNanos = TimeUnit.MILLISECONDS.toNanos(delayMillis);
+    task.wheelDeadlineMillis = System.currentTimeMillis() + delayMillis;
+    // round up so that a task never fires before its delay has passed
+    task.wheelDeadlineTick = (System.nanoTime() - this.startNanos + delayNanos + this.tickNanos - 1)
+        / this.tickNanos;
+    ExpiryTask head;
+    do {
+      head = this.pending.get();
+      task.wheelNext = head;
+    } while (!this.pending.compareAndSet(head, task));
+    return true;
+  }
+
+  /**
+   * Requests that cancelled tasks be removed from the wheel now instead of when their slots are
+   * reached.
+   */
+  void purge() {
+    this.purgeRequested = true;
+  }
+
+  void stop() {
+    this.stopped = true;
+    LockSupport.unpark(this.thread);
+    this.workers.shutdownNow();
+  }
+
+  private long currentTick() {
+    return (System.nanoTime() - this.startNanos) / this.tickNanos;
+  }
+
+  @Override
+  public void run() {
+    while (!this.stopped) {
+      try {
+        long now = currentTick();
+        if (now < this.nextTick) {
+          LockSupport.parkNanos(this,
+              this.startNanos + this.nextTick * this.tickNanos - System.nanoTime());
+          continue;
+        }
+        drainPending();
+        if (this.purgeRequested) {
+          this.purgeRequested = false;
+          purgeCancelled();
+        }
+        while (this.nextTick <= now && !this.stopped) {
+          processTick(this.nextTick);
+          this.nextTick++;
+        }
+      } catch (VirtualMachineError err) {
+        SystemFailure.initiateFailure(err);
+        throw err;
+      } catch (Throwable t) {
+        SystemFailure.checkFailure();
+        logger.warn("Unexpected exception in expiration timing wheel", t);
+      }
+    }
+  }
+
+  private void drainPending() {
+    ExpiryTask task = this.pending.getAndSet(null);
+    while (task != null) {
+      ExpiryTask next = task.wheelNext;
+      place(task);
+      task = next;
+    }
+  }
+
+  /**
+   * Links the task into the slot of the lowest level whose span reaches its deadline.
+   */
+  private void place(ExpiryTask task) {
+    long deadline = Math.max(task.wheelDeadlineTick, this.nextTick);
+    long delta = deadline - this.nextTick;
+    int level = 0;
+    while (level < LEVELS - 1 && (delta >>> (SLOT_BITS * (level + 1))) != 0) {
+      level++;
+    }
+    int slot = (int) ((deadline >>> (SLOT_BITS * level)) & (SLOTS - 1));
+    task.wheelNext = this.slots[level][slot];
+    this.slots[level][slot] = task;
+  }
+
+  private void processTick(long tick) {
+    // move tasks of higher level slots that start at this tick down to the lower levels
+    for (int level = LEVELS - 1; level > 0; level--) {
+      int shift = SLOT_BITS * level;
+      if ((tick & ((1L << shift) - 1)) == 0) {
+        int slot = (int) ((tick >>> shift) & (SLOTS - 1));
+        ExpiryTask task = this.slots[level][slot];
+        this.slots[level][slot] = null;
+        while (task != null) {
+          ExpiryTask next = task.wheelNext;
+          if (task.isScheduledOnWheel()) {
+            place(task);
+          }
+          task = next;
+        }
+      }
+    }
+    int slot = (int) (tick & (SLOTS - 1));
+    ExpiryTask task = this.slots[0][slot];
+    this.slots[0][slot] = null;
+    ExpiryTask[] batch = null;
+    int batchSize = 0;
+    while (task != null) {
+      ExpiryTask next = task.wheelNext;
+      task.wheelNext = null;
+      if (task.wheelDeadlineTick > tick) {
+        // placed in the top level because its deadline was beyond the span of the wheel
+        if (task.isScheduledOnWheel()) {
+          place(task);
+        }
+      } else if (task.claimOnWheel()) {
+        if (batch == null) {
+          batch = new ExpiryTask[BATCH_SIZE];
+        }
+        batch[batchSize++] = task;
+        if (batchSize == BATCH_SIZE) {
+          submit(batch, batchSize);
+          batch = null;
+          batchSize = 0;
+        }
+      }
+      task = next;
+    }
+    if (batchSize > 0) {
+      submit(batch, batchSize);
+    }
+  }
+
+  private void submit(final ExpiryTask[] batch, final int size) {
+    try {
+      this.workers.execute(new Runnable() {
+        public void run() {
+          for (int i = 0; i < size; i++) {
+            batch[i].runOnWheel();
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // the wheel has been stopped
+      if (logger.isDebugEnabled()) {
+        logger.debug("Rejected execution of expiration tasks", e);
+      }
+    }
+  }
+
+  private void purgeCancelled() {
+    for (int level = 0; level < LEVELS; level++) {
+      for (int slot = 0; slot < SLOTS; slot++) {
+        ExpiryTask task = this.slots[level][slot];
+        ExpiryTask kept = null;
+        while (task != null) {
+          ExpiryTask next = task.wheelNext;
+          if (task.isScheduledOnWheel()) {
+            task.wheelNext = kept;
+            kept = task;
+          } else {
+            task.wheelNext = null;
+          }
+          task = next;
+        }
+        this.slots[level][slot] = kept;
+      }
+    }
+  }
+}
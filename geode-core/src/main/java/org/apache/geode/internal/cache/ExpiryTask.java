@@ -18,6 +18,7 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import org.apache.logging.log4j.Logger;
 
@@ -83,6 +84,28 @@ public abstract class ExpiryTask extends SystemTimer.SystemTimerTask {
     }
   }
 
+  private static final int WHEEL_UNSCHEDULED = 0;
+  private static final int WHEEL_SCHEDULED = 1;
+  private static final int WHEEL_DONE = 2;
+
+  private static final AtomicIntegerFieldUpdater<ExpiryTask> wheelStateUpdater =
+      AtomicIntegerFieldUpdater.newUpdater(ExpiryTask.class, "wheelState");
+
+  /**
+   * Whether this task is waiting on an {@link ExpirationTimingWheel}. Once it has run or been
+   * cancelled it can not be scheduled on a wheel again, like a java.util.TimerTask.
+   */
+  private volatile int wheelState = WHEEL_UNSCHEDULED;
+
+  /** The tick of the timing wheel at which this task is due */
+  long wheelDeadlineTick;
+
+  /** The time, in milliseconds since the epoch, at which this task is due on a timing wheel */
+  long wheelDeadlineMillis;
+
+  /** The next task in the timing wheel slot or pending list that holds this task */
+  ExpiryTask wheelNext;
+
   protected ExpiryTask(LocalRegion region) {
     this.region = region;
   }
@@ -291,6 +314,9 @@ public abstract class ExpiryTask extends SystemTimer.SystemTimerTask {
   @Override
   public boolean cancel() {
     boolean superCancel = super.cancel();
+    if (wheelStateUpdater.getAndSet(this, WHEEL_DONE) == WHEEL_SCHEDULED) {
+      superCancel = true;
+    }
     LocalRegion lr = getLocalRegion();
     if (lr != null) {
       if (superCancel) {
@@ -300,6 +326,41 @@ public abstract class ExpiryTask extends SystemTimer.SystemTimerTask {
     return superCancel;
   }
 
+  /**
+   * Returns false if this task has been cancelled or has already been scheduled.
+   */
+  boolean markScheduledOnWheel() {
+    return wheelStateUpdater.compareAndSet(this, WHEEL_UNSCHEDULED, WHEEL_SCHEDULED);
+  }
+
+  boolean isScheduledOnWheel() {
+    return this.wheelState == WHEEL_SCHEDULED;
+  }
+
+  /**
+   * Claims this task for running once it is due on a timing wheel. Returns false if it has been
+   * cancelled.
+   */
+  boolean claimOnWheel() {
+    return wheelStateUpdater.compareAndSet(this, WHEEL_SCHEDULED, WHEEL_DONE);
+  }
+
+  /**
+   * Called by a timing wheel worker thread once this task is due.
+   */
+  void runOnWheel() {
+    recordExpirationLag(this.wheelDeadlineMillis);
+    runInThreadPool();
+  }
+
+  private void recordExpirationLag(long scheduledTime) {
+    LocalRegion lr = getLocalRegion();
+    if (lr != null) {
+      lr.getCachePerfStats()
+          .incExpirationLag(Math.max(0L, System.currentTimeMillis() - scheduledTime));
+    }
+  }
+
   /**
    * An ExpiryTask is sent run() to perform its task. Note that this run() method should never throw
    * an exception - otherwise, it takes out the java.util.Timer thread, causing an exception
@@ -307,6 +368,7 @@ public abstract class ExpiryTask extends SystemTimer.SystemTimerTask {
    */
   @Override
   public void run2() {
+    recordExpirationLag(scheduledExecutionTime());
     try {
       if (executor != null) {
         executor.execute(new Runnable() {
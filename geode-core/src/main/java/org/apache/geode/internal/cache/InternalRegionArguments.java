@@ -70,6 +70,10 @@ public class InternalRegionArguments {
 
   private Set<String> internalAsyncEventQueueIds;
 
+  private int lruClockStripes;
+
+  private boolean nearCache;
+
   /* methods that set and retrieve internal state used to configure a Region */
 
   public InternalRegionArguments setIsUsedForPartitionedRegionAdmin(boolean adminFlag) {
@@ -320,6 +324,32 @@ public class InternalRegionArguments {
     return this.internalAsyncEventQueueIds;
   }
 
+  /**
+   * Sets the number of segments used by the LRU clock of an evicting region. A value of zero means
+   * the region uses the system wide default.
+   */
+  public InternalRegionArguments setLRUClockStripes(int stripes) {
+    this.lruClockStripes = stripes;
+    return this;
+  }
+
+  public int getLRUClockStripes() {
+    return this.lruClockStripes;
+  }
+
+  /**
+   * Sets whether the client region registers interest in the keys it reads from the server, so that
+   * it is sent invalidations of the keys it caches.
+   */
+  public InternalRegionArguments setNearCache(boolean nearCache) {
+    this.nearCache = nearCache;
+    return this;
+  }
+
+  public boolean isNearCache() {
+    return this.nearCache;
+  }
+
   public boolean isInternalRegion() {
     return isInternalRegion;
   }
@@ -664,6 +664,10 @@ public class LEAF_CLASS extends PARENT_CLASS {
     }
     return false;
   }
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
   
 #elif defined(KEY_LONG)
   private final long key;
@@ -678,6 +682,10 @@ public class LEAF_CLASS extends PARENT_CLASS {
     }
     return false;
   }
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
   
 #elif defined(KEY_UUID)
   private final long keyMostSigBits;
@@ -59,6 +59,7 @@ import org.apache.geode.cache.LoaderHelper;
 import org.apache.geode.cache.LowMemoryException;
 import org.apache.geode.cache.Operation;
 import org.apache.geode.cache.PartitionedRegionStorageException;
+import org.apache.geode.cache.PrimitiveKeyRegion;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionAttributes;
 import org.apache.geode.cache.RegionDestroyedException;
@@ -75,6 +76,7 @@ import org.apache.geode.cache.client.ServerOperationException;
 import org.apache.geode.cache.client.SubscriptionNotEnabledException;
 import org.apache.geode.cache.client.internal.Connection;
 import org.apache.geode.cache.client.internal.Endpoint;
+import org.apache.geode.cache.client.internal.NearCacheTracker;
 import org.apache.geode.cache.client.internal.PoolImpl;
 import org.apache.geode.cache.client.internal.ServerRegionProxy;
 import org.apache.geode.cache.control.ResourceManager;
@@ -228,7 +230,7 @@ import javax.transaction.Transaction;
  */
 @SuppressWarnings("deprecation")
 public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
-    ResourceListener<MemoryEvent>, DiskExceptionHandler, DiskRecoveryStore {
+    ResourceListener<MemoryEvent>, DiskExceptionHandler, DiskRecoveryStore, PrimitiveKeyRegion {
 
   // package-private to avoid synthetic accessor
   static final Logger logger = LogService.getLogger();
@@ -400,6 +402,12 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
    */
   private final ConcurrentMap getFutures = new ConcurrentHashMap();
 
+  /**
+   * Registers interest in the keys this client region reads from the server, or null if the
+   * region is not a near cache.
+   */
+  private final NearCacheTracker nearCacheTracker;
+
   /**
    * TODO: This boolean needs to be made true if the test needs to receive a synchronous callback
    * just after clear on map is done. Its visibility is default so that only tests present in
@@ -622,6 +630,8 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     } else {
       this.loaderHelperFactory = this;
     }
+    this.nearCacheTracker =
+        internalRegionArgs.isNearCache() ? new NearCacheTracker(this) : null;
 
     this.isUsedForPartitionedRegionAdmin = internalRegionArgs.isUsedForPartitionedRegionAdmin();
     this.isUsedForPartitionedRegionBucket = internalRegionArgs.isUsedForPartitionedRegionBucket();
@@ -1570,6 +1580,165 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     }
   }
 
+  @Override
+  public Object getInt(int key) throws CacheLoaderException, TimeoutException {
+    if (canGetPrimitiveKeyLocally(Integer.class)) {
+      Object value = getPrimitiveKeyHit(((AbstractRegionMap) this.entries).getEntryForIntKey(key));
+      if (value != null) {
+        return value;
+      }
+    }
+    return get(Integer.valueOf(key));
+  }
+
+  @Override
+  public Object getLong(long key) throws CacheLoaderException, TimeoutException {
+    if (canGetPrimitiveKeyLocally(Long.class)) {
+      Object value = getPrimitiveKeyHit(((AbstractRegionMap) this.entries).getEntryForLongKey(key));
+      if (value != null) {
+        return value;
+      }
+    }
+    return get(Long.valueOf(key));
+  }
+
+  @Override
+  public Object putInt(int key, Object value) throws TimeoutException, CacheWriterException {
+    if (canPutPrimitiveKeyLocally(Integer.class, value)) {
+      Object oldValue =
+          putPrimitiveKeyUpdate(((AbstractRegionMap) this.entries).getEntryForIntKey(key), value);
+      if (oldValue != Token.NOT_AVAILABLE) {
+        return oldValue;
+      }
+    }
+    return put(Integer.valueOf(key), value);
+  }
+
+  @Override
+  public Object putLong(long key, Object value) throws TimeoutException, CacheWriterException {
+    if (canPutPrimitiveKeyLocally(Long.class, value)) {
+      Object oldValue =
+          putPrimitiveKeyUpdate(((AbstractRegionMap) this.entries).getEntryForLongKey(key), value);
+      if (oldValue != Token.NOT_AVAILABLE) {
+        return oldValue;
+      }
+    }
+    return put(Long.valueOf(key), value);
+  }
+
+  /**
+   * Returns true if a get of a key of the given class may be answered from the local entry without
+   * going through {@link #get(Object)}. A hit on such an entry neither distributes nor invokes any
+   * callbacks, so only the cases that make a hit more involved are excluded.
+   */
+  private boolean canGetPrimitiveKeyLocally(Class keyClass) {
+    checkReadiness();
+    if (!(this.entries instanceof AbstractRegionMap) || this.diskRegion != null
+        || this.dataPolicy.withPartitioning() || !isInitialized()
+        || (this.keyConstraint != null && !this.keyConstraint.isAssignableFrom(keyClass))) {
+      return false;
+    }
+    checkForNoAccess();
+    discoverJTA();
+    return !isTX();
+  }
+
+  /**
+   * Returns the value of the entry if it is a hit that needs no more than an update of the get
+   * statistics, otherwise null so that the caller falls back to {@link #get(Object)}.
+   */
+  private Object getPrimitiveKeyHit(RegionEntry regionEntry) {
+    if (regionEntry == null) {
+      return null;
+    }
+    CachePerfStats stats = getCachePerfStats();
+    long start = stats.startGet();
+    Object value = getDeserialized(regionEntry, false, false, false, false);
+    if (value == null || value instanceof Token) {
+      return null;
+    }
+    updateStatsForGet(regionEntry, true);
+    stats.endGet(start, false);
+    return value;
+  }
+
+  /**
+   * Returns true if a put of a key of the given class may update an existing entry in place without
+   * creating an {@link EntryEventImpl}. This is only the case if nothing would observe the event:
+   * the region is local, has no listener, writer, index, gateway sender, persistence, eviction,
+   * statistics or off-heap storage, and there are no clients that could be notified. Concurrency
+   * checks do not prevent it because a local region without persistence only versions entries that
+   * already carry a valid version, and those are left to {@link #put(Object, Object)}.
+   */
+  private boolean canPutPrimitiveKeyLocally(Class keyClass, Object value) {
+    if (value == null) {
+      throw new NullPointerException(
+          LocalizedStrings.LocalRegion_VALUE_MUST_NOT_BE_NULL.toLocalizedString());
+    }
+    checkReadiness();
+    if (!this.scope.isLocal() || !(this.entries instanceof AbstractRegionMap)
+        || this.diskRegion != null || this.statisticsEnabled || this.offHeap
+        || this.compressor != null || !isInitialized()
+        || getEvictionController() != null || getIndexManager() != null || hasListener()
+        || basicGetWriter() != null || hasServerProxy() || shouldNotifyBridgeClients()
+        || !getAllGatewaySenderIds().isEmpty() || this.memoryThresholdReached.get()
+        || (this.keyConstraint != null && !this.keyConstraint.isAssignableFrom(keyClass))) {
+      return false;
+    }
+    validateValue(value);
+    discoverJTA();
+    return !isTX();
+  }
+
+  /**
+   * Replaces the value of an existing, valid entry with value.
+   *
+   * @return the old value, or {@link Token#NOT_AVAILABLE} if the entry is missing, removed, invalid
+   *         or versioned, in which case nothing was done and the caller falls back to
+   *         {@link #put(Object, Object)}
+   */
+  private Object putPrimitiveKeyUpdate(RegionEntry regionEntry, Object value) {
+    if (regionEntry == null) {
+      return Token.NOT_AVAILABLE;
+    }
+    long startPut = CachePerfStats.getStatTime();
+    Object oldValue;
+    // hold off a concurrent clear the same way AbstractRegionMap.basicPut does
+    RegionVersionVector vector = getVersionVector();
+    if (vector != null) {
+      vector.lockForCacheModification();
+    }
+    try {
+      synchronized (regionEntry) {
+        oldValue = regionEntry._getValue();
+        VersionStamp stamp = regionEntry.getVersionStamp();
+        if (oldValue == null || oldValue instanceof Token || regionEntry.isDestroyedOrRemoved()
+            || (stamp != null && stamp.hasValidVersion())) {
+          return Token.NOT_AVAILABLE;
+        }
+        if (this.regionInvalid) {
+          this.regionInvalid = false;
+        }
+        regionEntry.setValueResultOfSearch(false);
+        try {
+          regionEntry.setValue(this, regionEntry.prepareValueForCache(this, value, true));
+        } catch (RegionClearedException ignore) {
+          // only thrown for regions with a disk region
+        }
+        updateStatsForPut(regionEntry, 0L, false);
+      }
+    } finally {
+      if (vector != null) {
+        vector.releaseCacheModificationLock();
+      }
+    }
+    getCachePerfStats().endPut(startPut, false);
+    if (oldValue instanceof CachedDeserializable) {
+      oldValue = ((CachedDeserializable) oldValue).getDeserializedForReading();
+    }
+    return oldValue;
+  }
+
   Object validatedPut(EntryEventImpl event, long startPut)
       throws TimeoutException, CacheWriterException {
 
@@ -2741,7 +2910,25 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
       boolean generateCallbacks, Object localValue, boolean disableCopyOnRead, boolean preferCD,
       ClientProxyMembershipID requestingClient, EntryEventImpl clientEvent,
       boolean returnTombstones) throws CacheLoaderException, TimeoutException {
+    if (this.nearCacheTracker == null || getServerProxy() == null) {
+      return findObjectInServerOrLoader(keyInfo, isCreate, generateCallbacks, clientEvent);
+    }
+    this.nearCacheTracker.beforeServerGet(keyInfo.getKey());
+    try {
+      return findObjectInServerOrLoader(keyInfo, isCreate, generateCallbacks, clientEvent);
+    } finally {
+      this.nearCacheTracker.afterServerGet(keyInfo.getKey());
+    }
+  }
 
+  /**
+   * Does the work of findObjectInSystem. For a near cache the key stays marked as being read from
+   * the server until this returns, so that its interest is not unregistered while the value read
+   * is cached.
+   */
+  private Object findObjectInServerOrLoader(KeyInfo keyInfo, boolean isCreate,
+      boolean generateCallbacks, EntryEventImpl clientEvent)
+      throws CacheLoaderException, TimeoutException {
     final Object key = keyInfo.getKey();
     final Object aCallbackArgument = keyInfo.getCallbackArg();
     Object value = null;
@@ -3101,7 +3288,7 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     validateValue(value);
   }
 
-  void validateKey(Object key) {
+  public void validateKey(Object key) {
     if (key == null) {
       throw new NullPointerException(
           LocalizedStrings.LocalRegion_KEY_CANNOT_BE_NULL.toLocalizedString());
@@ -6688,6 +6875,9 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     if (this.entryUserAttributes != null) {
       this.entryUserAttributes.remove(event.getKey());
     }
+    if (this.nearCacheTracker != null) {
+      this.nearCacheTracker.afterLocalDestroy(event.getKey(), event.getOperation());
+    }
   }
 
   /**
@@ -8059,6 +8249,13 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
           }
         }
       }
+      ExpirationScheduler scheduler = this.cache.getExpirationScheduler();
+      if (!ifAbsent && this.customEntryIdleTimeout == null && this.customEntryTimeToLive == null) {
+        oldTask = this.entryExpiryTasks.get(regionEntry);
+        if (oldTask != null && scheduler.canKeepScheduledTask(oldTask)) {
+          return;
+        }
+      }
       if (newTask == null) {
         newTask = createExpiryTask(regionEntry);
         if (newTask == null) {
@@ -8066,7 +8263,6 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
         }
       }
       oldTask = this.entryExpiryTasks.put(regionEntry, newTask);
-      ExpirationScheduler scheduler = this.cache.getExpirationScheduler();
       if (oldTask != null) {
         if (oldTask.cancel()) {
           scheduler.incCancels();
@@ -11117,6 +11313,13 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
       this.cachePerfStats.incTombstoneGCCount();
     }
 
+    @Override
+    public void incExpirationLag(long lagMillis) {
+      this.stats.incLong(expiryTasksRunId, 1);
+      this.stats.incLong(expirationLagTimeId, lagMillis);
+      this.cachePerfStats.incExpirationLag(lagMillis);
+    }
+
     @Override
     public void incClearTimeouts() {
       this.stats.incInt(clearTimeoutsId, 1);
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * An input stream that reads a file through a sequence of read only memory mappings instead of
+ * read system calls. Used to read oplog files during recovery. Only one window of the file is
+ * mapped at a time so that files larger than 2GB can be read.
+ */
+public class MappedFileInputStream extends InputStream {
+
+  /** The size of each mapped window of the file */
+  static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+  private final FileChannel channel;
+
+  private final long fileLength;
+
+  private final int windowSize;
+
+  /** The file offset at which {@link #window} starts */
+  private long windowStart;
+
+  private MappedByteBuffer window;
+
+  public MappedFileInputStream(FileChannel channel) throws IOException {
+    this(channel, WINDOW_SIZE);
+  }
+
+  MappedFileInputStream(FileChannel channel, int windowSize) throws IOException {
+    this.channel = channel;
+    this.fileLength = channel.size();
+    this.windowSize = windowSize;
+    mapWindow(0);
+  }
+
+  private void mapWindow(long start) throws IOException {
+    long size = Math.min(this.windowSize, this.fileLength - start);
+    this.windowStart = start;
+    this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+  }
+
+  /**
+   * Returns false if the end of the file has been reached.
+   */
+  private boolean ensureRemaining() throws IOException {
+    if (this.window.hasRemaining()) {
+      return true;
+    }
+    long next = this.windowStart + this.window.limit();
+    if (next >= this.fileLength) {
+      return false;
+    }
+    mapWindow(next);
+    return true;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!ensureRemaining()) {
+      return -1;
+    }
+    return this.window.get() & 0xff;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (!ensureRemaining()) {
+      return -1;
+    }
+    int n = Math.min(len, this.window.remaining());
+    this.window.get(b, off, n);
+    return n;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    if (n <= 0) {
+      return 0;
+    }
+    long position = this.windowStart + this.window.position();
+    long skipped = Math.min(n, this.fileLength - position);
+    if (skipped <= this.window.remaining()) {
+      this.window.position(this.window.position() + (int) skipped);
+    } else {
+      mapWindow(position + skipped);
+    }
+    return skipped;
+  }
+
+  @Override
+  public int available() {
+    return this.window.remaining();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.window = null;
+    this.channel.close();
+  }
+
+  /**
+   * Maps the given file and touches every page of it so that a later sequential read is served
+   * from the page cache.
+   *
+   * @return the number of bytes loaded
+   */
+  static long prefetch(File f) throws IOException {
+    RandomAccessFile raf = new RandomAccessFile(f, "r");
+    try {
+      FileChannel channel = raf.getChannel();
+      long length = channel.size();
+      for (long start = 0; start < length; start += WINDOW_SIZE) {
+        channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, length - start))
+            .load();
+      }
+      return length;
+    } finally {
+      raf.close();
+    }
+  }
+}
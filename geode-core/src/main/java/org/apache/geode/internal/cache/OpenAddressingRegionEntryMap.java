@@ -0,0 +1,710 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.geode.CancelException;
+import org.apache.geode.distributed.internal.InternalDistributedSystem;
+import org.apache.geode.internal.Assert;
+import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
+import org.apache.geode.internal.offheap.OffHeapRegionEntryHelper;
+import org.apache.geode.internal.size.ReflectionSingleObjectSizer;
+import org.apache.geode.internal.size.SingleObjectSizer;
+import org.apache.geode.internal.util.concurrent.ConcurrentMapWithReusableEntries;
+import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap;
+
+/**
+ * A concurrent map of {@link RegionEntry}s that uses open addressing with linear probing instead of
+ * chained buckets. Every slot of a segment's table refers directly to a region entry, so the
+ * generated <code>IntKey</code>, <code>LongKey</code> and <code>StringKey</code> entries are
+ * matched through {@link AbstractRegionEntry#isKeyEqual(Object)} without boxing their key, and a
+ * lookup never follows an entry's next pointer.
+ * <p>
+ * The values stored in this map must be region entries whose key is the map key. Like
+ * {@link CustomEntryConcurrentHashMap} reads do not lock; writers lock the segment chosen by the
+ * upper bits of the key hash. Removed slots are marked with a tombstone until the next rehash of
+ * their segment so that concurrent readers never miss an entry further along the probe sequence.
+ * <p>
+ * Iterators are weakly consistent, as they are for {@link CustomEntryConcurrentHashMap}.
+ *
+ * @see RegionMapFactory
+ */
+public class OpenAddressingRegionEntryMap extends AbstractMap<Object, Object>
+    implements ConcurrentMapWithReusableEntries<Object, Object> {
+
+  static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  static final int MAX_SEGMENTS = 1 << 16;
+
+  /**
+   * The highest load factor used. Region attributes allow load factors of 1 or more, which suit
+   * chained buckets but would leave a probing table with no free slot to end a lookup.
+   */
+  static final float MAX_LOAD_FACTOR = 0.9f;
+
+  /** Marks a slot whose entry was removed. Probing continues past it. */
+  private static final Object REMOVED = new Object();
+
+  private final Segment[] segments;
+
+  private final int segmentShift;
+
+  private final int segmentMask;
+
+  private final float loadFactor;
+
+  private Set<Map.Entry<Object, Object>> entrySet;
+
+  private Set<Map.Entry<Object, Object>> reusableEntrySet;
+
+  public OpenAddressingRegionEntryMap(int initialCapacity, float loadFactor,
+      int concurrencyLevel) {
+    if (!(loadFactor > 0) || initialCapacity < 0 || concurrencyLevel <= 0) {
+      throw new IllegalArgumentException();
+    }
+    if (loadFactor > MAX_LOAD_FACTOR) {
+      loadFactor = MAX_LOAD_FACTOR;
+    }
+    if (concurrencyLevel > MAX_SEGMENTS) {
+      concurrencyLevel = MAX_SEGMENTS;
+    }
+    int sshift = 0;
+    int ssize = 1;
+    while (ssize < concurrencyLevel) {
+      ++sshift;
+      ssize <<= 1;
+    }
+    this.segmentShift = 32 - sshift;
+    this.segmentMask = ssize - 1;
+    this.loadFactor = loadFactor;
+
+    if (initialCapacity > MAXIMUM_CAPACITY) {
+      initialCapacity = MAXIMUM_CAPACITY;
+    }
+    int perSegment = (int) Math.ceil(initialCapacity / (double) ssize / loadFactor);
+    int cap = 2;
+    while (cap < perSegment) {
+      cap <<= 1;
+    }
+    this.segments = new Segment[ssize];
+    for (int i = 0; i < ssize; i++) {
+      this.segments[i] = new Segment(cap, loadFactor);
+    }
+  }
+
+  private static int hash(Object key) {
+    return CustomEntryConcurrentHashMap.keyHash(key, true);
+  }
+
+  private Segment segmentFor(int hash) {
+    if (this.segmentMask == 0) {
+      return this.segments[0];
+    }
+    return this.segments[(hash >>> this.segmentShift) & this.segmentMask];
+  }
+
+  private static RegionEntry checkEntry(Object key, Object value) {
+    if (key == null || value == null) {
+      throw new NullPointerException();
+    }
+    if (!(value instanceof AbstractRegionEntry)) {
+      throw new IllegalArgumentException("expected a RegionEntry but found " + value.getClass());
+    }
+    return (RegionEntry) value;
+  }
+
+  @Override
+  public Object get(Object key) {
+    if (key == null) {
+      throw new NullPointerException();
+    }
+    int h = hash(key);
+    return segmentFor(h).get(key, h);
+  }
+
+  /**
+   * Returns the entry whose key is the Integer key without boxing it, or null if there is none.
+   */
+  public Object getIntKey(int key) {
+    int h = CustomEntryConcurrentHashMap.spreadHash(Integer.hashCode(key));
+    return segmentFor(h).getIntKey(key, h);
+  }
+
+  /**
+   * Returns the entry whose key is the Long key without boxing it, or null if there is none.
+   */
+  public Object getLongKey(long key) {
+    int h = CustomEntryConcurrentHashMap.spreadHash(Long.hashCode(key));
+    return segmentFor(h).getLongKey(key, h);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public Object put(Object key, Object value) {
+    RegionEntry re = checkEntry(key, value);
+    int h = hash(key);
+    return segmentFor(h).put(key, h, re, false);
+  }
+
+  @Override
+  public Object putIfAbsent(Object key, Object value) {
+    RegionEntry re = checkEntry(key, value);
+    int h = hash(key);
+    return segmentFor(h).put(key, h, re, true);
+  }
+
+  @Override
+  public Object remove(Object key) {
+    if (key == null) {
+      throw new NullPointerException();
+    }
+    int h = hash(key);
+    return segmentFor(h).remove(key, h, null);
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    if (key == null) {
+      throw new NullPointerException();
+    }
+    if (value == null) {
+      return false;
+    }
+    int h = hash(key);
+    return segmentFor(h).remove(key, h, value) != null;
+  }
+
+  @Override
+  public boolean replace(Object key, Object oldValue, Object newValue) {
+    RegionEntry re = checkEntry(key, newValue);
+    if (oldValue == null) {
+      throw new NullPointerException();
+    }
+    int h = hash(key);
+    return segmentFor(h).replace(key, h, oldValue, re) != null;
+  }
+
+  @Override
+  public Object replace(Object key, Object value) {
+    RegionEntry re = checkEntry(key, value);
+    int h = hash(key);
+    return segmentFor(h).replace(key, h, null, re);
+  }
+
+  @Override
+  public int size() {
+    long sum = 0;
+    for (Segment segment : this.segments) {
+      sum += segment.count;
+    }
+    return sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    for (Segment segment : this.segments) {
+      if (segment.count != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Removes all of the mappings from this map. Off-heap entries are released in the background in
+   * the same way {@link CustomEntryConcurrentHashMap#clear()} does.
+   */
+  @Override
+  public void clear() {
+    final boolean checkForGatewaySenderEvent =
+        OffHeapRegionEntryHelper.doesClearNeedToCheckForOffHeap();
+    ArrayList<RegionEntry> offHeapEntries = null;
+    for (Segment segment : this.segments) {
+      offHeapEntries = segment.clear(offHeapEntries, checkForGatewaySenderEvent);
+    }
+    if (offHeapEntries != null) {
+      releaseInBackground(offHeapEntries);
+    }
+  }
+
+  private void releaseInBackground(final ArrayList<RegionEntry> clearedEntries) {
+    final Runnable runnable = new Runnable() {
+      public void run() {
+        for (RegionEntry re : clearedEntries) {
+          synchronized (re) {
+            ((OffHeapRegionEntry) re).release();
+          }
+        }
+      }
+    };
+    boolean submitted = false;
+    InternalDistributedSystem ids = InternalDistributedSystem.getConnectedInstance();
+    if (ids != null) {
+      try {
+        ids.getDistributionManager().getWaitingThreadPool().execute(runnable);
+        submitted = true;
+      } catch (RejectedExecutionException | CancelException | NullPointerException e) {
+        // fall through with submitted false
+      }
+    }
+    if (!submitted) {
+      String name = this.getClass().getSimpleName() + "@" + this.hashCode() + " Clear Thread";
+      Thread thread = new Thread(runnable, name);
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  @Override
+  public Set<Map.Entry<Object, Object>> entrySet() {
+    final Set<Map.Entry<Object, Object>> es = this.entrySet;
+    return (es != null) ? es : (this.entrySet = new EntrySet(false));
+  }
+
+  @Override
+  public Set<Map.Entry<Object, Object>> entrySetWithReusableEntries() {
+    final Set<Map.Entry<Object, Object>> es = this.reusableEntrySet;
+    return (es != null) ? es : (this.reusableEntrySet = new EntrySet(true));
+  }
+
+  @Override
+  public long estimateMemoryOverhead(SingleObjectSizer sizer) {
+    long totalOverhead = sizer.sizeof(this) + sizer.sizeof(this.segments);
+    for (Segment segment : this.segments) {
+      AtomicReferenceArray<Object> tab = segment.table;
+      totalOverhead += sizer.sizeof(segment) + sizer.sizeof(tab)
+          + ReflectionSingleObjectSizer.roundUpSize(ReflectionSingleObjectSizer.OBJECT_SIZE + 4
+              + (long) tab.length() * ReflectionSingleObjectSizer.REFERENCE_SIZE);
+    }
+    return totalOverhead;
+  }
+
+  private static boolean matches(Object slot, Object key, int hash) {
+    if (slot == null || slot == REMOVED) {
+      return false;
+    }
+    AbstractRegionEntry re = (AbstractRegionEntry) slot;
+    return re.getEntryHash() == hash && re.isKeyEqual(key);
+  }
+
+  /**
+   * One lock striped portion of the map. The table reference and the count are volatile so that
+   * readers see a consistent table without locking.
+   */
+  private static class Segment extends ReentrantLock {
+    private static final long serialVersionUID = -3219520617340497862L;
+
+    private final float loadFactor;
+
+    volatile AtomicReferenceArray<Object> table;
+
+    volatile int count;
+
+    /** Number of slots that are not null, including removed ones. Guarded by the lock. */
+    private int used;
+
+    private int threshold;
+
+    Segment(int capacity, float loadFactor) {
+      this.loadFactor = loadFactor;
+      setTable(new AtomicReferenceArray<>(capacity));
+    }
+
+    private void setTable(AtomicReferenceArray<Object> newTable) {
+      this.threshold = (int) (newTable.length() * this.loadFactor);
+      this.table = newTable;
+    }
+
+    Object get(Object key, int hash) {
+      if (this.count == 0) {
+        return null;
+      }
+      final AtomicReferenceArray<Object> tab = this.table;
+      final int mask = tab.length() - 1;
+      int idx = hash & mask;
+      for (int probes = 0; probes <= mask; probes++) {
+        Object slot = tab.get(idx);
+        if (slot == null) {
+          return null;
+        }
+        if (matches(slot, key, hash)) {
+          return slot;
+        }
+        idx = (idx + 1) & mask;
+      }
+      return null;
+    }
+
+    Object getIntKey(int key, int hash) {
+      if (this.count == 0) {
+        return null;
+      }
+      final AtomicReferenceArray<Object> tab = this.table;
+      final int mask = tab.length() - 1;
+      int idx = hash & mask;
+      for (int probes = 0; probes <= mask; probes++) {
+        Object slot = tab.get(idx);
+        if (slot == null) {
+          return null;
+        }
+        if (slot != REMOVED && ((AbstractRegionEntry) slot).getEntryHash() == hash
+            && ((AbstractRegionEntry) slot).isIntKeyEqual(key)) {
+          return slot;
+        }
+        idx = (idx + 1) & mask;
+      }
+      return null;
+    }
+
+    Object getLongKey(long key, int hash) {
+      if (this.count == 0) {
+        return null;
+      }
+      final AtomicReferenceArray<Object> tab = this.table;
+      final int mask = tab.length() - 1;
+      int idx = hash & mask;
+      for (int probes = 0; probes <= mask; probes++) {
+        Object slot = tab.get(idx);
+        if (slot == null) {
+          return null;
+        }
+        if (slot != REMOVED && ((AbstractRegionEntry) slot).getEntryHash() == hash
+            && ((AbstractRegionEntry) slot).isLongKeyEqual(key)) {
+          return slot;
+        }
+        idx = (idx + 1) & mask;
+      }
+      return null;
+    }
+
+    /**
+     * Returns the index of the slot holding key, or, if it is not present, the bitwise complement
+     * of the slot it should be inserted at. Caller must hold the lock.
+     */
+    private int find(AtomicReferenceArray<Object> tab, Object key, int hash) {
+      final int mask = tab.length() - 1;
+      int idx = hash & mask;
+      int firstRemoved = -1;
+      for (int probes = 0; probes <= mask; probes++) {
+        Object slot = tab.get(idx);
+        if (slot == null) {
+          return ~(firstRemoved >= 0 ? firstRemoved : idx);
+        }
+        if (slot == REMOVED) {
+          if (firstRemoved < 0) {
+            firstRemoved = idx;
+          }
+        } else if (matches(slot, key, hash)) {
+          return idx;
+        }
+        idx = (idx + 1) & mask;
+      }
+      // rehash keeps at least one empty slot, so this can only be reached through removed slots
+      return ~firstRemoved;
+    }
+
+    Object put(Object key, int hash, RegionEntry value, boolean onlyIfAbsent) {
+      lock();
+      try {
+        AtomicReferenceArray<Object> tab = this.table;
+        int idx = find(tab, key, hash);
+        if (idx >= 0) {
+          Object oldValue = tab.get(idx);
+          if (!onlyIfAbsent) {
+            setHash(value, hash);
+            tab.set(idx, value);
+          }
+          return oldValue;
+        }
+        idx = ~idx;
+        setHash(value, hash);
+        if (tab.get(idx) == null) {
+          this.used++;
+        }
+        tab.set(idx, value);
+        this.count = this.count + 1; // write-volatile
+        if (this.used > this.threshold) {
+          rehash();
+        }
+        return null;
+      } finally {
+        unlock();
+      }
+    }
+
+    Object remove(Object key, int hash, Object expectedValue) {
+      lock();
+      try {
+        AtomicReferenceArray<Object> tab = this.table;
+        int idx = find(tab, key, hash);
+        if (idx < 0) {
+          return null;
+        }
+        Object oldValue = tab.get(idx);
+        if (expectedValue != null && oldValue != expectedValue
+            && !expectedValue.equals(oldValue)) {
+          return null;
+        }
+        tab.set(idx, REMOVED);
+        this.count = this.count - 1; // write-volatile
+        return oldValue;
+      } finally {
+        unlock();
+      }
+    }
+
+    Object replace(Object key, int hash, Object expectedValue, RegionEntry newValue) {
+      lock();
+      try {
+        AtomicReferenceArray<Object> tab = this.table;
+        int idx = find(tab, key, hash);
+        if (idx < 0) {
+          return null;
+        }
+        Object oldValue = tab.get(idx);
+        if (expectedValue != null && oldValue != expectedValue
+            && !expectedValue.equals(oldValue)) {
+          return null;
+        }
+        setHash(newValue, hash);
+        tab.set(idx, newValue);
+        return oldValue;
+      } finally {
+        unlock();
+      }
+    }
+
+    /**
+     * Copies the live entries into a new table, growing it if the live entries alone exceed half of
+     * the threshold, otherwise just dropping the removed markers. Readers still using the old table
+     * see every entry that was live when the rehash started. Caller must hold the lock.
+     */
+    private void rehash() {
+      final AtomicReferenceArray<Object> oldTable = this.table;
+      int newCapacity = oldTable.length();
+      if (this.count >= this.threshold / 2 && newCapacity < MAXIMUM_CAPACITY) {
+        newCapacity <<= 1;
+      }
+      final AtomicReferenceArray<Object> newTable = new AtomicReferenceArray<>(newCapacity);
+      final int mask = newCapacity - 1;
+      int live = 0;
+      for (int i = 0; i < oldTable.length(); i++) {
+        Object slot = oldTable.get(i);
+        if (slot == null || slot == REMOVED) {
+          continue;
+        }
+        int idx = ((AbstractRegionEntry) slot).getEntryHash() & mask;
+        while (newTable.get(idx) != null) {
+          idx = (idx + 1) & mask;
+        }
+        newTable.set(idx, slot);
+        live++;
+      }
+      this.used = live;
+      setTable(newTable);
+    }
+
+    ArrayList<RegionEntry> clear(ArrayList<RegionEntry> offHeapEntries,
+        boolean checkForGatewaySenderEvent) {
+      if (this.count == 0) {
+        return offHeapEntries;
+      }
+      lock();
+      try {
+        final AtomicReferenceArray<Object> tab = this.table;
+        for (int i = 0; i < tab.length(); i++) {
+          Object slot = tab.get(i);
+          if (slot == null || slot == REMOVED) {
+            continue;
+          }
+          if (slot instanceof OffHeapRegionEntry) {
+            if (offHeapEntries == null) {
+              offHeapEntries = new ArrayList<>();
+            }
+            offHeapEntries.add((RegionEntry) slot);
+          } else if (checkForGatewaySenderEvent) {
+            // It is ok to call GatewaySenderEventImpl release without being synced
+            // on the region entry. It will not create an orphan.
+            GatewaySenderEventImpl.release(((RegionEntry) slot)._getValue()); // OFFHEAP _getValue
+                                                                              // ok
+          }
+        }
+        this.used = 0;
+        this.count = 0; // write-volatile
+        setTable(new AtomicReferenceArray<>(tab.length()));
+      } finally {
+        unlock();
+      }
+      return offHeapEntries;
+    }
+  }
+
+  /**
+   * Records the hash on the entry the same way
+   * {@link AbstractRegionEntry.HashRegionEntryCreator} does so that it never needs to be
+   * recomputed from a boxed key.
+   */
+  private static void setHash(RegionEntry value, int hash) {
+    final AbstractRegionEntry entry = (AbstractRegionEntry) value;
+    final int entryHash = entry.getEntryHash();
+    if (entryHash != 0 && entryHash != hash) {
+      Assert.fail("unexpected mismatch of hash, expected=" + hash + ", actual=" + entryHash
+          + " for " + entry);
+    }
+    entry.setEntryHash(hash);
+  }
+
+  private class EntrySet extends AbstractSet<Map.Entry<Object, Object>> {
+    private final boolean reusableEntries;
+
+    EntrySet(boolean reusableEntries) {
+      this.reusableEntries = reusableEntries;
+    }
+
+    @Override
+    public Iterator<Map.Entry<Object, Object>> iterator() {
+      return new EntryIterator(this.reusableEntries);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+      Object v = OpenAddressingRegionEntryMap.this.get(e.getKey());
+      return v != null && v.equals(e.getValue());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+      return OpenAddressingRegionEntryMap.this.remove(e.getKey(), e.getValue());
+    }
+
+    @Override
+    public int size() {
+      return OpenAddressingRegionEntryMap.this.size();
+    }
+
+    @Override
+    public void clear() {
+      OpenAddressingRegionEntryMap.this.clear();
+    }
+  }
+
+  private class EntryIterator implements Iterator<Map.Entry<Object, Object>> {
+    private final ReusableEntry reusableEntry;
+
+    private int segmentIndex = 0;
+
+    private AtomicReferenceArray<Object> currentTable;
+
+    private int slotIndex;
+
+    private RegionEntry next;
+
+    private RegionEntry lastReturned;
+
+    EntryIterator(boolean reusableEntries) {
+      this.reusableEntry = reusableEntries ? new ReusableEntry() : null;
+      advance();
+    }
+
+    private void advance() {
+      this.next = null;
+      while (true) {
+        if (this.currentTable != null) {
+          while (this.slotIndex < this.currentTable.length()) {
+            Object slot = this.currentTable.get(this.slotIndex++);
+            if (slot != null && slot != REMOVED) {
+              this.next = (RegionEntry) slot;
+              return;
+            }
+          }
+        }
+        if (this.segmentIndex >= segments.length) {
+          return;
+        }
+        this.currentTable = segments[this.segmentIndex++].table;
+        this.slotIndex = 0;
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return this.next != null;
+    }
+
+    @Override
+    public Map.Entry<Object, Object> next() {
+      if (this.next == null) {
+        throw new NoSuchElementException();
+      }
+      this.lastReturned = this.next;
+      advance();
+      if (this.reusableEntry != null) {
+        this.reusableEntry.entry = this.lastReturned;
+        return this.reusableEntry;
+      }
+      return new AbstractMap.SimpleImmutableEntry<>(this.lastReturned.getKey(), this.lastReturned);
+    }
+
+    @Override
+    public void remove() {
+      if (this.lastReturned == null) {
+        throw new IllegalStateException();
+      }
+      OpenAddressingRegionEntryMap.this.remove(this.lastReturned.getKey(), this.lastReturned);
+      this.lastReturned = null;
+    }
+  }
+
+  private static class ReusableEntry implements Map.Entry<Object, Object> {
+    RegionEntry entry;
+
+    @Override
+    public Object getKey() {
+      return this.entry.getKey();
+    }
+
+    @Override
+    public Object getValue() {
+      return this.entry;
+    }
+
+    @Override
+    public Object setValue(Object value) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -26,6 +26,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InterruptedIOException;
 import java.io.SyncFailedException;
 import java.nio.ByteBuffer;
@@ -183,6 +184,13 @@ public class Oplog implements CompactableOplog, Flushable {
   private static final boolean SYNC_WRITES =
       Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "syncWrites");
 
+  /**
+   * This system property instructs recovery to read the drf, krf and crf files through memory
+   * mappings instead of buffered streams.
+   */
+  static final boolean MMAP_RECOVERY =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "disk.mmapRecovery");
+
   /**
    * The HighWaterMark of recentValues.
    */
@@ -1093,7 +1101,7 @@ public class Oplog implements CompactableOplog, Flushable {
     }
     this.crf.f = f;
     preblow(this.crf, getMaxCrfSize());
-    this.crf.raf = new UninterruptibleRandomAccessFile(f, SYNC_WRITES ? "rwd" : "rw");
+    this.crf.raf = new UninterruptibleRandomAccessFile(f, getWriteMode());
     this.crf.RAFClosed = false;
     oplogSet.crfCreate(this.oplogId);
     this.crf.writeBuf = allocateWriteBuf(prevOlf);
@@ -1113,6 +1121,29 @@ public class Oplog implements CompactableOplog, Flushable {
     this.maxCrfSize += this.crf.currSize;
   }
 
+  /**
+   * Returns the mode to open oplog files for writing with. When group commit is enabled the files
+   * are forced by {@link OplogGroupCommitter} instead of on every write.
+   */
+  private String getWriteMode() {
+    return SYNC_WRITES && getParent().getGroupCommitter() == null ? "rwd" : "rw";
+  }
+
+  /**
+   * With group commit a batch containing writes to this file may still be waiting to be forced, so
+   * force it before closing the channel. Must be called while holding {@link #lock}.
+   */
+  private void forceBeforeClose(OplogFile olf) {
+    if (getParent().getGroupCommitter() == null) {
+      return;
+    }
+    try {
+      olf.channel.force(true);
+    } catch (IOException ignore) {
+      // the channel is being closed anyway and waiting writers get the failure from the committer
+    }
+  }
+
   private static ByteBuffer allocateWriteBuf(OplogFile prevOlf) {
     if (prevOlf != null && prevOlf.writeBuf != null) {
       ByteBuffer result = prevOlf.writeBuf;
@@ -1133,7 +1164,7 @@ public class Oplog implements CompactableOplog, Flushable {
       logger.debug("Creating operation log file {}", f);
     }
     preblow(this.drf, getMaxDrfSize());
-    this.drf.raf = new UninterruptibleRandomAccessFile(f, SYNC_WRITES ? "rwd" : "rw");
+    this.drf.raf = new UninterruptibleRandomAccessFile(f, getWriteMode());
     this.drf.RAFClosed = false;
     this.oplogSet.drfCreate(this.oplogId);
     this.drf.writeBuf = allocateWriteBuf(prevOlf);
@@ -1518,7 +1549,7 @@ public class Oplog implements CompactableOplog, Flushable {
         FileInputStream fis = null;
         try {
           fis = new FileInputStream(drfFile);
-          dis = new CountingDataInputStream(new BufferedInputStream(fis, 32 * 1024),
+          dis = new CountingDataInputStream(openRecoveryStream(fis, 32 * 1024),
               drfFile.length());
           boolean endOfLog = false;
           while (!endOfLog) {
@@ -1639,6 +1670,14 @@ public class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  private static InputStream openRecoveryStream(FileInputStream fis, int bufferSize)
+      throws IOException {
+    if (MMAP_RECOVERY) {
+      return new MappedFileInputStream(fis.getChannel());
+    }
+    return new BufferedInputStream(fis, bufferSize);
+  }
+
   /**
    * This map is used during recovery to keep track of what entries were recovered. Its keys are the
    * oplogEntryId; its values are the actual logical keys that end up in the Region's keys. It used
@@ -1699,10 +1738,11 @@ public class Oplog implements CompactableOplog, Flushable {
       this.recoverModEntryIdHWM = DiskStoreImpl.INVALID_ID;
       long oplogKeyIdHWM = DiskStoreImpl.INVALID_ID;
       int krfEntryCount = 0;
-      DataInputStream dis = new DataInputStream(new BufferedInputStream(fis, 1024 * 1024));
+      DataInputStream dis;
       final Version version = getProductVersionIfOld();
       final ByteArrayDataInput in = new ByteArrayDataInput();
       try {
+        dis = new DataInputStream(openRecoveryStream(fis, 1024 * 1024));
         try {
           validateOpcode(dis, OPLOG_MAGIC_SEQ_ID);
           readOplogMagicSeqRecord(dis, f, OPLOG_TYPE.KRF);
@@ -1716,7 +1756,7 @@ public class Oplog implements CompactableOplog, Flushable {
           // file in old format
           fis.close();
           fis = new FileInputStream(f);
-          dis = new DataInputStream(new BufferedInputStream(fis, 1024 * 1024));
+          dis = new DataInputStream(openRecoveryStream(fis, 1024 * 1024));
           readDiskStoreRecord(dis, f);
         } catch (IllegalStateException ignore) {
           // Failed to read the file. There are two possibilities. Either this
@@ -1724,7 +1764,7 @@ public class Oplog implements CompactableOplog, Flushable {
           // not a valid file at all
           fis.close();
           fis = new FileInputStream(f);
-          dis = new DataInputStream(new BufferedInputStream(fis, 1024 * 1024));
+          dis = new DataInputStream(openRecoveryStream(fis, 1024 * 1024));
           readDiskStoreRecord(dis, f);
         }
 
@@ -1892,7 +1932,7 @@ public class Oplog implements CompactableOplog, Flushable {
       FileInputStream fis = null;
       try {
         fis = new FileInputStream(this.crf.f);
-        dis = new CountingDataInputStream(new BufferedInputStream(fis, 1024 * 1024),
+        dis = new CountingDataInputStream(openRecoveryStream(fis, 1024 * 1024),
             this.crf.f.length());
         boolean endOfLog = false;
         while (!endOfLog) {
@@ -3305,6 +3345,7 @@ public class Oplog implements CompactableOplog, Flushable {
     synchronized (this.lock/* crf */) {
       unpreblow(this.crf, getMaxCrfSize());
       if (!this.crf.RAFClosed) {
+        forceBeforeClose(this.crf);
         try {
           this.crf.channel.close();
         } catch (IOException ignore) {
@@ -3323,6 +3364,7 @@ public class Oplog implements CompactableOplog, Flushable {
     synchronized (this.lock/* drf */) {
       unpreblow(this.drf, getMaxDrfSize());
       if (!this.drf.RAFClosed) {
+        forceBeforeClose(this.drf);
         try {
           this.drf.channel.close();
         } catch (IOException ignore) {
@@ -3821,6 +3863,7 @@ public class Oplog implements CompactableOplog, Flushable {
           // I think at this point the drf no longer needs to be open
           synchronized (Oplog.this.lock/* drf */) {
             if (!Oplog.this.drf.RAFClosed) {
+              forceBeforeClose(Oplog.this.drf);
               try {
                 Oplog.this.drf.channel.close();
               } catch (IOException ignore) {
@@ -4225,6 +4268,25 @@ public class Oplog implements CompactableOplog, Flushable {
     return new File(this.diskFile.getPath() + KRF_FILE_EXT);
   }
 
+  /**
+   * Returns the drf file recoverDrf reads, or null if this oplog has none.
+   */
+  File getDrfFileForRecovery() {
+    return this.drf.f;
+  }
+
+  /**
+   * Returns the file recoverCrf reads first: the krf if one exists, otherwise the crf. Returns
+   * null if this oplog has neither.
+   */
+  File getCrfOrKrfFileForRecovery() {
+    if (this.crf.f == null) {
+      return null;
+    }
+    File krf = getKrfFile();
+    return krf.exists() ? krf : this.crf.f;
+  }
+
   public List<KRFEntry> getSortedLiveEntries(Collection<DiskRegionInfo> targetRegions) {
     int tlc = (int) this.totalLiveCount.get();
     if (tlc <= 0) {
@@ -5218,7 +5280,15 @@ public class Oplog implements CompactableOplog, Flushable {
           bb.clear();
         }
         if (doSync) {
-          if (SYNC_WRITES) {
+          OplogGroupCommitter groupCommitter = getParent().getGroupCommitter();
+          if (groupCommitter != null) {
+            // the committer forces the channel once this thread released the oplog lock
+            long unsynced = olf.bytesFlushed - olf.bytesSynced;
+            if (unsynced > 0) {
+              groupCommitter.register(olf.channel, unsynced);
+              olf.bytesSynced = olf.bytesFlushed;
+            }
+          } else if (SYNC_WRITES) {
             // Synch Meta Data as well as content
             olf.channel.force(true);
           }
@@ -5362,6 +5432,7 @@ public class Oplog implements CompactableOplog, Flushable {
       if (this.crf.RAFClosed) {
         return false;
       } else {
+        forceBeforeClose(this.crf);
         try {
           this.crf.raf.close();
         } catch (IOException ignore) {
@@ -5914,6 +5985,18 @@ public class Oplog implements CompactableOplog, Flushable {
     return this.totalCount.get() != 0;
   }
 
+  @Override
+  public long getLiveEntryCount() {
+    return Math.max(0, this.totalLiveCount.get());
+  }
+
+  /**
+   * Returns the number of entry records written to this oplog, live or not.
+   */
+  long getEntryRecordCount() {
+    return this.totalCount.get();
+  }
+
   public boolean hasNoLiveValues() {
     return this.totalLiveCount.get() <= 0
         // if we have an unrecoveredRegion then we don't know how many liveValues we
@@ -6092,12 +6175,28 @@ public class Oplog implements CompactableOplog, Flushable {
                                  * getParent().getOwner().isDestroyed ||
                                  */!compactor.keepCompactorRunning();
         int totalCount = 0;
+        int chunkEntries = 0;
+        long chunkBytes = 0;
         for (DiskRegionInfo dri : this.regionMap.values()) {
+          if (compactFailed) {
+            break;
+          }
           final DiskRegionView dr = dri.getDiskRegion();
           if (dr == null)
             continue;
           boolean didCompact = false;
           while ((de = dri.getNextLiveEntry()) != null) {
+            if (chunkEntries >= CompactionRateLimiter.CHUNK_ENTRIES) {
+              long pause = compactor.endChunk(chunkEntries, chunkBytes);
+              chunkEntries = 0;
+              chunkBytes = 0;
+              if (pause > 0 && (!pauseCompaction(compactor, pause) || dri.getUnrecovered())) {
+                // this oplog or the region was closed while the locks were released
+                compactFailed = true;
+                break;
+              }
+            }
+            chunkEntries++;
             if (/*
                  * getParent().getOwner().isDestroyed ||
                  */!compactor.keepCompactorRunning()) {
@@ -6132,6 +6231,8 @@ public class Oplog implements CompactableOplog, Flushable {
                     }
                     continue;
                   }
+                  chunkBytes += wrapper.getOffHeapData() != null
+                      ? wrapper.getOffHeapData().getDataSize() : wrapper.getValidLength();
                   // write it to the current oplog
                   getOplogSet().getChild().copyForwardModifyForCompact(dr, de, wrapper);
                   // the did's oplogId will now be set to the current active oplog
@@ -6156,6 +6257,8 @@ public class Oplog implements CompactableOplog, Flushable {
             }
           }
         }
+        // a pause owed for the last chunk is taken before the next chunk this compactor copies
+        compactor.endChunk(chunkEntries, chunkBytes);
 
         if (!compactFailed) {
           // Need to still remove the oplog even if it had nothing to compact.
@@ -6176,6 +6279,23 @@ public class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  /**
+   * Takes a pause that the disk write budget asks for during compaction with the compactor locks
+   * released, so that closing a region, clearing it or destroying this oplog does not wait for the
+   * throttled compaction. Returns false if this oplog was closed during the pause.
+   */
+  private boolean pauseCompaction(OplogCompactor compactor, long pause) {
+    unlockCompactor();
+    getParent().releaseCompactorReadLock();
+    try {
+      compactor.pause(pause);
+    } finally {
+      getParent().acquireCompactorReadLock();
+      lockCompactor();
+    }
+    return !this.closed;
+  }
+
   public static boolean isCRFFile(String filename) {
     return filename.endsWith(Oplog.CRF_FILE_EXT);
   }
@@ -6407,6 +6527,8 @@ public class Oplog implements CompactableOplog, Flushable {
     public ByteBuffer writeBuf;
     public long currSize;
     public long bytesFlushed;
+    /** bytesFlushed as of the last registration with the group committer */
+    public long bytesSynced;
     public boolean unpreblown;
   }
 
@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.cache.DiskAccessException;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.cache.persistence.UninterruptibleFileChannel;
+import org.apache.geode.internal.logging.LogService;
+
+/**
+ * Makes synchronous oplog writes durable in batches. Instead of forcing the channel on every write,
+ * a writer registers the channel it wrote to and, once it no longer holds the oplog lock, waits
+ * until the committer thread has forced that channel. The committer collects registrations until
+ * the batch window elapses or enough bytes are pending and then issues one force per dirty
+ * channel, releasing every writer of the batch at once.
+ *
+ * @see Oplog
+ */
+class OplogGroupCommitter {
+  private static final Logger logger = LogService.getLogger();
+
+  /**
+   * If true, synchronous writes to persistent oplogs are forced to disk by group commits.
+   */
+  static final boolean ENABLED =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "disk.groupCommit");
+
+  /**
+   * The longest time, in microseconds, the committer waits for more writers to join a batch.
+   */
+  static final long WINDOW_MICROS =
+      Long.getLong(DistributionConfig.GEMFIRE_PREFIX + "disk.groupCommitWindowMicros", 500);
+
+  /**
+   * The number of pending bytes that causes a batch to be forced before its window elapsed.
+   */
+  static final long MAX_BYTES =
+      Long.getLong(DistributionConfig.GEMFIRE_PREFIX + "disk.groupCommitMaxBytes", 1024 * 1024);
+
+  private final String diskStoreName;
+
+  private final DiskStoreStats stats;
+
+  private final long windowNanos;
+
+  private final long maxBytes;
+
+  /** Guards the fields describing the batch being collected */
+  private final Object mutex = new Object();
+
+  private final Set<UninterruptibleFileChannel> dirtyChannels = new LinkedHashSet<>();
+
+  private long pendingBytes;
+
+  /** The ticket handed to the most recent registration */
+  private long requestedSeq;
+
+  /** The highest ticket that belongs to a batch the committer has taken */
+  private long batchedSeq;
+
+  private boolean stopped;
+
+  /** Writers wait on this monitor until their ticket is durable */
+  private final Object durableMonitor = new Object();
+
+  private volatile long durableSeq;
+
+  private IOException failure;
+
+  /** The last ticket that was durable before {@link #failure} happened */
+  private long failedAfterSeq;
+
+  /** The highest ticket registered by each thread that it has not waited for yet */
+  private final ThreadLocal<long[]> pendingTicket = new ThreadLocal<long[]>() {
+    @Override
+    protected long[] initialValue() {
+      return new long[1];
+    }
+  };
+
+  private Thread thread;
+
+  OplogGroupCommitter(String diskStoreName, DiskStoreStats stats, long windowMicros,
+      long maxBytes) {
+    this.diskStoreName = diskStoreName;
+    this.stats = stats;
+    this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+    this.maxBytes = maxBytes;
+  }
+
+  void start(ThreadGroup group, String threadName) {
+    this.thread = new Thread(group, new Runnable() {
+      @Override
+      public void run() {
+        runCommitLoop();
+      }
+    }, threadName);
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  /**
+   * Forces everything that is still pending and stops the committer thread. Channels registered
+   * after this call are forced by the registering thread.
+   */
+  void stop() {
+    synchronized (this.mutex) {
+      this.stopped = true;
+      this.mutex.notifyAll();
+    }
+    if (this.thread == null) {
+      return;
+    }
+    boolean interrupted = false;
+    while (this.thread.isAlive()) {
+      try {
+        this.thread.join(100);
+      } catch (InterruptedException ignore) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Records that the given number of bytes were written to the channel and need to be forced. The
+   * caller must later call {@link #awaitPendingCommit()} once it no longer holds any oplog lock.
+   */
+  void register(UninterruptibleFileChannel channel, long bytes) throws IOException {
+    long ticket;
+    synchronized (this.mutex) {
+      if (this.stopped) {
+        ticket = 0;
+      } else {
+        this.dirtyChannels.add(channel);
+        this.pendingBytes += bytes;
+        ticket = ++this.requestedSeq;
+        if (ticket == this.batchedSeq + 1 || this.pendingBytes >= this.maxBytes) {
+          // the committer is either idle or waiting out a batch window that is already full
+          this.mutex.notifyAll();
+        }
+      }
+    }
+    if (ticket == 0) {
+      channel.force(true);
+      return;
+    }
+    long[] holder = this.pendingTicket.get();
+    if (ticket > holder[0]) {
+      holder[0] = ticket;
+    }
+  }
+
+  /**
+   * Blocks until every channel the calling thread registered has been forced.
+   *
+   * @throws DiskAccessException if forcing one of the batches failed
+   */
+  void awaitPendingCommit() {
+    long[] holder = this.pendingTicket.get();
+    final long ticket = holder[0];
+    if (ticket == 0) {
+      return;
+    }
+    holder[0] = 0;
+    IOException cause = null;
+    if (ticket > this.durableSeq) {
+      final long start = this.stats.getStatTime();
+      boolean interrupted = false;
+      synchronized (this.durableMonitor) {
+        while (ticket > this.durableSeq && this.failure == null) {
+          try {
+            this.durableMonitor.wait();
+          } catch (InterruptedException ignore) {
+            // the write is already in the oplog so keep waiting for it to be durable
+            interrupted = true;
+          }
+        }
+        if (this.failure != null && ticket > this.failedAfterSeq) {
+          cause = this.failure;
+        }
+      }
+      this.stats.endGroupCommitWait(start);
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    if (cause != null) {
+      throw new DiskAccessException(
+          "Group commit failed to force oplog writes for disk store " + this.diskStoreName, cause);
+    }
+  }
+
+  long getDurableSeq() {
+    return this.durableSeq;
+  }
+
+  private void runCommitLoop() {
+    List<UninterruptibleFileChannel> batch = new ArrayList<>();
+    try {
+      while (true) {
+        final long batchSeq;
+        final long records;
+        final long bytes;
+        synchronized (this.mutex) {
+          while (!this.stopped && this.requestedSeq == this.batchedSeq) {
+            this.mutex.wait();
+          }
+          if (this.requestedSeq == this.batchedSeq) {
+            // stopped with nothing left to force
+            return;
+          }
+          long nanosRemaining = this.windowNanos;
+          final long endTime = System.nanoTime() + nanosRemaining;
+          while (!this.stopped && this.pendingBytes < this.maxBytes && nanosRemaining > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this.mutex, nanosRemaining);
+            nanosRemaining = endTime - System.nanoTime();
+          }
+          batch.addAll(this.dirtyChannels);
+          this.dirtyChannels.clear();
+          batchSeq = this.requestedSeq;
+          records = batchSeq - this.batchedSeq;
+          this.batchedSeq = batchSeq;
+          bytes = this.pendingBytes;
+          this.pendingBytes = 0;
+        }
+        final long start = this.stats.getStatTime();
+        IOException batchFailure = null;
+        for (UninterruptibleFileChannel channel : batch) {
+          try {
+            channel.force(true);
+          } catch (ClosedChannelException ignore) {
+            // the oplog was closed, which forces any outstanding writes first
+          } catch (IOException ex) {
+            batchFailure = ex;
+          }
+        }
+        batch.clear();
+        this.stats.endGroupCommit(start, records, bytes);
+        commitDone(batchSeq, batchFailure);
+      }
+    } catch (InterruptedException ie) {
+      logger.warn("Group commit thread for disk store {} stopping due to unexpected interrupt",
+          this.diskStoreName);
+      synchronized (this.mutex) {
+        this.stopped = true;
+      }
+      commitDone(Long.MAX_VALUE, new IOException("group commit thread interrupted", ie));
+    }
+  }
+
+  private void commitDone(long batchSeq, IOException batchFailure) {
+    synchronized (this.durableMonitor) {
+      if (batchFailure != null && this.failure == null) {
+        this.failure = batchFailure;
+        this.failedAfterSeq = this.durableSeq;
+      }
+      this.durableSeq = batchSeq;
+      this.durableMonitor.notifyAll();
+    }
+  }
+}
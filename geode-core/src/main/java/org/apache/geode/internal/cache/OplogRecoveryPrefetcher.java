@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.logging.LogService;
+
+/**
+ * Reads the oplog files of a recovery into the page cache on a bounded fork join pool while the
+ * recovering thread applies the files in order. The records are still applied to the region maps
+ * by a single thread in oplog order, which keeps the result of recovery identical to a sequential
+ * recovery; only the disk reads happen in parallel. At most a fixed number of files ahead of the
+ * recovering thread are prefetched so that a disk store larger than the page cache does not evict
+ * the files that are about to be read.
+ */
+class OplogRecoveryPrefetcher {
+  private static final Logger logger = LogService.getLogger();
+
+  /**
+   * The number of threads that prefetch oplog files during recovery. Zero or less disables
+   * prefetching.
+   */
+  static final int THREADS =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "disk.recoveryThreads", 0);
+
+  private final List<File> files;
+
+  private final DiskStoreStats stats;
+
+  private final ForkJoinPool pool;
+
+  private final int lookahead;
+
+  /** The number of files handed to the pool so far */
+  private int submitted;
+
+  OplogRecoveryPrefetcher(String diskStoreName, List<File> files, int threads,
+      DiskStoreStats stats) {
+    this.files = files;
+    this.stats = stats;
+    this.lookahead = threads * 2;
+    final AtomicInteger threadId = new AtomicInteger();
+    this.pool = new ForkJoinPool(threads, pool -> {
+      ForkJoinWorkerThread thread =
+          ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName("Oplog Recovery Prefetcher for " + diskStoreName + " "
+          + threadId.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }, null, true);
+  }
+
+  /**
+   * Called by the recovering thread before it reads the file at the given index of the list this
+   * prefetcher was created with. Entries of that list may be null for oplogs without such a file.
+   */
+  void advance(int readIndex) {
+    int limit = Math.min(this.files.size(), readIndex + 1 + this.lookahead);
+    while (this.submitted < limit) {
+      final int index = this.submitted++;
+      final File f = this.files.get(index);
+      // files at or before readIndex are already being read by the recovering thread
+      if (f != null && index > readIndex) {
+        this.pool.execute(() -> prefetch(f));
+      }
+    }
+  }
+
+  private void prefetch(File f) {
+    long start = this.stats.getStatTime();
+    try {
+      long bytes = MappedFileInputStream.prefetch(f);
+      this.stats.endRecoveryPrefetch(start, bytes);
+    } catch (IOException e) {
+      // the recovering thread will report the problem when it reads the file
+      if (logger.isDebugEnabled()) {
+        logger.debug("Could not prefetch oplog file {}", f, e);
+      }
+    }
+  }
+
+  void close() {
+    this.pool.shutdownNow();
+  }
+}
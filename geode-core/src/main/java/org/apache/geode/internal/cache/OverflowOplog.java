@@ -1060,6 +1060,11 @@ class OverflowOplog implements CompactableOplog, Flushable {
     return this.totalLiveCount.get() <= 0;
   }
 
+  @Override
+  public long getLiveEntryCount() {
+    return Math.max(0, this.totalLiveCount.get());
+  }
+
   private void handleEmpty(boolean calledByCompactor) {
     if (!calledByCompactor) {
       logger.info(LocalizedMessage.create(LocalizedStrings.Oplog_CLOSING_EMPTY_OPLOG_0_1,
@@ -1251,8 +1256,21 @@ class OverflowOplog implements CompactableOplog, Flushable {
         DiskEntry lastDe = null;
         boolean compactFailed = !compactor.keepCompactorRunning();
         int totalCount = 0;
+        int chunkEntries = 0;
+        long chunkBytes = 0;
         boolean didCompact = false;
         while ((de = getNextLiveEntry()) != null) {
+          if (chunkEntries >= CompactionRateLimiter.CHUNK_ENTRIES) {
+            long pause = compactor.endChunk(chunkEntries, chunkBytes);
+            chunkEntries = 0;
+            chunkBytes = 0;
+            if (pause > 0 && !pauseCompaction(compactor, pause)) {
+              // this oplog was closed while the locks were released
+              compactFailed = true;
+              break;
+            }
+          }
+          chunkEntries++;
           if (!compactor.keepCompactorRunning()) {
             compactFailed = true;
             break;
@@ -1302,6 +1320,7 @@ class OverflowOplog implements CompactableOplog, Flushable {
                   }
                   continue;
                 }
+                chunkBytes += length;
                 // write it to the current oplog
                 getOplogSet().copyForwardForOverflowCompact(de, valueBytes, length, userBits);
                 // the did's oplogId will now be set to the current active oplog
@@ -1323,6 +1342,8 @@ class OverflowOplog implements CompactableOplog, Flushable {
             }
           }
         }
+        // a pause owed for the last chunk is taken before the next chunk this compactor copies
+        compactor.endChunk(chunkEntries, chunkBytes);
 
         if (!compactFailed) {
           // Need to still remove the oplog even if it had nothing to compact.
@@ -1338,6 +1359,23 @@ class OverflowOplog implements CompactableOplog, Flushable {
     }
   }
 
+  /**
+   * Takes a pause that the disk write budget asks for during compaction with the compactor locks
+   * released, so that closing or destroying this oplog does not wait for the throttled compaction.
+   * Returns false if this oplog was closed during the pause.
+   */
+  private boolean pauseCompaction(OplogCompactor compactor, long pause) {
+    unlockCompactor();
+    getParent().releaseCompactorReadLock();
+    try {
+      compactor.pause(pause);
+    } finally {
+      getParent().acquireCompactorReadLock();
+      lockCompactor();
+    }
+    return !this.closed;
+  }
+
   /**
    * This function retrieves the value for an entry being compacted subject to entry referencing the
    * oplog being compacted. Attempt is made to retrieve the value from in memory , if available,
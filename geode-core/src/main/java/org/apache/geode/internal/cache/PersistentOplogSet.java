@@ -441,35 +441,53 @@ public class PersistentOplogSet implements OplogSet {
     }
     if (oplogSet.size() > 0) {
       long startOpLogRecovery = System.currentTimeMillis();
-      // first figure out all entries that have been destroyed
-      boolean latestOplog = true;
-      for (Oplog oplog : oplogSet) {
-        byteCount += oplog.recoverDrf(deletedIds, this.alreadyRecoveredOnce.get(), latestOplog);
-        latestOplog = false;
-        if (!this.alreadyRecoveredOnce.get()) {
-          updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
-        }
-      }
-      parent.incDeadRecordCount(deletedIds.size());
-      // now figure out live entries
-      latestOplog = true;
-      for (Oplog oplog : oplogSet) {
-        long startOpLogRead = parent.getStats().startOplogRead();
-        long bytesRead = oplog.recoverCrf(deletedIds,
-            // @todo make recoverValues per region
-            recoverValues(), recoverValuesSync(), this.alreadyRecoveredOnce.get(),
-            oplogsNeedingValueRecovery, latestOplog);
-        latestOplog = false;
-        if (!this.alreadyRecoveredOnce.get()) {
-          updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
+      OplogRecoveryPrefetcher prefetcher = createPrefetcher(oplogSet);
+      int readIndex = 0;
+      try {
+        // first figure out all entries that have been destroyed
+        long startPhase = parent.getStats().getStatTime();
+        boolean latestOplog = true;
+        for (Oplog oplog : oplogSet) {
+          if (prefetcher != null) {
+            prefetcher.advance(readIndex++);
+          }
+          byteCount += oplog.recoverDrf(deletedIds, this.alreadyRecoveredOnce.get(), latestOplog);
+          latestOplog = false;
+          if (!this.alreadyRecoveredOnce.get()) {
+            updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
+          }
         }
-        byteCount += bytesRead;
-        parent.getStats().endOplogRead(startOpLogRead, bytesRead);
+        parent.incDeadRecordCount(deletedIds.size());
+        parent.getStats().endRecoveryDrfPhase(startPhase);
+        // now figure out live entries
+        startPhase = parent.getStats().getStatTime();
+        latestOplog = true;
+        for (Oplog oplog : oplogSet) {
+          if (prefetcher != null) {
+            prefetcher.advance(readIndex++);
+          }
+          long startOpLogRead = parent.getStats().startOplogRead();
+          long bytesRead = oplog.recoverCrf(deletedIds,
+              // @todo make recoverValues per region
+              recoverValues(), recoverValuesSync(), this.alreadyRecoveredOnce.get(),
+              oplogsNeedingValueRecovery, latestOplog);
+          latestOplog = false;
+          if (!this.alreadyRecoveredOnce.get()) {
+            updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
+          }
+          byteCount += bytesRead;
+          parent.getStats().endOplogRead(startOpLogRead, bytesRead);
 
-        // Callback to the disk regions to indicate the oplog is recovered
-        // Used for offline export
-        for (DiskRecoveryStore drs : this.currentRecoveryMap.values()) {
-          drs.getDiskRegionView().oplogRecovered(oplog.oplogId);
+          // Callback to the disk regions to indicate the oplog is recovered
+          // Used for offline export
+          for (DiskRecoveryStore drs : this.currentRecoveryMap.values()) {
+            drs.getDiskRegionView().oplogRecovered(oplog.oplogId);
+          }
+        }
+        parent.getStats().endRecoveryCrfPhase(startPhase);
+      } finally {
+        if (prefetcher != null) {
+          prefetcher.close();
         }
       }
       long endOpLogRecovery = System.currentTimeMillis();
@@ -478,6 +496,7 @@ public class PersistentOplogSet implements OplogSet {
     }
     if (!parent.isOfflineCompacting()) {
       long startRegionInit = System.currentTimeMillis();
+      long startPhase = parent.getStats().getStatTime();
       // create the oplogs now so that loadRegionData can have them available
       // Create an array of Oplogs so that we are able to add it in a single shot
       // to the map
@@ -518,10 +537,30 @@ public class PersistentOplogSet implements OplogSet {
         logger.info(LocalizedMessage.create(LocalizedStrings.DiskRegion_REGION_INIT_TIME,
             endRegionInit - startRegionInit));
       }
+      parent.getStats().endRecoveryRegionInitPhase(startPhase);
     }
     return byteCount;
   }
 
+  /**
+   * Returns a prefetcher for the files recoverOplogs reads, in the order it reads them, or null if
+   * prefetching is disabled.
+   */
+  private OplogRecoveryPrefetcher createPrefetcher(TreeSet<Oplog> oplogSet) {
+    if (OplogRecoveryPrefetcher.THREADS <= 0) {
+      return null;
+    }
+    List<File> files = new ArrayList<File>(oplogSet.size() * 2);
+    for (Oplog oplog : oplogSet) {
+      files.add(oplog.getDrfFileForRecovery());
+    }
+    for (Oplog oplog : oplogSet) {
+      files.add(oplog.getCrfOrKrfFileForRecovery());
+    }
+    return new OplogRecoveryPrefetcher(parent.getName(), files, OplogRecoveryPrefetcher.THREADS,
+        parent.getStats());
+  }
+
   protected boolean recoverValuesSync() {
     return parent.RECOVER_VALUES_SYNC;
   }
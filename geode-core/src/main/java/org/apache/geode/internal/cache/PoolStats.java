@@ -70,6 +70,26 @@ public class PoolStats {
   private final static int clientOpTimedOutId;
   private final static int clientOpFailedId;
   private final static int clientOpDurationId;
+  private final static int asyncOpInProgressId;
+  private final static int asyncOpId;
+  private final static int asyncOpFailedId;
+  private final static int connectionBorrowsId;
+  private final static int connectionBorrowTimeId;
+  private final static int[] connectionBorrowBucketIds;
+  private final static int bulkOpServerStreamsId;
+  private final static int bulkOpServerStreamTimeId;
+  private final static int bulkOpChunksId;
+
+  /**
+   * The upper bounds, in nanoseconds, of the connectionBorrow latency buckets. Borrows that take
+   * longer than the last bound are counted in an additional bucket.
+   */
+  private static final long[] CONNECTION_BORROW_BUCKETS =
+      new long[] {10000L, 100000L, 1000000L, 10000000L, 100000000L};
+  private static final String[] CONNECTION_BORROW_BUCKET_NAMES =
+      new String[] {"connectionBorrowsUnder10us", "connectionBorrowsUnder100us",
+          "connectionBorrowsUnder1ms", "connectionBorrowsUnder10ms", "connectionBorrowsUnder100ms",
+          "connectionBorrowsOver100ms"};
 
   static {
     String statName = "PoolStats";
@@ -139,7 +159,47 @@ public class PoolStats {
             f.createLongCounter("clientOpSendTime",
                 "Total amount of time, in nanoseconds spent doing clientOp sends", "nanoseconds"),
             f.createLongCounter("clientOpTime",
-                "Total amount of time, in nanoseconds spent doing clientOps", "nanoseconds"),});
+                "Total amount of time, in nanoseconds spent doing clientOps", "nanoseconds"),
+            f.createIntGauge("asyncOpsInProgress",
+                "Current number of asynchronous clientOps whose result has not been completed",
+                "clientOps"),
+            f.createIntCounter("asyncOps",
+                "Total number of asynchronous clientOps completed successfully", "clientOps"),
+            f.createIntCounter("asyncOpFailures",
+                "Total number of asynchronous clientOps completed with an exception",
+                "clientOps"),
+            f.createLongCounter("connectionBorrows",
+                "Total number of connections borrowed from the pool", "borrows"),
+            f.createLongCounter("connectionBorrowTime",
+                "Total number of nanoseconds spent borrowing connections from the pool, including the time spent waiting for and creating connections. Only recorded when clock stats are enabled.",
+                "nanoseconds"),
+            f.createLongCounter("connectionBorrowsUnder10us",
+                "Total number of connection borrows that took less than 10 microseconds. Only recorded when clock stats are enabled.",
+                "borrows"),
+            f.createLongCounter("connectionBorrowsUnder100us",
+                "Total number of connection borrows that took from 10 to 100 microseconds. Only recorded when clock stats are enabled.",
+                "borrows"),
+            f.createLongCounter("connectionBorrowsUnder1ms",
+                "Total number of connection borrows that took from 100 microseconds to 1 millisecond. Only recorded when clock stats are enabled.",
+                "borrows"),
+            f.createLongCounter("connectionBorrowsUnder10ms",
+                "Total number of connection borrows that took from 1 to 10 milliseconds. Only recorded when clock stats are enabled.",
+                "borrows"),
+            f.createLongCounter("connectionBorrowsUnder100ms",
+                "Total number of connection borrows that took from 10 to 100 milliseconds. Only recorded when clock stats are enabled.",
+                "borrows"),
+            f.createLongCounter("connectionBorrowsOver100ms",
+                "Total number of connection borrows that took 100 milliseconds or more. Only recorded when clock stats are enabled.",
+                "borrows"),
+            f.createIntCounter("bulkOpServerStreams",
+                "Total number of single hop getAll and putAll requests to a server completed successfully. The keys of a request are sent in one or more chunks.",
+                "requests"),
+            f.createLongCounter("bulkOpServerStreamTime",
+                "Total number of nanoseconds spent sending single hop getAll and putAll requests to a server and receiving their results. Only recorded when clock stats are enabled.",
+                "nanoseconds"),
+            f.createIntCounter("bulkOpChunks",
+                "Total number of getAll and putAll chunks sent by single hop requests to a server",
+                "chunks"),});
 
     // Initialize id fields
     _INITIAL_CONTACTS = _type.nameToId(INITIAL_CONTACTS);
@@ -175,6 +235,18 @@ public class PoolStats {
     clientOpTimedOutId = _type.nameToId("clientOpTimeouts");
     clientOpFailedId = _type.nameToId("clientOpFailures");
     clientOpDurationId = _type.nameToId("clientOpTime");
+    asyncOpInProgressId = _type.nameToId("asyncOpsInProgress");
+    asyncOpId = _type.nameToId("asyncOps");
+    asyncOpFailedId = _type.nameToId("asyncOpFailures");
+    connectionBorrowsId = _type.nameToId("connectionBorrows");
+    connectionBorrowTimeId = _type.nameToId("connectionBorrowTime");
+    connectionBorrowBucketIds = new int[CONNECTION_BORROW_BUCKET_NAMES.length];
+    for (int i = 0; i < CONNECTION_BORROW_BUCKET_NAMES.length; i++) {
+      connectionBorrowBucketIds[i] = _type.nameToId(CONNECTION_BORROW_BUCKET_NAMES[i]);
+    }
+    bulkOpServerStreamsId = _type.nameToId("bulkOpServerStreams");
+    bulkOpServerStreamTimeId = _type.nameToId("bulkOpServerStreamTime");
+    bulkOpChunksId = _type.nameToId("bulkOpChunks");
   }
 
   ////////////////////// Instance Fields //////////////////////
@@ -334,6 +406,30 @@ public class PoolStats {
     this._stats.incLong(_CONNECTION_WAIT_TIME, duration);
   }
 
+  /**
+   * Records a connection borrowed from the pool. The latency percentiles of borrows can be
+   * estimated from the counts of the buckets they fall in.
+   * 
+   * @param start the value {@link #startTime()} returned when the borrow started
+   */
+  public void endConnectionBorrow(long start) {
+    this._stats.incLong(connectionBorrowsId, 1);
+    if (DistributionStats.enableClockStats) {
+      long duration = getStatTime() - start;
+      this._stats.incLong(connectionBorrowTimeId, duration);
+      int bucket = 0;
+      while (bucket < CONNECTION_BORROW_BUCKETS.length
+          && duration >= CONNECTION_BORROW_BUCKETS[bucket]) {
+        bucket++;
+      }
+      this._stats.incLong(connectionBorrowBucketIds[bucket], 1);
+    }
+  }
+
+  public long getConnectionBorrows() {
+    return this._stats.getLong(connectionBorrowsId);
+  }
+
   public void startClientOp() {
     this._stats.incInt(clientOpInProgressId, 1);
     this._stats.incInt(clientOpSendInProgressId, 1);
@@ -364,4 +460,37 @@ public class PoolStats {
     this._stats.incInt(endClientOpId, 1);
     this._stats.incLong(clientOpDurationId, duration);
   }
+
+  public void startAsyncOp() {
+    this._stats.incInt(asyncOpInProgressId, 1);
+  }
+
+  public void endAsyncOp(boolean failed) {
+    this._stats.incInt(asyncOpInProgressId, -1);
+    this._stats.incInt(failed ? asyncOpFailedId : asyncOpId, 1);
+  }
+
+  public int getAsyncOpsInProgress() {
+    return this._stats.getInt(asyncOpInProgressId);
+  }
+
+  public void incBulkOpChunks() {
+    this._stats.incInt(bulkOpChunksId, 1);
+  }
+
+  public int getBulkOpChunks() {
+    return this._stats.getInt(bulkOpChunksId);
+  }
+
+  /**
+   * Records a single hop getAll or putAll request to a server whose chunks all completed.
+   *
+   * @param start the value {@link #startTime()} returned when the request started
+   */
+  public void endBulkOpServerStream(long start) {
+    this._stats.incInt(bulkOpServerStreamsId, 1);
+    if (DistributionStats.enableClockStats) {
+      this._stats.incLong(bulkOpServerStreamTimeId, getStatTime() - start);
+    }
+  }
 }
@@ -67,6 +67,9 @@ public interface RegionMap extends LRUMapCallbacks {
     /** whether "api" statistics are enabled */
     boolean statisticsEnabled = false;
 
+    /** whether entries are kept in an {@link OpenAddressingRegionEntryMap} */
+    boolean openAddressing = false;
+
     /** whether LRU stats are required */
     // boolean lru = false;
   }
@@ -15,7 +15,7 @@
 
 package org.apache.geode.internal.cache;
 
-
+import org.apache.geode.distributed.internal.DistributionConfig;
 
 /**
  * Used to produce instances of RegionMap
@@ -25,6 +25,13 @@ package org.apache.geode.internal.cache;
  *
  */
 class RegionMapFactory {
+  /**
+   * If true, region maps keep their entries in an {@link OpenAddressingRegionEntryMap} instead of a
+   * {@link org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap}.
+   */
+  static final boolean OPEN_ADDRESSING_ENTRY_MAP =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "region.openAddressingEntryMap");
+
   /**
    * Creates a RegionMap that is stored in the VM.
    * 
@@ -33,6 +40,7 @@ class RegionMapFactory {
    */
   public static RegionMap createVM(LocalRegion owner, RegionMap.Attributes attrs,
       InternalRegionArguments internalRegionArgs) {
+    attrs.openAddressing = OPEN_ADDRESSING_ENTRY_MAP;
     // final boolean isNotPartitionedRegion = !(owner.getPartitionAttributes() != null || owner
     // .getDataPolicy().withPartitioning());
     if (owner.isProxy() /* || owner instanceof PartitionedRegion */) { // TODO enabling this causes
@@ -59,6 +67,7 @@ class RegionMapFactory {
     ma.loadFactor = owner.getLoadFactor();
     ma.initialCapacity = owner.getInitialCapacity();
     ma.concurrencyLevel = owner.getConcurrencyLevel();
+    ma.openAddressing = OPEN_ADDRESSING_ENTRY_MAP;
     if (owner.getLruAlgorithm() != 0) {
       return new VMLRURegionMap(owner, ma, internalRegionArgs);
     } else {
@@ -25,8 +25,16 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
@@ -47,6 +55,7 @@ import org.apache.geode.internal.logging.LoggingThreadGroup;
 import org.apache.geode.internal.logging.log4j.LocalizedMessage;
 import org.apache.geode.internal.logging.log4j.LogMarker;
 import org.apache.geode.internal.size.ReflectionSingleObjectSizer;
+import org.apache.geode.internal.tcp.ConnectionTable;
 import org.apache.geode.internal.util.concurrent.StoppableReentrantLock;
 
 /**
@@ -90,6 +99,23 @@ public class TombstoneService {
   public static int EXPIRED_TOMBSTONE_LIMIT =
       Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "tombstone-gc-threshold", 100000);
 
+  /**
+   * The max amount of memory, in bytes, held by expired tombstones that are awaiting batch removal.
+   * Once it is reached a batch is expired even if there are fewer than
+   * {@link #EXPIRED_TOMBSTONE_LIMIT} expired tombstones. The default of zero disables the limit.
+   */
+  public static long EXPIRED_TOMBSTONE_MEMORY_LIMIT =
+      Long.getLong(DistributionConfig.GEMFIRE_PREFIX + "tombstone-gc-memory-limit", 0);
+
+  /**
+   * The number of threads that remove an expired batch and send its GC messages. The batch is
+   * grouped by region, so each bucket of a partitioned region is handled on its own, and the
+   * regions are processed in parallel. With one thread the batch is removed by the sweeper thread.
+   */
+  public static int TOMBSTONE_GC_THREADS =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "tombstone-gc-threads",
+          Math.min(4, Runtime.getRuntime().availableProcessors()));
+
   /**
    * The interval to scan for expired tombstones in the queues
    */
@@ -412,6 +438,17 @@ public class TombstoneService {
      */
     private final List<Tombstone> expiredTombstones;
     private final Object expiredTombstonesLock = new Object();
+    /**
+     * Estimate of the amount of memory used by expiredTombstones. Only changed while holding
+     * expiredTombstonesLock.
+     */
+    private volatile long expiredTombstonesMemory;
+
+    /**
+     * Used to remove the regions of an expired batch, and to send their gc messages, in parallel.
+     * Null if {@link #TOMBSTONE_GC_THREADS} is one.
+     */
+    private final ExecutorService gcExecutor;
 
     /**
      * Force batch expiration
@@ -444,6 +481,42 @@ public class TombstoneService {
           "Replicate/Partition Region Garbage Collector");
       this.expiredTombstones = new ArrayList<Tombstone>();
       this.executor = executor;
+      if (TOMBSTONE_GC_THREADS > 1) {
+        final ThreadGroup group =
+            LoggingThreadGroup.createThreadGroup("Destroyed Entries GC Threads", logger);
+        ThreadFactory tf = new ThreadFactory() {
+          private final AtomicInteger nextId = new AtomicInteger();
+
+          public Thread newThread(final Runnable command) {
+            Runnable r = new Runnable() {
+              public void run() {
+                ConnectionTable.threadWantsSharedResources();
+                try {
+                  command.run();
+                } finally {
+                  ConnectionTable.releaseThreadsSockets();
+                }
+              }
+            };
+            Thread t =
+                new Thread(group, r, "Destroyed Entries GC Thread " + nextId.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+          }
+        };
+        this.gcExecutor = new ThreadPoolExecutor(TOMBSTONE_GC_THREADS, TOMBSTONE_GC_THREADS, 0L,
+            TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), tf);
+      } else {
+        this.gcExecutor = null;
+      }
+    }
+
+    @Override
+    void stop() {
+      super.stop();
+      if (this.gcExecutor != null) {
+        this.gcExecutor.shutdown();
+      }
     }
 
     public int decrementGCBlockCount() {
@@ -484,6 +557,7 @@ public class TombstoneService {
             result = true;
           }
         }
+        expiredTombstonesMemory -= removalSize;
       }
       updateMemoryEstimate(-removalSize);
       return result;
@@ -511,74 +585,47 @@ public class TombstoneService {
         this.batchExpirationInProgress = true;
         boolean batchScheduled = false;
         try {
-
-          // TODO seems like no need for the value of this map to be a Set.
-          // It could instead be a List, which would be nice because the per entry
-          // memory overhead for a set is much higher than an ArrayList
-          // BUT we send it to clients and the old
-          // version of them expects it to be a Set.
+          final long start = System.nanoTime();
           final Map<DistributedRegion, Set<Object>> reapedKeys = new HashMap<>();
-
-          // Update the GC RVV for all of the affected regions.
-          // We need to do this so that we can persist the GC RVV before
-          // we start removing entries from the map.
+          int reclaimed = 0;
+          int backlog;
           synchronized (expiredTombstonesLock) {
+            // Group the batch by region so that each region, and so each bucket, can have its GC
+            // RVV persisted and its tombstones removed independently of the others.
+            final Map<DistributedRegion, List<Tombstone>> batches = new HashMap<>();
             for (Tombstone t : expiredTombstones) {
               DistributedRegion tr = (DistributedRegion) t.region;
-              tr.getVersionVector().recordGCVersion(t.getMemberID(), t.getRegionVersion());
-              if (!reapedKeys.containsKey(tr)) {
-                reapedKeys.put(tr, Collections.emptySet());
+              List<Tombstone> batch = batches.get(tr);
+              if (batch == null) {
+                batch = new ArrayList<Tombstone>();
+                batches.put(tr, batch);
               }
+              batch.add(t);
             }
-          }
 
-          for (DistributedRegion r : reapedKeys.keySet()) {
-            // Remove any exceptions from the RVV that are older than the GC version
-            r.getVersionVector().pruneOldExceptions();
+            Set<DistributedRegion> failedRegions = removeBatches(batches, reapedKeys);
 
-            // Persist the GC RVV to disk. This needs to happen BEFORE we remove
-            // the entries from map, to prevent us from removing a tombstone
-            // from disk that has a version greater than the persisted
-            // GV RVV.
-            if (r.getDataPolicy().withPersistence()) {
-              r.getDiskRegion().writeRVVGC(r);
-            }
-          }
-
-          // Remove the tombstones from the in memory region map.
-          removeExpiredIf(t -> {
-            // for PR buckets we have to keep track of the keys removed because clients have
-            // them all lumped in a single non-PR region
-            DistributedRegion tr = (DistributedRegion) t.region;
-            boolean tombstoneWasStillInRegionMap =
-                tr.getRegionMap().removeTombstone(t.entry, t, false, true);
-            if (tombstoneWasStillInRegionMap && hasToTrackKeysForClients(tr)) {
-              Set<Object> keys = reapedKeys.get(tr);
-              if (keys.isEmpty()) {
-                keys = new HashSet<Object>();
-                reapedKeys.put(tr, keys);
+            long removalSize = 0;
+            for (int idx = expiredTombstones.size() - 1; idx >= 0; idx--) {
+              Tombstone t = expiredTombstones.get(idx);
+              if (!failedRegions.contains(t.region)) {
+                removalSize += t.getSize();
+                reclaimed++;
               }
-              keys.add(t.entry.getKey());
             }
-            return true;
-          });
-
-          // do messaging in a pool so this thread is not stuck trying to
-          // communicate with other members
-          executor.execute(new Runnable() {
-            public void run() {
-              try {
-                // this thread should not reference other sweeper state, which is not synchronized
-                for (Map.Entry<DistributedRegion, Set<Object>> mapEntry : reapedKeys.entrySet()) {
-                  DistributedRegion r = mapEntry.getKey();
-                  Set<Object> rKeysReaped = mapEntry.getValue();
-                  r.distributeTombstoneGC(rKeysReaped);
-                }
-              } finally {
-                batchExpirationInProgress = false;
-              }
+            if (failedRegions.isEmpty()) {
+              expiredTombstones.clear();
+            } else {
+              expiredTombstones.removeIf(t -> !failedRegions.contains(t.region));
             }
-          });
+            expiredTombstonesMemory -= removalSize;
+            updateMemoryEstimate(-removalSize);
+            backlog = expiredTombstones.size();
+          }
+          stats.endTombstoneGC(reclaimed, System.nanoTime() - start);
+          stats.setTombstoneGCBacklog(backlog);
+
+          distributeTombstoneGC(reapedKeys);
           batchScheduled = true;
         } finally {
           if (testHook_forceBatchExpireCall != null) {
@@ -591,6 +638,176 @@ public class TombstoneService {
       } // sync on deltaGIILock
     }
 
+    /**
+     * Removes each region's batch of expired tombstones, in parallel if there is a gc thread pool.
+     * The keys removed from each region that succeeded are put in reapedKeys.
+     *
+     * @return the regions whose batch could not be removed
+     */
+    private Set<DistributedRegion> removeBatches(Map<DistributedRegion, List<Tombstone>> batches,
+        Map<DistributedRegion, Set<Object>> reapedKeys) {
+      Set<DistributedRegion> failedRegions = Collections.emptySet();
+      RuntimeException failure = null;
+      if (this.gcExecutor == null || batches.size() == 1) {
+        for (Map.Entry<DistributedRegion, List<Tombstone>> mapEntry : batches.entrySet()) {
+          try {
+            reapedKeys.put(mapEntry.getKey(),
+                removeBatch(mapEntry.getKey(), mapEntry.getValue()));
+          } catch (RuntimeException e) {
+            if (failedRegions.isEmpty()) {
+              failedRegions = new HashSet<>();
+              failure = e;
+            }
+            failedRegions.add(mapEntry.getKey());
+          }
+        }
+      } else {
+        final Map<DistributedRegion, Future<Set<Object>>> futures = new HashMap<>();
+        for (Map.Entry<DistributedRegion, List<Tombstone>> mapEntry : batches.entrySet()) {
+          final DistributedRegion r = mapEntry.getKey();
+          final List<Tombstone> batch = mapEntry.getValue();
+          Future<Set<Object>> future;
+          try {
+            future = this.gcExecutor.submit(() -> removeBatch(r, batch));
+          } catch (RejectedExecutionException e) {
+            // the sweeper is being stopped so do the removal in this thread
+            FutureTask<Set<Object>> task = new FutureTask<>(() -> removeBatch(r, batch));
+            task.run();
+            future = task;
+          }
+          futures.put(r, future);
+        }
+        // the batches must all be finished before expiredTombstonesLock is released, so keep
+        // waiting if interrupted
+        boolean interrupted = false;
+        for (Map.Entry<DistributedRegion, Future<Set<Object>>> mapEntry : futures.entrySet()) {
+          while (true) {
+            try {
+              reapedKeys.put(mapEntry.getKey(), mapEntry.getValue().get());
+              break;
+            } catch (InterruptedException e) {
+              interrupted = true;
+            } catch (ExecutionException e) {
+              if (failedRegions.isEmpty()) {
+                failedRegions = new HashSet<>();
+                failure = e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause() : new RuntimeException(e.getCause());
+              }
+              failedRegions.add(mapEntry.getKey());
+              break;
+            }
+          }
+        }
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      if (failure instanceof CancelException) {
+        throw failure;
+      }
+      if (failure != null) {
+        logger.warn(LocalizedMessage.create(LocalizedStrings.GemFireCacheImpl_TOMBSTONE_ERROR),
+            failure);
+      }
+      return failedRegions;
+    }
+
+    /**
+     * Records the GC versions of the given expired tombstones of a region, persists its GC RVV and
+     * then removes the tombstones from its region map.
+     *
+     * @return the keys removed if they need to be sent to clients, otherwise an empty set
+     */
+    private Set<Object> removeBatch(DistributedRegion r, List<Tombstone> batch) {
+      // Update the GC RVV of the region.
+      // We need to do this so that we can persist the GC RVV before
+      // we start removing entries from the map.
+      for (Tombstone t : batch) {
+        r.getVersionVector().recordGCVersion(t.getMemberID(), t.getRegionVersion());
+      }
+
+      // Remove any exceptions from the RVV that are older than the GC version
+      r.getVersionVector().pruneOldExceptions();
+
+      // Persist the GC RVV to disk. This needs to happen BEFORE we remove
+      // the entries from map, to prevent us from removing a tombstone
+      // from disk that has a version greater than the persisted
+      // GV RVV.
+      if (r.getDataPolicy().withPersistence()) {
+        r.getDiskRegion().writeRVVGC(r);
+      }
+
+      // TODO seems like no need for the keys to be a Set.
+      // It could instead be a List, which would be nice because the per entry
+      // memory overhead for a set is much higher than an ArrayList
+      // BUT we send it to clients and the old
+      // version of them expects it to be a Set.
+      Set<Object> keys = Collections.emptySet();
+      // for PR buckets we have to keep track of the keys removed because clients have
+      // them all lumped in a single non-PR region
+      final boolean trackKeys = hasToTrackKeysForClients(r);
+      for (Tombstone t : batch) {
+        boolean tombstoneWasStillInRegionMap =
+            r.getRegionMap().removeTombstone(t.entry, t, false, true);
+        if (tombstoneWasStillInRegionMap && trackKeys) {
+          if (keys.isEmpty()) {
+            keys = new HashSet<Object>();
+          }
+          keys.add(t.entry.getKey());
+        }
+      }
+      return keys;
+    }
+
+    /**
+     * Sends the gc messages of an expired batch. This is done in a pool so this thread is not stuck
+     * trying to communicate with other members. Batch expiration stays in progress until all of
+     * the messages have been sent.
+     */
+    private void distributeTombstoneGC(final Map<DistributedRegion, Set<Object>> reapedKeys) {
+      if (this.gcExecutor == null || reapedKeys.size() <= 1) {
+        executor.execute(new Runnable() {
+          public void run() {
+            try {
+              // this thread should not reference other sweeper state, which is not synchronized
+              for (Map.Entry<DistributedRegion, Set<Object>> mapEntry : reapedKeys.entrySet()) {
+                DistributedRegion r = mapEntry.getKey();
+                Set<Object> rKeysReaped = mapEntry.getValue();
+                r.distributeTombstoneGC(rKeysReaped);
+              }
+            } finally {
+              batchExpirationInProgress = false;
+            }
+          }
+        });
+        return;
+      }
+      final AtomicInteger remaining = new AtomicInteger(reapedKeys.size());
+      try {
+        for (Map.Entry<DistributedRegion, Set<Object>> mapEntry : reapedKeys.entrySet()) {
+          final DistributedRegion r = mapEntry.getKey();
+          final Set<Object> rKeysReaped = mapEntry.getValue();
+          this.gcExecutor.execute(() -> {
+            try {
+              r.distributeTombstoneGC(rKeysReaped);
+            } catch (CancelException ignore) {
+              // nothing needed
+            } catch (RuntimeException e) {
+              logger.warn(
+                  LocalizedMessage.create(LocalizedStrings.GemFireCacheImpl_TOMBSTONE_ERROR), e);
+            } finally {
+              if (remaining.decrementAndGet() == 0) {
+                batchExpirationInProgress = false;
+              }
+            }
+          });
+        }
+      } catch (RejectedExecutionException e) {
+        // the sweeper has been stopped
+        batchExpirationInProgress = false;
+      }
+    }
+
     /**
      * Returns true if keys needs to be tracked for clients registering interests on PR.
      */
@@ -622,6 +839,10 @@ public class TombstoneService {
       if (expiredTombstones.size() >= EXPIRED_TOMBSTONE_LIMIT) {
         return true;
       }
+      if (EXPIRED_TOMBSTONE_MEMORY_LIMIT > 0
+          && expiredTombstonesMemory >= EXPIRED_TOMBSTONE_MEMORY_LIMIT) {
+        return true;
+      }
       return false;
     }
 
@@ -634,6 +855,11 @@ public class TombstoneService {
     @Override
     protected void updateStatistics() {
       stats.setReplicatedTombstonesSize(getMemoryEstimate());
+      int backlog;
+      synchronized (expiredTombstonesLock) {
+        backlog = expiredTombstones.size();
+      }
+      stats.setTombstoneGCBacklog(backlog);
     }
 
     private void checkIfBatchExpirationShouldBeForced() {
@@ -684,6 +910,7 @@ public class TombstoneService {
       }
       synchronized (expiredTombstonesLock) {
         expiredTombstones.add(tombstone);
+        expiredTombstonesMemory += tombstone.getSize();
       }
     }
 
@@ -429,6 +429,11 @@ public class VMStatsDiskLRURegionEntryHeapLongKey extends VMStatsDiskLRURegionEn
     return false;
   }
 
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
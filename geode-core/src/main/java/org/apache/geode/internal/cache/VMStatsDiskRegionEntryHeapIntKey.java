@@ -314,6 +314,11 @@ public class VMStatsDiskRegionEntryHeapIntKey extends VMStatsDiskRegionEntryHeap
     return false;
   }
 
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -327,6 +327,11 @@ public class VMStatsLRURegionEntryHeapLongKey extends VMStatsLRURegionEntryHeap
     return false;
   }
 
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
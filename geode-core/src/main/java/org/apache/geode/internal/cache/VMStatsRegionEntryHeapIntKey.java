@@ -227,6 +227,11 @@ public class VMStatsRegionEntryHeapIntKey extends VMStatsRegionEntryHeap {
     return false;
   }
 
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -245,6 +245,11 @@ public class VMThinLRURegionEntryHeapLongKey extends VMThinLRURegionEntryHeap {
     return false;
   }
 
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
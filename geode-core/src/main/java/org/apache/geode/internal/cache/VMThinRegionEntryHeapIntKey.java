@@ -143,6 +143,11 @@ public class VMThinRegionEntryHeapIntKey extends VMThinRegionEntryHeap {
     return false;
   }
 
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
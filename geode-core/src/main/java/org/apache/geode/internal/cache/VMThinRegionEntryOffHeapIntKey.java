@@ -209,6 +209,11 @@ public class VMThinRegionEntryOffHeapIntKey extends VMThinRegionEntryOffHeap {
     return false;
   }
 
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
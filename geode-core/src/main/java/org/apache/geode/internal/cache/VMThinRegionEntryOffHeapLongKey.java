@@ -207,6 +207,11 @@ public class VMThinRegionEntryOffHeapLongKey extends VMThinRegionEntryOffHeap {
     return false;
   }
 
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
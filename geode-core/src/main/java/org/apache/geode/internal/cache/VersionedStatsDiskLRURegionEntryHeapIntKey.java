@@ -542,6 +542,11 @@ public class VersionedStatsDiskLRURegionEntryHeapIntKey
     return false;
   }
 
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
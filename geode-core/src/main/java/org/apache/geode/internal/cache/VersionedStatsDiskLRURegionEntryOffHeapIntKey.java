@@ -609,6 +609,11 @@ public class VersionedStatsDiskLRURegionEntryOffHeapIntKey
     return false;
   }
 
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
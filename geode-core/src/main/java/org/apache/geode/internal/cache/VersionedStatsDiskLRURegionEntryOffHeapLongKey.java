@@ -607,6 +607,11 @@ public class VersionedStatsDiskLRURegionEntryOffHeapLongKey
     return false;
   }
 
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -422,6 +422,11 @@ public class VersionedStatsDiskRegionEntryHeapLongKey extends VersionedStatsDisk
     return false;
   }
 
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
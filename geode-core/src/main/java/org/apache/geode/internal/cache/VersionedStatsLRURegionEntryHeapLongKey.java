@@ -437,6 +437,11 @@ public class VersionedStatsLRURegionEntryHeapLongKey extends VersionedStatsLRURe
     return false;
   }
 
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
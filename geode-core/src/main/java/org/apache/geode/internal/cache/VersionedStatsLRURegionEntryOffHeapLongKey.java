@@ -505,6 +505,11 @@ public class VersionedStatsLRURegionEntryOffHeapLongKey
     return false;
   }
 
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
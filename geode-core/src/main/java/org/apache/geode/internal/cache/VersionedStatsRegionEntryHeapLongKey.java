@@ -332,6 +332,11 @@ public class VersionedStatsRegionEntryHeapLongKey extends VersionedStatsRegionEn
     return false;
   }
 
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -403,6 +403,11 @@ public class VersionedStatsRegionEntryOffHeapIntKey extends VersionedStatsRegion
     return false;
   }
 
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
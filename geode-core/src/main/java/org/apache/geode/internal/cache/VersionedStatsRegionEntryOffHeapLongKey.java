@@ -401,6 +401,11 @@ public class VersionedStatsRegionEntryOffHeapLongKey extends VersionedStatsRegio
     return false;
   }
 
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
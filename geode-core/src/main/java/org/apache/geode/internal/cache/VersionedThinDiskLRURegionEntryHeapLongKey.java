@@ -456,6 +456,11 @@ public class VersionedThinDiskLRURegionEntryHeapLongKey
     return false;
   }
 
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
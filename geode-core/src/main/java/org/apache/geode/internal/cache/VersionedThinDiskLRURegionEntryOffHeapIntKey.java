@@ -525,6 +525,11 @@ public class VersionedThinDiskLRURegionEntryOffHeapIntKey
     return false;
   }
 
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -338,6 +338,11 @@ public class VersionedThinDiskRegionEntryHeapIntKey extends VersionedThinDiskReg
     return false;
   }
 
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
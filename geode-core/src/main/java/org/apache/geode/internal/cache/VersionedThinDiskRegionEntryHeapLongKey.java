@@ -336,6 +336,11 @@ public class VersionedThinDiskRegionEntryHeapLongKey extends VersionedThinDiskRe
     return false;
   }
 
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -420,6 +420,11 @@ public class VersionedThinLRURegionEntryOffHeapLongKey extends VersionedThinLRUR
     return false;
   }
 
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -250,6 +250,11 @@ public class VersionedThinRegionEntryHeapIntKey extends VersionedThinRegionEntry
     return false;
   }
 
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
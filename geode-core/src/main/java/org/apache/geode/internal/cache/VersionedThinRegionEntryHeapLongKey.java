@@ -248,6 +248,11 @@ public class VersionedThinRegionEntryHeapLongKey extends VersionedThinRegionEntr
     return false;
   }
 
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
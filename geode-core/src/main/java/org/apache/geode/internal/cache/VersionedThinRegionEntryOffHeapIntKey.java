@@ -317,6 +317,11 @@ public class VersionedThinRegionEntryOffHeapIntKey extends VersionedThinRegionEn
     return false;
   }
 
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -315,6 +315,11 @@ public class VersionedThinRegionEntryOffHeapLongKey extends VersionedThinRegionE
     return false;
   }
 
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
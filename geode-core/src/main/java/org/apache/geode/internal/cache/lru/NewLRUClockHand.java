@@ -164,7 +164,7 @@ public class NewLRUClockHand {
    * return the head entry in the list preserving the cupipe requirement of at least one entry left
    * in the list
    */
-  private LRUClockNode getHeadEntry() {
+  protected LRUClockNode getHeadEntry() {
     synchronized (lock) {
       LRUClockNode aNode = NewLRUClockHand.this.head.nextLRUNode();
       if (aNode == this.tail) {
@@ -352,12 +352,7 @@ public class NewLRUClockHand {
       return; // when concurrency checks are enabled the clear operation removes entries iteratively
     }
     synchronized (this.lock) {
-      if (bucketRegion != null) {
-        this.stats.decrementCounter(bucketRegion.getCounter());
-        bucketRegion.resetCounter();
-      } else {
-        this.stats.resetCounter();
-      }
+      resetStatsCounter();
       initHeadAndTail();
       // LRUClockNode node = this.tail;
       // node.setEvicted();
@@ -369,6 +364,19 @@ public class NewLRUClockHand {
     }
   }
 
+  /**
+   * Zero out the lru counter for this list, taking care to only remove this bucket's contribution
+   * when the statistics are shared by a partitioned region. Caller must hold {@link #lock}.
+   */
+  protected void resetStatsCounter() {
+    if (bucketRegion != null) {
+      this.stats.decrementCounter(bucketRegion.getCounter());
+      bucketRegion.resetCounter();
+    } else {
+      this.stats.resetCounter();
+    }
+  }
+
   private void initHeadAndTail() {
     // I'm not sure, but I think it's important that we
     // drop the references to the old head and tail on a region clear
@@ -408,7 +416,7 @@ public class NewLRUClockHand {
   protected static class HeadLock extends Object {
   }
 
-  private static class GuardNode implements LRUClockNode {
+  static class GuardNode implements LRUClockNode {
 
     private LRUClockNode next;
     LRUClockNode prev;
@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.lru;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.cache.InternalRegionArguments;
+import org.apache.geode.internal.cache.versions.RegionVersionVector;
+import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.log4j.LogMarker;
+
+/**
+ * An LRU clock that spreads its list over several independently locked segments so that appends,
+ * unlinks and eviction scans from different threads rarely contend on the same monitor. Each node
+ * always lives in the segment chosen by its identity hash so that unlinkEntry can find it again.
+ * The clock hand visits the segments round robin, so the entry returned by getLRUEntry is only
+ * approximately the least recently used one in the region.
+ *
+ * @see NewLRUClockHand
+ */
+public class StripedLRUClockHand extends NewLRUClockHand {
+  private static final Logger logger = LogService.getLogger();
+
+  /**
+   * The default number of segments for LRU regions. A value of 1 or less keeps the single locked
+   * list of {@link NewLRUClockHand}.
+   */
+  public static final int DEFAULT_STRIPES =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "lru.clockStripes", 1);
+
+  private final Segment[] segments;
+
+  private final int mask;
+
+  /** Index of the segment the next eviction scan starts with */
+  private final AtomicInteger hand = new AtomicInteger();
+
+  public StripedLRUClockHand(Object region, EnableLRU ccHelper,
+      InternalRegionArguments internalRegionArgs, int stripes) {
+    super(region, ccHelper, internalRegionArgs);
+    this.segments = createSegments(stripes);
+    this.mask = this.segments.length - 1;
+  }
+
+  private static Segment[] createSegments(int stripes) {
+    if (stripes < 1) {
+      throw new IllegalArgumentException("stripes must be positive but was " + stripes);
+    }
+    int size = 1;
+    while (size < stripes) {
+      size <<= 1;
+    }
+    Segment[] result = new Segment[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = new Segment();
+    }
+    return result;
+  }
+
+  private Segment segmentFor(LRUClockNode aNode) {
+    int h = System.identityHashCode(aNode);
+    h ^= (h >>> 16);
+    return this.segments[h & this.mask];
+  }
+
+  public int getStripeCount() {
+    return this.segments.length;
+  }
+
+  @Override
+  public void appendEntry(final LRUClockNode aNode) {
+    segmentFor(aNode).append(aNode);
+  }
+
+  /**
+   * Removes the head of the next non-empty segment, starting at the current position of the clock
+   * hand. Returns null only if every segment was found empty.
+   */
+  @Override
+  protected LRUClockNode getHeadEntry() {
+    final int start = this.hand.getAndIncrement();
+    for (int i = 0; i < this.segments.length; i++) {
+      LRUClockNode aNode = this.segments[(start + i) & this.mask].removeHead();
+      if (aNode != null) {
+        return aNode;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public boolean unlinkEntry(LRUClockNode entry) {
+    entry.setEvicted();
+    stats().incDestroys();
+    return segmentFor(entry).unlink(entry);
+  }
+
+  @Override
+  public void clear(RegionVersionVector rvv) {
+    if (rvv != null) {
+      return; // when concurrency checks are enabled the clear operation removes entries iteratively
+    }
+    synchronized (this.lock) {
+      resetStatsCounter();
+      for (Segment segment : this.segments) {
+        segment.clear();
+      }
+    }
+  }
+
+  @Override
+  public long getExpensiveListCount() {
+    long count = 0;
+    for (Segment segment : this.segments) {
+      count += segment.count();
+    }
+    return count;
+  }
+
+  @Override
+  public void dumpList() {
+    if (!logger.isTraceEnabled(LogMarker.LRU_CLOCK)) {
+      return;
+    }
+    for (int i = 0; i < this.segments.length; i++) {
+      Segment segment = this.segments[i];
+      synchronized (segment) {
+        int idx = 1;
+        for (LRUClockNode aNode = segment.head; aNode != null; aNode = aNode.nextLRUNode()) {
+          logger.trace(LogMarker.LRU_CLOCK, "  [{}] ({}) {}", i, (idx++), aNode);
+        }
+      }
+    }
+  }
+
+  @Override
+  public String getAuditReport() {
+    int totalNodes = 0;
+    int evictedNodes = 0;
+    int usedNodes = 0;
+    for (Segment segment : this.segments) {
+      synchronized (segment) {
+        for (LRUClockNode h = segment.head; h != null; h = h.nextLRUNode()) {
+          totalNodes++;
+          if (h.testEvicted())
+            evictedNodes++;
+          if (h.testRecentlyUsed())
+            usedNodes++;
+        }
+      }
+    }
+    StringBuilder result = new StringBuilder(128);
+    result.append("LRUList Audit: segments = ").append(this.segments.length)
+        .append(" listEntries = ").append(totalNodes).append(" evicted = ").append(evictedNodes)
+        .append(" used = ").append(usedNodes);
+    return result.toString();
+  }
+
+  @Override
+  public int size() {
+    int result = 0;
+    for (Segment segment : this.segments) {
+      result += segment.size;
+    }
+    return result;
+  }
+
+  /**
+   * One independently locked cu-pipe. The segment itself is used as the monitor so that it shows
+   * up by class name in thread dumps.
+   */
+  private static class Segment {
+    private LRUClockNode head;
+    private LRUClockNode tail;
+    private volatile int size;
+
+    Segment() {
+      clear();
+    }
+
+    synchronized void clear() {
+      // drop the old guards so that concurrent operations on nodes from before the clear can
+      // not corrupt the new list, see NewLRUClockHand.initHeadAndTail
+      this.head = new GuardNode();
+      this.tail = new GuardNode();
+      this.head.setNextLRUNode(this.tail);
+      this.tail.setPrevLRUNode(this.head);
+      this.size = 0;
+    }
+
+    synchronized void append(LRUClockNode aNode) {
+      if (aNode.nextLRUNode() != null || aNode.prevLRUNode() != null) {
+        return;
+      }
+      aNode.setNextLRUNode(this.tail);
+      this.tail.prevLRUNode().setNextLRUNode(aNode);
+      aNode.setPrevLRUNode(this.tail.prevLRUNode());
+      this.tail.setPrevLRUNode(aNode);
+      this.size++;
+    }
+
+    synchronized LRUClockNode removeHead() {
+      LRUClockNode aNode = this.head.nextLRUNode();
+      if (aNode == this.tail) {
+        return null;
+      }
+      LRUClockNode next = aNode.nextLRUNode();
+      this.head.setNextLRUNode(next);
+      next.setPrevLRUNode(this.head);
+      aNode.setNextLRUNode(null);
+      aNode.setPrevLRUNode(null);
+      this.size--;
+      return aNode;
+    }
+
+    synchronized boolean unlink(LRUClockNode entry) {
+      LRUClockNode next = entry.nextLRUNode();
+      LRUClockNode prev = entry.prevLRUNode();
+      if (next == null || prev == null) {
+        // not in the list anymore.
+        return false;
+      }
+      next.setPrevLRUNode(prev);
+      prev.setNextLRUNode(next);
+      entry.setNextLRUNode(null);
+      entry.setPrevLRUNode(null);
+      this.size--;
+      return true;
+    }
+
+    synchronized long count() {
+      long count = 0;
+      for (LRUClockNode aNode = this.head.nextLRUNode(); aNode != this.tail; aNode =
+          aNode.nextLRUNode()) {
+        count++;
+      }
+      return count;
+    }
+  }
+}
@@ -57,6 +57,11 @@ public enum CommunicationMode {
    * queue (register interest, create cq, etc.).
    */
   ClientToServerForQueue((byte) 107, "clientToServerForQueue"),
+  /**
+   * Byte meaning that the Socket is being used for 'client to server' communication with many
+   * outstanding requests at once. Replies are matched to requests by the id in the message header.
+   */
+  ClientToServerMultiplexed((byte) 108, "clientMultiplexed"),
   /**
    * For the new client-server protocol, which ignores the usual handshake mechanism.
    */
@@ -66,7 +71,8 @@ public enum CommunicationMode {
    * is this a client-initiated operations connection?
    */
   public boolean isClientOperations() {
-    return this == ClientToServer || this == ProtobufClientServerProtocol;
+    return this == ClientToServer || this == ClientToServerMultiplexed
+        || this == ProtobufClientServerProtocol;
   }
 
   /**
@@ -75,7 +81,7 @@ public enum CommunicationMode {
   public boolean isClientToServerOrSubscriptionFeed() {
     return this == ClientToServer || this == PrimaryServerToClient
         || this == SecondaryServerToClient || this == ClientToServerForQueue
-        || this == ProtobufClientServerProtocol;
+        || this == ClientToServerMultiplexed || this == ProtobufClientServerProtocol;
   }
 
   /**
@@ -89,10 +95,17 @@ public enum CommunicationMode {
    * is this connection counted in the ClientServerCnxCount statistic?
    */
   public boolean isCountedAsClientServerConnection() {
-    return this == ClientToServer || this == MonitorToServer
+    return this == ClientToServer || this == MonitorToServer || this == ClientToServerMultiplexed
         || this == ProtobufClientServerProtocol;
   }
 
+  /**
+   * does this connection carry many outstanding requests at once?
+   */
+  public boolean isMultiplexed() {
+    return this == ClientToServerMultiplexed;
+  }
+
   /**
    * is this a WAN connection?
    */
@@ -149,6 +162,8 @@ public enum CommunicationMode {
         return UnsuccessfulServerToClient;
       case 107:
         return ClientToServerForQueue;
+      case 108:
+        return ClientToServerMultiplexed;
       case 110:
         return ProtobufClientServerProtocol;
       default:
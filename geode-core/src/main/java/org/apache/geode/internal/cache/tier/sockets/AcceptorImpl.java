@@ -83,6 +83,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
@@ -114,6 +115,11 @@ public class AcceptorImpl extends Acceptor implements Runnable, CommBufferPool {
    */
   private final ThreadPoolExecutor hsPool;
 
+  /**
+   * A pool that runs the reader of each multiplexed client connection and the requests it reads.
+   */
+  private final ThreadPoolExecutor multiplexedPool;
+
   /**
    * The port on which this acceptor listens for client connections
    */
@@ -343,12 +349,24 @@ public class AcceptorImpl extends Acceptor implements Runnable, CommBufferPool {
       }
       this.maxConnections = tmp_maxConnections;
     }
+    if (!isGatewayReceiver) {
+      // If configured use SSL properties for cache-server
+      this.socketCreator =
+          SocketCreatorFactory.getSocketCreatorForComponent(SecurableCommunicationChannel.SERVER);
+    } else {
+      this.socketCreator =
+          SocketCreatorFactory.getSocketCreatorForComponent(SecurableCommunicationChannel.GATEWAY);
+    }
     {
       int tmp_maxThreads = maxThreads;
       if (maxThreads == CacheServer.DEFAULT_MAX_THREADS) {
         // consult system properties for 5.0.2 backwards compatibility
         if (DEPRECATED_SELECTOR) {
           tmp_maxThreads = DEPRECATED_SELECTOR_POOL_SIZE;
+        } else if (!THREAD_PER_CONNECTION && !isGatewayReceiver && !this.socketCreator.useSSL()) {
+          // the selector cannot read SSL sockets, and gateway receivers may have transport filters
+          // that only the thread per connection sockets apply
+          tmp_maxThreads = DEFAULT_SELECTOR_POOL_SIZE;
         }
       }
       if (tmp_maxThreads < 0) {
@@ -363,17 +381,23 @@ public class AcceptorImpl extends Acceptor implements Runnable, CommBufferPool {
           isWindows = true;
         }
       }
+      // only warn about ignoring max-threads if it was configured
+      final boolean warn = maxThreads != CacheServer.DEFAULT_MAX_THREADS || DEPRECATED_SELECTOR;
       if (tmp_maxThreads > 0 && isWindows) {
         // bug #40472 and JDK bug 6230761 - NIO can't be used with IPv6 on Windows
         if (getBindAddress() instanceof Inet6Address) {
-          logger.warn(LocalizedMessage
-              .create(LocalizedStrings.AcceptorImpl_IGNORING_MAX_THREADS_DUE_TO_JROCKIT_NIO_BUG));
+          if (warn) {
+            logger.warn(LocalizedMessage
+                .create(LocalizedStrings.AcceptorImpl_IGNORING_MAX_THREADS_DUE_TO_JROCKIT_NIO_BUG));
+          }
           tmp_maxThreads = 0;
         }
         // bug #40198 - Selector.wakeup() hangs if VM starts to exit
         if (isJRockit) {
-          logger.warn(LocalizedMessage
-              .create(LocalizedStrings.AcceptorImpl_IGNORING_MAX_THREADS_DUE_TO_WINDOWS_IPV6_BUG));
+          if (warn) {
+            logger.warn(LocalizedMessage.create(
+                LocalizedStrings.AcceptorImpl_IGNORING_MAX_THREADS_DUE_TO_WINDOWS_IPV6_BUG));
+          }
           tmp_maxThreads = 0;
         }
       }
@@ -404,15 +428,6 @@ public class AcceptorImpl extends Acceptor implements Runnable, CommBufferPool {
     }
 
     {
-      if (!isGatewayReceiver) {
-        // If configured use SSL properties for cache-server
-        this.socketCreator =
-            SocketCreatorFactory.getSocketCreatorForComponent(SecurableCommunicationChannel.SERVER);
-      } else {
-        this.socketCreator = SocketCreatorFactory
-            .getSocketCreatorForComponent(SecurableCommunicationChannel.GATEWAY);
-      }
-
       final InternalCache gc;
       if (getCachedRegionHelper() != null) {
         gc = getCachedRegionHelper().getCache();
@@ -621,6 +636,38 @@ public class AcceptorImpl extends Acceptor implements Runnable, CommBufferPool {
       }
       this.hsPool = tmp_hsPool;
     }
+    {
+      String gName = "Multiplexed ServerConnection on port " + this.localPort;
+      final ThreadGroup socketThreadGroup = LoggingThreadGroup.createThreadGroup(gName, logger);
+
+      ThreadFactory socketThreadFactory = new ThreadFactory() {
+        int connNum = -1;
+
+        public Thread newThread(final Runnable command) {
+          int tnum;
+          synchronized (this) {
+            tnum = ++connNum;
+          }
+          String tName = socketThreadGroup.getName() + " Thread " + tnum;
+          getStats().incConnectionThreadsCreated();
+          Runnable r = new Runnable() {
+            public void run() {
+              try {
+                command.run();
+              } catch (CancelException e) {
+                // ignore
+              } finally {
+                ConnectionTable.releaseThreadsSockets();
+              }
+            }
+          };
+          return new Thread(socketThreadGroup, r, tName);
+        }
+      };
+      // the number of threads is bounded by the number of lanes of each multiplexed connection
+      this.multiplexedPool = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+          new SynchronousQueue(), socketThreadFactory);
+    }
 
     isAuthenticationRequired = this.securityService.isClientSecurityRequired();
 
@@ -641,6 +688,13 @@ public class AcceptorImpl extends Acceptor implements Runnable, CommBufferPool {
     return this.stats;
   }
 
+  /**
+   * Returns the pool that runs the requests read by multiplexed client connections.
+   */
+  ExecutorService getMultiplexedPool() {
+    return this.multiplexedPool;
+  }
+
   /**
    * Returns true if this acceptor is using a selector to detect client events.
    */
@@ -666,6 +720,19 @@ public class AcceptorImpl extends Acceptor implements Runnable, CommBufferPool {
   @Deprecated
   private final static int DEPRECATED_SELECTOR_POOL_SIZE =
       Integer.getInteger("BridgeServer.SELECTOR_POOL_SIZE", 16).intValue();
+  /**
+   * If true a cache server whose max-threads is not configured dedicates a thread to each client
+   * connection, as it did before the selector became the default.
+   */
+  private static final boolean THREAD_PER_CONNECTION =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "BridgeServer.THREAD_PER_CONNECTION");
+
+  /**
+   * The number of threads that process client messages when max-threads is not configured.
+   */
+  static final int DEFAULT_SELECTOR_POOL_SIZE =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "BridgeServer.SELECTOR_POOL_SIZE",
+          Math.max(MINIMUM_MAX_CONNECTIONS, 4 * Runtime.getRuntime().availableProcessors()));
   private final static int HANDSHAKE_POOL_SIZE =
       Integer.getInteger("BridgeServer.HANDSHAKE_POOL_SIZE", 4).intValue();
 
@@ -1473,11 +1540,15 @@ public class AcceptorImpl extends Acceptor implements Runnable, CommBufferPool {
     if (notForQueue) {
       incClientServerCnxCount();
     }
-    if (isSelector()) {
+    if (isSelector() && !communicationMode.isMultiplexed()) {
       serverConn.registerWithSelector();
     } else {
       try {
-        pool.execute(serverConn);
+        if (communicationMode.isMultiplexed()) {
+          this.multiplexedPool.execute(serverConn);
+        } else {
+          pool.execute(serverConn);
+        }
       } catch (RejectedExecutionException rejected) {
         if (!isRunning()) {
           return;
@@ -1638,6 +1709,7 @@ public class AcceptorImpl extends Acceptor implements Runnable, CommBufferPool {
       this.pool.shutdownNow();
     }
     this.hsPool.shutdownNow();
+    this.multiplexedPool.shutdownNow();
   }
 
   private void shutdownSCs() {
@@ -1654,6 +1726,7 @@ public class AcceptorImpl extends Acceptor implements Runnable, CommBufferPool {
     return !isRunning() && !thread.isAlive()
         && (selectorThread == null || !selectorThread.isAlive())
         && (pool == null || pool.isShutdown()) && (hsPool == null || hsPool.isShutdown())
+        && (multiplexedPool == null || multiplexedPool.isShutdown())
         && (selector == null || !selector.isOpen()) && (tmpSel == null || !tmpSel.isOpen());
   }
 
@@ -188,14 +188,16 @@ public abstract class BaseCommand implements Command {
 
   /**
    * checks to see if this thread needs to masquerade as a transactional thread. clients after
-   * GFE_66 should be able to start a transaction.
+   * GFE_66 should be able to start a transaction. Multiplexed connections use the transaction id
+   * of a message to match the reply to the request, and never carry transactional operations.
    * 
    * @return true if thread should masquerade as a transactional thread.
    */
   protected boolean shouldMasqueradeForTx(Message clientMessage,
       ServerConnection serverConnection) {
     return serverConnection.getClientVersion().compareTo(Version.GFE_66) >= 0
-        && clientMessage.getTransactionId() > TXManagerImpl.NOTX;
+        && clientMessage.getTransactionId() > TXManagerImpl.NOTX
+        && !serverConnection.getCommunicationMode().isMultiplexed();
   }
 
   /**
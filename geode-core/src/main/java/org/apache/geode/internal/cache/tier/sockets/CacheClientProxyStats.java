@@ -382,4 +382,12 @@ public class CacheClientProxyStats implements MessageStats {
   public void decMessagesBeingReceived(int bytes) {
     // noop since we never receive
   }
+
+  public void incCompressedBytesSent(long uncompressedBytes, long compressedBytes) {
+    // noop since messages to the client's subscription queue are not compressed
+  }
+
+  public void incCompressedBytesReceived(long compressedBytes, long uncompressedBytes) {
+    // noop since we never receive
+  }
 }
@@ -1892,6 +1892,16 @@ public class CacheClientUpdater extends Thread implements ClientUpdater, Disconn
       }
     }
 
+    @Override
+    public void incCompressedBytesSent(long uncompressedBytes, long compressedBytes) {
+      // noop since we never send messages
+    }
+
+    @Override
+    public void incCompressedBytesReceived(long compressedBytes, long uncompressedBytes) {
+      // noop since messages from the subscription queue are not compressed
+    }
+
     /**
      * Returns the current time (ns).
      * 
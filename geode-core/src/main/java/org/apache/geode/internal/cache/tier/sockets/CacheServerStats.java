@@ -43,6 +43,8 @@ public class CacheServerStats implements MessageStats {
 
   int writeGetResponseTimeId;
 
+  int getRequestsCoalescedId;
+
   // PutAll request / response statistics
   int putAllRequestsId;
   int readPutAllRequestTimeId;
@@ -202,6 +204,10 @@ public class CacheServerStats implements MessageStats {
 
   int receivedBytesId;
   int sentBytesId;
+  int compressedBytesReceivedId;
+  int uncompressedBytesReceivedId;
+  int compressedBytesSentId;
+  int uncompressedBytesSentId;
 
   int outOfOrderBatchIdsId;
   int abandonedWriteRequestsId;
@@ -254,6 +260,9 @@ public class CacheServerStats implements MessageStats {
             "Number of get responses written to the cache client.", "operations"),
         statisticsFactory.createLongCounter("writeGetResponseTime",
             "Total time spent in writing get responses.", "nanoseconds"),
+        statisticsFactory.createIntCounter("getRequestsCoalesced",
+            "Number of cache client get requests answered with the lookup of a concurrent request for the same key.",
+            "operations"),
 
         statisticsFactory.createIntCounter("putRequests", "Number of cache client put requests.",
             "operations"),
@@ -448,6 +457,17 @@ public class CacheServerStats implements MessageStats {
             "Total number of bytes received from clients.", "bytes"),
         statisticsFactory.createLongCounter("sentBytes", "Total number of bytes sent to clients.",
             "bytes"),
+        statisticsFactory.createLongCounter("compressedBytesReceived",
+            "Total number of bytes of the compressed message parts received from clients.",
+            "bytes"),
+        statisticsFactory.createLongCounter("uncompressedBytesReceived",
+            "Total number of bytes the compressed message parts received from clients were decompressed to.",
+            "bytes"),
+        statisticsFactory.createLongCounter("compressedBytesSent",
+            "Total number of bytes of the compressed message parts sent to clients.", "bytes"),
+        statisticsFactory.createLongCounter("uncompressedBytesSent",
+            "Total number of bytes the message parts sent compressed to clients had before they were compressed.",
+            "bytes"),
         statisticsFactory.createIntGauge("messagesBeingReceived",
             "Current number of message being received off the network or being processed after reception.",
             "messages"),
@@ -496,6 +516,7 @@ public class CacheServerStats implements MessageStats {
     processGetTimeId = this.stats.nameToId("processGetTime");
     getResponsesId = this.stats.nameToId("getResponses");
     writeGetResponseTimeId = this.stats.nameToId("writeGetResponseTime");
+    getRequestsCoalescedId = this.stats.nameToId("getRequestsCoalesced");
 
     putRequestsId = this.stats.nameToId("putRequests");
     readPutRequestTimeId = this.stats.nameToId("readPutRequestTime");
@@ -590,6 +611,10 @@ public class CacheServerStats implements MessageStats {
 
     receivedBytesId = this.stats.nameToId("receivedBytes");
     sentBytesId = this.stats.nameToId("sentBytes");
+    compressedBytesReceivedId = this.stats.nameToId("compressedBytesReceived");
+    uncompressedBytesReceivedId = this.stats.nameToId("uncompressedBytesReceived");
+    compressedBytesSentId = this.stats.nameToId("compressedBytesSent");
+    uncompressedBytesSentId = this.stats.nameToId("uncompressedBytesSent");
 
     messagesBeingReceivedId = this.stats.nameToId("messagesBeingReceived");
     messageBytesBeingReceivedId = this.stats.nameToId("messageBytesBeingReceived");
@@ -700,6 +725,10 @@ public class CacheServerStats implements MessageStats {
     this.stats.incInt(getResponsesId, 1);
   }
 
+  public void incGetRequestsCoalesced() {
+    this.stats.incInt(getRequestsCoalescedId, 1);
+  }
+
   public void incReadPutAllRequestTime(long delta) {
     this.stats.incLong(readPutAllRequestTimeId, delta);
     this.stats.incInt(putAllRequestsId, 1);
@@ -941,6 +970,16 @@ public class CacheServerStats implements MessageStats {
     this.stats.incLong(sentBytesId, v);
   }
 
+  public void incCompressedBytesSent(long uncompressedBytes, long compressedBytes) {
+    this.stats.incLong(uncompressedBytesSentId, uncompressedBytes);
+    this.stats.incLong(compressedBytesSentId, compressedBytes);
+  }
+
+  public void incCompressedBytesReceived(long compressedBytes, long uncompressedBytes) {
+    this.stats.incLong(compressedBytesReceivedId, compressedBytes);
+    this.stats.incLong(uncompressedBytesReceivedId, uncompressedBytes);
+  }
+
   public void incMessagesBeingReceived(int bytes) {
     stats.incInt(messagesBeingReceivedId, 1);
     if (bytes > 0) {
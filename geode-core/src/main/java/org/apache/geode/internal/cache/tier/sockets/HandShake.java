@@ -223,6 +223,20 @@ public class HandShake implements ClientHandShake {
   /** @since GemFire 5.7 */
   private byte clientConflation = CONFLATION_DEFAULT;
 
+  /**
+   * Set in the override byte by a client that asks for {@link MessageCompression}. Servers older
+   * than 1.3 ignore it, as they only read the bits of the client conflation.
+   * 
+   * @since Geode 1.3
+   */
+  private static final byte COMPRESS_MESSAGES_OVERRIDE = (byte) 0x40;
+
+  /** True if the client asked for message compression in its handshake */
+  private boolean clientRequestsCompression = false;
+
+  /** True if the server agreed to the client's request for message compression */
+  private boolean compressingMessages = false;
+
   /**
    * @since GemFire 6.0.3 List of per client property override bits.
    */
@@ -415,6 +429,9 @@ public class HandShake implements ClientHandShake {
        * this.clientConflation);
        */
       override = this.clientConflation;
+      if (MessageCompression.isEnabled()) {
+        override |= COMPRESS_MESSAGES_OVERRIDE;
+      }
       this.overrides = new byte[] {override};
     }
   }
@@ -423,6 +440,7 @@ public class HandShake implements ClientHandShake {
   private void setOverrides(byte[] values) {
     byte override = values[0];
     setClientConflation(((byte) (override & 0x03)));
+    this.clientRequestsCompression = (override & COMPRESS_MESSAGES_OVERRIDE) != 0;
     /*
      * override = (byte)(override >>> 2); setRemoveUnresponsiveClientOverride(((byte)(override &
      * 0x03))); override = (byte)(override >>> 2); setNotifyBySubscriptionOverride(((byte)(override
@@ -1147,6 +1165,12 @@ public class HandShake implements ClientHandShake {
       dos.writeBoolean(((InternalDistributedSystem) this.system).getConfig().getDeltaPropagation());
     }
 
+    // Write whether messages are compressed if this is a 1.3 or greater client
+    if (!communicationMode.isWAN() && this.clientVersion.compareTo(Version.GEODE_130) >= 0) {
+      this.compressingMessages = this.clientRequestsCompression && MessageCompression.isEnabled();
+      dos.writeBoolean(this.compressingMessages);
+    }
+
     // Neeraj: Now if the communication mode is GATEWAY_TO_GATEWAY
     // and principal not equal to null then send the credentials also
     if (communicationMode.isWAN() && principal != null) {
@@ -1259,6 +1283,13 @@ public class HandShake implements ClientHandShake {
         deltaEnabledOnServer = dis.readBoolean();
       }
 
+      // Read whether messages are compressed from a 1.3 or greater server
+      if (!communicationMode.isWAN() && currentClientVersion.compareTo(Version.GEODE_130) >= 0
+          && ((InternalDistributedMember) member).getVersionObject()
+              .compareTo(Version.GEODE_130) >= 0) {
+        serverQStatus.setCompressingMessages(dis.readBoolean());
+      }
+
       // validate that the remote side has a different distributed system id.
       if (communicationMode.isWAN() && Version.GFE_66.compareTo(conn.getWanSiteVersion()) <= 0
           && currentClientVersion.compareTo(Version.GFE_66) >= 0) {
@@ -1429,6 +1460,15 @@ public class HandShake implements ClientHandShake {
     this.multiuserSecureMode = bool;
   }
 
+  /**
+   * Returns true if this server side handshake agreed to compress the messages of the connection.
+   * 
+   * @since Geode 1.3
+   */
+  public boolean isCompressingMessages() {
+    return this.compressingMessages;
+  }
+
   public boolean isMultiuserSecureMode() {
     return this.multiuserSecureMode;
   }
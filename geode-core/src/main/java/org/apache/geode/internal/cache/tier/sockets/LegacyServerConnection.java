@@ -24,6 +24,7 @@ import org.apache.geode.internal.security.SecurityService;
 
 import java.io.IOException;
 import java.net.Socket;
+import java.nio.channels.SelectableChannel;
 
 /**
  * Handles everything but the new client protocol.
@@ -76,6 +77,38 @@ public class LegacyServerConnection extends ServerConnection {
     return true;
   }
 
+  /**
+   * Used by tests to process requests on a connection without doing its handshake first.
+   */
+  void setHandshakeDoneForTesting() {
+    this.doHandshake = false;
+  }
+
+  @Override
+  protected boolean readAheadRequest() throws IOException {
+    if (this.doHandshake) {
+      return false;
+    }
+    SelectableChannel channel = getSelectableChannel();
+    try {
+      channel.configureBlocking(false);
+      if (getRequestMessage().prefetchHeader()) {
+        channel.configureBlocking(true);
+        return true;
+      }
+      return false;
+    } catch (IOException e) {
+      // the client closed or reset the connection after its last request, which is how clients
+      // normally disconnect
+      if (logger.isDebugEnabled()) {
+        logger.debug("{}: connection closed by the client between requests", this.name, e);
+      }
+      setFlagProcessMessagesAsFalse();
+      setClientDisconnectedException(e);
+      return false;
+    }
+  }
+
   protected void doOneMessage() {
     if (this.doHandshake) {
       doHandshake();
@@ -15,6 +15,7 @@
 package org.apache.geode.internal.cache.tier.sockets;
 
 import org.apache.geode.SerializationException;
+import org.apache.geode.compression.Compressor;
 import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.Assert;
 import org.apache.geode.internal.HeapDataOutputStream;
@@ -36,6 +37,9 @@ import java.io.OutputStream;
 import java.net.Socket;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
@@ -87,6 +91,14 @@ public class Message {
 
   static final int DEFAULT_MAX_MESSAGE_SIZE = 1073741824;
 
+  /**
+   * If true parts too large for the comm buffer are not copied into it when the message is sent on
+   * a socket channel. Their contents, including off-heap values, are written together with the
+   * comm buffer by gathering writes instead.
+   */
+  static final boolean GATHERING_WRITES =
+      !Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "Message.disableGatheringWrites");
+
   private static final Logger logger = LogService.getLogger();
 
   private static final int PART_HEADER_SIZE = 5; // 4 bytes for length, 1 byte for isObject
@@ -144,6 +156,16 @@ public class Message {
   protected InputStream inputStream = null;
   private boolean messageModified = true;
 
+  /**
+   * Buffers waiting to be written by the next gathering write, and the position in the comm buffer
+   * of the first byte that has not yet been added to them
+   */
+  private final List<ByteBuffer> gatheredBuffers = new ArrayList<>();
+  private int gatheredPosition = 0;
+
+  /** Reused to pass gatheredBuffers to the channel, and cleared after each write */
+  private ByteBuffer[] gatheredArray = new ByteBuffer[0];
+
   /** is this message a retry of a previously sent message? */
   private boolean isRetry;
 
@@ -154,6 +176,8 @@ public class Message {
   private Semaphore dataLimiter = null;
   private Semaphore messageLimiter = null;
   private boolean readHeader = false;
+  /** The number of header bytes {@link #prefetchHeader()} left at the start of the comm buffer */
+  private int prefetchedHeaderLength = 0;
   private int chunkSize = DEFAULT_CHUNK_SIZE;
 
   Part securePart = null;
@@ -161,6 +185,9 @@ public class Message {
 
   private Version version;
 
+  /** Compresses the large parts of this message when it is sent, if not null */
+  private Compressor compressor;
+
   /**
    * Creates a new message with the given number of parts
    */
@@ -197,6 +224,22 @@ public class Message {
     this.version = clientVersion;
   }
 
+  /**
+   * Sets the compressor of the parts of this message, which is only set on a connection whose
+   * handshake agreed to {@link MessageCompression}. A message sent by a server uses the compressor
+   * of its server connection instead.
+   */
+  public void setCompressor(Compressor compressor) {
+    this.compressor = compressor;
+  }
+
+  private Compressor getCompressor() {
+    if (this.compressor == null && this.serverConnection != null) {
+      return this.serverConnection.getMessageCompressor();
+    }
+    return this.compressor;
+  }
+
   public void setMessageHasSecurePartFlag() {
     this.flags |= MESSAGE_HAS_SECURE_PART;
   }
@@ -561,8 +604,14 @@ public class Message {
         long headerLen = 0;
         int partsToTransmit = this.numberOfParts;
 
+        Part[] parts = this.partsList;
+        Compressor compressor = getCompressor();
+        if (compressor != null) {
+          parts = compressParts(compressor);
+        }
+
         for (int i = 0; i < this.numberOfParts; i++) {
-          Part part = this.partsList[i];
+          Part part = parts[i];
           headerLen += PART_HEADER_SIZE;
           totalPartLen += part.getLength();
         }
@@ -590,9 +639,10 @@ public class Message {
         }
 
         commBuffer.clear();
+        this.gatheredPosition = 0;
         packHeaderInfoForSending(msgLen, securityPart != null);
         for (int i = 0; i < partsToTransmit; i++) {
-          Part part = i == this.numberOfParts ? securityPart : this.partsList[i];
+          Part part = i == this.numberOfParts ? securityPart : parts[i];
 
           if (commBuffer.remaining() < PART_HEADER_SIZE) {
             flushBuffer();
@@ -603,6 +653,9 @@ public class Message {
           commBuffer.put(part.getTypeCode());
           if (partLen <= commBuffer.remaining()) {
             part.writeTo(commBuffer);
+          } else if (this.socketChannel != null && GATHERING_WRITES
+              && gatherPart(part, commBuffer)) {
+            // the part will be written by the next flushBuffer
           } else {
             flushBuffer();
             if (this.socketChannel != null) {
@@ -615,7 +668,7 @@ public class Message {
             }
           }
         }
-        if (commBuffer.position() != 0) {
+        if (commBuffer.position() != 0 || !this.gatheredBuffers.isEmpty()) {
           flushBuffer();
         }
         this.messageModified = false;
@@ -624,13 +677,95 @@ public class Message {
         }
       }
     } finally {
+      // do not hold on to the contents of the parts, which may be off-heap values
+      this.gatheredBuffers.clear();
       if (clearMessage) {
         clearParts();
       }
     }
   }
 
+  /**
+   * Returns the parts of this message with those at least {@link MessageCompression#THRESHOLD}
+   * bytes long replaced by compressed copies. The parts themselves are not changed, so the message
+   * can be sent again on a connection that does not compress.
+   */
+  private Part[] compressParts(Compressor compressor) {
+    Part[] parts = new Part[this.numberOfParts];
+    for (int i = 0; i < this.numberOfParts; i++) {
+      Part part = this.partsList[i];
+      parts[i] = part.compress(compressor, MessageCompression.THRESHOLD);
+      if (parts[i] != part && this.messageStats != null) {
+        this.messageStats.incCompressedBytesSent(part.getLength(), parts[i].getLength());
+      }
+    }
+    return parts;
+  }
+
+  /**
+   * Adds the bytes written to the comm buffer since the last gathered part, followed by the
+   * contents of the given part, to the buffers of the next gathering write.
+   * 
+   * @return false if the contents of the part are not available as buffers
+   */
+  private boolean gatherPart(Part part, ByteBuffer commBuffer) {
+    int numGathered = this.gatheredBuffers.size();
+    addCommBufferToGathered(commBuffer);
+    if (!part.addBuffersTo(this.gatheredBuffers)) {
+      while (this.gatheredBuffers.size() > numGathered) {
+        this.gatheredBuffers.remove(this.gatheredBuffers.size() - 1);
+      }
+      return false;
+    }
+    this.gatheredPosition = commBuffer.position();
+    return true;
+  }
+
+  private void addCommBufferToGathered(ByteBuffer commBuffer) {
+    if (commBuffer.position() > this.gatheredPosition) {
+      ByteBuffer bb = commBuffer.duplicate();
+      bb.flip();
+      bb.position(this.gatheredPosition);
+      this.gatheredBuffers.add(bb);
+    }
+  }
+
+  private void flushGatheredBuffers() throws IOException {
+    final ByteBuffer cb = getCommBuffer();
+    addCommBufferToGathered(cb);
+    final int numBufs = this.gatheredBuffers.size();
+    if (this.gatheredArray.length < numBufs) {
+      this.gatheredArray = new ByteBuffer[numBufs];
+    }
+    final ByteBuffer[] bufs = this.gatheredBuffers.toArray(this.gatheredArray);
+    long bytesToSend = 0;
+    for (int i = 0; i < numBufs; i++) {
+      bytesToSend += bufs[i].remaining();
+    }
+    try {
+      int offset = 0;
+      while (offset < numBufs) {
+        this.socketChannel.write(bufs, offset, numBufs - offset);
+        while (offset < numBufs && !bufs[offset].hasRemaining()) {
+          offset++;
+        }
+      }
+    } finally {
+      Arrays.fill(bufs, 0, numBufs, null);
+    }
+    if (this.messageStats != null) {
+      this.messageStats.incSentBytes(bytesToSend);
+    }
+    this.gatheredBuffers.clear();
+    this.gatheredPosition = 0;
+    cb.clear();
+  }
+
   void flushBuffer() throws IOException {
+    if (!this.gatheredBuffers.isEmpty()) {
+      flushGatheredBuffers();
+      return;
+    }
     final ByteBuffer cb = getCommBuffer();
     if (this.socketChannel != null) {
       cb.flip();
@@ -666,7 +801,9 @@ public class Message {
     final int headerLength = getHeaderLength();
     if (this.socketChannel != null) {
       cb.limit(headerLength);
-      do {
+      cb.position(this.prefetchedHeaderLength);
+      this.prefetchedHeaderLength = 0;
+      while (cb.remaining() > 0) {
         int bytesRead = this.socketChannel.read(cb);
         if (bytesRead == -1) {
           throw new EOFException(
@@ -676,7 +813,7 @@ public class Message {
         if (this.messageStats != null) {
           this.messageStats.incReceivedBytes(bytesRead);
         }
-      } while (cb.remaining() > 0);
+      }
       cb.flip();
 
     } else {
@@ -699,6 +836,38 @@ public class Message {
     }
   }
 
+  /**
+   * Reads whatever part of the header of the next message has already arrived, without waiting
+   * for more. The bytes are left in the comm buffer for the next {@link #recv()}, which must use
+   * the same comm buffer. The socket channel must be in non-blocking mode.
+   * 
+   * @return true if the header of the next message has started to arrive; false if nothing can be
+   *         read without blocking
+   * @throws EOFException if the other side closed the connection
+   */
+  boolean prefetchHeader() throws IOException {
+    if (this.socketChannel == null) {
+      return false;
+    }
+    final ByteBuffer cb = getCommBuffer();
+    cb.clear();
+    cb.limit(getHeaderLength());
+    int bytesRead = this.socketChannel.read(cb);
+    if (bytesRead == -1) {
+      throw new EOFException(
+          LocalizedStrings.Message_THE_CONNECTION_HAS_BEEN_RESET_WHILE_READING_THE_HEADER
+              .toLocalizedString());
+    }
+    if (bytesRead == 0) {
+      return false;
+    }
+    this.prefetchedHeaderLength = bytesRead;
+    if (this.messageStats != null) {
+      this.messageStats.incReceivedBytes(bytesRead);
+    }
+    return true;
+  }
+
   private void readHeaderAndPayload() throws IOException {
     fetchHeader();
     final ByteBuffer cb = getCommBuffer();
@@ -925,10 +1094,27 @@ public class Message {
           }
         }
       }
+      if ((partType & Part.COMPRESSED_BIT) != 0) {
+        partBytes = decompress(partBytes);
+        partType &= ~Part.COMPRESSED_BIT;
+      }
       part.init(partBytes, partType);
     }
   }
 
+  private byte[] decompress(byte[] compressed) throws IOException {
+    Compressor compressor = MessageCompression.getCompressor();
+    if (compressor == null) {
+      throw new IOException("Received a compressed message part but the "
+          + MessageCompression.COMPRESS_MESSAGES_PROPERTY + " property is not set");
+    }
+    byte[] decompressed = compressor.decompress(compressed);
+    if (this.messageStats != null) {
+      this.messageStats.incCompressedBytesReceived(compressed.length, decompressed.length);
+    }
+    return decompressed;
+  }
+
   protected int checkAndSetSecurityPart() {
     if ((this.flags | MESSAGE_HAS_SECURE_PART) == this.flags) {
       this.securePart = new Part();
@@ -1080,6 +1266,7 @@ public class Message {
     this.outputStream = null;
     this.cachedCommBuffer = null;
     this.messageStats = null;
+    this.compressor = null;
   }
 
   /**
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import org.apache.geode.GemFireConfigException;
+import org.apache.geode.compression.Compressor;
+import org.apache.geode.compression.SnappyCompressor;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.ClassPathLoader;
+
+/**
+ * The compression of the parts of the messages exchanged by clients and servers. A client that has
+ * {@link #COMPRESS_MESSAGES_PROPERTY} set asks for compression in its handshake, and a server that
+ * also has it set agrees. On the connections where they agreed, the parts of the messages either
+ * side sends that are at least {@link #THRESHOLD} bytes long are compressed, unless that does not
+ * make them smaller. Messages of the subscription queue are not compressed.
+ * <p>
+ * The parts are compressed with {@link SnappyCompressor} unless {@link #COMPRESSOR_PROPERTY} names
+ * another {@link Compressor}. The clients and the servers must use the same compressor.
+ *
+ * @since Geode 1.3
+ */
+public class MessageCompression {
+
+  public static final String COMPRESS_MESSAGES_PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "ClientServer.COMPRESS_MESSAGES";
+
+  public static final String COMPRESSOR_PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "ClientServer.MESSAGE_COMPRESSOR";
+
+  /**
+   * The length in bytes below which parts are sent uncompressed.
+   */
+  static final int THRESHOLD = Math.max(1, Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "ClientServer.COMPRESSION_THRESHOLD", 1024));
+
+  private static final Compressor COMPRESSOR = createCompressor();
+
+  private static Compressor createCompressor() {
+    if (!Boolean.getBoolean(COMPRESS_MESSAGES_PROPERTY)) {
+      return null;
+    }
+    String className = System.getProperty(COMPRESSOR_PROPERTY);
+    if (className == null) {
+      return SnappyCompressor.getDefaultInstance();
+    }
+    try {
+      return (Compressor) ClassPathLoader.getLatest().forName(className).newInstance();
+    } catch (Exception e) {
+      throw new GemFireConfigException(
+          "Unable to create the message compressor " + className + " named by "
+              + COMPRESSOR_PROPERTY,
+          e);
+    }
+  }
+
+  /**
+   * Returns true if this member asks for, or agrees to, the compression of messages.
+   */
+  public static boolean isEnabled() {
+    return COMPRESSOR != null;
+  }
+
+  /**
+   * Returns the compressor of message parts, or null if compression is not enabled.
+   */
+  public static Compressor getCompressor() {
+    return COMPRESSOR;
+  }
+
+  private MessageCompression() {
+    // no instances allowed
+  }
+}
@@ -28,4 +28,18 @@ public interface MessageStats {
   public void incMessagesBeingReceived(int bytes);
 
   public void decMessagesBeingReceived(int bytes);
+
+  /**
+   * Records a part that was compressed before it was sent.
+   *
+   * @since Geode 1.3
+   */
+  public void incCompressedBytesSent(long uncompressedBytes, long compressedBytes);
+
+  /**
+   * Records a part that was decompressed after it was received.
+   *
+   * @since Geode 1.3
+   */
+  public void incCompressedBytesReceived(long compressedBytes, long uncompressedBytes);
 }
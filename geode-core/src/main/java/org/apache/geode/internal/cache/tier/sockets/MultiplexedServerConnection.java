@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.geode.cache.client.internal.PoolImpl;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.tier.Acceptor;
+import org.apache.geode.internal.cache.tier.CachedRegionHelper;
+import org.apache.geode.internal.security.SecurityService;
+
+/**
+ * A connection from a client that sends many requests without waiting for their replies. The
+ * thread running this connection only reads requests. Each request is read into the request
+ * message of an idle {@link Lane} and executed by the acceptor's multiplexed pool, so requests from
+ * the same socket are processed in parallel. The client matches each reply to its request by the
+ * transaction id in the message header, which the commands copy from the request to the reply.
+ * <p>
+ * The number of lanes bounds the number of requests of one connection that execute at the same
+ * time; the connection stops reading when all of its lanes are busy.
+ *
+ * @since Geode 1.3
+ */
+public class MultiplexedServerConnection extends LegacyServerConnection {
+
+  static final int MAX_LANES =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "BridgeServer.MULTIPLEXED_LANES", 16);
+
+  /**
+   * How long the reader waits for a lane before checking whether the server is shutting down.
+   */
+  private static final long LANE_WAIT_MILLIS = 1000;
+
+  private final SecurityService securityService;
+  private final int socketBufferSize;
+
+  /**
+   * Written to by every lane; its monitor keeps their responses from interleaving.
+   */
+  private final ByteBuffer sendBuffer;
+
+  private final Semaphore lanePermits = new Semaphore(MAX_LANES);
+  private final ConcurrentLinkedQueue<Lane> idleLanes = new ConcurrentLinkedQueue<>();
+
+  public MultiplexedServerConnection(Socket socket, InternalCache internalCache,
+      CachedRegionHelper helper, CacheServerStats stats, int hsTimeout, int socketBufferSize,
+      String communicationModeStr, byte communicationMode, Acceptor acceptor,
+      SecurityService securityService) {
+    super(socket, internalCache, helper, stats, hsTimeout, socketBufferSize, communicationModeStr,
+        communicationMode, acceptor, securityService);
+    this.securityService = securityService;
+    this.socketBufferSize = socketBufferSize;
+    this.sendBuffer = allocateCommBuffer(socketBufferSize, socket);
+  }
+
+  @Override
+  public void run() {
+    try {
+      super.run();
+    } finally {
+      releaseLanes();
+    }
+  }
+
+  /**
+   * Reads the next request and hands it to a lane for execution.
+   */
+  @Override
+  protected void doNormalMsg() {
+    Lane lane = acquireLane();
+    if (lane == null) {
+      return;
+    }
+    boolean dispatched = false;
+    try {
+      lane.resetTransientData();
+      Message msg = BaseCommand.readRequest(lane);
+      if (msg != null && this.processMessages && !this.crHelper.isShutdown()) {
+        getAcceptor().getMultiplexedPool().execute(() -> execute(lane, msg));
+        dispatched = true;
+      }
+    } catch (RejectedExecutionException e) {
+      // the acceptor is shutting down
+      this.processMessages = false;
+    } finally {
+      if (!dispatched) {
+        lane.clearRequestMsg();
+        releaseLane(lane);
+      }
+    }
+  }
+
+  private void execute(Lane lane, Message msg) {
+    try {
+      lane.processRequest(msg);
+    } finally {
+      lane.setRequestSpecificTimeout(-1);
+      releaseLane(lane);
+    }
+  }
+
+  private Lane acquireLane() {
+    boolean interrupted = Thread.interrupted();
+    try {
+      while (this.processMessages && !this.crHelper.isShutdown()) {
+        try {
+          if (this.lanePermits.tryAcquire(LANE_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+            Lane lane = this.idleLanes.poll();
+            return lane != null ? lane : new Lane(this);
+          }
+        } catch (InterruptedException e) {
+          interrupted = true;
+          this.processMessages = false;
+        }
+      }
+      return null;
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void releaseLane(Lane lane) {
+    this.idleLanes.offer(lane);
+    this.lanePermits.release();
+  }
+
+  /**
+   * Returns the send buffer to the pool once the lanes still executing requests have finished with
+   * it. If they do not finish in time the buffer is left to the garbage collector.
+   */
+  private void releaseLanes() {
+    boolean interrupted = Thread.interrupted();
+    try {
+      if (this.lanePermits.tryAcquire(MAX_LANES, PoolImpl.SHUTDOWN_TIMEOUT,
+          TimeUnit.MILLISECONDS)) {
+        this.idleLanes.clear();
+        releaseCommBuffer(this.sendBuffer);
+      }
+    } catch (InterruptedException e) {
+      interrupted = true;
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Executes one request at a time on behalf of a multiplexed connection. A lane shares the socket
+   * and the handshake of its owner and has its own messages and transient request state, which
+   * the commands use as if the lane were the connection.
+   */
+  static class Lane extends ServerConnection {
+
+    private final MultiplexedServerConnection owner;
+
+    Lane(MultiplexedServerConnection owner) {
+      super(owner.getSocket(), owner.getCache(), owner.crHelper, owner.stats,
+          owner.getHandShakeTimeout(), owner.socketBufferSize, owner.getCommunicationModeString(),
+          owner.getCommunicationMode().getModeNumber(), owner.getAcceptor(),
+          owner.securityService);
+      this.owner = owner;
+      initializeLane(owner, owner.sendBuffer);
+    }
+
+    @Override
+    protected boolean doHandShake(byte epType, int qSize) {
+      throw new UnsupportedOperationException("A lane shares the handshake of its connection");
+    }
+
+    @Override
+    protected void doOneMessage() {
+      throw new UnsupportedOperationException("A lane does not read requests");
+    }
+
+    @Override
+    public void setFlagProcessMessagesAsFalse() {
+      super.setFlagProcessMessagesAsFalse();
+      this.owner.setFlagProcessMessagesAsFalse();
+    }
+
+    @Override
+    public void setClientDisconnectCleanly() {
+      super.setClientDisconnectCleanly();
+      this.owner.setClientDisconnectCleanly();
+    }
+
+    @Override
+    public void setClientDisconnectedException(Throwable e) {
+      super.setClientDisconnectedException(e);
+      this.owner.setClientDisconnectedException(e);
+    }
+  }
+}
@@ -18,9 +18,9 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
 
+import org.apache.geode.compression.Compressor;
 import org.apache.geode.internal.Assert;
 import org.apache.geode.internal.DSCODE;
 import org.apache.geode.internal.HeapDataOutputStream;
@@ -51,6 +51,13 @@ public class Part {
   private static final byte EMPTY_BYTEARRAY_CODE = 2;
   private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
 
+  /**
+   * Set in the type code sent with a part whose payload was compressed
+   * 
+   * @since Geode 1.3
+   */
+  static final byte COMPRESSED_BIT = 0x10;
+
   /**
    * The payload of this part. Could be null, a byte[] or a HeapDataOutputStream on the send side.
    * Could be null, or a byte[] on the receiver side.
@@ -162,6 +169,29 @@ public class Part {
     }
   }
 
+  /**
+   * Returns a part with the compressed payload of this part, or this part if its payload is
+   * shorter than the given threshold or compression would not make it smaller.
+   * 
+   * @since Geode 1.3
+   */
+  Part compress(Compressor compressor, int threshold) {
+    int length = getLength();
+    if (length < threshold) {
+      return this;
+    }
+    ByteBuffer payload = ByteBuffer.allocate(length);
+    writeTo(payload);
+    byte[] compressed = compressor.compress(payload.array());
+    if (compressed.length >= length) {
+      return this;
+    }
+    Part result = new Part();
+    result.part = compressed;
+    result.typeCode = (byte) (this.typeCode | COMPRESSED_BIT);
+    return result;
+  }
+
   public String getString() {
     if (this.part == null) {
       return null;
@@ -189,15 +219,22 @@ public class Part {
         | (((bytes[offset + 2]) << 8) & 0x0000FF00) | ((bytes[offset + 3]) & 0x000000FF);
   }
 
-  private static final Map<Integer, byte[]> CACHED_INTS = new ConcurrentHashMap<Integer, byte[]>();
+  /**
+   * The payload of this part when it was last set to an int, reused by later ints so that parts of
+   * messages that are sent repeatedly, like the reply messages of a server connection, do not
+   * allocate.
+   */
+  private byte[] intBytes;
+
+  /** Like {@link #intBytes} but for longs */
+  private byte[] longBytes;
 
   public void setInt(int v) {
-    byte[] bytes = CACHED_INTS.get(v);
+    byte[] bytes = this.intBytes;
     if (bytes == null) {
-      bytes = new byte[4];
-      encodeInt(v, bytes);
-      CACHED_INTS.put(v, bytes);
+      bytes = this.intBytes = new byte[4];
     }
+    encodeInt(v, bytes);
     this.typeCode = BYTE_CODE;
     this.part = bytes;
   }
@@ -218,7 +255,10 @@ public class Part {
   }
 
   public void setLong(long v) {
-    byte[] bytes = new byte[8];
+    byte[] bytes = this.longBytes;
+    if (bytes == null) {
+      bytes = this.longBytes = new byte[8];
+    }
     bytes[0] = (byte) ((v & 0xFF00000000000000l) >> 56);
     bytes[1] = (byte) ((v & 0x00FF000000000000l) >> 48);
     bytes[2] = (byte) ((v & 0x0000FF0000000000l) >> 40);
@@ -275,6 +315,18 @@ public class Part {
     return getObject(false);
   }
 
+  /**
+   * Returns the boolean held by this object part. A serialized Boolean is decoded in place instead
+   * of through {@link #getObject()}, which allocates an input stream on every call.
+   */
+  public boolean getBoolean() throws IOException, ClassNotFoundException {
+    byte[] bytes = getSerializedForm();
+    if (isObject() && bytes != null && bytes.length == 2 && bytes[0] == DSCODE.BOOLEAN) {
+      return bytes[1] != 0;
+    }
+    return ((Boolean) getObject()).booleanValue();
+  }
+
   public Object getStringOrObject() throws IOException, ClassNotFoundException {
     if (isObject()) {
       return getObject();
@@ -416,6 +468,38 @@ public class Part {
     }
   }
 
+  /**
+   * Add buffers holding the contents of this part to the specified list so that they can be
+   * written to a socket channel with a single gathering write. The buffers share the contents of
+   * this part instead of copying them, so an off-heap value must stay retained until the write
+   * completes.
+   * 
+   * @return false, without adding any buffers, if the contents are not available as buffers
+   */
+  boolean addBuffersTo(List<ByteBuffer> buffers) {
+    if (getLength() > 0) {
+      if (this.part instanceof byte[]) {
+        buffers.add(ByteBuffer.wrap((byte[]) this.part));
+      } else if (this.part instanceof StoredObject) {
+        ByteBuffer bb = ((StoredObject) this.part).createDirectByteBuffer();
+        if (bb == null) {
+          return false;
+        }
+        buffers.add(bb);
+      } else {
+        HeapDataOutputStream hdos = (HeapDataOutputStream) this.part;
+        hdos.finishWriting();
+        ByteBuffer[] bbs = new ByteBuffer[hdos.getByteBufferCount()];
+        hdos.fillByteBufferArray(bbs, 0);
+        for (ByteBuffer bb : bbs) {
+          // duplicate so that writing does not consume the stream, which may be sent again
+          buffers.add(bb.duplicate());
+        }
+      }
+    }
+    return true;
+  }
+
   static private String typeCodeToString(byte c) {
     switch (c) {
       case BYTE_CODE:
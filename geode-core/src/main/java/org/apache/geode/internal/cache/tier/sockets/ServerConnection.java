@@ -26,6 +26,7 @@ import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.security.Principal;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Random;
@@ -38,10 +39,14 @@ import org.apache.shiro.util.ThreadState;
 
 import org.apache.geode.CancelException;
 import org.apache.geode.DataSerializer;
+import org.apache.geode.GemFireIOException;
 import org.apache.geode.SystemFailure;
+import org.apache.geode.cache.Operation;
 import org.apache.geode.cache.client.internal.AbstractOp;
 import org.apache.geode.cache.client.internal.Connection;
+import org.apache.geode.compression.Compressor;
 import org.apache.geode.distributed.DistributedSystem;
+import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
 import org.apache.geode.internal.Assert;
 import org.apache.geode.internal.HeapDataOutputStream;
@@ -171,6 +176,14 @@ public abstract class ServerConnection implements Runnable {
   private ChunkedMessage registerInterestResponseMsg = new ChunkedMessage(1, Version.CURRENT);
   private ChunkedMessage keySetResponseMsg = new ChunkedMessage(1, Version.CURRENT);
 
+  /**
+   * The serialized form of the last operation part read on this connection and the operation it
+   * held. Clients send the same few operations over and over, so a part matching it is resolved
+   * without java deserialization.
+   */
+  private byte[] lastOperationBytes;
+  private Operation lastOperation;
+
   private final InternalLogWriter logWriter;
   private final InternalLogWriter securityLogWriter;
   final AcceptorImpl acceptor;
@@ -404,6 +417,18 @@ public abstract class ServerConnection implements Runnable {
     this.keySetResponseMsg.setVersion(v);
   }
 
+  /**
+   * Returns the compressor of the parts of the messages sent to the client, or null if the
+   * handshake did not agree to compress them.
+   */
+  Compressor getMessageCompressor() {
+    if (this.handshake instanceof HandShake
+        && ((HandShake) this.handshake).isCompressingMessages()) {
+      return MessageCompression.getCompressor();
+    }
+    return null;
+  }
+
   public void setRequestMsg(Message requestMsg) {
     this.requestMsg = requestMsg;
   }
@@ -724,6 +749,13 @@ public abstract class ServerConnection implements Runnable {
   protected void doNormalMsg() {
     Message msg = null;
     msg = BaseCommand.readRequest(this);
+    processRequest(msg);
+  }
+
+  /**
+   * Executes the command for a request that has been read from the socket.
+   */
+  void processRequest(Message msg) {
     ThreadState threadState = null;
     try {
       if (msg != null) {
@@ -1124,13 +1156,20 @@ public abstract class ServerConnection implements Runnable {
 
   public void run() {
     setOwner();
-    if (getAcceptor().isSelector()) {
+    if (isSelectorConnection()) {
       boolean finishedMsg = false;
       try {
         this.stats.decThreadQueueSize();
         if (!isTerminated()) {
           getAcceptor().setTLCommBuffer();
           doOneMessage();
+          // keep serving the requests that have already arrived instead of going back through
+          // the selector for each of them
+          for (int i = 1; i < MAX_MESSAGES_PER_DISPATCH && this.processMessages
+              && !(this.crHelper.isShutdown()) && readAheadRequest(); i++) {
+            this.unsetRequestSpecificTimeout();
+            doOneMessage();
+          }
           if (this.processMessages && !(this.crHelper.isShutdown())) {
             registerWithSelector(); // finished msg so reregister
             finishedMsg = true;
@@ -1183,6 +1222,22 @@ public abstract class ServerConnection implements Runnable {
     }
   }
 
+  /**
+   * The most requests a selector connection processes each time the selector hands it to a pool
+   * thread, so that busy connections do not starve the others.
+   */
+  private static final int MAX_MESSAGES_PER_DISPATCH = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "BridgeServer.MAX_MESSAGES_PER_DISPATCH", 16);
+
+  /**
+   * Returns true if the next request, or the end of the stream, has already arrived. Leaves the
+   * channel in blocking mode if it has, and in the non-blocking mode the selector needs if it has
+   * not. Connections that do not read their requests with the request message return false.
+   */
+  protected boolean readAheadRequest() throws IOException {
+    return false;
+  }
+
   /**
    * If registered with a selector then this will be the key we are registered with.
    */
@@ -1398,7 +1453,7 @@ public abstract class ServerConnection implements Runnable {
       theSocket = s;
       theSocket.setSendBufferSize(socketBufferSize);
       theSocket.setReceiveBufferSize(socketBufferSize);
-      if (getAcceptor().isSelector()) {
+      if (isSelectorConnection()) {
         // set it on the message to null. This causes Message
         // to fetch it from a thread local. That way we only need
         // one per thread in our selector thread pool instead of
@@ -1424,6 +1479,50 @@ public abstract class ServerConnection implements Runnable {
     }
   }
 
+  /**
+   * Returns true if the acceptor's selector hands this connection to a pool thread one message at
+   * a time. Multiplexed connections always have a reader thread of their own.
+   */
+  private boolean isSelectorConnection() {
+    return getAcceptor().isSelector() && !this.communicationMode.isMultiplexed();
+  }
+
+  /**
+   * Makes this connection a lane of the given multiplexed connection, sharing its socket and the
+   * state established by its handshake. Requests are read into this connection's request message
+   * with the owner's buffer. All responses are written with the given send buffer, whose monitor
+   * keeps the responses of lanes executing concurrently from interleaving on the socket.
+   */
+  void initializeLane(ServerConnection owner, ByteBuffer sendBuffer) {
+    releaseCommBuffer();
+    this.commBuffer = sendBuffer;
+    this.setHandshake(owner.handshake);
+    this.proxyId = owner.proxyId;
+    this.memberIdByteArray = owner.memberIdByteArray;
+    this.name = owner.name;
+    this.commands = owner.commands;
+    this.clientUserAuths = owner.clientUserAuths;
+    this.principal = owner.principal;
+    this.connectionId = owner.connectionId;
+    this.userAuthId = owner.userAuthId;
+
+    MessageStats msgStats = this.stats;
+    try {
+      this.requestMsg.setComms(this, this.theSocket, owner.commBuffer, msgStats);
+      this.replyMsg.setComms(this, this.theSocket, sendBuffer, msgStats);
+      this.responseMsg.setComms(this, this.theSocket, sendBuffer, msgStats);
+      this.errorMsg.setComms(this, this.theSocket, sendBuffer, msgStats);
+
+      this.chunkedResponseMsg.setComms(this, this.theSocket, sendBuffer, msgStats);
+      this.queryResponseMsg.setComms(this, this.theSocket, sendBuffer, msgStats);
+      this.executeFunctionResponseMsg.setComms(this, this.theSocket, sendBuffer, msgStats);
+      this.registerInterestResponseMsg.setComms(this, this.theSocket, sendBuffer, msgStats);
+      this.keySetResponseMsg.setComms(this, this.theSocket, sendBuffer, msgStats);
+    } catch (IOException e) {
+      throw new GemFireIOException("Unable to share the socket of " + owner.getName(), e);
+    }
+  }
+
   public boolean isOpen() {
     return !isClosed();
   }
@@ -1538,6 +1637,23 @@ public abstract class ServerConnection implements Runnable {
     return this.crHelper;
   }
 
+  /**
+   * Returns the object held by the given operation part. Put and destroy requests carry a
+   * java-serialized {@link Operation}; other objects are returned as deserialized.
+   */
+  public Object readOperation(Part part) throws IOException, ClassNotFoundException {
+    byte[] bytes = part.getSerializedForm();
+    if (part.isObject() && bytes != null && Arrays.equals(bytes, this.lastOperationBytes)) {
+      return this.lastOperation;
+    }
+    Object operation = part.getObject();
+    if (operation instanceof Operation && part.isObject() && bytes != null) {
+      this.lastOperationBytes = bytes.clone();
+      this.lastOperation = (Operation) operation;
+    }
+    return operation;
+  }
+
   /**
    * @return The CacheServerStats associated with the ServerConnection
    */
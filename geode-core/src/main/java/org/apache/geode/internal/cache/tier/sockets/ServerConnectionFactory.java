@@ -15,6 +15,7 @@
 
 package org.apache.geode.internal.cache.tier.sockets;
 
+import static org.apache.geode.internal.cache.tier.CommunicationMode.ClientToServerMultiplexed;
 import static org.apache.geode.internal.cache.tier.CommunicationMode.ProtobufClientServerProtocol;
 
 import java.io.IOException;
@@ -111,6 +112,14 @@ public class ServerConnectionFactory {
                 acceptor.getServerName()),
             securityService, findStreamAuthenticator(authenticationMode));
       }
+    } else if (communicationMode == ClientToServerMultiplexed.getModeNumber()) {
+      if (securityService.isClientSecurityRequired()) {
+        // the lanes of a multiplexed connection do not track per-request credentials
+        throw new IOException(
+            "Server received multiplexed client connection but client security is enabled");
+      }
+      return new MultiplexedServerConnection(socket, cache, helper, stats, hsTimeout,
+          socketBufferSize, communicationModeStr, communicationMode, acceptor, securityService);
     } else {
       return new LegacyServerConnection(socket, cache, helper, stats, hsTimeout, socketBufferSize,
           communicationModeStr, communicationMode, acceptor, securityService);
@@ -33,6 +33,8 @@ public class ServerQueueStatus {
   private DistributedMember memberId = null;
   /** size of the PDX registry on the server. Currently only set for gateways */
   private int pdxSize = 0;
+  /** true if the server agreed to compress the messages of the connection */
+  private boolean compressingMessages = false;
 
   /**
    * Default constructor Called when connectionsPerServer=0
@@ -119,6 +121,20 @@ public class ServerQueueStatus {
     this.pdxSize = pdxSize;
   }
 
+  /**
+   * Returns true if the messages of the connection are compressed.
+   * 
+   * @see MessageCompression
+   * @since Geode 1.3
+   */
+  public boolean isCompressingMessages() {
+    return this.compressingMessages;
+  }
+
+  public void setCompressingMessages(boolean compressingMessages) {
+    this.compressingMessages = compressingMessages;
+  }
+
   /**
    * The member id of the server we connected to.
    * 
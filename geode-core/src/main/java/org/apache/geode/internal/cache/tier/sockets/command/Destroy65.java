@@ -124,7 +124,7 @@ public class Destroy65 extends BaseCommand {
     expectedOldValuePart = clientMessage.getPart(2);
     try {
 
-      operation = clientMessage.getPart(3).getObject();
+      operation = serverConnection.readOperation(clientMessage.getPart(3));
 
       if (((operation instanceof Operation) && ((Operation) operation == Operation.REMOVE))
           || ((operation instanceof Byte) && (Byte) operation == OpType.DESTROY))
@@ -20,11 +20,13 @@ import org.apache.geode.cache.Region;
 import org.apache.geode.cache.client.internal.GetOp;
 import org.apache.geode.cache.operations.GetOperationContext;
 import org.apache.geode.cache.operations.internal.GetOperationContextImpl;
+import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.distributed.internal.DistributionStats;
 import org.apache.geode.i18n.StringId;
 import org.apache.geode.internal.cache.CachedDeserializable;
 import org.apache.geode.internal.cache.LocalRegion;
 import org.apache.geode.internal.cache.PartitionedRegion;
+import org.apache.geode.internal.cache.TXManagerImpl;
 import org.apache.geode.internal.cache.Token;
 import org.apache.geode.internal.cache.VersionTagHolder;
 import org.apache.geode.internal.cache.tier.CachedRegionHelper;
@@ -52,6 +54,14 @@ public class Get70 extends BaseCommand {
 
   private final static Get70 singleton = new Get70();
 
+  /**
+   * Whether concurrent get requests for the same key share one region lookup.
+   */
+  private static final boolean COALESCE_GETS =
+      !Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "BridgeServer.DISABLE_GET_COALESCING");
+
+  private final GetCoalescer coalescer = new GetCoalescer();
+
   public static Command getCommand() {
     return singleton;
   }
@@ -151,7 +161,25 @@ public class Get70 extends BaseCommand {
     // the value if it is a byte[].
     Entry entry;
     try {
-      entry = getEntry(region, key, callbackArg, serverConnection);
+      entry = null;
+      if (canCoalesce(region, callbackArg, serverConnection, securityService)
+          && GetCoalescer.isLocalMiss((LocalRegion) region, key)) {
+        final Object requestKey = key;
+        entry = this.coalescer.get((LocalRegion) region, key, () -> {
+          Entry found = getEntry(region, requestKey, null, serverConnection);
+          if (region instanceof PartitionedRegion) {
+            found.networkHopType = ((PartitionedRegion) region).getNetworkHopType();
+          }
+          return found;
+        }, serverConnection.getClientVersion());
+        if (entry != null && entry.isCoalesced) {
+          serverConnection.setModificationInfo(true, region.getFullPath(), key);
+          stats.incGetRequestsCoalesced();
+        }
+      }
+      if (entry == null) {
+        entry = getEntry(region, key, callbackArg, serverConnection);
+      }
     } catch (Exception e) {
       writeException(clientMessage, e, false, serverConnection);
       serverConnection.setAsTrue(RESPONDED);
@@ -199,9 +227,11 @@ public class Get70 extends BaseCommand {
 
       if (region instanceof PartitionedRegion) {
         PartitionedRegion pr = (PartitionedRegion) region;
-        if (pr.getNetworkHopType() != PartitionedRegion.NETWORK_HOP_NONE) {
+        // the hop type of a coalesced lookup was recorded by the thread that did it
+        byte networkHopType = entry.isCoalesced ? entry.networkHopType : pr.getNetworkHopType();
+        if (networkHopType != PartitionedRegion.NETWORK_HOP_NONE) {
           writeResponseWithRefreshMetadata(data, callbackArg, clientMessage, isObject,
-              serverConnection, pr, pr.getNetworkHopType(), versionTag, keyNotPresent);
+              serverConnection, pr, networkHopType, versionTag, keyNotPresent);
           pr.clearNetworkHopData();
         } else {
           writeResponse(data, callbackArg, clientMessage, isObject, versionTag, keyNotPresent,
@@ -225,6 +255,18 @@ public class Get70 extends BaseCommand {
 
   }
 
+  /**
+   * Returns true if the lookup of this request can be shared with the concurrent requests for the
+   * same key, that is if nothing about the request other than its key determines its response.
+   * Whether the key is a local miss is checked separately, by {@link GetCoalescer#isLocalMiss}.
+   */
+  private boolean canCoalesce(Region region, Object callbackArg, ServerConnection serverConnection,
+      SecurityService securityService) {
+    return COALESCE_GETS && region instanceof LocalRegion && callbackArg == null
+        && serverConnection.getPostAuthzRequest() == null && !securityService.needPostProcess()
+        && TXManagerImpl.getCurrentTXState() == null;
+  }
+
   /**
    * This method was added so that Get70 could, by default, call getEntryRetained, but the subclass
    * GetEntry70 could override it and call getValueAndIsObject. If we ever get to the point that no
@@ -375,6 +417,10 @@ public class Get70 extends BaseCommand {
     public boolean isObject;
     public boolean keyNotPresent;
     public VersionTag versionTag;
+    /** true if this entry was looked up for a concurrent request for the same key */
+    public boolean isCoalesced;
+    /** the network hop type of the partitioned region lookup this entry was shared from */
+    public byte networkHopType;
 
     @Override
     public String toString() {
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets.command;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.apache.geode.SerializationException;
+import org.apache.geode.internal.Version;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.PartitionedRegion;
+import org.apache.geode.internal.cache.RegionEntry;
+import org.apache.geode.internal.cache.Token;
+import org.apache.geode.internal.offheap.StoredObject;
+import org.apache.geode.internal.offheap.annotations.Retained;
+import org.apache.geode.internal.util.BlobHelper;
+import org.apache.geode.internal.util.concurrent.FutureResult;
+
+/**
+ * Lets concurrent get requests for the same key of a region share one region lookup. The request
+ * that finds no lookup of its key in progress does the lookup; requests for the key that arrive
+ * while it is in progress wait for it and answer their clients with its entry, so a miss is
+ * loaded once however many clients ask for the key. The waiting requests also share one
+ * serialized form of the value.
+ * <p>
+ * An entry is only shared by requests that are in progress at the same time, as with the loads
+ * that {@link LocalRegion} already shares between its threads. Only keys that miss in this
+ * server's copy of the region are coalesced, see {@link #isLocalMiss}.
+ *
+ * @since Geode 1.3
+ */
+class GetCoalescer {
+
+  private final ConcurrentMap<RegionKey, Lookup> lookups = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the entry of the given key, doing the lookup unless one is already in progress.
+   *
+   * @param lookup does the lookup and returns an entry whose value may be retained off-heap
+   * @param version the version of the client the value is serialized for
+   * @return an entry that must be released by the caller if the lookup was done by this thread,
+   *         or null if this thread waited for a lookup whose entry could not be shared
+   */
+  @Retained
+  Get70.Entry get(LocalRegion region, Object key, Supplier<Get70.Entry> lookup,
+      Version version) {
+    RegionKey regionKey = new RegionKey(region, key);
+    Lookup mine = new Lookup(region);
+    Lookup other = this.lookups.putIfAbsent(regionKey, mine);
+    if (other != null) {
+      return other.await(version);
+    }
+    Get70.Entry entry = null;
+    try {
+      entry = lookup.get();
+    } finally {
+      this.lookups.remove(regionKey, mine);
+      mine.set(entry != null && isShareable(entry.value) ? entry : null);
+    }
+    return entry;
+  }
+
+  /**
+   * Returns true if the given region keeps the entry of the given key on this server and has no
+   * valid value for it, so a get of it goes on to a loader, a netsearch or disk. Hits are not
+   * coalesced: a get that arrives after its client's put of the key finds the put value here, and
+   * must not be answered with what a lookup that started before the put found.
+   */
+  static boolean isLocalMiss(LocalRegion region, Object key) {
+    LocalRegion local = region;
+    if (region instanceof PartitionedRegion) {
+      local = ((PartitionedRegion) region).getBucketRegion(key);
+      if (local == null) {
+        return false;
+      }
+    } else if (!region.getAttributes().getDataPolicy().withStorage()) {
+      return false;
+    }
+    RegionEntry entry = local.getRegionEntry(key);
+    return entry == null || entry.isDestroyedOrRemoved() || entry.isInvalid();
+  }
+
+  /**
+   * Returns true if the given value can be read by other threads after the thread that looked it
+   * up has released it.
+   */
+  private static boolean isShareable(Object value) {
+    return !(value instanceof StoredObject);
+  }
+
+  private static class Lookup {
+
+    private final FutureResult result;
+    private Version serializedVersion;
+    private byte[] serializedValue;
+
+    Lookup(LocalRegion region) {
+      this.result = new FutureResult(region.getCancelCriterion());
+    }
+
+    void set(Get70.Entry entry) {
+      this.result.set(entry);
+    }
+
+    Get70.Entry await(Version version) {
+      Get70.Entry entry;
+      try {
+        entry = (Get70.Entry) this.result.get();
+      } catch (InterruptedException ignore) {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+      if (entry == null) {
+        return null;
+      }
+      Get70.Entry copy = new Get70.Entry();
+      copy.value = entry.value;
+      copy.isObject = entry.isObject;
+      copy.keyNotPresent = entry.keyNotPresent;
+      copy.versionTag = entry.versionTag;
+      copy.isCoalesced = true;
+      copy.networkHopType = entry.networkHopType;
+      if (entry.isObject && entry.value != null && !(entry.value instanceof byte[])
+          && !(entry.value instanceof Token)) {
+        copy.value = serialize(entry.value, version);
+      }
+      return copy;
+    }
+
+    /**
+     * Serializes the value for the waiting requests, once for the version of the first of them.
+     */
+    private synchronized byte[] serialize(Object value, Version version) {
+      if (this.serializedValue != null && this.serializedVersion.equals(version)) {
+        return this.serializedValue;
+      }
+      byte[] serialized;
+      try {
+        serialized = BlobHelper.serializeToBlob(value,
+            Version.CURRENT.equals(version) ? null : version);
+      } catch (IOException e) {
+        throw new SerializationException("failed serializing object", e);
+      }
+      if (this.serializedValue == null) {
+        this.serializedValue = serialized;
+        this.serializedVersion = version;
+      }
+      return serialized;
+    }
+  }
+
+  private static class RegionKey {
+
+    private final LocalRegion region;
+    private final Object key;
+
+    RegionKey(LocalRegion region, Object key) {
+      this.region = region;
+      this.key = key;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof RegionKey)) {
+        return false;
+      }
+      RegionKey that = (RegionKey) other;
+      return this.region == that.region && this.key.equals(that.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(this.region) + this.key.hashCode();
+    }
+  }
+}
@@ -91,7 +91,7 @@ public class Put65 extends BaseCommand {
     regionNamePart = clientMessage.getPart(idx++);
     Operation operation;
     try {
-      operation = (Operation) clientMessage.getPart(idx++).getObject();
+      operation = (Operation) serverConnection.readOperation(clientMessage.getPart(idx++));
       if (operation == null) { // native clients send a null since the op is java-serialized
         operation = Operation.UPDATE;
       }
@@ -115,7 +115,7 @@ public class Put65 extends BaseCommand {
     }
     keyPart = clientMessage.getPart(idx++);
     try {
-      isDelta = ((Boolean) clientMessage.getPart(idx).getObject()).booleanValue();
+      isDelta = clientMessage.getPart(idx).getBoolean();
       idx += 1;
     } catch (Exception e) {
       writeException(clientMessage, MessageType.PUT_DELTA_ERROR, e, false, serverConnection);
@@ -19,7 +19,9 @@ import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.logging.log4j.Logger;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -47,6 +49,30 @@ public class FreeListManager {
       new ConcurrentSkipListSet<OffHeapStoredObject>();
   private final AtomicLong allocatedSize = new AtomicLong(0L);
 
+  /**
+   * The maximum number of chunks a thread cache keeps for each tiny free list id.
+   */
+  private final int threadCacheSize;
+  /**
+   * The number of tiny free list ids, starting at zero, whose chunks may be kept in thread caches.
+   * Zero if thread caches are disabled.
+   */
+  private final int threadCacheSizeClasses;
+  private final ThreadLocal<ThreadCache> threadCache = new ThreadLocal<ThreadCache>() {
+    @Override
+    protected ThreadCache initialValue() {
+      ThreadCache result = new ThreadCache(threadCacheSizeClasses);
+      threadCaches.add(result);
+      return result;
+    }
+  };
+  /**
+   * Every thread cache ever created by this manager so that defragmentation can reclaim the chunks
+   * they hold. Caches of threads that have died are removed once they are empty.
+   */
+  private final ConcurrentLinkedQueue<ThreadCache> threadCaches =
+      new ConcurrentLinkedQueue<ThreadCache>();
+
   private int getNearestTinyMultiple(int size) {
     return (size - 1) / TINY_MULTIPLE;
   }
@@ -116,6 +142,9 @@ public class FreeListManager {
         tinyFree += cl.computeTotalSize();
       }
     }
+    for (ThreadCache cache : this.threadCaches) {
+      tinyFree += cache.computeTotalSize();
+    }
     return tinyFree;
   }
 
@@ -145,10 +174,25 @@ public class FreeListManager {
     }
     this.fragmentList = new CopyOnWriteArrayList<Fragment>(tmp);
     this.totalSlabSize = total;
+    this.threadCacheSize = getThreadCacheSize();
+    if (this.threadCacheSize > 0) {
+      this.threadCacheSizeClasses = Math.min(TINY_FREE_LIST_COUNT,
+          getNearestTinyMultiple(THREAD_CACHE_MAX_CHUNK_SIZE) + 1);
+    } else {
+      this.threadCacheSizeClasses = 0;
+    }
 
     fillFragments();
   }
 
+  /**
+   * Returns the maximum number of chunks a thread cache keeps for each tiny size. This method
+   * exists so that tests can override it.
+   */
+  protected int getThreadCacheSize() {
+    return THREAD_CACHE_SIZE;
+  }
+
   /**
    * Create and return a Fragment. This method exists so that tests can override it.
    */
@@ -226,6 +270,10 @@ public class FreeListManager {
           return result;
         }
       }
+      OffHeapStoredObject result = allocateFromHugeChunk(chunkSize);
+      if (result != null) {
+        return result;
+      }
     } while (defragment(chunkSize));
     // We tried all the fragments and didn't find any free memory.
     logOffHeapState(chunkSize);
@@ -315,6 +363,19 @@ public class FreeListManager {
     verifyHugeMultiple(HUGE_MULTIPLE);
   }
   public final static int MAX_TINY = TINY_MULTIPLE * TINY_FREE_LIST_COUNT;
+  /**
+   * The maximum number of freed chunks of each tiny size that a thread keeps for its own later
+   * allocations. Allocating from and freeing to a thread cache does not contend with other
+   * threads. Zero disables thread caches.
+   */
+  public final static int THREAD_CACHE_SIZE =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "OFF_HEAP_THREAD_CACHE_SIZE", 0);
+  /**
+   * Only chunks of at most this many bytes, including the off-heap header, are kept in thread
+   * caches.
+   */
+  public final static int THREAD_CACHE_MAX_CHUNK_SIZE = Integer.getInteger(
+      DistributionConfig.GEMFIRE_PREFIX + "OFF_HEAP_THREAD_CACHE_MAX_CHUNK_SIZE", 1024);
 
   /**
    * Return true if the two chunks have been combined into one. If low and high are adjacent to each
@@ -367,6 +428,11 @@ public class FreeListManager {
           return true;
         }
         boolean result = doDefragment(chunkSize);
+        if (!result && flushThreadCaches()) {
+          // The thread caches are only reclaimed when the free lists alone are not enough so that
+          // threads allocating from their caches are not disturbed by most defragmentations.
+          result = doDefragment(chunkSize);
+        }
 
         // Signal any waiters that a defragmentation happened.
         this.defragmentationCount.incrementAndGet();
@@ -692,8 +758,18 @@ public class FreeListManager {
   }
 
   private OffHeapStoredObject allocateTiny(int size, boolean useFragments) {
-    return basicAllocate(getNearestTinyMultiple(size), TINY_MULTIPLE, 0, this.tinyFreeLists,
-        useFragments);
+    int idx = getNearestTinyMultiple(size);
+    if (idx < this.threadCacheSizeClasses) {
+      long memAddr = this.threadCache.get().poll(idx);
+      if (memAddr != 0L) {
+        this.ma.getStats().incThreadCacheAllocations();
+        OffHeapStoredObject result = new OffHeapStoredObject(memAddr);
+        checkDataIntegrity(result);
+        result.readyForAllocation();
+        return result;
+      }
+    }
+    return basicAllocate(idx, TINY_MULTIPLE, 0, this.tinyFreeLists, useFragments);
   }
 
   private OffHeapStoredObject basicAllocate(int idx, int multiple, int offset,
@@ -739,6 +815,41 @@ public class FreeListManager {
     }
   }
 
+  /**
+   * Allocates chunkSize bytes from the front of the largest free huge chunk and frees what remains
+   * of it. This satisfies an allocation that no fragment has room for without a defragmentation.
+   * Returns null if there is no free huge chunk of at least chunkSize bytes.
+   */
+  private OffHeapStoredObject allocateFromHugeChunk(int chunkSize) {
+    OffHeapStoredObject chunk = this.hugeChunkSet.pollLast();
+    if (chunk == null) {
+      return null;
+    }
+    int freeSize = chunk.getSize();
+    if (freeSize < chunkSize) {
+      this.hugeChunkSet.add(chunk);
+      return null;
+    }
+    long addr = chunk.getAddress();
+    int resultSize = chunkSize;
+    int remainder = freeSize - chunkSize;
+    if (remainder < OffHeapStoredObject.MIN_CHUNK_SIZE) {
+      // include the remainder in the allocation; otherwise it would be lost.
+      resultSize = freeSize;
+    } else {
+      long remainderAddr = addr + chunkSize;
+      OffHeapStoredObject.setSize(remainderAddr, remainder);
+      // the ref count word still holds bytes of the old chunk's data; a free chunk must have 0
+      AddressableMemoryManager.writeIntVolatile(
+          remainderAddr + OffHeapStoredObject.REF_COUNT_OFFSET, 0);
+      free(remainderAddr, false);
+    }
+    this.ma.getStats().incCarvedAllocations();
+    OffHeapStoredObject result = new OffHeapStoredObject(addr, resultSize);
+    checkDataIntegrity(result);
+    return result;
+  }
+
   private void checkDataIntegrity(OffHeapStoredObject data) {
     if (this.validateMemoryWithFill) {
       data.validateFill();
@@ -790,7 +901,30 @@ public class FreeListManager {
   }
 
   private void freeTiny(long addr, int cSize) {
-    basicFree(addr, getNearestTinyMultiple(cSize), this.tinyFreeLists);
+    int idx = getNearestTinyMultiple(cSize);
+    if (idx < this.threadCacheSizeClasses && this.threadCache.get().offer(idx, addr)) {
+      return;
+    }
+    basicFree(addr, idx, this.tinyFreeLists);
+  }
+
+  /**
+   * Moves the chunks held by every thread cache to the shared tiny free lists so that
+   * defragmentation can combine them. Returns true if any chunk was moved.
+   */
+  private boolean flushThreadCaches() {
+    boolean result = false;
+    Iterator<ThreadCache> it = this.threadCaches.iterator();
+    while (it.hasNext()) {
+      ThreadCache cache = it.next();
+      if (cache.flush()) {
+        result = true;
+      }
+      if (cache.isOwnerDead()) {
+        it.remove();
+      }
+    }
+    return result;
   }
 
   private void basicFree(long addr, int idx,
@@ -816,6 +950,79 @@ public class FreeListManager {
     return new OffHeapStoredObjectAddressStack();
   }
 
+  /**
+   * Freed tiny chunks kept by a single thread for its own later allocations. Only the owning thread
+   * allocates from and frees to its cache; the synchronization is uncontended except while
+   * defragmentation flushes the cache.
+   */
+  private class ThreadCache {
+    private final WeakReference<Thread> owner = new WeakReference<Thread>(Thread.currentThread());
+    /** A stack of chunk addresses for each tiny free list id; created on first use */
+    private final long[][] chunks;
+    private final int[] counts;
+
+    ThreadCache(int sizeClasses) {
+      this.chunks = new long[sizeClasses][];
+      this.counts = new int[sizeClasses];
+    }
+
+    synchronized long poll(int idx) {
+      int count = this.counts[idx];
+      if (count == 0) {
+        return 0L;
+      }
+      count--;
+      this.counts[idx] = count;
+      return this.chunks[idx][count];
+    }
+
+    /**
+     * Returns false if the cache is full for the given free list id.
+     */
+    synchronized boolean offer(int idx, long addr) {
+      long[] stack = this.chunks[idx];
+      if (stack == null) {
+        stack = new long[threadCacheSize];
+        this.chunks[idx] = stack;
+      }
+      int count = this.counts[idx];
+      if (count == stack.length) {
+        return false;
+      }
+      stack[count] = addr;
+      this.counts[idx] = count + 1;
+      return true;
+    }
+
+    synchronized boolean flush() {
+      boolean result = false;
+      for (int idx = 0; idx < this.counts.length; idx++) {
+        int count = this.counts[idx];
+        for (int i = 0; i < count; i++) {
+          basicFree(this.chunks[idx][i], idx, tinyFreeLists);
+          result = true;
+        }
+        this.counts[idx] = 0;
+      }
+      return result;
+    }
+
+    synchronized long computeTotalSize() {
+      long result = 0;
+      for (int idx = 0; idx < this.counts.length; idx++) {
+        for (int i = 0; i < this.counts[idx]; i++) {
+          result += OffHeapStoredObject.getSize(this.chunks[idx][i]);
+        }
+      }
+      return result;
+    }
+
+    boolean isOwnerDead() {
+      Thread thread = this.owner.get();
+      return thread == null || !thread.isAlive();
+    }
+  }
+
   private void freeHuge(long addr, int cSize) {
     this.hugeChunkSet.add(new OffHeapStoredObject(addr)); // TODO make this a collection of longs
   }
@@ -43,6 +43,10 @@ public interface OffHeapMemoryStats {
 
   public void setFragmentation(int value);
 
+  public void incThreadCacheAllocations();
+
+  public void incCarvedAllocations();
+
   public long getFreeMemory();
 
   public long getMaxMemory();
@@ -65,6 +69,10 @@ public interface OffHeapMemoryStats {
 
   public long getDefragmentationTime();
 
+  public long getThreadCacheAllocations();
+
+  public long getCarvedAllocations();
+
   public Statistics getStats();
 
   public void close();
@@ -56,6 +56,8 @@ public class OffHeapStorage implements OffHeapMemoryStats {
   private static final int defragmentationTimeId;
   private static final int fragmentationId;
   private static final int defragmentationsInProgressId;
+  private static final int threadCacheAllocationsId;
+  private static final int carvedAllocationsId;
   // NOTE!!!! When adding new stats make sure and update the initialize method on this class
 
   // creates and registers the statistics type
@@ -80,6 +82,10 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     final String objectsDesc = "The number of objects stored in off-heap memory.";
     final String readsDesc =
         "The total number of reads of off-heap memory. Only reads of a full object increment this statistic. If only a part of the object is read this statistic is not incremented.";
+    final String threadCacheAllocationsDesc =
+        "The total number of off-heap allocations served from the allocating thread's cache of freed chunks without contending with other threads.";
+    final String carvedAllocationsDesc =
+        "The total number of off-heap allocations carved out of a larger free chunk instead of defragmenting off-heap memory.";
     final String maxMemoryDesc =
         "The maximum amount of off-heap memory, in bytes. This is the amount of memory allocated at startup and does not change.";
 
@@ -94,6 +100,8 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     final String objects = "objects";
     final String reads = "reads";
     final String maxMemory = "maxMemory";
+    final String threadCacheAllocations = "threadCacheAllocations";
+    final String carvedAllocations = "carvedAllocations";
 
     statsType = f.createType(statsTypeName, statsTypeDescription,
         new StatisticDescriptor[] {f.createLongGauge(usedMemory, usedMemoryDesc, "bytes"),
@@ -107,7 +115,9 @@ public class OffHeapStorage implements OffHeapMemoryStats {
             f.createIntGauge(largestFragment, largestFragmentDesc, "bytes"),
             f.createIntGauge(objects, objectsDesc, "objects"),
             f.createLongCounter(reads, readsDesc, "operations"),
-            f.createLongGauge(maxMemory, maxMemoryDesc, "bytes"),});
+            f.createLongGauge(maxMemory, maxMemoryDesc, "bytes"),
+            f.createLongCounter(threadCacheAllocations, threadCacheAllocationsDesc, "operations"),
+            f.createLongCounter(carvedAllocations, carvedAllocationsDesc, "operations"),});
 
     usedMemoryId = statsType.nameToId(usedMemory);
     defragmentationId = statsType.nameToId(defragmentations);
@@ -120,6 +130,8 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     objectsId = statsType.nameToId(objects);
     readsId = statsType.nameToId(reads);
     maxMemoryId = statsType.nameToId(maxMemory);
+    threadCacheAllocationsId = statsType.nameToId(threadCacheAllocations);
+    carvedAllocationsId = statsType.nameToId(carvedAllocations);
   }
 
   public static long parseOffHeapMemorySize(String value) {
@@ -370,6 +382,26 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     return this.stats.getInt(fragmentationId);
   }
 
+  @Override
+  public void incThreadCacheAllocations() {
+    this.stats.incLong(threadCacheAllocationsId, 1);
+  }
+
+  @Override
+  public long getThreadCacheAllocations() {
+    return this.stats.getLong(threadCacheAllocationsId);
+  }
+
+  @Override
+  public void incCarvedAllocations() {
+    this.stats.incLong(carvedAllocationsId, 1);
+  }
+
+  @Override
+  public long getCarvedAllocations() {
+    return this.stats.getLong(carvedAllocationsId);
+  }
+
   public Statistics getStats() {
     return this.stats;
   }
@@ -392,6 +424,8 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     setLargestFragment(oldStats.getLargestFragment());
     setDefragmentationTime(oldStats.getDefragmentationTime());
     setFragmentation(oldStats.getFragmentation());
+    setThreadCacheAllocations(oldStats.getThreadCacheAllocations());
+    setCarvedAllocations(oldStats.getCarvedAllocations());
 
     oldStats.close();
   }
@@ -408,6 +442,14 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     this.stats.setInt(defragmentationsInProgressId, value);
   }
 
+  private void setThreadCacheAllocations(long value) {
+    this.stats.setLong(threadCacheAllocationsId, value);
+  }
+
+  private void setCarvedAllocations(long value) {
+    this.stats.setLong(carvedAllocationsId, value);
+  }
+
   private void setReads(long value) {
     this.stats.setLong(readsId, value);
   }
@@ -81,6 +81,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -1174,6 +1175,8 @@ public class Connection implements Runnable {
     }
     if (preserveOrder && BATCH_SENDS) {
       conn.createBatchSendBuffer();
+    } else if (COALESCE_BUFFER_SIZE > 0) {
+      conn.createWriteCoalescer();
     }
     conn.finishedConnecting = true;
     return conn;
@@ -1328,6 +1331,30 @@ public class Connection implements Runnable {
     this.batchFlusher.start();
   }
 
+  /**
+   * The size of the buffers in which messages sent on a connection while another thread is writing
+   * to it are coalesced into one socket write. 0 disables coalescing.
+   */
+  private static final int COALESCE_BUFFER_SIZE =
+      Integer.getInteger("p2p.coalesceBufferSize", 0).intValue();
+  /**
+   * How long, in microseconds, a thread writing coalesced messages waits for more messages before
+   * writing them, unless its buffer is already half full
+   */
+  private static final int COALESCE_WINDOW_MICROS =
+      Integer.getInteger("p2p.coalesceWindowMicros", 0).intValue();
+  private WriteCoalescer writeCoalescer;
+
+  private void createWriteCoalescer() {
+    // coalescing is only done for nio writes
+    if (!this.useNIO) {
+      return;
+    }
+    this.writeCoalescer = new WriteCoalescer(COALESCE_BUFFER_SIZE, TCPConduit.useDirectBuffers,
+        TimeUnit.MICROSECONDS.toNanos(COALESCE_WINDOW_MICROS), this.owner.getConduit().getStats(),
+        (frames, msg) -> nioWriteFully(getSocket().getChannel(), frames, false, msg));
+  }
+
   public void cleanUpOnIdleTaskCancel() {
     // Make sure receivers are removed from the connection table, this should always be a noop, but
     // is done here as a failsafe.
@@ -2546,8 +2573,12 @@ public class Connection implements Runnable {
     this.socketInUse = true;
     try {
       if (useNIO()) {
-        SocketChannel channel = getSocket().getChannel();
-        nioWriteFully(channel, buffer, false, msg);
+        if (this.writeCoalescer != null) {
+          this.writeCoalescer.write(buffer, msg);
+        } else {
+          SocketChannel channel = getSocket().getChannel();
+          nioWriteFully(channel, buffer, false, msg);
+        }
       } else {
         if (buffer.hasArray()) {
           this.output.write(buffer.array(), buffer.arrayOffset(),
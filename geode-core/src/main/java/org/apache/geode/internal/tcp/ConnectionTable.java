@@ -35,6 +35,7 @@ import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.logging.log4j.Logger;
@@ -81,6 +82,37 @@ public class ConnectionTable {
    */
   protected final Map orderedConnectionMap = new ConcurrentHashMap();
 
+  /**
+   * The number of shared ordered connections to each member that threads which would otherwise own
+   * their ordered connections send on, or 0 if such threads own their connections. A thread always
+   * sends on the same one of these stripes, so the messages it sends stay in order, and the number
+   * of sockets and reader threads no longer grows with the number of sending threads. Reader
+   * threads still send on connections they own, so that a message they process inline can not wait
+   * on a stripe whose reader is waiting on them.
+   */
+  static final int ORDERED_CONNECTION_STRIPES =
+      Integer.getInteger("p2p.orderedConnectionStripes", 0).intValue();
+
+  /** The next stripe to give a thread */
+  private static final AtomicInteger nextStripe = new AtomicInteger();
+
+  /**
+   * The stripe of the calling thread, before it is reduced to the number of stripes of a table.
+   * Threads are given consecutive stripes.
+   */
+  private static final ThreadLocal<Integer> threadStripe = new ThreadLocal<Integer>() {
+    @Override
+    protected Integer initialValue() {
+      return nextStripe.getAndIncrement() & Integer.MAX_VALUE;
+    }
+  };
+
+  /**
+   * The maps of the ordered connection stripes, used like orderedConnectionMap. Empty if this
+   * table has no stripes.
+   */
+  private final Map[] stripedConnectionMaps;
+
   /**
    * ordered connections local to this thread. Note that accesses to the resulting map must be
    * synchronized because of static cleanup.
@@ -202,13 +234,17 @@ public class ConnectionTable {
   }
 
 
-  private ConnectionTable(TCPConduit conduit) throws IOException {
+  private ConnectionTable(TCPConduit conduit, int orderedConnectionStripes) throws IOException {
     this.owner = conduit;
     this.idleConnTimer = (this.owner.idleConnectionTimeout != 0)
         ? new SystemTimer(conduit.getDM().getSystem(), true) : null;
     this.threadOrderedConnMap = new ThreadLocal();
     this.threadConnMaps = new ArrayList();
     this.threadConnectionMap = new ConcurrentHashMap();
+    this.stripedConnectionMaps = new Map[orderedConnectionStripes];
+    for (int i = 0; i < orderedConnectionStripes; i++) {
+      this.stripedConnectionMaps[i] = new ConcurrentHashMap();
+    }
     this.p2pReaderThreadPool = createThreadPoolForIO(conduit.getDM().getSystem().isShareSockets());
     this.socketCloser = new SocketCloser();
   }
@@ -419,9 +455,57 @@ public class ConnectionTable {
   private Connection getSharedConnection(DistributedMember id, boolean scheduleTimeout,
       boolean preserveOrder, long startTime, long ackTimeout, long ackSATimeout)
       throws IOException, DistributedSystemDisconnectedException {
-    Connection result = null;
-
     final Map m = preserveOrder ? this.orderedConnectionMap : this.unorderedConnectionMap;
+    return getSharedConnection(m, id, scheduleTimeout, preserveOrder, startTime, ackTimeout,
+        ackSATimeout);
+  }
+
+  /**
+   * Must be looking for an ordered connection that this thread would own. Returns the connection of
+   * the stripe of this thread.
+   * 
+   * @param id the DistributedMember on which we are creating a connection
+   * @param startTime the ms clock start time for the operation
+   * @param ackTimeout the ms ack-wait-threshold, or zero
+   * @param ackSATimeout the ms ack-severe-alert-threshold, or zero
+   * @return the connection, or null if an error
+   * @throws IOException if unable to create the connection
+   * @throws DistributedSystemDisconnectedException
+   */
+  private Connection getStripedConnection(DistributedMember id, long startTime, long ackTimeout,
+      long ackSATimeout) throws IOException, DistributedSystemDisconnectedException {
+    final Map m = this.stripedConnectionMaps[getThreadStripe()];
+    return getSharedConnection(m, id, false, true, startTime, ackTimeout, ackSATimeout);
+  }
+
+  /**
+   * Returns the stripe the calling thread sends its ordered messages on, or -1 if it sends them on
+   * connections it owns because this table has no stripes or the thread is a reader thread.
+   */
+  int getThreadStripe() {
+    if (this.stripedConnectionMaps.length == 0 || Connection.isReaderThread()) {
+      return -1;
+    }
+    return threadStripe.get() % this.stripedConnectionMaps.length;
+  }
+
+  /**
+   * Returns the map of the connections of the given stripe. Used by tests.
+   */
+  Map getStripedConnectionMap(int stripe) {
+    return this.stripedConnectionMaps[stripe];
+  }
+
+  /**
+   * Returns the shared connection to the given member in the given map, creating it if needed.
+   * 
+   * @param m the map of the connection, orderedConnectionMap, unorderedConnectionMap or one of the
+   *        stripedConnectionMaps
+   */
+  private Connection getSharedConnection(Map m, DistributedMember id, boolean scheduleTimeout,
+      boolean preserveOrder, long startTime, long ackTimeout, long ackSATimeout)
+      throws IOException, DistributedSystemDisconnectedException {
+    Connection result = null;
 
     PendingConnection pc = null; // new connection, if needed
     Object mEntry = null; // existing connection (if we don't create a new one)
@@ -632,6 +716,8 @@ public class ConnectionTable {
     if (!preserveOrder || !threadOwnsResources) {
       result = getSharedConnection(id, threadOwnsResources, preserveOrder, startTime, ackTimeout,
           ackSATimeout);
+    } else if (getThreadStripe() >= 0) {
+      result = getStripedConnection(id, startTime, ackTimeout, ackSATimeout);
     } else {
       result = getThreadOwnedConnection(id, startTime, ackTimeout, ackSATimeout);
     }
@@ -717,6 +803,16 @@ public class ConnectionTable {
       }
       this.unorderedConnectionMap.clear();
     }
+    for (Map stripe : this.stripedConnectionMaps) {
+      synchronized (stripe) {
+        for (Iterator it = stripe.values().iterator(); it.hasNext();) {
+          closeCon(
+              LocalizedStrings.ConnectionTable_CONNECTION_TABLE_BEING_DESTROYED.toLocalizedString(),
+              it.next());
+        }
+        stripe.clear();
+      }
+    }
     if (this.threadConnectionMap != null) {
       this.threadConnectionMap = null;
     }
@@ -842,6 +938,11 @@ public class ConnectionTable {
         needsRemoval = al != null && al.size() > 0;
       }
     }
+    for (int i = 0; !needsRemoval && i < this.stripedConnectionMaps.length; i++) {
+      synchronized (this.stripedConnectionMaps[i]) {
+        needsRemoval = this.stripedConnectionMaps[i].get(memberID) != null;
+      }
+    }
 
     if (needsRemoval) {
       InternalDistributedMember remoteAddress = null;
@@ -859,6 +960,15 @@ public class ConnectionTable {
         }
         closeCon(reason, c);
       }
+      for (Map stripe : this.stripedConnectionMaps) {
+        synchronized (stripe) {
+          Object c = stripe.remove(memberID);
+          if (remoteAddress == null && (c instanceof Connection)) {
+            remoteAddress = ((Connection) c).getRemoteAddress();
+          }
+          closeCon(reason, c);
+        }
+      }
 
       {
         ConcurrentMap cm = this.threadConnectionMap;
@@ -990,6 +1100,15 @@ public class ConnectionTable {
       synchronized (this.orderedConnectionMap) {
         if (this.orderedConnectionMap.get(stub) == c) {
           closeCon(reason, this.orderedConnectionMap.remove(stub));
+          return;
+        }
+      }
+      for (Map stripe : this.stripedConnectionMaps) {
+        synchronized (stripe) {
+          if (stripe.get(stub) == c) {
+            closeCon(reason, stripe.remove(stub));
+            return;
+          }
         }
       }
     } else {
@@ -1335,7 +1454,16 @@ public class ConnectionTable {
   }
 
   public static ConnectionTable create(TCPConduit conduit) throws IOException {
-    ConnectionTable ct = new ConnectionTable(conduit);
+    return create(conduit, ORDERED_CONNECTION_STRIPES);
+  }
+
+  /**
+   * Creates a table with the given number of ordered connection stripes instead of
+   * ORDERED_CONNECTION_STRIPES.
+   */
+  static ConnectionTable create(TCPConduit conduit, int orderedConnectionStripes)
+      throws IOException {
+    ConnectionTable ct = new ConnectionTable(conduit, orderedConnectionStripes);
     lastInstance.set(ct);
     return ct;
   }
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.tcp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.geode.distributed.internal.DMStats;
+import org.apache.geode.distributed.internal.DistributionMessage;
+import org.apache.geode.distributed.internal.DistributionStats;
+
+/**
+ * Coalesces the message frames that threads send on one connection at the same time so that they
+ * go out in one socket write. A thread that finds the connection idle writes its frame itself.
+ * Frames sent while another thread is writing are copied into a pending buffer, and the next thread
+ * to write sends all of them at once, so the more threads contend for the connection the more
+ * frames each write carries. If a window is configured, the writer also waits up to that long for
+ * more frames unless the pending buffer is already half full.
+ * <p>
+ * Frames are complete p2p frames with their own headers, so the receiver reads them as if they had
+ * been written one at a time. Each call to {@link #write} returns once its frame has been written.
+ * Once a write fails, no more frames are written and every frame not written before it fails.
+ *
+ * @since Geode 1.3
+ */
+class WriteCoalescer {
+
+  /**
+   * Writes frames to the connection.
+   */
+  interface FrameWriter {
+    void write(ByteBuffer frames, DistributionMessage msg) throws IOException, ConnectionException;
+  }
+
+  private final FrameWriter writer;
+
+  private final DMStats stats;
+
+  private final long windowNanos;
+
+  /** Held by the thread writing to the connection */
+  private final Object writeLock = new Object();
+
+  /** Guards the pending buffer and the fields describing it */
+  private final Object pendingLock = new Object();
+
+  private ByteBuffer pending;
+
+  /** The buffer that becomes pending when the pending frames are written. Guarded by writeLock */
+  private ByteBuffer spare;
+
+  private int pendingFrames;
+
+  /** The stat time at which the oldest pending frame was added */
+  private long pendingSince;
+
+  /** The nano time at which the oldest pending frame was added, used for the window */
+  private long pendingNanos;
+
+  private boolean writing;
+
+  /** The sequence number of the last frame added to the pending buffer */
+  private long appendedSeq;
+
+  /** The sequence number of the last frame handed to the writer. Guarded by writeLock */
+  private long flushedSeq;
+
+  /**
+   * The first write that failed, after which the connection is not written to again. Every frame
+   * after failedAfterSeq, and every frame written directly, fails with it. Guarded by writeLock
+   */
+  private Exception failure;
+  private long failedAfterSeq;
+
+  WriteCoalescer(int bufferSize, boolean useDirectBuffers, long windowNanos, DMStats stats,
+      FrameWriter writer) {
+    if (useDirectBuffers) {
+      this.pending = ByteBuffer.allocateDirect(bufferSize);
+      this.spare = ByteBuffer.allocateDirect(bufferSize);
+    } else {
+      this.pending = ByteBuffer.allocate(bufferSize);
+      this.spare = ByteBuffer.allocate(bufferSize);
+    }
+    this.windowNanos = windowNanos;
+    this.stats = stats;
+    this.writer = writer;
+  }
+
+  /**
+   * Writes the given frame, possibly together with frames sent by other threads, and returns once
+   * it has been written.
+   */
+  void write(ByteBuffer frame, DistributionMessage msg) throws IOException, ConnectionException {
+    long seq = 0;
+    synchronized (this.pendingLock) {
+      boolean idle = !this.writing && this.pendingFrames == 0 && this.windowNanos == 0;
+      if (!idle && frame.remaining() <= this.pending.remaining()) {
+        if (this.pendingFrames == 0) {
+          this.pendingSince = DistributionStats.getStatTime();
+          this.pendingNanos = this.windowNanos > 0 ? System.nanoTime() : 0;
+        }
+        this.pending.put(frame);
+        this.pendingFrames++;
+        seq = ++this.appendedSeq;
+      }
+    }
+    synchronized (this.writeLock) {
+      setWriting(true);
+      try {
+        if (this.failure != null && (seq == 0 || seq > this.failedAfterSeq)) {
+          throw new IOException("Failed to write coalesced messages", this.failure);
+        }
+        if (seq == 0) {
+          // the pending frames were sent before this one so they must be written first
+          writePending();
+          try {
+            this.writer.write(frame, msg);
+          } catch (IOException | ConnectionException e) {
+            failed(e, this.flushedSeq);
+            throw e;
+          }
+          this.stats.incCoalescedWrites(1);
+          return;
+        }
+        if (seq > this.flushedSeq) {
+          awaitWindow();
+          writePending();
+        }
+      } finally {
+        setWriting(false);
+      }
+    }
+  }
+
+  private void setWriting(boolean writing) {
+    synchronized (this.pendingLock) {
+      this.writing = writing;
+    }
+  }
+
+  private void awaitWindow() {
+    if (this.windowNanos == 0) {
+      return;
+    }
+    for (;;) {
+      long remaining;
+      synchronized (this.pendingLock) {
+        if (this.pendingFrames == 0 || this.pending.position() > this.pending.capacity() / 2) {
+          return;
+        }
+        remaining = this.windowNanos - (System.nanoTime() - this.pendingNanos);
+      }
+      if (remaining <= 0) {
+        return;
+      }
+      LockSupport.parkNanos(remaining);
+    }
+  }
+
+  /**
+   * Writes all pending frames. Must be called with writeLock held.
+   */
+  private void writePending() throws IOException, ConnectionException {
+    ByteBuffer frames;
+    int numFrames;
+    long since;
+    long seq;
+    synchronized (this.pendingLock) {
+      if (this.pendingFrames == 0) {
+        return;
+      }
+      frames = this.pending;
+      this.pending = this.spare;
+      numFrames = this.pendingFrames;
+      since = this.pendingSince;
+      seq = this.appendedSeq;
+      this.pendingFrames = 0;
+    }
+    this.spare = frames;
+    long previousSeq = this.flushedSeq;
+    this.flushedSeq = seq;
+    frames.flip();
+    try {
+      this.stats.incCoalescingDelay(since);
+      this.writer.write(frames, null);
+      this.stats.incCoalescedWrites(numFrames);
+    } catch (IOException | ConnectionException e) {
+      failed(e, previousSeq);
+      throw e;
+    } finally {
+      frames.clear();
+    }
+  }
+
+  /**
+   * Records the given write failure unless an earlier one was recorded. Frames after the given
+   * sequence number had not been written. Must be called with writeLock held.
+   */
+  private void failed(Exception e, long writtenSeq) {
+    if (this.failure == null) {
+      this.failure = e;
+      this.failedAfterSeq = writtenSeq;
+    }
+  }
+}
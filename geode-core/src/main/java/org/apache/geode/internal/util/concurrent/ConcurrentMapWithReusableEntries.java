@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.util.concurrent;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.geode.internal.size.SingleObjectSizer;
+
+/**
+ * The operations a region map needs from the concurrent map that holds its entries. Implemented by
+ * {@link CustomEntryConcurrentHashMap} and by the open addressing map used for regions with many
+ * entries.
+ */
+public interface ConcurrentMapWithReusableEntries<K, V> extends ConcurrentMap<K, V> {
+
+  /**
+   * Returns a {@link Set} view of the mappings contained in this map whose iterator may reuse the
+   * same <code>Map.Entry</code> instance for every element, so callers cannot store the returned
+   * entries.
+   */
+  Set<Map.Entry<K, V>> entrySetWithReusableEntries();
+
+  /**
+   * Returns an estimate, in bytes, of the memory this map uses in addition to its keys and values.
+   */
+  long estimateMemoryOverhead(SingleObjectSizer sizer);
+}
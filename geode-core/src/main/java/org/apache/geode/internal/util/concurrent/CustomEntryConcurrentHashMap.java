@@ -53,7 +53,6 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -118,7 +117,7 @@ import org.apache.geode.internal.util.ArrayUtils;
  * @param <V> the type of mapped values
  */
 public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
-    implements ConcurrentMap<K, V>, Serializable {
+    implements ConcurrentMapWithReusableEntries<K, V>, Serializable {
 
   private static final long serialVersionUID = -7056732555635108300L;
 
@@ -217,7 +216,14 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
    * bits.
    */
   public static int keyHash(final Object o, final boolean compareValues) {
-    int h = compareValues ? o.hashCode() : System.identityHashCode(o);
+    return spreadHash(compareValues ? o.hashCode() : System.identityHashCode(o));
+  }
+
+  /**
+   * Applies the supplemental hash function of {@link #keyHash(Object, boolean)} to a hashCode that
+   * has already been computed, for example from a primitive key that was not boxed.
+   */
+  public static int spreadHash(int h) {
     // Spread bits to regularize both segment and index locations,
     // using variant of single-word Wang/Jenkins hash.
     h += (h << 15) ^ 0xffffcd7d;
@@ -1909,6 +1915,7 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
    * This set provides entries that are reused during iteration so caller cannot store the returned
    * <code>Map.Entry</code> objects.
    */
+  @Override
   public Set<Map.Entry<K, V>> entrySetWithReusableEntries() {
     final Set<Map.Entry<K, V>> es = this.reusableEntrySet;
     return (es != null) ? es : (this.reusableEntrySet = new EntrySet(true));
@@ -2437,6 +2444,7 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
     }
   }
 
+  @Override
   public long estimateMemoryOverhead(SingleObjectSizer sizer) {
 
     long totalOverhead = sizer.sizeof(this);
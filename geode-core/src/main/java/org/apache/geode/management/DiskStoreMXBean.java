@@ -142,6 +142,24 @@ public interface DiskStoreMXBean {
    */
   int getTotalRecoveriesInProgress();
 
+  /**
+   * Returns the percentage of records in this DiskStore's op-logs that are no longer live and can
+   * be removed by compaction, as of the last op-log roll or compaction.
+   */
+  int getOplogGarbagePercentage();
+
+  /**
+   * Returns the fraction, between 0 and 1, of the live entries of the current or last compaction
+   * that have been processed. Returns 1 if no compaction has been done.
+   */
+  float getCompactionProgress();
+
+  /**
+   * Returns the average number of bytes per second that compaction copied forward in the last
+   * sampling interval.
+   */
+  float getCompactionBytesRate();
+
   /**
    * Requests the DiskStore to start writing to a new op-log. The old oplog will be asynchronously
    * compressed if compaction is set to true. The new op-log will be created in the next available
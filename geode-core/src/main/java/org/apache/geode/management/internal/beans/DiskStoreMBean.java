@@ -120,6 +120,21 @@ public class DiskStoreMBean extends NotificationBroadcasterSupport implements Di
     return bridge.getTotalRecoveriesInProgress();
   }
 
+  @Override
+  public int getOplogGarbagePercentage() {
+    return bridge.getOplogGarbagePercentage();
+  }
+
+  @Override
+  public float getCompactionProgress() {
+    return bridge.getCompactionProgress();
+  }
+
+  @Override
+  public float getCompactionBytesRate() {
+    return bridge.getCompactionBytesRate();
+  }
+
   @Override
   public int getWriteBufferSize() {
     return bridge.getWriteBufferSize();
@@ -66,6 +66,8 @@ public class DiskStoreMBeanBridge {
 
   private StatsAverageLatency diskFlushTimeAvgLatency;
 
+  private StatsRate compactionBytesRate;
+
 
   private DiskStoreStats diskStoreStats;
 
@@ -205,6 +207,9 @@ public class DiskStoreMBeanBridge {
 
     diskWritesAvgLatency = new StatsAverageLatency(StatsKey.DISK_WRITEN_BYTES, StatType.LONG_TYPE,
         StatsKey.DISK_WRITES_TIME, monitor);
+
+    compactionBytesRate =
+        new StatsRate(StatsKey.COMPACTION_COPIED_BYTES, StatType.LONG_TYPE, monitor);
   }
 
 
@@ -252,6 +257,23 @@ public class DiskStoreMBeanBridge {
     return getDiskStoreStatistic(StatsKey.RECOVERIES_IN_PROGRESS).intValue();
   }
 
+  public int getOplogGarbagePercentage() {
+    return getDiskStoreStatistic(StatsKey.OPLOG_GARBAGE_PERCENT).intValue();
+  }
+
+  public float getCompactionProgress() {
+    long scheduled = getDiskStoreStatistic(StatsKey.COMPACTION_ENTRIES_SCHEDULED).longValue();
+    if (scheduled <= 0) {
+      return 1;
+    }
+    long processed = getDiskStoreStatistic(StatsKey.COMPACTION_ENTRIES_PROCESSED).longValue();
+    return Math.min(1, (float) processed / scheduled);
+  }
+
+  public float getCompactionBytesRate() {
+    return compactionBytesRate.getRate();
+  }
+
   public Number getDiskStoreStatistic(String statName) {
     if (diskStoreStats != null) {
       return diskStoreStats.getStats().get(statName);
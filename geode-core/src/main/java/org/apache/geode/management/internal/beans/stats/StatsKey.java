@@ -183,6 +183,14 @@ public class StatsKey {
 
   public static final String DISK_QUEUE_SIZE = "queueSize";
 
+  public static final String OPLOG_GARBAGE_PERCENT = "oplogGarbagePercent";
+
+  public static final String COMPACTION_ENTRIES_SCHEDULED = "compactionEntriesScheduled";
+
+  public static final String COMPACTION_ENTRIES_PROCESSED = "compactionEntriesProcessed";
+
+  public static final String COMPACTION_COPIED_BYTES = "compactionCopiedBytes";
+
   public static final String RECOVERIES_IN_PROGRESS = "recoveriesInProgress";
 
   public static final String DISK_SPACE = "diskSpace";
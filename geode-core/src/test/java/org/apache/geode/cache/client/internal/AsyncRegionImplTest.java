@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.CacheListener;
+import org.apache.geode.cache.CacheLoader;
+import org.apache.geode.cache.CacheWriter;
+import org.apache.geode.cache.DataPolicy;
+import org.apache.geode.cache.RegionAttributes;
+import org.apache.geode.cache.client.ServerConnectivityException;
+import org.apache.geode.internal.cache.CachePerfStats;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class AsyncRegionImplTest {
+
+  private LocalRegion region;
+  private RegionAttributes attributes;
+  private ServerRegionProxy serverProxy;
+  private PoolImpl pool;
+  private CachePerfStats stats;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    this.region = mock(LocalRegion.class);
+    this.attributes = mock(RegionAttributes.class);
+    this.serverProxy = mock(ServerRegionProxy.class);
+    this.pool = mock(PoolImpl.class);
+    this.stats = mock(CachePerfStats.class);
+    when(this.region.getAttributes()).thenReturn(this.attributes);
+    when(this.region.getServerProxy()).thenReturn(this.serverProxy);
+    when(this.region.getCachePerfStats()).thenReturn(this.stats);
+    when(this.attributes.getDataPolicy()).thenReturn(DataPolicy.EMPTY);
+    when(this.attributes.getCacheListeners()).thenReturn(new CacheListener[0]);
+    when(this.serverProxy.getPool()).thenReturn(this.pool);
+    // runs the synchronous region operations on the calling thread
+    when(this.pool.runAsync(any())).thenAnswer(invocation -> CompletableFuture
+        .completedFuture(((Supplier<Object>) invocation.getArgument(0)).get()));
+  }
+
+  @Test
+  public void rejectsRegionThatIsNotAProxy() {
+    when(this.attributes.getDataPolicy()).thenReturn(DataPolicy.NORMAL);
+
+    assertThatThrownBy(() -> new AsyncRegionImpl<>(this.region))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void getAsyncSendsGetAndRecordsIt() throws Exception {
+    when(this.serverProxy.getAsync("key", null))
+        .thenReturn(CompletableFuture.completedFuture("value"));
+
+    CompletableFuture<Object> result = new AsyncRegionImpl<>(this.region).getAsync("key");
+
+    assertThat(result.get()).isEqualTo("value");
+    verify(this.stats).endGet(anyLong(), eq(false));
+    verify(this.region, never()).get(any());
+  }
+
+  @Test
+  public void failedGetAsyncIsNotRecorded() throws Exception {
+    CompletableFuture<Object> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new ServerConnectivityException("no server"));
+    when(this.serverProxy.getAsync("key", null)).thenReturn(failed);
+
+    CompletableFuture<Object> result = new AsyncRegionImpl<>(this.region).getAsync("key");
+
+    assertThatThrownBy(result::get).isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(ServerConnectivityException.class);
+    verify(this.stats, never()).endGet(anyLong(), anyBoolean());
+  }
+
+  @Test
+  public void getAsyncOnRegionWithLoaderUsesTheRegionGet() throws Exception {
+    when(this.attributes.getCacheLoader()).thenReturn(mock(CacheLoader.class));
+    when(this.region.get("key")).thenReturn("loaded");
+
+    CompletableFuture<Object> result = new AsyncRegionImpl<>(this.region).getAsync("key");
+
+    assertThat(result.get()).isEqualTo("loaded");
+    verify(this.serverProxy, never()).getAsync(any(), any());
+  }
+
+  @Test
+  public void putAsyncOnRegionWithWriterUsesTheRegionPut() throws Exception {
+    when(this.attributes.getCacheWriter()).thenReturn(mock(CacheWriter.class));
+    when(this.region.put("key", "value")).thenReturn("old");
+
+    CompletableFuture<Object> result =
+        new AsyncRegionImpl<>(this.region).putAsync("key", "value");
+
+    assertThat(result.get()).isEqualTo("old");
+    verify(this.serverProxy, never()).putAsync(any(), any(), any(), any(), anyBoolean(), any());
+  }
+
+  @Test
+  public void putAsyncOnRegionWithListenerUsesTheRegionPut() throws Exception {
+    when(this.attributes.getCacheListeners())
+        .thenReturn(new CacheListener[] {mock(CacheListener.class)});
+    when(this.region.put("key", "value")).thenReturn("old");
+
+    CompletableFuture<Object> result =
+        new AsyncRegionImpl<>(this.region).putAsync("key", "value");
+
+    assertThat(result.get()).isEqualTo("old");
+    verify(this.region).put("key", "value");
+    verify(this.serverProxy, never()).putAsync(any(), any(), any(), any(), anyBoolean(), any());
+  }
+
+  @Test
+  public void putAsyncRejectsNullValue() {
+    assertThatThrownBy(() -> new AsyncRegionImpl<>(this.region).putAsync("key", null))
+        .isInstanceOf(NullPointerException.class);
+  }
+}
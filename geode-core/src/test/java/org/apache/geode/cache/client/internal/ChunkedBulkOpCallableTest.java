@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.distributed.internal.ServerLocation;
+import org.apache.geode.internal.cache.PoolStats;
+import org.apache.geode.internal.cache.PutAllPartialResultException;
+import org.apache.geode.internal.cache.PutAllPartialResultException.PutAllPartialResult;
+import org.apache.geode.internal.cache.tier.sockets.VersionedObjectList;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class ChunkedBulkOpCallableTest {
+
+  private static final int CHUNK_SIZE = ChunkedBulkOpCallable.CHUNK_SIZE;
+
+  private final ServerLocation server = new ServerLocation("localhost", 40404);
+  private final Map<AbstractOp, List> chunkKeys = new ConcurrentHashMap<>();
+  private final List<Integer> offsets = new ArrayList<>();
+  private PoolImpl pool;
+  private PoolStats stats;
+
+  @Before
+  public void setUp() {
+    this.pool = mock(PoolImpl.class);
+    this.stats = mock(PoolStats.class);
+    when(this.pool.getStats()).thenReturn(this.stats);
+    when(this.pool.getMaxConnections()).thenReturn(-1);
+  }
+
+  @Test
+  public void sendsKeysInChunksAndMergesTheirResultsInOrder() throws Exception {
+    List<Object> keys = keys(2 * CHUNK_SIZE + 1);
+    when(this.pool.executeOn(any(), any(), anyBoolean(), anyBoolean()))
+        .thenAnswer(invocation -> values(this.chunkKeys.get(invocation.getArgument(1))));
+
+    VersionedObjectList result = (VersionedObjectList) callable(keys).call();
+
+    assertThat(this.offsets).containsExactly(0, CHUNK_SIZE, 2 * CHUNK_SIZE);
+    assertThat(result.getKeys()).isEqualTo(keys);
+    verify(this.stats, times(3)).incBulkOpChunks();
+    verify(this.stats).endBulkOpServerStream(anyLong());
+  }
+
+  @Test
+  public void partialResultOfLaterChunkIncludesKeysOfEarlierChunks() throws Exception {
+    List<Object> keys = keys(2 * CHUNK_SIZE);
+    Exception failure = new Exception("failed");
+    when(this.pool.executeOn(any(), any(), anyBoolean(), anyBoolean())).thenAnswer(invocation -> {
+      List chunk = this.chunkKeys.get(invocation.getArgument(1));
+      if (chunk.get(0).equals(keys.get(0))) {
+        return new VersionedObjectList();
+      }
+      PutAllPartialResult partial = new PutAllPartialResult(chunk.size());
+      partial.saveFailedKey(chunk.get(0), failure);
+      throw new PutAllPartialResultException(partial);
+    });
+
+    Throwable thrown = catchThrowable(() -> callable(keys).call());
+
+    assertThat(thrown).isInstanceOf(PutAllPartialResultException.class);
+    PutAllPartialResultException partial = (PutAllPartialResultException) thrown;
+    assertThat(partial.getSucceededKeysAndVersions().getKeys())
+        .isEqualTo(keys.subList(0, CHUNK_SIZE));
+    assertThat(partial.getFirstFailedKey()).isEqualTo(keys.get(CHUNK_SIZE));
+    assertThat(partial.getFailure()).isSameAs(failure);
+  }
+
+  private ChunkedBulkOpCallable callable(List<Object> keys) {
+    return new ChunkedBulkOpCallable(this.server, this.pool, keys, (chunk, offset) -> {
+      AbstractOp op = mock(AbstractOp.class);
+      this.chunkKeys.put(op, chunk);
+      synchronized (this.offsets) {
+        this.offsets.add(offset);
+      }
+      return op;
+    }, null);
+  }
+
+  private static List<Object> keys(int count) {
+    List<Object> keys = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      keys.add("key" + i);
+    }
+    return keys;
+  }
+
+  private static VersionedObjectList values(List keys) {
+    VersionedObjectList values = new VersionedObjectList(keys.size(), true, false);
+    for (Object key : keys) {
+      values.addObject(key, "value", null);
+    }
+    return values;
+  }
+}
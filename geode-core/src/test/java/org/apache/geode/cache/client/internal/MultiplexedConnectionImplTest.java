@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.geode.CancelCriterion;
+import org.apache.geode.distributed.internal.InternalDistributedSystem;
+import org.apache.geode.distributed.internal.ServerLocation;
+import org.apache.geode.internal.Version;
+import org.apache.geode.internal.cache.tier.MessageType;
+import org.apache.geode.internal.cache.tier.sockets.Message;
+import org.apache.geode.internal.cache.tier.sockets.MessageStats;
+import org.apache.geode.test.junit.categories.UnitTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class MultiplexedConnectionImplTest {
+
+  private ServerSocket serverSocket;
+  private Socket clientSide;
+  private Socket serverSide;
+  private MultiplexedConnectionImpl connection;
+
+  @Before
+  public void setUp() throws Exception {
+    serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    clientSide = new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort());
+    serverSide = serverSocket.accept();
+
+    connection = spy(new MultiplexedConnectionImpl(mock(InternalDistributedSystem.class),
+        mock(CancelCriterion.class)));
+    doReturn(clientSide).when(connection).getSocket();
+    doReturn(clientSide.getInputStream()).when(connection).getInputStream();
+    doReturn(clientSide.getOutputStream()).when(connection).getOutputStream();
+    doReturn(ByteBuffer.allocate(1024)).when(connection).getCommBuffer();
+    doReturn(mock(ConnectionStats.class)).when(connection).getStats();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    clientSide.close();
+    serverSide.close();
+    serverSocket.close();
+  }
+
+  @Test
+  public void repliesAreMatchedToRequestsByRequestId() throws Exception {
+    startReader(0);
+    CompletableFuture<Message> first = connection.send(request("first"));
+    CompletableFuture<Message> second = connection.send(request("second"));
+    Message firstRequest = readRequest();
+    Message secondRequest = readRequest();
+
+    reply(secondRequest.getTransactionId(), "reply to second");
+    reply(firstRequest.getTransactionId(), "reply to first");
+
+    assertThat(firstRequest.getTransactionId()).isNotEqualTo(secondRequest.getTransactionId());
+    assertThat(connection.receive(first).getPart(0).getString()).isEqualTo("reply to first");
+    assertThat(connection.receive(second).getPart(0).getString()).isEqualTo("reply to second");
+    assertThat(connection.getPendingRequestCount()).isZero();
+  }
+
+  @Test
+  public void timedOutReplyIsAbandonedAndDiscardedWhenItArrives() throws Exception {
+    startReader(100);
+    CompletableFuture<Message> slow = connection.send(request("slow"));
+    Message slowRequest = readRequest();
+
+    assertThatThrownBy(() -> connection.receive(slow))
+        .isInstanceOf(SocketTimeoutException.class);
+    assertThat(connection.getPendingRequestCount()).isZero();
+
+    reply(slowRequest.getTransactionId(), "reply to slow");
+    CompletableFuture<Message> next = connection.send(request("next"));
+    reply(readRequest().getTransactionId(), "reply to next");
+
+    assertThat(connection.receive(next).getPart(0).getString()).isEqualTo("reply to next");
+    assertThat(connection.getPendingRequestCount()).isZero();
+  }
+
+  @Test
+  public void pendingRepliesFailWhenTheServerClosesTheConnection() throws Exception {
+    startReader(0);
+    CompletableFuture<Message> pending = connection.send(request("unanswered"));
+    readRequest();
+
+    serverSide.close();
+
+    assertThatThrownBy(() -> connection.receive(pending)).isInstanceOf(IOException.class);
+    assertThat(connection.getPendingRequestCount()).isZero();
+  }
+
+  @Test
+  public void expireAfterReadTimeoutFailsReplyThatDoesNotArrive() throws Exception {
+    startReader(100);
+    ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    try {
+      CompletableFuture<Message> slow =
+          connection.expireAfterReadTimeout(connection.send(request("slow")), timer);
+      Message slowRequest = readRequest();
+
+      assertThatThrownBy(() -> slow.get(30, TimeUnit.SECONDS))
+          .hasCauseInstanceOf(SocketTimeoutException.class);
+      assertThat(connection.getPendingRequestCount()).isZero();
+
+      reply(slowRequest.getTransactionId(), "reply to slow");
+      CompletableFuture<Message> next =
+          connection.expireAfterReadTimeout(connection.send(request("next")), timer);
+      reply(readRequest().getTransactionId(), "reply to next");
+
+      assertThat(next.get(30, TimeUnit.SECONDS).getPart(0).getString())
+          .isEqualTo("reply to next");
+    } finally {
+      timer.shutdownNow();
+    }
+  }
+
+  private void startReader(int readTimeout) throws IOException {
+    connection.startReader(new ServerLocation("localhost", serverSocket.getLocalPort()), 1024,
+        readTimeout);
+  }
+
+  private static Message request(String value) {
+    Message request = new Message(1, Version.CURRENT);
+    request.setMessageType(MessageType.REQUEST);
+    request.addStringPart(value);
+    return request;
+  }
+
+  private Message readRequest() throws IOException {
+    Message request = new Message(1, Version.CURRENT);
+    request.setComms(serverSide, serverSide.getInputStream(), serverSide.getOutputStream(),
+        ByteBuffer.allocate(1024), mock(MessageStats.class));
+    request.recv();
+    return request;
+  }
+
+  private void reply(int requestId, String value) throws IOException {
+    Message reply = new Message(1, Version.CURRENT);
+    reply.setMessageType(MessageType.RESPONSE);
+    reply.setTransactionId(requestId);
+    reply.addStringPart(value);
+    reply.setComms(serverSide, serverSide.getInputStream(), serverSide.getOutputStream(),
+        ByteBuffer.allocate(1024), mock(MessageStats.class));
+    reply.send(false);
+  }
+}
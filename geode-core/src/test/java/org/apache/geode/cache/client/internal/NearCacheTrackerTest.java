@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
+
+import org.apache.geode.cache.InterestResultPolicy;
+import org.apache.geode.cache.Operation;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class NearCacheTrackerTest {
+
+  private LocalRegion region;
+  private NearCacheTracker tracker;
+
+  @Before
+  public void setUp() {
+    this.region = mock(LocalRegion.class);
+    this.tracker = new NearCacheTracker(this.region);
+  }
+
+  @Test
+  public void registersInterestWithInvalidatesOnceForEachKey() {
+    read("key1");
+    read("key1");
+
+    verify(this.region, times(1)).registerInterest(eq("key1"), eq(InterestResultPolicy.NONE),
+        eq(false), eq(false));
+    assertThat(this.tracker.getRegisteredKeyCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void keyReadAgainAfterEvictionIsNotRegisteredAgain() {
+    read("key1");
+    this.tracker.afterLocalDestroy("key1", Operation.EVICT_DESTROY);
+    read("key1");
+
+    verify(this.region, times(1)).registerInterest(any(), any(InterestResultPolicy.class),
+        anyBoolean(), anyBoolean());
+    assertThat(this.tracker.getRegisteredKeyCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void otherLocalDestroysKeepTheKeyRegistered() {
+    read("key1");
+    this.tracker.afterLocalDestroy("key1", Operation.LOCAL_DESTROY);
+
+    assertThat(this.tracker.getRegisteredKeyCount()).isEqualTo(1);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void evictedAndExpiredKeysAreUnregisteredInBatches() {
+    int batchSize = NearCacheTracker.UNREGISTER_BATCH_SIZE;
+    for (int i = 0; i < batchSize; i++) {
+      read(i);
+      this.tracker.afterLocalDestroy(i,
+          i % 2 == 0 ? Operation.EVICT_DESTROY : Operation.EXPIRE_LOCAL_DESTROY);
+    }
+    verify(this.region, never()).unregisterInterest(any());
+
+    read("key");
+
+    ArgumentCaptor<Object> keys = ArgumentCaptor.forClass(Object.class);
+    verify(this.region).unregisterInterest(keys.capture());
+    assertThat((List<Object>) keys.getValue()).hasSize(batchSize);
+    assertThat(this.tracker.getRegisteredKeyCount()).isEqualTo(1);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void keyEvictedWhileBeingReadIsNotUnregistered() {
+    this.tracker.beforeServerGet("key");
+    this.tracker.afterLocalDestroy("key", Operation.EVICT_DESTROY);
+    for (int i = 0; i < NearCacheTracker.UNREGISTER_BATCH_SIZE; i++) {
+      read(i);
+      this.tracker.afterLocalDestroy(i, Operation.EVICT_DESTROY);
+    }
+    this.tracker.afterServerGet("key");
+    read("other");
+
+    ArgumentCaptor<Object> keys = ArgumentCaptor.forClass(Object.class);
+    verify(this.region).unregisterInterest(keys.capture());
+    assertThat((List<Object>) keys.getValue()).doesNotContain("key");
+    // key, other and the last evicted key, which waits for the next batch
+    assertThat(this.tracker.getRegisteredKeyCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void registrationsOfDifferentKeysDoNotWaitForEachOther() throws Exception {
+    CountDownLatch registering = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      registering.countDown();
+      release.await(30, TimeUnit.SECONDS);
+      return null;
+    }).when(this.region).registerInterest(eq("slow"), any(InterestResultPolicy.class),
+        anyBoolean(), anyBoolean());
+    CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> read("slow"));
+    assertThat(registering.await(30, TimeUnit.SECONDS)).isTrue();
+
+    CompletableFuture.runAsync(() -> read("fast")).get(30, TimeUnit.SECONDS);
+
+    release.countDown();
+    slow.get(30, TimeUnit.SECONDS);
+    assertThat(this.tracker.getRegisteredKeyCount()).isEqualTo(2);
+  }
+
+  private void read(Object key) {
+    this.tracker.beforeServerGet(key);
+    this.tracker.afterServerGet(key);
+  }
+}
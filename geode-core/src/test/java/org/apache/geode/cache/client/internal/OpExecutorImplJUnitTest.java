@@ -15,6 +15,12 @@
 package org.apache.geode.cache.client.internal;
 
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -26,6 +32,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.apache.geode.test.junit.categories.ClientServerTest;
@@ -42,6 +50,9 @@ import org.apache.geode.cache.client.internal.pooling.ConnectionManager;
 import org.apache.geode.distributed.DistributedMember;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
 import org.apache.geode.distributed.internal.ServerLocation;
+import org.apache.geode.internal.Version;
+import org.apache.geode.internal.cache.tier.MessageType;
+import org.apache.geode.internal.cache.tier.sockets.Message;
 import org.apache.geode.internal.cache.tier.sockets.ServerQueueStatus;
 import org.apache.geode.internal.logging.InternalLogWriter;
 import org.apache.geode.internal.logging.LocalLogWriter;
@@ -189,6 +200,186 @@ public class OpExecutorImplJUnitTest {
     getBackups = 0;
   }
 
+  @Test
+  public void testExecuteFallsBackToPooledConnectionWhenMultiplexedAttemptFails()
+      throws Exception {
+    OpExecutorImpl exec = new OpExecutorImpl(manager, queueManager, endpointManager, riTracker, 3,
+        10, false, cancelCriterion, null);
+    MultiplexedConnectionManager multiplexedManager = mock(MultiplexedConnectionManager.class);
+    Connection multiplexed = mock(Connection.class);
+    MultiplexableOp op = new MultiplexableOp();
+    when(multiplexedManager.canMultiplex(op)).thenReturn(true);
+    when(multiplexedManager.getConnection(null)).thenReturn(multiplexed);
+    exec.setMultiplexedConnectionManager(multiplexedManager);
+
+    when(multiplexed.execute(op)).thenReturn("multiplexed");
+    assertEquals("multiplexed", exec.execute(op));
+    assertEquals(0, borrows);
+
+    // a timed out reply leaves the connection to the requests of other threads
+    doThrow(new SocketTimeoutException()).when(multiplexed).execute(op);
+    assertEquals("pooled", exec.execute(op));
+    assertEquals(1, borrows);
+    assertEquals(1, returns);
+    assertTrue(op.getMessage().isRetry());
+    verify(multiplexedManager, never()).destroy(multiplexed);
+
+    reset();
+
+    doThrow(new IOException("connection reset")).when(multiplexed).execute(op);
+    assertEquals("pooled", exec.execute(op));
+    assertEquals(1, borrows);
+    assertEquals(1, returns);
+    assertEquals(1, serverCrashes);
+    verify(multiplexedManager).destroy(multiplexed);
+  }
+
+  @Test
+  public void testExecuteAsync() throws Exception {
+    OpExecutorImpl exec = new OpExecutorImpl(manager, queueManager, endpointManager, riTracker, 3,
+        10, false, cancelCriterion, null);
+    List<Runnable> tasks = new ArrayList<>();
+    CompletableFuture<Object> result = exec.executeAsync(null, new Op() {
+      @Override
+      public Object attempt(Connection cnx) throws Exception {
+        return "hello";
+      }
+
+      @Override
+      public boolean useThreadLocalConnection() {
+        return true;
+      }
+    }, false, tasks::add, null);
+    assertFalse(result.isDone());
+    assertEquals(0, borrows);
+    assertEquals(1, tasks.size());
+    tasks.remove(0).run();
+    assertEquals("hello", result.get());
+    assertEquals(1, borrows);
+    assertEquals(1, returns);
+
+    reset();
+
+    result = exec.executeAsync(null, new Op() {
+      @Override
+      public Object attempt(Connection cnx) throws Exception {
+        throw new SocketTimeoutException();
+      }
+
+      @Override
+      public boolean useThreadLocalConnection() {
+        return true;
+      }
+    }, false, Runnable::run, null);
+    assertTrue(result.isCompletedExceptionally());
+    try {
+      result.get();
+      fail("Should have got an exception");
+    } catch (ExecutionException expected) {
+      assertTrue(expected.getCause() instanceof ServerConnectivityException);
+    }
+    assertEquals(1, borrows);
+    assertEquals(3, exchanges);
+    assertEquals(1, returns);
+  }
+
+  @Test
+  public void testExecuteAsyncMultiplexed() throws Exception {
+    OpExecutorImpl exec = new OpExecutorImpl(manager, queueManager, endpointManager, riTracker, 3,
+        10, false, cancelCriterion, null);
+    MultiplexedConnectionManager multiplexedManager = mock(MultiplexedConnectionManager.class);
+    MultiplexedConnectionImpl multiplexed = mock(MultiplexedConnectionImpl.class);
+    MultiplexableOp op = new MultiplexableOp();
+    when(multiplexedManager.canMultiplex(op)).thenReturn(true);
+    when(multiplexedManager.getConnection(null)).thenReturn(multiplexed);
+    when(multiplexed.getStats()).thenReturn(mock(ConnectionStats.class));
+    when(multiplexed.expireAfterReadTimeout(any(), any()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    exec.setMultiplexedConnectionManager(multiplexedManager);
+
+    // the reply is processed by the executor when it arrives
+    CompletableFuture<Message> reply = new CompletableFuture<>();
+    when(multiplexed.send(op.getMessage())).thenReturn(reply);
+    List<Runnable> tasks = new ArrayList<>();
+    CompletableFuture<Object> result = exec.executeAsync(null, op, false, tasks::add, null);
+    assertFalse(result.isDone());
+    assertEquals(0, tasks.size());
+    reply.complete(response("multiplexed"));
+    assertEquals(1, tasks.size());
+    tasks.remove(0).run();
+    assertEquals("multiplexed", result.get());
+    assertEquals(0, borrows);
+
+    // a timed out reply leaves the connection to the requests of other threads
+    CompletableFuture<Message> timedOut = new CompletableFuture<>();
+    when(multiplexed.send(op.getMessage())).thenReturn(timedOut);
+    result = exec.executeAsync(null, op, false, Runnable::run, null);
+    assertFalse(result.isDone());
+    timedOut.completeExceptionally(new SocketTimeoutException());
+    assertEquals("pooled", result.get());
+    assertEquals(1, borrows);
+    assertEquals(1, returns);
+    assertTrue(op.getMessage().isRetry());
+    verify(multiplexedManager, never()).destroy(multiplexed);
+
+    reset();
+
+    CompletableFuture<Message> failed = new CompletableFuture<>();
+    when(multiplexed.send(op.getMessage())).thenReturn(failed);
+    result = exec.executeAsync(null, op, false, Runnable::run, null);
+    failed.completeExceptionally(new IOException("connection reset"));
+    assertEquals("pooled", result.get());
+    assertEquals(1, borrows);
+    assertEquals(1, returns);
+    assertEquals(1, serverCrashes);
+    verify(multiplexedManager).destroy(multiplexed);
+
+    reset();
+
+    // a request that can not be sent goes to a pooled connection
+    doThrow(new IOException("broken pipe")).when(multiplexed).send(op.getMessage());
+    result = exec.executeAsync(null, op, false, Runnable::run, null);
+    assertEquals("pooled", result.get());
+    assertEquals(1, borrows);
+  }
+
+  private static Message response(String value) {
+    Message response = new Message(1, Version.CURRENT);
+    response.setMessageType(MessageType.RESPONSE);
+    response.addStringPart(value);
+    return response;
+  }
+
+  @Test
+  public void testOnlySingleKeyOpsAreAddedToServerResponseTime() throws Exception {
+    OpExecutorImpl exec = new OpExecutorImpl(manager, queueManager, endpointManager, riTracker, 3,
+        10, false, cancelCriterion, null);
+    List<Connection> used = new ArrayList<>();
+
+    exec.execute(new MultiplexableOp() {
+      @Override
+      public Object attempt(Connection cnx) throws Exception {
+        used.add(cnx);
+        return "bulk";
+      }
+    });
+    exec.execute(new MultiplexableOp() {
+      @Override
+      public Object attempt(Connection cnx) throws Exception {
+        used.add(cnx);
+        return "single";
+      }
+
+      @Override
+      protected boolean isSingleKey() {
+        return true;
+      }
+    });
+
+    assertEquals(0, used.get(0).getEndpoint().getResponseTime());
+    assertTrue(used.get(1).getEndpoint().getResponseTime() > 0);
+  }
+
   @Test
   public void testExecuteOncePerServer() throws Exception {
     OpExecutorImpl exec = new OpExecutorImpl(manager, queueManager, endpointManager, riTracker, -1,
@@ -457,6 +648,48 @@ public class OpExecutorImplJUnitTest {
     assertEquals(0, returns);
   }
 
+  /**
+   * An op that can be multiplexed and that returns "pooled" when executed on a pooled connection.
+   */
+  private static class MultiplexableOp extends AbstractOp {
+
+    MultiplexableOp() {
+      super(MessageType.REQUEST, 1);
+      getMessage().addStringPart("request");
+    }
+
+    @Override
+    public Object attempt(Connection cnx) throws Exception {
+      return "pooled";
+    }
+
+    @Override
+    protected boolean isMultiplexable() {
+      return true;
+    }
+
+    @Override
+    protected Object processResponse(Message msg) throws Exception {
+      return msg.getPart(0).getString();
+    }
+
+    @Override
+    protected boolean isErrorResponse(int msgType) {
+      return false;
+    }
+
+    @Override
+    protected long startAttempt(ConnectionStats stats) {
+      return 0;
+    }
+
+    @Override
+    protected void endSendAttempt(ConnectionStats stats, long start) {}
+
+    @Override
+    protected void endAttempt(ConnectionStats stats, long start) {}
+  }
+
   private class DummyManager implements ConnectionManager {
 
     protected int numServers = Integer.MAX_VALUE;
@@ -534,6 +767,7 @@ public class OpExecutorImplJUnitTest {
   private class DummyConnection implements Connection {
 
     private ServerLocation server;
+    private final Endpoint endpoint = new Endpoint(null, null, null, null, null);
 
     public DummyConnection(ServerLocation serverLocation) {
       this.server = serverLocation;
@@ -579,7 +813,7 @@ public class OpExecutorImplJUnitTest {
 
     @Override
     public Endpoint getEndpoint() {
-      return new Endpoint(null, null, null, null, null);
+      return endpoint;
     }
 
     @Override
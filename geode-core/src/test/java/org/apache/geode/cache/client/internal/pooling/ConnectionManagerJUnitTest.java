@@ -48,6 +48,7 @@ import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
@@ -136,6 +137,31 @@ public class ConnectionManagerJUnitTest {
     }
   }
 
+  @Test
+  public void testBorrowPrefersServerWithLowerResponseTime()
+      throws InterruptedException, AllConnectionsInUseException, NoAvailableServersException {
+    manager = new ConnectionManagerImpl("pool", factory, endpointManager, 10, 0, -1, -1, logger,
+        60 * 1000, cancelCriterion, poolStats);
+    manager.start(background);
+
+    ServerLocation slowServer = new ServerLocation("localhost", 1);
+    ServerLocation fastServer = new ServerLocation("localhost", 2);
+    factory.nextServer = slowServer;
+    Connection slow = manager.borrowConnection(0);
+    factory.nextServer = fastServer;
+    Connection fast = manager.borrowConnection(0);
+    slow.getEndpoint().recordResponseTime(100 * 1000000L);
+    fast.getEndpoint().recordResponseTime(1000000L);
+
+    // the connection to the slow server is returned last, so it is first in line
+    manager.returnConnection(fast);
+    manager.returnConnection(slow);
+
+    Assert.assertEquals(fastServer, manager.borrowConnection(0).getServer());
+    Assert.assertEquals(slowServer, manager.borrowConnection(0).getServer());
+    Assert.assertEquals(2, factory.creates);
+  }
+
   @Test
   public void testPrefill() throws InterruptedException {
     manager = new ConnectionManagerImpl("pool", factory, endpointManager, 10, 2, -1, -1, logger,
@@ -504,6 +530,55 @@ public class ConnectionManagerJUnitTest {
     }
   }
 
+  @Test
+  public void testConcurrentBorrowNeverExceedsMaxConnections() throws Throwable {
+    final int maxConnections = 3;
+    manager = new ConnectionManagerImpl("pool", factory, endpointManager, maxConnections, 0, -1,
+        -1, logger, 60 * 1000, cancelCriterion, poolStats);
+    manager.start(background);
+    final AtomicReference exception = new AtomicReference();
+    final AtomicInteger borrowed = new AtomicInteger();
+    final int threadCount = 20;
+    final int iterations = 500;
+    Thread[] threads = new Thread[threadCount];
+
+    for (int i = 0; i < threadCount; i++) {
+      threads[i] = new Thread() {
+        public void run() {
+          try {
+            for (int j = 0; j < iterations; j++) {
+              Connection conn = manager.borrowConnection(10 * 1000);
+              try {
+                int inUse = borrowed.incrementAndGet();
+                Assert.assertTrue("Too many connections in use: " + inUse,
+                    inUse <= maxConnections);
+                Assert.assertTrue(manager.getConnectionCount() <= maxConnections);
+              } finally {
+                borrowed.decrementAndGet();
+                manager.returnConnection(conn);
+              }
+            }
+          } catch (Throwable t) {
+            exception.compareAndSet(null, t);
+          }
+        }
+      };
+      threads[i].start();
+    }
+
+    for (int i = 0; i < threadCount; i++) {
+      ThreadUtils.join(threads[i], 30 * 1000);
+    }
+
+    if (exception.get() != null) {
+      throw (Throwable) exception.get();
+    }
+
+    Assert.assertTrue(factory.creates <= maxConnections);
+    Assert.assertEquals(0, factory.destroys);
+    Assert.assertEquals(threadCount * iterations, poolStats.getConnectionBorrows());
+  }
+
   @Test
   public void testClose()
       throws AllConnectionsInUseException, NoAvailableServersException, InterruptedException {
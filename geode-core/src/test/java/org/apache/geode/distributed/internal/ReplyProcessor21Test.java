@@ -14,10 +14,17 @@
  */
 package org.apache.geode.distributed.internal;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import org.apache.geode.CancelCriterion;
+import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
+import org.apache.geode.internal.util.concurrent.StoppableCountDownLatch;
 import org.apache.geode.test.junit.categories.UnitTest;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -35,4 +42,19 @@ public class ReplyProcessor21Test {
     verify(mockReplyProcessor21, times(1)).waitForRepliesUninterruptibly();
     verify(mockReplyProcessor21, times(1)).finished();
   }
+
+  @Test
+  public void doesNotBlockForSingleReplyThatHasAlreadyArrived() throws Exception {
+    DM dm = mock(DM.class);
+    when(dm.getSystem()).thenReturn(mock(InternalDistributedSystem.class));
+    when(dm.getCancelCriterion()).thenReturn(mock(CancelCriterion.class));
+    ReplyProcessor21 processor = new ReplyProcessor21(dm, mock(InternalDistributedMember.class));
+    StoppableCountDownLatch latch = mock(StoppableCountDownLatch.class);
+    when(latch.getCount()).thenReturn(0L);
+
+    assertThat(processor.basicWait(0, latch)).isTrue();
+
+    verify(latch, never()).await(anyLong());
+    verify(latch, never()).await();
+  }
 }
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.geode.Statistics;
+import org.apache.geode.StatisticsFactory;
+import org.apache.geode.StatisticsType;
+import org.apache.geode.test.junit.categories.UnitTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class VirtualThreadExecutorWithDMStatsTest {
+
+  private VirtualThreadExecutorWithDMStats executor;
+
+  @Before
+  public void setUp() {
+    StatisticsFactory statisticsFactory = mock(StatisticsFactory.class);
+    when(statisticsFactory.createAtomicStatistics(any(StatisticsType.class), anyString()))
+        .thenReturn(mock(Statistics.class));
+    executor = new VirtualThreadExecutorWithDMStats(new LinkedBlockingQueue<>(1), 2,
+        mock(PoolStatHelper.class), Thread::new, statisticsFactory, "test");
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void runsNoMoreJobsAtOnceThanItsConcurrency() throws Exception {
+    int jobs = 10;
+    CountDownLatch done = new CountDownLatch(jobs);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    for (int i = 0; i < jobs; i++) {
+      executor.execute(() -> {
+        int now = running.incrementAndGet();
+        maxRunning.accumulateAndGet(now, Math::max);
+        try {
+          Thread.sleep(10);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        running.decrementAndGet();
+        done.countDown();
+      });
+    }
+
+    assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+    assertThat(maxRunning.get()).isBetween(1, 2);
+  }
+
+  @Test
+  public void blocksSubmitterOnceItsQueueIsFull() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(5);
+    Runnable job = () -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      done.countDown();
+    };
+    executor.execute(job);
+    executor.execute(job);
+
+    // one job waits in the queue and one in the hand off to the pool's threads
+    Thread submitter = new Thread(() -> {
+      for (int i = 0; i < 3; i++) {
+        executor.execute(job);
+      }
+    });
+    submitter.start();
+
+    await().atMost(30, TimeUnit.SECONDS)
+        .until(() -> submitter.getState() == Thread.State.WAITING);
+    assertThat(executor.getPoolSize()).isEqualTo(2);
+    release.countDown();
+    submitter.join(30000);
+    assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+  }
+}
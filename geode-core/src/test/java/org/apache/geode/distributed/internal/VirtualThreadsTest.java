@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class VirtualThreadsTest {
+
+  @Test
+  public void virtualThreadsAreNotUsedWhereMonitorsPinTheCarrier() {
+    assertThat(VirtualThreads.monitorsDoNotPin(null)).isFalse();
+    assertThat(VirtualThreads.monitorsDoNotPin("1.8")).isFalse();
+    assertThat(VirtualThreads.monitorsDoNotPin("21")).isFalse();
+    assertThat(VirtualThreads.monitorsDoNotPin("23")).isFalse();
+  }
+
+  @Test
+  public void virtualThreadsAreUsedFromJava24() {
+    assertThat(VirtualThreads.monitorsDoNotPin("24")).isTrue();
+    assertThat(VirtualThreads.monitorsDoNotPin("25")).isTrue();
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class CompactionRateLimiterJUnitTest {
+
+  private static final long MB = 1024 * 1024;
+
+  private final DiskStoreStats stats = mock(DiskStoreStats.class);
+
+  @Test
+  public void pausesForTheTimeTheBudgetNeedsToCoverTheBytes() {
+    CompactionRateLimiter limiter = new CompactionRateLimiter(stats, 10 * MB);
+
+    long pause = limiter.charge(5 * MB);
+
+    // half a second minus the few nanoseconds between construction and charge
+    assertThat(pause).isBetween(TimeUnit.MILLISECONDS.toNanos(400),
+        TimeUnit.MILLISECONDS.toNanos(500));
+  }
+
+  @Test
+  public void consecutiveChargesAccumulate() {
+    CompactionRateLimiter limiter = new CompactionRateLimiter(stats, 10 * MB);
+
+    long first = limiter.charge(MB);
+    long second = limiter.charge(MB);
+
+    assertThat(second).isGreaterThan(first + TimeUnit.MILLISECONDS.toNanos(50));
+  }
+
+  @Test
+  public void idleTimeIsNotSavedUp() throws Exception {
+    CompactionRateLimiter limiter = new CompactionRateLimiter(stats, 1000 * MB);
+    Thread.sleep(50);
+
+    // without the idle time being saved up this still costs about a millisecond
+    assertThat(limiter.charge(MB)).isGreaterThan(TimeUnit.MICROSECONDS.toNanos(500));
+  }
+
+  @Test
+  public void backsOffWhileForegroundWritesUseTheBudget() throws Exception {
+    when(stats.getBytesWritten()).thenReturn(0L, 100 * MB);
+    CompactionRateLimiter limiter =
+        new CompactionRateLimiter(stats, 10 * MB, TimeUnit.MILLISECONDS.toNanos(1));
+    Thread.sleep(10);
+
+    limiter.charge(0);
+
+    assertThat(limiter.getRateBytesPerSecond()).isEqualTo(MB);
+  }
+
+  @Test
+  public void usesWholeBudgetWithoutForegroundWrites() throws Exception {
+    CompactionRateLimiter limiter =
+        new CompactionRateLimiter(stats, 10 * MB, TimeUnit.MILLISECONDS.toNanos(1));
+    Thread.sleep(10);
+
+    limiter.charge(MB);
+
+    assertThat(limiter.getRateBytesPerSecond()).isEqualTo(10 * MB);
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.ExpirationAttributes;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class ExpirationTimingWheelJUnitTest {
+
+  private ExpirationTimingWheel wheel;
+
+  @Before
+  public void setUp() {
+    wheel = new ExpirationTimingWheel(1, 2);
+  }
+
+  @After
+  public void tearDown() {
+    wheel.stop();
+  }
+
+  @Test
+  public void runsTaskOnceItIsDue() throws Exception {
+    TestExpiryTask task = new TestExpiryTask();
+    long start = System.nanoTime();
+
+    assertThat(wheel.schedule(task, 50)).isTrue();
+
+    assertThat(task.ran.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+  }
+
+  @Test
+  public void runsTaskScheduledBeyondTheFirstLevel() throws Exception {
+    // with a tick of one millisecond the first level spans 256 milliseconds
+    TestExpiryTask task = new TestExpiryTask();
+    long start = System.nanoTime();
+
+    wheel.schedule(task, 600);
+
+    assertThat(task.ran.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(System.nanoTime() - start)
+        .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(600));
+  }
+
+  @Test
+  public void runsManyTasksWithTheSameDeadline() throws Exception {
+    CountDownLatch ran = new CountDownLatch(1000);
+    for (int i = 0; i < 1000; i++) {
+      wheel.schedule(new TestExpiryTask(ran), 20);
+    }
+
+    assertThat(ran.await(10, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void cancelledTaskDoesNotRun() throws Exception {
+    TestExpiryTask task = new TestExpiryTask();
+    TestExpiryTask other = new TestExpiryTask();
+    wheel.schedule(task, 50);
+    wheel.schedule(other, 100);
+
+    assertThat(task.cancel()).isTrue();
+
+    assertThat(other.ran.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(task.ran.getCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void taskCanOnlyBeScheduledOnce() {
+    TestExpiryTask task = new TestExpiryTask();
+
+    assertThat(wheel.schedule(task, 1000)).isTrue();
+    assertThat(wheel.schedule(task, 1000)).isFalse();
+  }
+
+  @Test
+  public void cancelledTaskCanNotBeScheduled() {
+    TestExpiryTask task = new TestExpiryTask();
+
+    assertThat(task.cancel()).isFalse();
+    assertThat(wheel.schedule(task, 1000)).isFalse();
+  }
+
+  @Test
+  public void cancelAfterRunningReturnsFalse() throws Exception {
+    TestExpiryTask task = new TestExpiryTask();
+    wheel.schedule(task, 1);
+    assertThat(task.ran.await(10, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(task.cancel()).isFalse();
+  }
+
+  private static class TestExpiryTask extends ExpiryTask {
+    final CountDownLatch ran;
+
+    TestExpiryTask() {
+      this(new CountDownLatch(1));
+    }
+
+    TestExpiryTask(CountDownLatch ran) {
+      super(null);
+      this.ran = ran;
+    }
+
+    @Override
+    protected void runInThreadPool() {
+      ran.countDown();
+    }
+
+    @Override
+    protected ExpirationAttributes getIdleAttributes() {
+      return null;
+    }
+
+    @Override
+    protected ExpirationAttributes getTTLAttributes() {
+      return null;
+    }
+
+    @Override
+    protected void basicPerformTimeout(boolean isPending) {}
+
+    @Override
+    protected void reschedule() {}
+
+    @Override
+    protected long getLastModifiedTime() {
+      return 0;
+    }
+
+    @Override
+    protected long getLastAccessedTime() {
+      return 0;
+    }
+
+    @Override
+    protected boolean invalidate() {
+      return false;
+    }
+
+    @Override
+    protected boolean destroy(boolean isPending) {
+      return false;
+    }
+
+    @Override
+    protected boolean localInvalidate() {
+      return false;
+    }
+
+    @Override
+    protected boolean localDestroy() {
+      return false;
+    }
+
+    @Override
+    protected void addExpiryTask() {}
+
+    @Override
+    public boolean isPending() {
+      return false;
+    }
+
+    @Override
+    public Object getKey() {
+      return null;
+    }
+  }
+}
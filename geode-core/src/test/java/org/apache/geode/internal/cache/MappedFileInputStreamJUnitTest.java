@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.junit.Assert.*;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+@Category(IntegrationTest.class)
+public class MappedFileInputStreamJUnitTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File file;
+
+  private byte[] contents;
+
+  @Before
+  public void setUp() throws Exception {
+    contents = new byte[10000];
+    new Random(17).nextBytes(contents);
+    file = temporaryFolder.newFile("oplog.crf");
+    FileOutputStream fos = new FileOutputStream(file);
+    try {
+      fos.write(contents);
+    } finally {
+      fos.close();
+    }
+  }
+
+  private MappedFileInputStream open(int windowSize) throws Exception {
+    return new MappedFileInputStream(new FileInputStream(file).getChannel(), windowSize);
+  }
+
+  @Test
+  public void readsAcrossWindows() throws Exception {
+    MappedFileInputStream in = open(1000);
+    try {
+      byte[] result = new byte[contents.length];
+      new DataInputStream(in).readFully(result);
+      assertArrayEquals(contents, result);
+      assertEquals(-1, in.read());
+    } finally {
+      in.close();
+    }
+  }
+
+  @Test
+  public void singleByteReadsAndSkipsAcrossWindows() throws Exception {
+    MappedFileInputStream in = open(999);
+    try {
+      int position = 0;
+      while (position < contents.length) {
+        assertEquals(contents[position] & 0xff, in.read());
+        position++;
+        position += in.skip(1500);
+      }
+      assertEquals(-1, in.read());
+      assertEquals(0, in.skip(10));
+    } finally {
+      in.close();
+    }
+  }
+
+  @Test
+  public void readsEmptyFile() throws Exception {
+    File empty = temporaryFolder.newFile("empty.drf");
+    MappedFileInputStream in =
+        new MappedFileInputStream(new FileInputStream(empty).getChannel(), 1000);
+    try {
+      assertEquals(-1, in.read());
+      assertEquals(-1, in.read(new byte[10], 0, 10));
+    } finally {
+      in.close();
+    }
+  }
+
+  @Test
+  public void prefetchReturnsFileLength() throws Exception {
+    assertEquals(contents.length, MappedFileInputStream.prefetch(file));
+  }
+}
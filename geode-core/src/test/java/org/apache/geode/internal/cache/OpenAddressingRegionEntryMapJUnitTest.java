@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.size.ReflectionSingleObjectSizer;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+/**
+ * Unit tests for {@link OpenAddressingRegionEntryMap}.
+ */
+@Category(UnitTest.class)
+public class OpenAddressingRegionEntryMapJUnitTest {
+
+  private static RegionEntry intEntry(int key) {
+    return new VMThinRegionEntryHeapIntKey(null, key, "value" + key);
+  }
+
+  private static RegionEntry longEntry(long key) {
+    return new VMThinRegionEntryHeapLongKey(null, key, "value" + key);
+  }
+
+  @Test
+  public void putIfAbsentAndGetWithIntKeys() {
+    OpenAddressingRegionEntryMap map = new OpenAddressingRegionEntryMap(16, 0.75f, 4);
+    for (int i = 0; i < 1000; i++) {
+      RegionEntry re = intEntry(i);
+      assertNull(map.putIfAbsent(i, re));
+      assertSame(re, map.putIfAbsent(i, intEntry(i)));
+    }
+    assertEquals(1000, map.size());
+    for (int i = 0; i < 1000; i++) {
+      RegionEntry re = (RegionEntry) map.get(i);
+      assertNotNull(re);
+      assertEquals(i, re.getKey());
+    }
+    assertNull(map.get(1000));
+    // a long key with the same value is not the same region key
+    assertNull(map.get(5L));
+  }
+
+  @Test
+  public void primitiveKeyLookupsFindEntriesWithoutBoxing() {
+    OpenAddressingRegionEntryMap map = new OpenAddressingRegionEntryMap(16, 0.75f, 4);
+    for (int i = 0; i < 1000; i++) {
+      map.put(i, intEntry(i));
+      map.put((long) i << 32, longEntry((long) i << 32));
+    }
+    for (int i = 0; i < 1000; i++) {
+      assertSame(map.get(i), map.getIntKey(i));
+      assertSame(map.get((long) i << 32), map.getLongKey((long) i << 32));
+    }
+    assertNull(map.getIntKey(1000));
+    assertNull(map.getLongKey(1L));
+    // an int key is not found by a long lookup with the same value
+    assertNull(map.getLongKey(5L));
+    map.remove(5);
+    assertNull(map.getIntKey(5));
+  }
+
+  @Test
+  public void putReplacesExistingEntry() {
+    OpenAddressingRegionEntryMap map = new OpenAddressingRegionEntryMap(16, 0.75f, 1);
+    RegionEntry first = longEntry(7L);
+    RegionEntry second = longEntry(7L);
+    assertNull(map.put(7L, first));
+    assertSame(first, map.put(7L, second));
+    assertSame(second, map.get(7L));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  public void removeOnlyRemovesExpectedEntry() {
+    OpenAddressingRegionEntryMap map = new OpenAddressingRegionEntryMap(16, 0.75f, 1);
+    RegionEntry re = intEntry(3);
+    map.put(3, re);
+    assertFalse(map.remove(3, intEntry(3)));
+    assertTrue(map.remove(3, re));
+    assertNull(map.get(3));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  public void entriesBehindRemovedSlotsAreStillFound() {
+    // a single segment with a small table forces long probe sequences
+    OpenAddressingRegionEntryMap map = new OpenAddressingRegionEntryMap(4, 0.75f, 1);
+    for (int round = 0; round < 50; round++) {
+      for (int i = 0; i < 100; i++) {
+        map.put(i, intEntry(i));
+      }
+      for (int i = 0; i < 100; i += 2) {
+        assertNotNull(map.remove(i));
+      }
+      for (int i = 1; i < 100; i += 2) {
+        assertNotNull("missing key " + i + " in round " + round, map.get(i));
+      }
+      assertEquals(50, map.size());
+      map.clear();
+      assertTrue(map.isEmpty());
+    }
+  }
+
+  @Test
+  public void iteratorVisitsEveryEntryAndSupportsRemove() {
+    OpenAddressingRegionEntryMap map = new OpenAddressingRegionEntryMap(16, 0.75f, 8);
+    for (int i = 0; i < 500; i++) {
+      map.put(i, intEntry(i));
+    }
+    Set<Object> keys = new HashSet<>();
+    Iterator<Map.Entry<Object, Object>> it = map.entrySetWithReusableEntries().iterator();
+    while (it.hasNext()) {
+      Map.Entry<Object, Object> me = it.next();
+      assertEquals(me.getKey(), ((RegionEntry) me.getValue()).getKey());
+      assertTrue(keys.add(me.getKey()));
+      it.remove();
+    }
+    assertEquals(500, keys.size());
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  public void keySetAndValuesReflectContents() {
+    OpenAddressingRegionEntryMap map = new OpenAddressingRegionEntryMap(16, 0.75f, 2);
+    for (int i = 0; i < 10; i++) {
+      map.put(i, intEntry(i));
+    }
+    assertEquals(10, map.keySet().size());
+    assertTrue(map.keySet().contains(4));
+    assertEquals(10, map.values().size());
+  }
+
+  @Test
+  public void acceptsLoadFactorsAllowedForRegions() {
+    for (float loadFactor : new float[] {1.0f, 4.0f}) {
+      OpenAddressingRegionEntryMap map = new OpenAddressingRegionEntryMap(4, loadFactor, 1);
+      for (int i = 0; i < 100; i++) {
+        assertNull(map.putIfAbsent(i, intEntry(i)));
+      }
+      assertEquals(100, map.size());
+      for (int i = 0; i < 100; i++) {
+        assertNotNull(map.get(i));
+      }
+      assertNull(map.get(100));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsValuesThatAreNotRegionEntries() {
+    new OpenAddressingRegionEntryMap(16, 0.75f, 1).put(1, "value");
+  }
+
+  @Test
+  public void concurrentPutsAndRemoves() throws Exception {
+    final OpenAddressingRegionEntryMap map = new OpenAddressingRegionEntryMap(16, 0.75f, 4);
+    final int threads = 4;
+    final int perThread = 10000;
+    Thread[] workers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      final int base = t * perThread;
+      workers[t] = new Thread(() -> {
+        for (int i = base; i < base + perThread; i++) {
+          map.putIfAbsent(i, intEntry(i));
+          if (i % 4 == 0) {
+            map.remove(i);
+          }
+        }
+      });
+      workers[t].start();
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    assertEquals(threads * perThread * 3 / 4, map.size());
+    for (int i = 0; i < threads * perThread; i++) {
+      assertEquals("key " + i, i % 4 != 0, map.containsKey(i));
+    }
+  }
+
+  @Test
+  public void estimatesMemoryOverhead() {
+    OpenAddressingRegionEntryMap map = new OpenAddressingRegionEntryMap(1000, 0.75f, 4);
+    long empty = map.estimateMemoryOverhead(new ReflectionSingleObjectSizer());
+    for (int i = 0; i < 10000; i++) {
+      map.put(i, intEntry(i));
+    }
+    assertTrue(map.estimateMemoryOverhead(new ReflectionSingleObjectSizer()) > empty);
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.DiskAccessException;
+import org.apache.geode.internal.cache.persistence.UninterruptibleFileChannel;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class OplogGroupCommitterJUnitTest {
+
+  private final DiskStoreStats stats = mock(DiskStoreStats.class);
+
+  private OplogGroupCommitter committer;
+
+  @After
+  public void tearDown() {
+    if (committer != null) {
+      committer.stop();
+    }
+  }
+
+  private OplogGroupCommitter startCommitter(long windowMicros, long maxBytes) {
+    committer = new OplogGroupCommitter("testStore", stats, windowMicros, maxBytes);
+    committer.start(Thread.currentThread().getThreadGroup(), "test group committer");
+    return committer;
+  }
+
+  @Test
+  public void awaitReturnsAfterChannelIsForced() throws Exception {
+    startCommitter(100, 1024);
+    UninterruptibleFileChannel channel = mock(UninterruptibleFileChannel.class);
+
+    committer.register(channel, 10);
+    committer.awaitPendingCommit();
+
+    verify(channel, times(1)).force(true);
+    verify(stats, times(1)).endGroupCommit(anyLong(), eq(1L), eq(10L));
+  }
+
+  @Test
+  public void awaitWithoutRegistrationDoesNotBlock() {
+    startCommitter(100, 1024);
+    committer.awaitPendingCommit();
+    assertThat(committer.getDurableSeq()).isEqualTo(0);
+  }
+
+  @Test
+  public void concurrentWritersShareOneForce() throws Exception {
+    // a window much longer than the test ensures that only the byte limit ends the batch
+    startCommitter(60 * 1000 * 1000, 80);
+    final UninterruptibleFileChannel channel = mock(UninterruptibleFileChannel.class);
+    final int writers = 8;
+    Thread[] threads = new Thread[writers];
+    for (int i = 0; i < writers; i++) {
+      threads[i] = new Thread(() -> {
+        try {
+          committer.register(channel, 10);
+        } catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+        committer.awaitPendingCommit();
+      });
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join(30000);
+      assertThat(thread.isAlive()).isFalse();
+    }
+
+    verify(channel, times(1)).force(true);
+    verify(stats, times(1)).endGroupCommit(anyLong(), eq((long) writers), eq(80L));
+  }
+
+  @Test
+  public void failedForceIsReportedToWaiters() throws Exception {
+    startCommitter(100, 1024);
+    UninterruptibleFileChannel channel = mock(UninterruptibleFileChannel.class);
+    doThrow(new IOException("disk gone")).when(channel).force(true);
+
+    committer.register(channel, 10);
+
+    assertThatThrownBy(() -> committer.awaitPendingCommit())
+        .isInstanceOf(DiskAccessException.class).hasCauseInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void registerAfterStopForcesInline() throws Exception {
+    startCommitter(100, 1024);
+    committer.stop();
+    UninterruptibleFileChannel channel = mock(UninterruptibleFileChannel.class);
+
+    committer.register(channel, 10);
+
+    verify(channel, times(1)).force(true);
+    committer.awaitPendingCommit();
+    verify(stats, never()).endGroupCommitWait(anyLong());
+  }
+}
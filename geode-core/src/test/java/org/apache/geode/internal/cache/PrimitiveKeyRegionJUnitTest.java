@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.*;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.EntryEvent;
+import org.apache.geode.cache.PrimitiveKeyRegion;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.util.CacheListenerAdapter;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+/**
+ * Tests the int and long key operations of {@link PrimitiveKeyRegion} on regions that can and
+ * cannot use the event-free fast path.
+ */
+@Category(IntegrationTest.class)
+public class PrimitiveKeyRegionJUnitTest {
+
+  private Cache cache;
+
+  @Before
+  public void setUp() throws Exception {
+    this.cache = new CacheFactory().set(MCAST_PORT, "0").set(LOCATORS, "").create();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    this.cache.close();
+  }
+
+  @SuppressWarnings("unchecked")
+  private PrimitiveKeyRegion<Object, String> createRegion(RegionShortcut shortcut) {
+    Region<Object, String> region =
+        this.cache.<Object, String>createRegionFactory(shortcut).create("region");
+    return (PrimitiveKeyRegion<Object, String>) region;
+  }
+
+  @Test
+  public void longKeyOperationsOnLocalRegion() {
+    PrimitiveKeyRegion<Object, String> region = createRegion(RegionShortcut.LOCAL);
+    assertNull(region.getLong(1L));
+    assertNull(region.putLong(1L, "one"));
+    assertEquals("one", region.getLong(1L));
+    assertEquals("one", region.putLong(1L, "uno"));
+    assertEquals("uno", region.get(1L));
+    assertEquals("uno", region.getLong(1L));
+    assertEquals(1, region.size());
+
+    region.invalidate(1L);
+    assertNull(region.getLong(1L));
+    assertNull(region.putLong(1L, "eins"));
+    assertEquals("eins", region.getLong(1L));
+  }
+
+  @Test
+  public void intAndLongKeysAreDistinct() {
+    PrimitiveKeyRegion<Object, String> region = createRegion(RegionShortcut.LOCAL);
+    region.putInt(5, "int");
+    region.putLong(5L, "long");
+    region.putInt(5, "int2");
+    assertEquals("int2", region.getInt(5));
+    assertEquals("long", region.getLong(5L));
+    assertEquals("int2", region.get(5));
+    assertEquals(2, region.size());
+  }
+
+  @Test
+  public void updateWithListenerCreatesEvent() {
+    PrimitiveKeyRegion<Object, String> region = createRegion(RegionShortcut.LOCAL);
+    AtomicInteger updates = new AtomicInteger();
+    region.getAttributesMutator().addCacheListener(new CacheListenerAdapter<Object, String>() {
+      @Override
+      public void afterUpdate(EntryEvent<Object, String> event) {
+        assertEquals(7L, event.getKey());
+        updates.incrementAndGet();
+      }
+    });
+    region.putLong(7L, "a");
+    region.putLong(7L, "b");
+    region.putLong(7L, "c");
+    assertEquals(2, updates.get());
+    assertEquals("c", region.getLong(7L));
+  }
+
+  @Test
+  public void keyConstraintIsEnforced() {
+    Region<Integer, String> region = this.cache.<Integer, String>createRegionFactory(
+        RegionShortcut.LOCAL).setKeyConstraint(Integer.class).create("region");
+    PrimitiveKeyRegion<Integer, String> pkRegion = (PrimitiveKeyRegion<Integer, String>) region;
+    pkRegion.putInt(1, "one");
+    assertEquals("one", pkRegion.putInt(1, "uno"));
+    try {
+      pkRegion.putLong(1L, "one");
+      fail("expected ClassCastException");
+    } catch (ClassCastException expected) {
+    }
+  }
+
+  @Test
+  public void operationsOnPartitionedRegion() {
+    PrimitiveKeyRegion<Object, String> region = createRegion(RegionShortcut.PARTITION);
+    for (int i = 0; i < 100; i++) {
+      assertNull(region.putInt(i, "value" + i));
+    }
+    for (int i = 0; i < 100; i++) {
+      assertEquals("value" + i, region.getInt(i));
+      assertEquals("value" + i, region.get(i));
+    }
+    assertNull(region.getLong(1L));
+  }
+}
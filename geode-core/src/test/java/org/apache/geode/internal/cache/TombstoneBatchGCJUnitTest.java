@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.PartitionAttributesFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+@Category(IntegrationTest.class)
+public class TombstoneBatchGCJUnitTest {
+
+  private static final int ENTRIES = 1000;
+
+  private GemFireCacheImpl cache;
+
+  @Before
+  public void setUp() {
+    Properties props = new Properties();
+    props.put(LOCATORS, "");
+    props.put(MCAST_PORT, "0");
+    cache = (GemFireCacheImpl) new CacheFactory(props).create();
+  }
+
+  @After
+  public void tearDown() {
+    if (cache != null) {
+      cache.close();
+    }
+  }
+
+  @Test
+  public void expiredBatchIsRemovedFromEveryBucket() throws Exception {
+    Region<Integer, String> region = cache.<Integer, String>createRegionFactory(
+        RegionShortcut.PARTITION)
+        .setPartitionAttributes(
+            new PartitionAttributesFactory<Integer, String>().setTotalNumBuckets(13).create())
+        .create("region");
+    for (int i = 0; i < ENTRIES; i++) {
+      region.put(i, "value");
+    }
+    for (int i = 0; i < ENTRIES; i++) {
+      region.destroy(i);
+    }
+    CachePerfStats stats = cache.getCachePerfStats();
+    assertThat(stats.getTombstoneCount()).isEqualTo(ENTRIES);
+
+    assertThat(cache.getTombstoneService().forceBatchExpirationForTests(ENTRIES)).isTrue();
+
+    assertThat(stats.getTombstoneCount()).isEqualTo(0);
+    assertThat(stats.getTombstonesReclaimed()).isEqualTo(ENTRIES);
+    assertThat(stats.getTombstoneGCBacklog()).isEqualTo(0);
+    assertThat(cache.getTombstoneService().getScheduledTombstoneCount()).isEqualTo(0);
+  }
+}
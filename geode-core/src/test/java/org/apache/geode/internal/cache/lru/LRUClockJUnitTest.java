@@ -17,7 +17,12 @@ package org.apache.geode.internal.cache.lru;
 import static org.apache.geode.distributed.ConfigurationProperties.*;
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -241,6 +246,86 @@ public class LRUClockJUnitTest {
     assertEquals(null, clock.getLRUEntry());
   }
 
+  @Test
+  public void testStripedClockReturnsEveryEntry() throws Exception {
+    StripedLRUClockHand clock = getAStripedClockHand(getARegion(), new TestEnableLRU(), 4);
+    assertEquals(4, clock.getStripeCount());
+    for (int i = 0; i < 100; i++) {
+      clock.appendEntry(getANode(i));
+    }
+    assertEquals(100, clock.size());
+    assertEquals(100, clock.getExpensiveListCount());
+
+    Set<Integer> found = new HashSet<>();
+    LRUTestEntry n = (LRUTestEntry) clock.getLRUEntry();
+    while (n != null) {
+      assertTrue("returned nodes[" + n.id() + "] twice", found.add(n.id()));
+      n = (LRUTestEntry) clock.getLRUEntry();
+    }
+    assertEquals(100, found.size());
+    assertEquals(0, clock.size());
+  }
+
+  @Test
+  public void testStripedClockUnlink() throws Exception {
+    StripedLRUClockHand clock = getAStripedClockHand(getARegion(), new TestEnableLRU(), 3);
+    assertEquals(4, clock.getStripeCount());
+    LRUTestEntry[] nodes = new LRUTestEntry[20];
+    for (int i = 0; i < 20; i++) {
+      nodes[i] = getANode(i);
+      clock.appendEntry(nodes[i]);
+    }
+    for (int i = 0; i < 20; i += 2) {
+      assertTrue(clock.unlinkEntry(nodes[i]));
+      assertFalse(clock.unlinkEntry(nodes[i]));
+    }
+    assertEquals(10, clock.size());
+
+    LRUTestEntry n = (LRUTestEntry) clock.getLRUEntry();
+    int count = 0;
+    while (n != null) {
+      assertTrue("expected an odd node, found nodes[" + n.id() + "]", n.id() % 2 == 1);
+      count++;
+      n = (LRUTestEntry) clock.getLRUEntry();
+    }
+    assertEquals(10, count);
+  }
+
+  @Test
+  public void testStripedClockConcurrentAppendAndEvict() throws Exception {
+    final StripedLRUClockHand clock =
+        getAStripedClockHand(getARegion(), new TestEnableLRU(), 8);
+    final int threads = 4;
+    final int perThread = 5000;
+    final Set<Integer> evicted = Collections.synchronizedSet(new HashSet<>());
+    final List<Integer> evictedTwice = Collections.synchronizedList(new ArrayList<>());
+    final List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+    Thread[] workers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      final int base = t * perThread;
+      workers[t] = new Thread(() -> {
+        for (int i = 0; i < perThread; i++) {
+          clock.appendEntry(getANode(base + i));
+          if (i % 2 == 1) {
+            LRUTestEntry n = (LRUTestEntry) clock.getLRUEntry();
+            if (n != null && !evicted.add(n.id())) {
+              evictedTwice.add(n.id());
+            }
+          }
+        }
+      });
+      workers[t].setUncaughtExceptionHandler((thread, e) -> failures.add(e));
+      workers[t].start();
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    assertEquals(Collections.emptyList(), failures);
+    assertEquals(Collections.emptyList(), evictedTwice);
+    assertEquals(threads * perThread, evicted.size() + clock.size());
+    assertEquals(clock.size(), clock.getExpensiveListCount());
+  }
+
   /** manufacture a node so that a shared type can be used by SharedLRUClockTest. */
   private LRUTestEntry getANode(int id) {
     return new LocalLRUTestEntry(id);
@@ -496,6 +581,10 @@ public class LRUClockJUnitTest {
     return new NewLRUClockHand(reg, elru, new InternalRegionArguments());
   }
 
+  private StripedLRUClockHand getAStripedClockHand(Region reg, EnableLRU elru, int stripes) {
+    return new StripedLRUClockHand(reg, elru, new InternalRegionArguments(), stripes);
+  }
+
   private Region getARegion() throws Exception {
     DistributedSystem ds = DistributedSystem.connect(sysProps);
     Cache c = null;
@@ -14,18 +14,30 @@
  */
 package org.apache.geode.internal.cache.tier.sockets;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.geode.test.junit.categories.ClientServerTest;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import org.apache.geode.compression.SnappyCompressor;
 import org.apache.geode.internal.Version;
+import org.apache.geode.internal.cache.tier.MessageType;
 import org.apache.geode.test.junit.categories.UnitTest;
 
 @Category({UnitTest.class, ClientServerTest.class})
@@ -112,4 +124,160 @@ public class MessageJUnitTest {
     verify(mockPart1, times(2)).clear();
   }
 
+  @Test
+  public void partLargerThanCommBufferIsSentWithOneGatheringWrite() throws Exception {
+    final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    SocketChannel mockChannel = mock(SocketChannel.class);
+    when(mockChannel.write(any(ByteBuffer[].class), anyInt(), anyInt())).thenAnswer(invocation -> {
+      ByteBuffer[] bufs = invocation.getArgument(0);
+      int offset = invocation.getArgument(1);
+      int length = invocation.getArgument(2);
+      long count = 0;
+      for (int i = offset; i < offset + length; i++) {
+        while (bufs[i].hasRemaining()) {
+          written.write(bufs[i].get());
+          count++;
+        }
+      }
+      return count;
+    });
+    Socket mockSocket = mock(Socket.class);
+    when(mockSocket.getChannel()).thenReturn(mockChannel);
+    Message message = new Message(2, Version.CURRENT);
+    message.setComms(mock(ServerConnection.class), mockSocket, ByteBuffer.allocate(100),
+        mock(MessageStats.class));
+    byte[] value = new byte[1000];
+    Arrays.fill(value, (byte) 7);
+    message.addIntPart(1);
+    message.addBytesPart(value);
+
+    message.send(false);
+
+    verify(mockChannel, times(1)).write(any(ByteBuffer[].class), anyInt(), anyInt());
+    verify(mockChannel, never()).write(any(ByteBuffer.class));
+    byte[] bytes = written.toByteArray();
+    // header, int part and the header of the byte part precede the value
+    assertEquals(17 + 5 + 4 + 5 + value.length, bytes.length);
+    assertArrayEquals(value, Arrays.copyOfRange(bytes, bytes.length - value.length, bytes.length));
+  }
+
+  @Test
+  public void partsAtLeastTheThresholdAreSentCompressed() throws Exception {
+    ByteArrayOutputStream written = new ByteArrayOutputStream();
+    MessageStats mockStats = mock(MessageStats.class);
+    Message message = new Message(2, Version.CURRENT);
+    message.setComms(mock(Socket.class), null, written, ByteBuffer.allocate(100000), mockStats);
+    message.setCompressor(SnappyCompressor.getDefaultInstance());
+    byte[] value = new byte[MessageCompression.THRESHOLD * 4];
+    Arrays.fill(value, (byte) 7);
+    message.addIntPart(1);
+    message.addBytesPart(value);
+
+    message.send(false);
+
+    ByteBuffer bytes = ByteBuffer.wrap(written.toByteArray());
+    bytes.position(17);
+    assertEquals(4, bytes.getInt());
+    assertEquals(0, bytes.get());
+    bytes.getInt();
+    int compressedLength = bytes.getInt();
+    assertEquals(Part.COMPRESSED_BIT, bytes.get() & Part.COMPRESSED_BIT);
+    assertTrue(compressedLength < value.length);
+    byte[] compressed = new byte[compressedLength];
+    bytes.get(compressed);
+    assertArrayEquals(value, SnappyCompressor.getDefaultInstance().decompress(compressed));
+    verify(mockStats).incCompressedBytesSent(value.length, compressedLength);
+  }
+
+  @Test
+  public void prefetchedPartialHeaderIsCompletedByRecv() throws Exception {
+    byte[] request = serializedRequest("value");
+    try (ServerSocketChannel server = openServer();
+        SocketChannel client = SocketChannel.open(server.getLocalAddress());
+        SocketChannel accepted = server.accept()) {
+      Message received = receiver(accepted);
+      accepted.configureBlocking(false);
+      assertFalse(received.prefetchHeader());
+
+      client.write(ByteBuffer.wrap(request, 0, 5));
+      await().atMost(30, TimeUnit.SECONDS).until(received::prefetchHeader);
+      accepted.configureBlocking(true);
+      client.write(ByteBuffer.wrap(request, 5, request.length - 5));
+      received.recv();
+
+      assertEquals(MessageType.REQUEST, received.getMessageType());
+      assertEquals(7, received.getTransactionId());
+      assertEquals("value", received.getPart(0).getString());
+    }
+  }
+
+  @Test
+  public void prefetchedWholeRequestIsReadByRecv() throws Exception {
+    byte[] request = serializedRequest("value");
+    try (ServerSocketChannel server = openServer();
+        SocketChannel client = SocketChannel.open(server.getLocalAddress());
+        SocketChannel accepted = server.accept()) {
+      Message received = receiver(accepted);
+      accepted.configureBlocking(false);
+
+      client.write(ByteBuffer.wrap(request));
+      await().atMost(30, TimeUnit.SECONDS).until(received::prefetchHeader);
+      accepted.configureBlocking(true);
+      received.recv();
+
+      assertEquals(MessageType.REQUEST, received.getMessageType());
+      assertEquals("value", received.getPart(0).getString());
+    }
+  }
+
+  @Test
+  public void prefetchHeaderThrowsEOFExceptionWhenClientHasClosed() throws Exception {
+    try (ServerSocketChannel server = openServer();
+        SocketChannel accepted = acceptClosedConnection(server)) {
+      Message received = receiver(accepted);
+      accepted.configureBlocking(false);
+
+      await().atMost(30, TimeUnit.SECONDS).until(() -> {
+        try {
+          received.prefetchHeader();
+          return false;
+        } catch (EOFException expected) {
+          return true;
+        }
+      });
+    }
+  }
+
+  private static ServerSocketChannel openServer() throws IOException {
+    ServerSocketChannel server = ServerSocketChannel.open();
+    server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    return server;
+  }
+
+  private static SocketChannel acceptClosedConnection(ServerSocketChannel server)
+      throws IOException {
+    SocketChannel client = SocketChannel.open(server.getLocalAddress());
+    SocketChannel accepted = server.accept();
+    client.close();
+    return accepted;
+  }
+
+  private static Message receiver(SocketChannel channel) throws IOException {
+    Message message = new Message(1, Version.CURRENT);
+    message.setComms(mock(ServerConnection.class), channel.socket(), ByteBuffer.allocate(100),
+        mock(MessageStats.class));
+    return message;
+  }
+
+  private static byte[] serializedRequest(String value) throws IOException {
+    ByteArrayOutputStream written = new ByteArrayOutputStream();
+    Message message = new Message(1, Version.CURRENT);
+    message.setComms(mock(Socket.class), null, written, ByteBuffer.allocate(100),
+        mock(MessageStats.class));
+    message.setMessageType(MessageType.REQUEST);
+    message.setTransactionId(7);
+    message.addStringPart(value);
+    message.send(false);
+    return written.toByteArray();
+  }
 }
@@ -14,10 +14,12 @@
  */
 package org.apache.geode.internal.cache.tier.sockets;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import org.apache.geode.internal.util.BlobHelper;
 import org.apache.geode.test.junit.categories.UnitTest;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -38,4 +40,31 @@ public class PartTest {
 
     verify(mockPart, times(1)).writeTo(mockOutputStream, mockByteBuffer);
   }
+
+  @Test
+  public void intAndLongPayloadsAreReusedBySamePart() {
+    Part part = new Part();
+
+    part.setInt(1);
+    byte[] intBytes = part.getSerializedForm();
+    part.setLong(2L);
+    byte[] longBytes = part.getSerializedForm();
+    part.setInt(Integer.MAX_VALUE);
+
+    assertThat(part.getSerializedForm()).isSameAs(intBytes);
+    assertThat(part.getInt()).isEqualTo(Integer.MAX_VALUE);
+    part.setLong(Long.MIN_VALUE);
+    assertThat(part.getSerializedForm()).isSameAs(longBytes);
+    assertThat(part.getLong()).isEqualTo(Long.MIN_VALUE);
+  }
+
+  @Test
+  public void getBooleanDecodesSerializedBoolean() throws Exception {
+    Part part = new Part();
+
+    part.setPartState(BlobHelper.serializeToBlob(Boolean.TRUE), true);
+    assertThat(part.getBoolean()).isTrue();
+    part.setPartState(BlobHelper.serializeToBlob(Boolean.FALSE), true);
+    assertThat(part.getBoolean()).isFalse();
+  }
 }
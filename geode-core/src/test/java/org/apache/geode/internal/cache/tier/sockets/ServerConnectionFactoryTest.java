@@ -100,14 +100,35 @@ public class ServerConnectionFactoryTest {
     }
   }
 
+  @Test
+  public void makeMultiplexedServerConnection() throws IOException {
+    ServerConnection serverConnection = serverConnectionMockedExceptForCommunicationMode(
+        CommunicationMode.ClientToServerMultiplexed.getModeNumber());
+    assertTrue(serverConnection instanceof MultiplexedServerConnection);
+  }
+
+  @Test(expected = IOException.class)
+  public void multiplexedServerConnectionFailsWithClientSecurity() throws IOException {
+    SecurityService securityService = mock(SecurityService.class);
+    when(securityService.isClientSecurityRequired()).thenReturn(true);
+    serverConnectionMockedExceptForCommunicationMode(
+        CommunicationMode.ClientToServerMultiplexed.getModeNumber(), securityService);
+  }
+
   private ServerConnection serverConnectionMockedExceptForCommunicationMode(byte communicationMode)
       throws IOException {
+    return serverConnectionMockedExceptForCommunicationMode(communicationMode,
+        mock(SecurityService.class));
+  }
+
+  private ServerConnection serverConnectionMockedExceptForCommunicationMode(byte communicationMode,
+      SecurityService securityService) throws IOException {
     Socket socketMock = mock(Socket.class);
     when(socketMock.getInetAddress()).thenReturn(InetAddress.getByName("localhost"));
 
     return new ServerConnectionFactory().makeServerConnection(socketMock, mock(InternalCache.class),
         mock(CachedRegionHelper.class), mock(CacheServerStats.class), 0, 0, "", communicationMode,
-        mock(AcceptorImpl.class), mock(SecurityService.class), InetAddress.getLocalHost());
+        mock(AcceptorImpl.class), securityService, InetAddress.getLocalHost());
   }
 
 }
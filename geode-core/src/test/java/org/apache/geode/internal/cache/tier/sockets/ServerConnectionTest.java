@@ -23,13 +23,18 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import org.apache.geode.cache.Operation;
 import org.apache.geode.i18n.StringId;
 import org.apache.geode.internal.Version;
 import org.apache.geode.internal.cache.InternalCache;
 import org.apache.geode.internal.cache.tier.CommunicationMode;
 import org.apache.geode.internal.security.SecurityService;
+import org.apache.geode.internal.util.BlobHelper;
 import org.apache.geode.security.AuthenticationRequiredException;
 import org.apache.geode.test.junit.categories.UnitTest;
 import org.apache.geode.test.junit.rules.RestoreLocaleRule;
@@ -41,9 +46,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.Socket;
+import java.nio.channels.SocketChannel;
 import java.util.Locale;
 
 @Category(UnitTest.class)
@@ -69,6 +76,8 @@ public class ServerConnectionTest {
   @InjectMocks
   private ServerConnection serverConnection;
 
+  private Socket socket;
+
   @Before
   public void setUp() throws IOException {
     AcceptorImpl acceptor = mock(AcceptorImpl.class);
@@ -76,7 +85,7 @@ public class ServerConnectionTest {
     InetAddress inetAddress = mock(InetAddress.class);
     when(inetAddress.getHostAddress()).thenReturn("localhost");
 
-    Socket socket = mock(Socket.class);
+    socket = mock(Socket.class);
     when(socket.getInetAddress()).thenReturn(inetAddress);
 
     InternalCache cache = mock(InternalCache.class);
@@ -138,4 +147,59 @@ public class ServerConnectionTest {
         .hasMessage(HandShake_NO_SECURITY_CREDENTIALS_ARE_PROVIDED.getRawText());
   }
 
+  @Test
+  public void readAheadRequestLeavesChannelBlockingWhenRequestHasArrived() throws Exception {
+    try (SocketChannel channel = SocketChannel.open()) {
+      when(socket.getChannel()).thenReturn(channel);
+      when(requestMsg.prefetchHeader()).thenReturn(true);
+      serverConnection.setRequestMsg(requestMsg);
+      ((LegacyServerConnection) serverConnection).setHandshakeDoneForTesting();
+
+      assertThat(serverConnection.readAheadRequest()).isTrue();
+      assertThat(channel.isBlocking()).isTrue();
+      assertThat(serverConnection.getFlagProcessMessages()).isTrue();
+    }
+  }
+
+  @Test
+  public void readAheadRequestTreatsResetConnectionAsClientDisconnect() throws Exception {
+    try (SocketChannel channel = SocketChannel.open()) {
+      when(socket.getChannel()).thenReturn(channel);
+      when(requestMsg.prefetchHeader()).thenThrow(new IOException("Connection reset by peer"));
+      serverConnection.setRequestMsg(requestMsg);
+      ((LegacyServerConnection) serverConnection).setHandshakeDoneForTesting();
+
+      assertThat(serverConnection.readAheadRequest()).isFalse();
+      assertThat(serverConnection.getFlagProcessMessages()).isFalse();
+    }
+  }
+
+  @Test
+  public void readAheadRequestTreatsEndOfStreamAsClientDisconnect() throws Exception {
+    try (SocketChannel channel = SocketChannel.open()) {
+      when(socket.getChannel()).thenReturn(channel);
+      when(requestMsg.prefetchHeader()).thenThrow(new EOFException());
+      serverConnection.setRequestMsg(requestMsg);
+      ((LegacyServerConnection) serverConnection).setHandshakeDoneForTesting();
+
+      assertThat(serverConnection.readAheadRequest()).isFalse();
+      assertThat(serverConnection.getFlagProcessMessages()).isFalse();
+    }
+  }
+
+  @Test
+  public void readOperationReusesTheOperationOfAnEqualPart() throws Exception {
+    Part first = new Part();
+    first.setPartState(BlobHelper.serializeToBlob(Operation.CREATE), true);
+    Part second = new Part();
+    second.setPartState(BlobHelper.serializeToBlob(Operation.CREATE), true);
+    second = spy(second);
+    Part third = new Part();
+    third.setPartState(BlobHelper.serializeToBlob(Operation.UPDATE), true);
+
+    assertThat(serverConnection.readOperation(first)).isSameAs(Operation.CREATE);
+    assertThat(serverConnection.readOperation(second)).isSameAs(Operation.CREATE);
+    verify(second, never()).getObject();
+    assertThat(serverConnection.readOperation(third)).isSameAs(Operation.UPDATE);
+  }
 }
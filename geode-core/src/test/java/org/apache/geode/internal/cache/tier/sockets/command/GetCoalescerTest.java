@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.CancelCriterion;
+import org.apache.geode.cache.DataPolicy;
+import org.apache.geode.cache.RegionAttributes;
+import org.apache.geode.internal.Version;
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.PartitionedRegion;
+import org.apache.geode.internal.cache.RegionEntry;
+import org.apache.geode.internal.util.BlobHelper;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class GetCoalescerTest {
+
+  private static final String KEY = "key1";
+
+  private final GetCoalescer coalescer = new GetCoalescer();
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+  private final AtomicInteger lookups = new AtomicInteger();
+  private final CountDownLatch lookupStarted = new CountDownLatch(1);
+  private final CountDownLatch finishLookup = new CountDownLatch(1);
+  private LocalRegion region;
+
+  @Before
+  public void setUp() {
+    this.region = mock(LocalRegion.class);
+    when(this.region.getCancelCriterion()).thenReturn(mock(CancelCriterion.class));
+  }
+
+  @After
+  public void tearDown() {
+    this.executor.shutdownNow();
+  }
+
+  @Test
+  public void concurrentGetsShareOneLookup() throws Exception {
+    Future<Get70.Entry> first = this.executor.submit(() -> this.coalescer.get(this.region, KEY,
+        blockingLookup(entry("value")), Version.CURRENT));
+    assertThat(this.lookupStarted.await(30, TimeUnit.SECONDS)).isTrue();
+
+    AtomicReference<Thread> secondThread = new AtomicReference<>();
+    Future<Get70.Entry> second = this.executor.submit(() -> {
+      secondThread.set(Thread.currentThread());
+      return this.coalescer.get(this.region, KEY, () -> entry("other"), Version.CURRENT);
+    });
+    awaitWaiting(secondThread);
+    this.finishLookup.countDown();
+
+    Get70.Entry firstEntry = first.get(30, TimeUnit.SECONDS);
+    Get70.Entry secondEntry = second.get(30, TimeUnit.SECONDS);
+
+    assertThat(this.lookups.get()).isEqualTo(1);
+    assertThat(firstEntry.isCoalesced).isFalse();
+    assertThat(firstEntry.value).isEqualTo("value");
+    assertThat(secondEntry.isCoalesced).isTrue();
+    assertThat(secondEntry.isObject).isTrue();
+    assertThat(BlobHelper.deserializeBlob((byte[]) secondEntry.value)).isEqualTo("value");
+  }
+
+  @Test
+  public void waitingGetSharesTheNetworkHopTypeOfTheLookup() throws Exception {
+    Get70.Entry remote = entry("value");
+    remote.networkHopType = 1;
+    Future<Get70.Entry> first = this.executor.submit(
+        () -> this.coalescer.get(this.region, KEY, blockingLookup(remote), Version.CURRENT));
+    assertThat(this.lookupStarted.await(30, TimeUnit.SECONDS)).isTrue();
+
+    AtomicReference<Thread> secondThread = new AtomicReference<>();
+    Future<Get70.Entry> second = this.executor.submit(() -> {
+      secondThread.set(Thread.currentThread());
+      return this.coalescer.get(this.region, KEY, () -> entry("other"), Version.CURRENT);
+    });
+    awaitWaiting(secondThread);
+    this.finishLookup.countDown();
+    first.get(30, TimeUnit.SECONDS);
+
+    assertThat(second.get(30, TimeUnit.SECONDS).networkHopType).isEqualTo((byte) 1);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void onlyMissesInLocallyStoredEntriesAreCoalesced() {
+    RegionAttributes attributes = mock(RegionAttributes.class);
+    when(this.region.getAttributes()).thenReturn(attributes);
+    when(attributes.getDataPolicy()).thenReturn(DataPolicy.REPLICATE);
+    RegionEntry hit = mock(RegionEntry.class);
+    when(this.region.getRegionEntry(KEY)).thenReturn(hit);
+    RegionEntry invalid = mock(RegionEntry.class);
+    when(invalid.isInvalid()).thenReturn(true);
+    when(this.region.getRegionEntry("invalid")).thenReturn(invalid);
+
+    assertThat(GetCoalescer.isLocalMiss(this.region, KEY)).isFalse();
+    assertThat(GetCoalescer.isLocalMiss(this.region, "invalid")).isTrue();
+    assertThat(GetCoalescer.isLocalMiss(this.region, "absent")).isTrue();
+
+    when(attributes.getDataPolicy()).thenReturn(DataPolicy.EMPTY);
+    assertThat(GetCoalescer.isLocalMiss(this.region, "absent")).isFalse();
+  }
+
+  @Test
+  public void partitionedRegionMissesAreOnlyCoalescedInLocalBuckets() {
+    PartitionedRegion partitionedRegion = mock(PartitionedRegion.class);
+    BucketRegion bucket = mock(BucketRegion.class);
+    when(partitionedRegion.getBucketRegion(KEY)).thenReturn(bucket);
+
+    assertThat(GetCoalescer.isLocalMiss(partitionedRegion, KEY)).isTrue();
+    assertThat(GetCoalescer.isLocalMiss(partitionedRegion, "remote")).isFalse();
+
+    when(bucket.getRegionEntry(KEY)).thenReturn(mock(RegionEntry.class));
+    assertThat(GetCoalescer.isLocalMiss(partitionedRegion, KEY)).isFalse();
+  }
+
+  @Test
+  public void getAfterLookupFinishedDoesItsOwnLookup() {
+    this.finishLookup.countDown();
+
+    this.coalescer.get(this.region, KEY, blockingLookup(entry("value")), Version.CURRENT);
+    Get70.Entry entry =
+        this.coalescer.get(this.region, KEY, blockingLookup(entry("other")), Version.CURRENT);
+
+    assertThat(this.lookups.get()).isEqualTo(2);
+    assertThat(entry.isCoalesced).isFalse();
+    assertThat(entry.value).isEqualTo("other");
+  }
+
+  private static void awaitWaiting(AtomicReference<Thread> thread) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+    while (thread.get() == null || thread.get().getState() == Thread.State.RUNNABLE) {
+      assertThat(System.currentTimeMillis()).isLessThan(deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  private Supplier<Get70.Entry> blockingLookup(Get70.Entry entry) {
+    return () -> {
+      this.lookups.incrementAndGet();
+      this.lookupStarted.countDown();
+      try {
+        this.finishLookup.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return entry;
+    };
+  }
+
+  private static Get70.Entry entry(Object value) {
+    Get70.Entry entry = new Get70.Entry();
+    entry.value = value;
+    entry.isObject = true;
+    return entry;
+  }
+}
@@ -465,6 +465,68 @@ public class FreeListManagerTest {
     assertThat(this.freeListManager.defragment(SMALL_SLAB)).isTrue();
   }
 
+  @Test
+  public void allocateCarvesFromFreeHugeChunkInsteadOfDefragmenting() {
+    setUpSingleSlabManager();
+    OffHeapStoredObject bigChunk = this.freeListManager.allocate(DEFAULT_SLAB_SIZE - 8);
+    // leave non-zero bytes where the carved remainder's header will be
+    AddressableMemoryManager.fill(bigChunk.getAddress() + OffHeapStoredObject.HEADER_SIZE,
+        DEFAULT_SLAB_SIZE - OffHeapStoredObject.HEADER_SIZE, (byte) 0x7f);
+    OffHeapStoredObject.release(bigChunk.getAddress(), this.freeListManager);
+    int dataSize = FreeListManager.MAX_TINY + 1;
+
+    OffHeapStoredObject c = this.freeListManager.allocate(dataSize);
+
+    validateChunkSizes(c, dataSize);
+    assertThat(c.getAddress()).isEqualTo(bigChunk.getAddress());
+    int remainderSize = DEFAULT_SLAB_SIZE - c.getSize();
+    assertThat(this.freeListManager.getFreeHugeMemory()).isEqualTo(remainderSize);
+    verify(this.stats).incCarvedAllocations();
+    verify(this.stats, never()).startDefragmentation();
+
+    OffHeapStoredObject remainder =
+        this.freeListManager.allocate(remainderSize - OffHeapStoredObject.HEADER_SIZE);
+
+    assertThat(remainder.getAddress()).isEqualTo(c.getAddress() + c.getSize());
+    assertThat(remainder.getSize()).isEqualTo(remainderSize);
+    verify(this.stats, never()).startDefragmentation();
+  }
+
+  @Test
+  public void freedTinyChunkIsReusedFromThreadCache() {
+    this.freeListManager =
+        new ThreadCachingFreeListManager(ma, new Slab[] {new SlabImpl(DEFAULT_SLAB_SIZE)});
+    int dataSize = 10;
+    OffHeapStoredObject c = this.freeListManager.allocate(dataSize);
+    OffHeapStoredObject.release(c.getAddress(), this.freeListManager);
+
+    assertThat(this.freeListManager.getFreeTinyMemory()).isEqualTo(computeExpectedSize(dataSize));
+
+    OffHeapStoredObject c2 = this.freeListManager.allocate(dataSize);
+
+    assertThat(c2.getAddress()).isEqualTo(c.getAddress());
+    assertThat(this.freeListManager.getFreeTinyMemory()).isZero();
+    verify(this.stats).incThreadCacheAllocations();
+  }
+
+  @Test
+  public void defragmentReclaimsThreadCachedChunks() {
+    int slabSize = 1024 * 3;
+    this.freeListManager =
+        new ThreadCachingFreeListManager(ma, new Slab[] {new SlabImpl(slabSize)});
+    OffHeapStoredObject chunk1 = this.freeListManager.allocate(slabSize / 3 - 8);
+    OffHeapStoredObject chunk2 = this.freeListManager.allocate(slabSize / 3 - 8);
+    OffHeapStoredObject chunk3 = this.freeListManager.allocate(slabSize / 3 - 8);
+    OffHeapStoredObject.release(chunk1.getAddress(), this.freeListManager);
+    OffHeapStoredObject.release(chunk2.getAddress(), this.freeListManager);
+    OffHeapStoredObject.release(chunk3.getAddress(), this.freeListManager);
+
+    this.freeListManager.firstDefragmentation = false;
+    assertThat(this.freeListManager.defragment(slabSize)).isTrue();
+    assertThat(this.freeListManager.getFreeTinyMemory()).isZero();
+    assertThat(this.freeListManager.getFreeFragmentMemory()).isEqualTo(slabSize);
+  }
+
   @Test
   public void maxAllocationUsesAllMemory() {
     setUpSingleSlabManager();
@@ -955,6 +1017,17 @@ public class FreeListManagerTest {
         return super.isSmallEnough(size);
       }
     }
+  }
+
+  private static class ThreadCachingFreeListManager extends TestableFreeListManager {
+    public ThreadCachingFreeListManager(MemoryAllocatorImpl ma, Slab[] slabs) {
+      super(ma, slabs);
+    }
+
+    @Override
+    protected int getThreadCacheSize() {
+      return 4;
+    }
 
 
   }
@@ -103,6 +103,22 @@ public class NullOffHeapMemoryStats implements OffHeapMemoryStats {
     return 0;
   }
 
+  @Override
+  public void incThreadCacheAllocations() {}
+
+  @Override
+  public long getThreadCacheAllocations() {
+    return 0;
+  }
+
+  @Override
+  public void incCarvedAllocations() {}
+
+  @Override
+  public long getCarvedAllocations() {
+    return 0;
+  }
+
   @Override
   public Statistics getStats() {
     return null;
@@ -19,15 +19,28 @@ import org.apache.geode.CancelCriterion;
 import org.apache.geode.distributed.internal.DM;
 import org.apache.geode.distributed.internal.DMStats;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
+import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
 import org.apache.geode.test.junit.categories.UnitTest;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import java.net.Socket;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -37,10 +50,12 @@ public class ConnectionTableTest {
   private Socket socket;
   private PeerConnectionFactory factory;
   private Connection connection;
+  private InternalDistributedSystem system;
+  private TCPConduit tcpConduit;
 
   @Before
   public void initConnectionTable() throws Exception {
-    InternalDistributedSystem system = mock(InternalDistributedSystem.class);
+    system = mock(InternalDistributedSystem.class);
     when(system.isShareSockets()).thenReturn(false);
 
     DM dm = mock(DM.class);
@@ -49,7 +64,7 @@ public class ConnectionTableTest {
     CancelCriterion cancelCriterion = mock(CancelCriterion.class);
     DMStats dmStats = mock(DMStats.class);
 
-    TCPConduit tcpConduit = mock(TCPConduit.class);
+    tcpConduit = mock(TCPConduit.class);
     when(tcpConduit.getDM()).thenReturn(dm);
     when(tcpConduit.getCancelCriterion()).thenReturn(cancelCriterion);
     when(tcpConduit.getStats()).thenReturn(dmStats);
@@ -91,4 +106,104 @@ public class ConnectionTableTest {
     connectionTable.acceptConnection(socket, factory);
     assertEquals(1, connectionTable.getNumberOfReceivers());
   }
+
+  @Test
+  public void threadKeepsItsStripe() throws Exception {
+    ConnectionTable stripedTable = ConnectionTable.create(tcpConduit, 4);
+
+    int stripe = stripedTable.getThreadStripe();
+
+    assertThat(stripe).isBetween(0, 3);
+    assertThat(stripedTable.getThreadStripe()).isEqualTo(stripe);
+  }
+
+  @Test
+  public void newThreadsAreSpreadOverTheStripes() throws Exception {
+    ConnectionTable stripedTable = ConnectionTable.create(tcpConduit, 4);
+    Set<Integer> stripes = new HashSet<>();
+
+    for (int i = 0; i < 4; i++) {
+      Thread thread = new Thread(() -> {
+        synchronized (stripes) {
+          stripes.add(stripedTable.getThreadStripe());
+        }
+      });
+      thread.start();
+      thread.join(30000);
+    }
+
+    assertThat(stripes).containsExactlyInAnyOrder(0, 1, 2, 3);
+  }
+
+  @Test
+  public void tableWithoutStripesHasNoThreadStripe() throws Exception {
+    assertThat(ConnectionTable.create(tcpConduit, 0).getThreadStripe()).isEqualTo(-1);
+  }
+
+  @Test
+  public void orderedSendUsesTheConnectionOfTheThreadStripe() throws Exception {
+    when(system.threadOwnsResources()).thenReturn(true);
+    ConnectionTable stripedTable = ConnectionTable.create(tcpConduit, 4);
+    InternalDistributedMember member = mock(InternalDistributedMember.class);
+    Connection stripeConnection = stripeConnection();
+    stripedTable.getStripedConnectionMap(stripedTable.getThreadStripe()).put(member,
+        stripeConnection);
+
+    assertThat(stripedTable.get(member, true, 0, 0, 0)).isSameAs(stripeConnection);
+  }
+
+  @Test
+  public void readerThreadStillGetsAThreadOwnedConnection() throws Exception {
+    when(system.threadOwnsResources()).thenReturn(true);
+    ConnectionTable stripedTable = spy(ConnectionTable.create(tcpConduit, 4));
+    InternalDistributedMember member = mock(InternalDistributedMember.class);
+    Connection ownedConnection = stripeConnection();
+    doReturn(ownedConnection).when(stripedTable).getThreadOwnedConnection(eq(member), anyLong(),
+        anyLong(), anyLong());
+    AtomicInteger readerStripe = new AtomicInteger();
+    AtomicReference<Object> readerConnection = new AtomicReference<>();
+
+    Thread reader = new Thread(() -> {
+      Connection.makeReaderThread();
+      readerStripe.set(stripedTable.getThreadStripe());
+      try {
+        readerConnection.set(stripedTable.get(member, true, 0, 0, 0));
+      } catch (Exception e) {
+        readerConnection.set(e);
+      }
+    });
+    reader.start();
+    reader.join(30000);
+
+    assertThat(readerStripe.get()).isEqualTo(-1);
+    assertThat(readerConnection.get()).isSameAs(ownedConnection);
+    for (int i = 0; i < 4; i++) {
+      assertThat(stripedTable.getStripedConnectionMap(i)).isEmpty();
+    }
+  }
+
+  @Test
+  public void stripeConnectionsAreClosedWhenTheMemberDeparts() throws Exception {
+    ConnectionTable stripedTable = ConnectionTable.create(tcpConduit, 4);
+    InternalDistributedMember member = mock(InternalDistributedMember.class);
+    Connection[] stripeConnections = new Connection[4];
+    for (int i = 0; i < 4; i++) {
+      stripeConnections[i] = stripeConnection();
+      stripedTable.getStripedConnectionMap(i).put(member, stripeConnections[i]);
+    }
+
+    stripedTable.removeEndpoint(member, "departed", false);
+
+    for (int i = 0; i < 4; i++) {
+      assertThat(stripedTable.getStripedConnectionMap(i)).isEmpty();
+      verify(stripeConnections[i]).closePartialConnect(anyString(), anyBoolean());
+    }
+  }
+
+  private Connection stripeConnection() {
+    Connection stripeConnection = mock(Connection.class);
+    stripeConnection.connected = true;
+    stripeConnection.preserveOrder = true;
+    return stripeConnection;
+  }
 }
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.tcp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.geode.distributed.internal.DMStats;
+import org.apache.geode.test.junit.categories.UnitTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class WriteCoalescerTest {
+
+  private final List<ByteBuffer> writes = Collections.synchronizedList(new ArrayList<>());
+
+  private final CountDownLatch firstWriteStarted = new CountDownLatch(1);
+
+  private final CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+
+  private DMStats stats;
+
+  @Before
+  public void setUp() {
+    stats = mock(DMStats.class);
+  }
+
+  @Test
+  public void writesFrameDirectlyWhenConnectionIsIdle() throws Exception {
+    WriteCoalescer coalescer =
+        new WriteCoalescer(1024, false, 0, stats, (frames, msg) -> writes.add(frames));
+    ByteBuffer frame = frame(1, 10);
+
+    coalescer.write(frame, null);
+
+    assertThat(writes).containsExactly(frame);
+    verify(stats).incCoalescedWrites(1);
+  }
+
+  @Test
+  public void coalescesFramesSentWhileAnotherThreadIsWriting() throws Exception {
+    WriteCoalescer coalescer = new WriteCoalescer(1024, false, 0, stats, this::blockFirstWrite);
+
+    Thread first = startWriter(coalescer, frame(1, 10));
+    assertThat(firstWriteStarted.await(30, TimeUnit.SECONDS)).isTrue();
+    List<Thread> others = new ArrayList<>();
+    for (int i = 2; i <= 4; i++) {
+      others.add(startWriter(coalescer, frame(i, 10)));
+    }
+    awaitBlockedOnWrite(others);
+    releaseFirstWrite.countDown();
+    first.join(30000);
+    for (Thread other : others) {
+      other.join(30000);
+    }
+
+    assertThat(writes).hasSize(2);
+    ByteBuffer coalesced = writes.get(1);
+    assertThat(coalesced.limit()).isEqualTo(30);
+    int sum = 0;
+    for (int i = 0; i < 30; i++) {
+      sum += coalesced.get(i);
+    }
+    assertThat(sum).isEqualTo((2 + 3 + 4) * 10);
+    verify(stats).incCoalescedWrites(3);
+  }
+
+  @Test
+  public void reportsFailedWriteToEveryThreadWhoseFrameItCarried() throws Exception {
+    WriteCoalescer coalescer = new WriteCoalescer(1024, false, 0, stats, (frames, msg) -> {
+      if (firstWriteStarted.getCount() > 0) {
+        blockFirstWrite(frames, msg);
+      } else {
+        throw new IOException("broken pipe");
+      }
+    });
+    List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+    Thread first = startWriter(coalescer, frame(1, 10));
+    assertThat(firstWriteStarted.await(30, TimeUnit.SECONDS)).isTrue();
+    List<Thread> others = new ArrayList<>();
+    for (int i = 2; i <= 3; i++) {
+      others.add(startFailingWriter(coalescer, frame(i, 10), failures));
+    }
+    awaitBlockedOnWrite(others);
+    releaseFirstWrite.countDown();
+    first.join(30000);
+    for (Thread other : others) {
+      other.join(30000);
+    }
+
+    assertThat(failures).hasSize(2).hasOnlyElementsOfType(IOException.class);
+  }
+
+  @Test
+  public void failedWriteFailsEveryFrameSentAfterIt() throws Exception {
+    CountDownLatch secondWriteStarted = new CountDownLatch(1);
+    CountDownLatch releaseSecondWrite = new CountDownLatch(1);
+    WriteCoalescer coalescer = new WriteCoalescer(1024, false, 0, stats, (frames, msg) -> {
+      if (firstWriteStarted.getCount() > 0) {
+        blockFirstWrite(frames, msg);
+        return;
+      }
+      if (secondWriteStarted.getCount() > 0) {
+        secondWriteStarted.countDown();
+        try {
+          releaseSecondWrite.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      throw new IOException("broken pipe");
+    });
+    List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+    Thread first = startWriter(coalescer, frame(1, 10));
+    assertThat(firstWriteStarted.await(30, TimeUnit.SECONDS)).isTrue();
+    List<Thread> others = new ArrayList<>();
+    for (int i = 2; i <= 3; i++) {
+      others.add(startFailingWriter(coalescer, frame(i, 10), failures));
+    }
+    awaitBlockedOnWrite(others);
+    releaseFirstWrite.countDown();
+    assertThat(secondWriteStarted.await(30, TimeUnit.SECONDS)).isTrue();
+    // sent after the failing write took the pending frames, so another write would carry it
+    Thread last = startFailingWriter(coalescer, frame(4, 10), failures);
+    awaitBlockedOnWrite(Collections.singletonList(last));
+    releaseSecondWrite.countDown();
+    first.join(30000);
+    for (Thread other : others) {
+      other.join(30000);
+    }
+    last.join(30000);
+
+    assertThat(failures).hasSize(3).hasOnlyElementsOfType(IOException.class);
+  }
+
+  /**
+   * Waits until all the given threads have added their frames and are waiting to write them. While
+   * one of them holds the lock guarding the pending frames it is not blocked itself.
+   */
+  private void awaitBlockedOnWrite(List<Thread> threads) {
+    await().atMost(30, TimeUnit.SECONDS).until(() -> threads.stream()
+        .allMatch(thread -> thread.getState() == Thread.State.BLOCKED));
+  }
+
+  private void blockFirstWrite(ByteBuffer frames, Object msg) {
+    ByteBuffer copy = ByteBuffer.allocate(frames.remaining());
+    copy.put(frames);
+    copy.flip();
+    writes.add(copy);
+    if (firstWriteStarted.getCount() > 0) {
+      firstWriteStarted.countDown();
+      try {
+        releaseFirstWrite.await(30, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private Thread startWriter(WriteCoalescer coalescer, ByteBuffer frame) {
+    Thread thread = new Thread(() -> {
+      try {
+        coalescer.write(frame, null);
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    thread.start();
+    return thread;
+  }
+
+  private Thread startFailingWriter(WriteCoalescer coalescer, ByteBuffer frame,
+      List<Throwable> failures) {
+    Thread thread = new Thread(() -> {
+      try {
+        coalescer.write(frame, null);
+      } catch (IOException e) {
+        failures.add(e);
+      }
+    });
+    thread.start();
+    return thread;
+  }
+
+  private static ByteBuffer frame(int value, int length) {
+    ByteBuffer frame = ByteBuffer.allocate(length);
+    for (int i = 0; i < length; i++) {
+      frame.put((byte) value);
+    }
+    frame.flip();
+    return frame;
+  }
+}